@@ -238,5 +238,24 @@ extends		RequiredCI
 	 * @throws Exception	<i>to do</i>.
 	 */
 	public double		emergency() throws Exception;
+
+	/**
+	 * return the power consumption of every mode together with the current
+	 * mode, in one call on this interface instead of one
+	 * {@code getModeConsumption} per mode; a connector may still query the
+	 * equipment once per mode to build the table, so callers are expected to
+	 * cache it.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null && return.maxMode() == maxMode()}
+	 * </pre>
+	 *
+	 * @return				the consumption of every mode and the current mode.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public ModeConsumptionTable	modeConsumptions() throws Exception;
 }
 // -----------------------------------------------------------------------------
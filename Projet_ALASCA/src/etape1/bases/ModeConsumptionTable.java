@@ -0,0 +1,109 @@
+package etape1.bases;
+
+import java.io.Serializable;
+
+/**
+ * The class <code>ModeConsumptionTable</code> holds the power consumption of
+ * every mode of an adjustable equipment together with its current mode, as
+ * returned in one call by {@code AdjustableCI#modeConsumptions()}.
+ *
+ * <p>
+ * It is written in Java 4 style (no generics) so that generated connectors,
+ * compiled by Javassist, can build it.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code currentMode > 0 && currentMode <= maxMode()}
+ * </pre>
+ */
+public class ModeConsumptionTable implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** current mode of the equipment when the table was built. */
+	protected final int currentMode;
+	/** power consumption in watts of each mode, index m - 1 for mode m. */
+	protected final double[] watts;
+
+	/**
+	 * create a table.
+	 *
+	 * @param currentMode	current mode of the equipment.
+	 * @param watts			power consumption of each mode, index m - 1 for mode m.
+	 */
+	public ModeConsumptionTable(int currentMode, double[] watts) {
+		this.currentMode = currentMode;
+		this.watts = (double[]) watts.clone();
+	}
+
+	/**
+	 * @return	the current mode of the equipment when the table was built.
+	 */
+	public int currentMode() {
+		return this.currentMode;
+	}
+
+	/**
+	 * @return	the largest mode of the equipment.
+	 */
+	public int maxMode() {
+		return this.watts.length;
+	}
+
+	/**
+	 * return the power consumption of a mode.
+	 *
+	 * @param modeIndex	mode, from 1 to {@code maxMode()}.
+	 * @return			the power consumption in watts of the mode.
+	 */
+	public double consumption(int modeIndex) {
+		return this.watts[modeIndex - 1];
+	}
+
+	/**
+	 * @return	a copy of the power consumptions, index m - 1 for mode m.
+	 */
+	public double[] consumptions() {
+		return (double[]) this.watts.clone();
+	}
+
+	/**
+	 * return true if {@code consumption} is the consumption of one of the
+	 * modes, within {@code tolerance}.
+	 *
+	 * @param consumption	power consumption in watts.
+	 * @param tolerance		admissible difference in watts.
+	 * @return				true if a mode has this consumption.
+	 */
+	public boolean hasConsumption(double consumption, double tolerance) {
+		for (int i = 0; i < this.watts.length; i++) {
+			if (Math.abs(this.watts[i] - consumption) <= tolerance) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * return the mode whose consumption is {@code consumption}, within
+	 * {@code tolerance}, or 0 if no mode or several modes have it.
+	 *
+	 * @param consumption	power consumption in watts.
+	 * @param tolerance		admissible difference in watts.
+	 * @return				the mode having this consumption, or 0.
+	 */
+	public int modeOf(double consumption, double tolerance) {
+		int ret = 0;
+		for (int i = 0; i < this.watts.length; i++) {
+			if (Math.abs(this.watts[i] - consumption) <= tolerance) {
+				if (ret != 0) {
+					return 0;
+				}
+				ret = i + 1;
+			}
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,168 @@
+package etape1.bases.generator;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import etape1.bases.parser.ConnectorAdapterInfo;
+import etape1.bases.parser.ConnectorAdapterParserXML;
+
+/**
+ * The class <code>ConnectorCache</code> shares generated connector classes
+ * between all the appliances using the same control adapter descriptor.
+ *
+ * <p>
+ * Connector classes are indexed by a SHA-256 hash of the content of the XML
+ * descriptor, not by its path nor by the UID of the appliance: each distinct
+ * descriptor is parsed and compiled once, and every instance of the same
+ * appliance model is connected through the same class. A descriptor whose
+ * content changes gets a new hash, hence a new class. The hash also covers
+ * {@link ConnectorGenerator#FORMAT_VERSION}, so that connectors precompiled
+ * by a previous version of the generator are never loaded.
+ * </p>
+ *
+ * <p>
+ * Connectors precompiled by {@code ConnectorPrecompiler} are loaded from the
+ * class path through the index {@link #INDEX_RESOURCE}; Javassist is only
+ * used for descriptors that are missing from this index.
+ * </p>
+ *
+ * <p>
+ * Generated connectors keep no per-appliance state (the offering port is set
+ * by BCM4Java on each connector instance), so sharing the class is safe.
+ * </p>
+ */
+public class ConnectorCache {
+
+	/** class path resource indexing precompiled connectors by descriptor hash. */
+	public static final String INDEX_RESOURCE = "connectors.index";
+
+	/** connector classes indexed by the hash of their descriptor content. */
+	private static final ConcurrentHashMap<String, Class<?>> CONNECTORS = new ConcurrentHashMap<>();
+
+	/** names of the precompiled connector classes indexed by descriptor hash. */
+	private static final Properties PRECOMPILED = loadIndex();
+
+	/**
+	 * return the connector class for the given descriptor, loading the
+	 * precompiled class when there is one, and otherwise parsing and generating
+	 * it only if no descriptor with the same content has been seen before.
+	 *
+	 * @param xmlPath		path of the XML control adapter descriptor.
+	 * @return				the connector class implementing {@code AdjustableCI}.
+	 * @throws Exception	if the descriptor cannot be read, parsed or compiled.
+	 */
+	public static Class<?> getConnector(String xmlPath) throws Exception {
+		byte[] content = Files.readAllBytes(Paths.get(xmlPath));
+		String hash = hash(content);
+
+		Class<?> cached = CONNECTORS.get(hash);
+		if (cached != null) {
+			return cached;
+		}
+		synchronized (CONNECTORS) {
+			cached = CONNECTORS.get(hash);
+			if (cached != null) {
+				return cached;
+			}
+			cached = loadPrecompiled(hash);
+			if (cached == null) {
+				ConnectorAdapterInfo infos = ConnectorAdapterParserXML.parse(new ByteArrayInputStream(content));
+				cached = ConnectorGenerator.generate(infos, className(infos, hash));
+			}
+			// precompiled or generated, the class is kept so that the next
+			// registrations with the same descriptor find it without locking
+			CONNECTORS.put(hash, cached);
+			return cached;
+		}
+	}
+
+	/**
+	 * return the precompiled connector class for a descriptor hash, or null if
+	 * it has not been precompiled or cannot be loaded.
+	 *
+	 * @param hash	hexadecimal hash of the descriptor content.
+	 * @return		the precompiled class or null.
+	 */
+	protected static Class<?> loadPrecompiled(String hash) {
+		String className = PRECOMPILED.getProperty(hash);
+		if (className == null) {
+			return null;
+		}
+		try {
+			return Class.forName(className);
+		} catch (ClassNotFoundException e) {
+			System.out.println("Connecteur precompile introuvable, generation : " + className);
+			return null;
+		}
+	}
+
+	/**
+	 * load the index of precompiled connectors from the class path.
+	 *
+	 * @return	the index, empty if no connector has been precompiled.
+	 */
+	protected static Properties loadIndex() {
+		Properties index = new Properties();
+		try (InputStream in = ConnectorCache.class.getClassLoader().getResourceAsStream(INDEX_RESOURCE)) {
+			if (in != null) {
+				index.load(in);
+			}
+		} catch (Exception e) {
+			System.out.println("Index des connecteurs precompiles illisible : " + e.getMessage());
+		}
+		return index;
+	}
+
+	/**
+	 * return the number of distinct connector classes in use so far.
+	 *
+	 * @return	the number of cached connector classes.
+	 */
+	public static int size() {
+		return CONNECTORS.size();
+	}
+
+	/**
+	 * return the name of the connector class generated for a descriptor, built
+	 * from its UID, the generator format version and the beginning of its
+	 * content hash.
+	 *
+	 * @param infos	parsed descriptor.
+	 * @param hash	hexadecimal hash of the descriptor content.
+	 * @return		a valid Java class name.
+	 */
+	protected static String className(ConnectorAdapterInfo infos, String hash) {
+		String base = infos.uid == null ? "" : infos.uid.replaceAll("[^a-zA-Z0-9_]", "_");
+		if (base.isEmpty() || !Character.isJavaIdentifierStart(base.charAt(0))) {
+			base = "Adapter" + base;
+		}
+		return base + "GeneratedConnector_v" + ConnectorGenerator.FORMAT_VERSION
+				+ "_" + hash.substring(0, 16);
+	}
+
+	/**
+	 * return the hexadecimal SHA-256 hash of the given content, prefixed by
+	 * the generator format version.
+	 *
+	 * @param content		bytes to be hashed.
+	 * @return				the hash as a lowercase hexadecimal string.
+	 * @throws Exception	if SHA-256 is not available.
+	 */
+	protected static String hash(byte[] content) throws Exception {
+		MessageDigest md = MessageDigest.getInstance("SHA-256");
+		md.update(("connector-format-" + ConnectorGenerator.FORMAT_VERSION + "\n")
+				.getBytes(StandardCharsets.UTF_8));
+		byte[] digest = md.digest(content);
+		StringBuilder sb = new StringBuilder(digest.length * 2);
+		for (byte b : digest) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+}
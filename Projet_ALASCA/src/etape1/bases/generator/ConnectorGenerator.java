@@ -6,8 +6,33 @@ import javassist.*;
 
 public class ConnectorGenerator {
 
+	/**
+	 * version of the generated code, to be incremented whenever it changes
+	 * (e.g. when a method is added to {@code AdjustableCI}), so that the
+	 * connectors generated or precompiled by a previous version are not
+	 * reused; version 2 adds {@code modeConsumptions()}.
+	 */
+	public static final int FORMAT_VERSION = 2;
+
 	private static final String ABSTRACT_CONNECTOR_PACKAGE = "fr.sorbonne_u.components.connectors.AbstractConnector";
 	private static final String ADJUSTABLE_CI_PACKAGE = "etape1.bases.AdjustableCI";
+	private static final String MODE_TABLE_CLASS = "etape1.bases.ModeConsumptionTable";
+
+	/**
+	 * default implementation of the bulk query, used when the descriptor does
+	 * not define it: the table is built by the connector, which runs on the
+	 * caller side and still calls the equipment once per mode, plus once for
+	 * {@code maxMode()} and once for {@code currentMode()}; the number of calls
+	 * on the equipment is hence unchanged, the gain comes from the caller
+	 * caching the table.
+	 */
+	private static final String DEFAULT_MODE_CONSUMPTIONS =
+		"public " + MODE_TABLE_CLASS + " modeConsumptions() throws Exception {\n" +
+		"  int max = maxMode();\n" +
+		"  double[] watts = new double[max];\n" +
+		"  for (int m = 1; m <= max; m++) { watts[m - 1] = getModeConsumption(m); }\n" +
+		"  return new " + MODE_TABLE_CLASS + "(currentMode(), watts);\n" +
+		"}\n";
 	
 	
     
@@ -27,7 +52,35 @@ public class ConnectorGenerator {
             // Class doesn't exist yet, proceed with generation
         }
 
-        CtClass cc = pool.makeClass(fullName);
+        CtClass cc = makeClass(pool, info, fullName);
+        Class<?> connectorGenerated = cc.toClass();
+        cc.detach();
+        System.out.println("Classe générée : " + fullName);
+        return connectorGenerated;
+
+    }
+
+    /**
+     * generate the connector class described by {@code info} and write it as a
+     * class file under {@code outputDirectory}, without loading it, so that it
+     * can be loaded later from the class path instead of being generated at
+     * registration time.
+     */
+    public static void writeClassFile(ConnectorAdapterInfo info,
+                                      String className,
+                                      String outputDirectory) throws Exception {
+
+        ClassPool pool = ClassPool.getDefault();
+        CtClass cc = makeClass(pool, info, className);
+        cc.writeFile(outputDirectory);
+        cc.detach();
+    }
+
+    protected static CtClass makeClass(ClassPool pool,
+                                       ConnectorAdapterInfo info,
+                                       String className) throws Exception {
+
+        CtClass cc = pool.makeClass(className);
 
         cc.setSuperclass(pool.get(ABSTRACT_CONNECTOR_PACKAGE));
         cc.addInterface(pool.get(ADJUSTABLE_CI_PACKAGE));
@@ -59,7 +112,9 @@ public class ConnectorGenerator {
         cc.addConstructor(CtNewConstructor.make(ctorSrc.toString(), cc));
 
         // Methods
+        boolean hasModeConsumptions = false;
         for (ConnectorAdapterInfo.MethodInfo m : info.methods) {
+            if ("modeConsumptions".equals(m.name)) hasModeConsumptions = true;
             StringBuilder method = new StringBuilder();
             // modifiers
             method.append(m.modifiers != null ? m.modifiers : "public").append(" ");
@@ -105,11 +160,11 @@ public class ConnectorGenerator {
                 cc.addMethod(CtNewMethod.make(fallback, cc));
             }
         }
-        
-        Class<?> connectorGenerated = cc.toClass();
-        cc.detach();
-        System.out.println("Classe générée : " + fullName);
-        return connectorGenerated;
 
+        if (!hasModeConsumptions) {
+            cc.addMethod(CtNewMethod.make(DEFAULT_MODE_CONSUMPTIONS, cc));
+        }
+
+        return cc;
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package etape1.bases.generator;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import etape1.bases.parser.ConnectorAdapterInfo;
+import etape1.bases.parser.ConnectorAdapterParserXML;
+
+/**
+ * The class <code>ConnectorPrecompiler</code> is the ahead-of-time build step
+ * for control adapter connectors.
+ *
+ * <p>
+ * It reads every {@code *-descriptor.xml} file under the adapters directory,
+ * generates the corresponding connector class and writes it as a class file
+ * into the build output directory. It also writes the index
+ * {@link ConnectorCache#INDEX_RESOURCE}, mapping the content hash of each
+ * descriptor to its class name, which {@code ConnectorCache} reads to load
+ * precompiled connectors at registration time; Javassist is then only used
+ * for descriptors that were not precompiled (or have changed since).
+ * </p>
+ *
+ * <p>
+ * Run it after compiling the sources and before launching the components,
+ * from the project directory:
+ * </p>
+ *
+ * <pre>
+ * java etape1.bases.generator.ConnectorPrecompiler [adaptersDirectory [outputDirectory]]
+ * </pre>
+ *
+ * <p>
+ * The default directories are {@code adapters} and {@code bin}.
+ * </p>
+ */
+public class ConnectorPrecompiler {
+
+	/** default directory searched for descriptors. */
+	public static final String DEFAULT_ADAPTERS_DIRECTORY = "adapters";
+	/** default build output directory. */
+	public static final String DEFAULT_OUTPUT_DIRECTORY = "bin";
+	/** suffix of the descriptor files. */
+	public static final String DESCRIPTOR_SUFFIX = "-descriptor.xml";
+
+	public static void main(String[] args) throws Exception {
+		String adapters = args.length > 0 ? args[0] : DEFAULT_ADAPTERS_DIRECTORY;
+		String output = args.length > 1 ? args[1] : DEFAULT_OUTPUT_DIRECTORY;
+
+		int n = precompile(Paths.get(adapters), Paths.get(output));
+		System.out.println(n + " connector(s) precompiled into " + output);
+	}
+
+	/**
+	 * precompile the connectors of all the descriptors found under
+	 * {@code adaptersDirectory} into {@code outputDirectory}.
+	 *
+	 * @param adaptersDirectory	directory searched recursively for descriptors.
+	 * @param outputDirectory	build output directory (class path root).
+	 * @return					the number of connectors written.
+	 * @throws Exception		if a descriptor cannot be read, parsed or compiled.
+	 */
+	public static int precompile(Path adaptersDirectory, Path outputDirectory) throws Exception {
+		List<Path> descriptors;
+		try (Stream<Path> files = Files.walk(adaptersDirectory)) {
+			descriptors = files
+				.filter(p -> p.getFileName().toString().endsWith(DESCRIPTOR_SUFFIX))
+				.sorted()
+				.collect(Collectors.toList());
+		}
+
+		Files.createDirectories(outputDirectory);
+		Properties index = new Properties();
+		for (Path descriptor : descriptors) {
+			byte[] content = Files.readAllBytes(descriptor);
+			String hash = ConnectorCache.hash(content);
+			ConnectorAdapterInfo infos = ConnectorAdapterParserXML.parse(new ByteArrayInputStream(content));
+			String className = ConnectorCache.className(infos, hash);
+
+			ConnectorGenerator.writeClassFile(infos, className, outputDirectory.toString());
+			index.setProperty(hash, className);
+			System.out.println("  " + descriptor + " -> " + className);
+		}
+
+		try (OutputStream out = Files.newOutputStream(outputDirectory.resolve(ConnectorCache.INDEX_RESOURCE))) {
+			index.store(out, "Precompiled control adapter connectors (descriptor hash = class name)");
+		}
+		return descriptors.size();
+	}
+}
@@ -0,0 +1,75 @@
+package etape1.bases.generator;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+
+import etape1.bases.parser.ConnectorAdapterInfo;
+import etape1.bases.parser.ConnectorAdapterParserXML;
+
+/**
+ * The class <code>RunConnectorCacheBenchmark</code> measures the registration
+ * cost of many appliances of the same model, with one connector class per
+ * appliance UID (former behaviour) and with the descriptor-keyed
+ * {@code ConnectorCache}.
+ *
+ * <p>
+ * For each strategy, it prints the mean time to obtain a connector class, the
+ * number of classes loaded and the metaspace growth. Run it from the project
+ * directory so that the descriptor paths resolve, for instance:
+ * </p>
+ *
+ * <pre>
+ * java etape1.bases.generator.RunConnectorCacheBenchmark 500
+ * </pre>
+ */
+public class RunConnectorCacheBenchmark {
+
+	/** descriptor used for the benchmark. */
+	public static final String DESCRIPTOR = "adapters/kettle-adapter/kettleci-descriptor.xml";
+
+	public static void main(String[] args) throws Exception {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		String descriptor = args.length > 1 ? args[1] : DESCRIPTOR;
+
+		System.out.println("Registering " + n + " appliances using " + descriptor);
+
+		run("per-UID generation", n, i -> {
+			ConnectorAdapterInfo infos = ConnectorAdapterParserXML.parse(descriptor);
+			return ConnectorGenerator.generate(infos, "BenchmarkKettle_" + i);
+		});
+		run("descriptor-keyed cache", n, i -> ConnectorCache.getConnector(descriptor));
+	}
+
+	@FunctionalInterface
+	protected interface Registration {
+		Class<?> connectorFor(int i) throws Exception;
+	}
+
+	protected static void run(String name, int n, Registration r) throws Exception {
+		ClassLoadingMXBean cl = ManagementFactory.getClassLoadingMXBean();
+		long classesBefore = cl.getTotalLoadedClassCount();
+		long metaspaceBefore = metaspaceUsed();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			r.connectorFor(i);
+		}
+		long elapsed = System.nanoTime() - start;
+
+		System.out.println(String.format(
+			"%-24s: %8.3f ms/registration, %6d classes loaded, metaspace +%8.1f KiB",
+			name, elapsed / 1e6 / n,
+			cl.getTotalLoadedClassCount() - classesBefore,
+			(metaspaceUsed() - metaspaceBefore) / 1024.0));
+	}
+
+	protected static long metaspaceUsed() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if ("Metaspace".equals(pool.getName())) {
+				return pool.getUsage().getUsed();
+			}
+		}
+		return 0L;
+	}
+}
@@ -3,18 +3,26 @@ package etape1.bases.parser;
 import org.w3c.dom.*;
 import javax.xml.parsers.*;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
 
 public class ConnectorAdapterParserXML {
 
 	private static final String NS = "http://www.sorbonne-universite.fr/alasca/control-adapter";
 
 	public static ConnectorAdapterInfo parse(String xmlPath) throws Exception {
+		try (InputStream in = new FileInputStream(new File(xmlPath))) {
+			return parse(in);
+		}
+	}
+
+	public static ConnectorAdapterInfo parse(InputStream xmlContent) throws Exception {
 		ConnectorAdapterInfo connectorInfos = new ConnectorAdapterInfo();
 
 		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
 		factory.setNamespaceAware(true);
 		DocumentBuilder builder = factory.newDocumentBuilder();
-		Document doc = builder.parse(new File(xmlPath));
+		Document doc = builder.parse(xmlContent);
 		Element root = doc.getDocumentElement();
 
 		connectorInfos.uid = root.getAttribute("uid");
@@ -122,6 +130,8 @@ public class ConnectorAdapterParserXML {
 			return "int";
 		if (mi.name.equals("getModeConsumption") || mi.name.equals("emergency"))
 			return "double";
+		if (mi.name.equals("modeConsumptions"))
+			return "etape1.bases.ModeConsumptionTable";
 		return "void";
 	}
 }
@@ -1,6 +1,7 @@
 package etape1.equipements.hem;
 
 import etape1.bases.AdjustableCI;
+import etape1.bases.ModeConsumptionTable;
 
 // Copyright Jacques Malenfant, Sorbonne Universite.
 // Jacques.Malenfant@lip6.fr
@@ -155,5 +156,14 @@ implements	AdjustableCI
 	{
 		return ((AdjustableCI)this.offering).emergency();
 	}
+
+	/**
+	 * @see etape1.bases.AdjustableCI#modeConsumptions()
+	 */
+	@Override
+	public ModeConsumptionTable	modeConsumptions() throws Exception
+	{
+		return ((AdjustableCI)this.offering).modeConsumptions();
+	}
 }
 // -----------------------------------------------------------------------------
@@ -7,9 +7,7 @@ import java.util.concurrent.TimeUnit;
 import etape1.CVMIntegrationTest;
 import etape1.bases.AdjustableCI;
 import etape1.bases.RegistrationCI;
-import etape1.bases.generator.ConnectorGenerator;
-import etape1.bases.parser.ConnectorAdapterInfo;
-import etape1.bases.parser.ConnectorAdapterParserXML;
+import etape1.bases.generator.ConnectorCache;
 import etape1.equipements.coffee_machine.CoffeeMachine;
 import etape1.equipements.hem.ports.AdjustableOutboundPort;
 import etape1.equipements.kettle.Kettle;
@@ -446,9 +444,8 @@ public class HEM extends AbstractComponent implements RegistrationI {
 		AdjustableOutboundPort equipmentPort = new AdjustableOutboundPort(this);
 		equipmentPort.publishPort();
 
-		// Parse the XML descriptor and generate the connector
-		ConnectorAdapterInfo infos = ConnectorAdapterParserXML.parse(xmlControlAdapter);
-		Class<?> connectorGenerated = ConnectorGenerator.generate(infos, uid);
+		// Get the connector shared by all equipment using the same descriptor
+		Class<?> connectorGenerated = ConnectorCache.getConnector(xmlControlAdapter);
 
 		this.logMessage("Connector generated for " + uid + ": " + connectorGenerated.getCanonicalName());
 
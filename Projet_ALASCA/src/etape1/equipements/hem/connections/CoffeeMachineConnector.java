@@ -1,6 +1,7 @@
 package etape1.equipements.hem.connections;
 
 import etape1.bases.AdjustableCI;
+import etape1.bases.ModeConsumptionTable;
 import etape1.equipements.coffee_machine.Constants;
 import etape1.equipements.coffee_machine.interfaces.CoffeeMachineExternalControlJava4CI;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
@@ -181,4 +182,13 @@ public class CoffeeMachineConnector extends AbstractConnector implements Adjusta
 		return 0.0;
 	}
 
+	@Override
+	public ModeConsumptionTable modeConsumptions() throws Exception {
+		double[] watts = new double[MAX_MODE];
+		for (int mode = MIN_MODE; mode <= MAX_MODE; mode++) {
+			watts[mode - 1] = computePowerLevel(mode);
+		}
+		return new ModeConsumptionTable(this.currentMode, watts);
+	}
+
 }
@@ -1,6 +1,7 @@
 package etape1.equipements.hem.ports;
 
 import etape1.bases.AdjustableCI;
+import etape1.bases.ModeConsumptionTable;
 
 // Copyright Jacques Malenfant, Sorbonne Universite.
 // Jacques.Malenfant@lip6.fr
@@ -268,5 +269,17 @@ implements	AdjustableCI
 				new PostconditionException("return >= 0.0 && return <= 1.0");
 		return ret;
 	}
+
+	/**
+	 * @see etape1.bases.AdjustableCI#modeConsumptions()
+	 */
+	@Override
+	public ModeConsumptionTable	modeConsumptions() throws Exception
+	{
+		ModeConsumptionTable ret =
+				((AdjustableCI)this.getConnector()).modeConsumptions();
+		assert	ret != null : new PostconditionException("return != null");
+		return ret;
+	}
 }
 // -----------------------------------------------------------------------------
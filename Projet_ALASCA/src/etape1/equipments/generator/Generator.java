@@ -689,6 +689,42 @@ implements	GeneratorImplementationI
 		return ret;
 	}
 
+	/**
+	 * @see etape1.equipments.generator.GeneratorImplementationI#remainingAutonomy()
+	 */
+	@Override
+	public SignalData<Double>	remainingAutonomy() throws Exception
+	{
+		// temporary implementation, the level and the consumption would need
+		// physical sensors.
+		double consumption =
+				Math.max(this.currentFuelConsumption().getMeasure().getData(),
+						 this.minFuelConsumption().getData());
+		SignalData<Double> ret =
+				new SignalData<Double>(
+						new Measure<Double>(
+								this.currentTankLevel().getMeasure().getData()/
+																consumption,
+								GeneratorImplementationI.AUTONOMY_UNIT));
+
+		if (VERBOSE) {
+			this.logMessage("Generator returns its remaining autonomy: "
+							+ ret);
+		}
+
+		// Postconditions checking
+		assert	ret != null && ret.getMeasure().getMeasurementUnit().
+													equals(AUTONOMY_UNIT) :
+				new PostconditionException(
+						"return != null && return.getMeasure()."
+						+ "getMeasurementUnit().equals(AUTONOMY_UNIT)");
+		assert	ret.getMeasure().getData() >= 0.0 :
+				new PostconditionException(
+						"return.getMeasure().getData() >= 0.0");
+
+		return ret;
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.hem2025e1.equipments.generator.GeneratorImplementationI#startGenerator()
 	 */
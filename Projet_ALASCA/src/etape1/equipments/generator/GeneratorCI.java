@@ -120,6 +120,12 @@ extends		OfferedCI,
 	@Override
 	public SignalData<Double>	currentFuelConsumption() throws Exception;
 
+	/**
+	 * @see etape1.equipments.generator.GeneratorImplementationI#remainingAutonomy()
+	 */
+	@Override
+	public SignalData<Double>	remainingAutonomy() throws Exception;
+
 	/**
 	 * @see etape1.equipments.generator.GeneratorImplementationI#startGenerator()
 	 */
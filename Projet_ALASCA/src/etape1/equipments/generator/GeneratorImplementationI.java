@@ -106,6 +106,10 @@ public interface		GeneratorImplementationI
 	/** fuel consumption measurement unit for the generator.				*/
 	public static final MeasurementUnit	CONSUMPTION_UNIT =
 												MeasurementUnit.LITERS_PER_HOUR;
+	/** autonomy measurement unit for the generator; the measurement units
+	 *  have no time unit, so the autonomy is given as a raw number of
+	 *  hours.																*/
+	public static final MeasurementUnit	AUTONOMY_UNIT = MeasurementUnit.RAW;
 
 	// -------------------------------------------------------------------------
 	// Invariants
@@ -302,6 +306,24 @@ public interface		GeneratorImplementationI
 	 */
 	public SignalData<Double>	currentFuelConsumption() throws Exception;
 
+	/**
+	 * return the time in hours the generator can still run before its tank
+	 * becomes empty, in the generator autonomy unit, at its current fuel consumption
+	 * when running and at its minimal fuel consumption otherwise.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null && return.getMeasure().getMeasurementUnit().equals(AUTONOMY_UNIT)}
+	 * post	{@code return.getMeasure().getData() >= 0.0}
+	 * </pre>
+	 *
+	 * @return				the remaining autonomy of the generator in the generator autonomy unit.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public SignalData<Double>	remainingAutonomy() throws Exception;
+
 	/**
 	 * start the generator.
 	 * 
@@ -159,6 +159,15 @@ implements	GeneratorCI
 		return ((GeneratorCI)this.offering).currentFuelConsumption();
 	}
 
+	/**
+	 * @see etape1.equipments.generator.GeneratorCI#remainingAutonomy()
+	 */
+	@Override
+	public SignalData<Double>	remainingAutonomy() throws Exception
+	{
+		return ((GeneratorCI)this.offering).remainingAutonomy();
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.hem2025e1.equipments.generator.GeneratorCI#startGenerator()
 	 */
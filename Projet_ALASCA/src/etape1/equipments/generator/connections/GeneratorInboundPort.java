@@ -246,6 +246,16 @@ implements	GeneratorCI
 				o -> ((GeneratorImplementationI)o).currentFuelConsumption());
 	}
 
+	/**
+	 * @see etape1.equipments.generator.GeneratorImplementationI#remainingAutonomy()
+	 */
+	@Override
+	public SignalData<Double>	remainingAutonomy() throws Exception
+	{
+		return this.getOwner().handleRequest(
+				o -> ((GeneratorImplementationI)o).remainingAutonomy());
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.hem2025e1.equipments.generator.GeneratorCI#startGenerator()
 	 */
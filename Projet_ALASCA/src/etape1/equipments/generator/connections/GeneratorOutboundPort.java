@@ -223,6 +223,15 @@ implements	GeneratorCI
 		return ((GeneratorCI)this.getConnector()).currentFuelConsumption();
 	}
 
+	/**
+	 * @see etape1.equipments.generator.GeneratorCI#remainingAutonomy()
+	 */
+	@Override
+	public SignalData<Double>	remainingAutonomy() throws Exception
+	{
+		return ((GeneratorCI)this.getConnector()).remainingAutonomy();
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.hem2025e1.equipments.generator.GeneratorCI#startGenerator()
 	 */
@@ -2,6 +2,8 @@ package etape2;
 
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 // Copyright Jacques Malenfant, Sorbonne Universite.
 // Jacques.Malenfant@lip6.fr
@@ -284,6 +286,12 @@ extends		CoupledModel
 			this.subreports.add(r);
 		}
 
+		/** @return	the reports of the submodels, in the order of the submodels.	*/
+		public List<GlobalReportI>	getSubReports()
+		{
+			return Collections.unmodifiableList(this.subreports);
+		}
+
 		@Override
 		public String		printout(String indent)
 		{
@@ -0,0 +1,156 @@
+package etape2;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// real time distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability.
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or
+// data to be ensured and,  more generally, to use and operate it in the
+// same conditions as regards security.
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+
+import java.util.HashMap;
+import java.util.Map;
+
+import etape2.RunGlobalMonteCarloSimulation.RunResult;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunElectricMeterModelsBenchmark</code> compares the global
+ * MIL simulation of the classical test scenario when the electric meter is
+ * the {@code ElectricMeterElectricityModel} and when it is the
+ * {@code AggregatingElectricMeterModel}.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Each run executes the two architectures built by
+ * {@code RunGlobalSimulation.createSimulator(Map, boolean)} with the same seed,
+ * alternating which one goes first, and the benchmark reports the mean wall
+ * clock time of a simulation for each meter model and the largest differences
+ * of total consumption and of production deficit duration between them, which
+ * must stay at the rounding error level as both models integrate the same
+ * piecewise constant intensity. Run it with the number of measured runs and
+ * of warm up runs, for instance:
+ * </p>
+ * 
+ * <pre>
+ * java -ea etape2.RunElectricMeterModelsBenchmark 20 3
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			RunElectricMeterModelsBenchmark
+{
+	/** default number of measured runs.									*/
+	public static final int		DEFAULT_NUMBER_OF_RUNS = 20;
+	/** default number of warm up runs.										*/
+	public static final int		DEFAULT_NUMBER_OF_WARMUP_RUNS = 3;
+
+	public static void	main(String[] args)
+	{
+		RunGlobalSimulation.staticInvariants();
+
+		int runs = args.length > 0 ? Integer.parseInt(args[0])
+								   : DEFAULT_NUMBER_OF_RUNS;
+		int warmup = args.length > 1 ? Integer.parseInt(args[1])
+									 : DEFAULT_NUMBER_OF_WARMUP_RUNS;
+		long baseSeed = RunGlobalMonteCarloSimulation.DEFAULT_BASE_SEED;
+		Map<String,Object> overrides = new HashMap<>();
+
+		try {
+			RunGlobalMonteCarloSimulation.silenceTracing();
+
+			for (int i = 0 ; i < warmup ; i++) {
+				RunGlobalMonteCarloSimulation.runOne(
+									i, baseSeed + i, 0, overrides, false);
+				RunGlobalMonteCarloSimulation.runOne(
+									i, baseSeed + i, 0, overrides, true);
+			}
+
+			long perApplianceNanos = 0L;
+			long aggregatingNanos = 0L;
+			double maxConsumptionDifference = 0.0;
+			double maxDeficitDifference = 0.0;
+			for (int i = 0 ; i < runs ; i++) {
+				long seed = baseSeed + i;
+				RunResult perAppliance;
+				RunResult aggregating;
+				long t0, t1, t2;
+				if (i % 2 == 0) {
+					t0 = System.nanoTime();
+					perAppliance = RunGlobalMonteCarloSimulation.runOne(
+											i, seed, 0, overrides, false);
+					t1 = System.nanoTime();
+					aggregating = RunGlobalMonteCarloSimulation.runOne(
+											i, seed, 0, overrides, true);
+					t2 = System.nanoTime();
+					perApplianceNanos += t1 - t0;
+					aggregatingNanos += t2 - t1;
+				} else {
+					t0 = System.nanoTime();
+					aggregating = RunGlobalMonteCarloSimulation.runOne(
+											i, seed, 0, overrides, true);
+					t1 = System.nanoTime();
+					perAppliance = RunGlobalMonteCarloSimulation.runOne(
+											i, seed, 0, overrides, false);
+					t2 = System.nanoTime();
+					aggregatingNanos += t1 - t0;
+					perApplianceNanos += t2 - t1;
+				}
+				maxConsumptionDifference =
+					Math.max(maxConsumptionDifference,
+							 Math.abs(perAppliance.consumption
+													- aggregating.consumption));
+				maxDeficitDifference =
+					Math.max(maxDeficitDifference,
+							 Math.abs(perAppliance.deficitMinutes
+													- aggregating.deficitMinutes));
+			}
+
+			System.out.println(
+				"Electric meter models on " + runs + " runs of the classical "
+				+ "global simulation:");
+			System.out.println(String.format(
+				"  %-32s %10.2f ms/run", "ElectricMeterElectricityModel",
+				perApplianceNanos/(runs*1.0e6)));
+			System.out.println(String.format(
+				"  %-32s %10.2f ms/run", "AggregatingElectricMeterModel",
+				aggregatingNanos/(runs*1.0e6)));
+			System.out.println(String.format(
+				"  max consumption difference = %.3e kwh, max deficit "
+				+ "difference = %.3e minutes",
+				maxConsumptionDifference, maxDeficitDifference));
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+}
+// -----------------------------------------------------------------------------
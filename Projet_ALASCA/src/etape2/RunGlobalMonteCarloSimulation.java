@@ -0,0 +1,635 @@
+package etape2;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// real time distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability.
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or
+// data to be ensured and,  more generally, to use and operate it in the
+// same conditions as regards security.
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import etape2.GlobalCoupledModel.GlobalReport;
+import etape2.equipments.batteries.mil.BatteriesPowerModel;
+import etape2.equipments.coffeemachine.mil.CoffeeMachineElectricityModel;
+import etape2.equipments.coffeemachine.mil.CoffeeMachineTemperatureModel;
+import etape2.equipments.coffeemachine.mil.CoffeeMachineUnitTesterModel;
+import etape2.equipments.fan.mil.FanElectricityModel;
+import etape2.equipments.fan.mil.FanSimpleUserModel;
+import etape2.equipments.generator.mil.GeneratorFuelModel;
+import etape2.equipments.generator.mil.GeneratorFuelModel.GeneratorFuelReport;
+import etape2.equipments.generator.mil.GeneratorGlobalTesterModel;
+import etape2.equipments.generator.mil.GeneratorPowerModel;
+import etape2.equipments.kettle.mil.KettleElectricityModel;
+import etape2.equipments.kettle.mil.KettleTemperatureModel;
+import etape2.equipments.kettle.mil.KettleUnitTesterModel;
+import etape2.equipments.laundry.mil.LaundryElectricityModel;
+import etape2.equipments.laundry.mil.LaundryUnitTesterModel;
+import etape2.equipments.meter.mil.AbstractElectricMeterElectricityModel.ElectricMeterElectricityReport;
+import etape2.equipments.meter.mil.ElectricMeterElectricityModel;
+import etape2.equipments.solar_panel.mil.AstronomicalSunRiseAndSetModel;
+import etape2.equipments.solar_panel.mil.DeterministicSunIntensityModel;
+import etape2.equipments.solar_panel.mil.DeterministicSunRiseAndSetModel;
+import etape2.equipments.solar_panel.mil.SolarPanelPowerModel;
+import etape2.equipments.solar_panel.mil.StochasticSunIntensityModel;
+import fr.sorbonne_u.components.cyphy.utils.tests.TestScenarioWithSimulation;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.devs_simulation.simulators.SimulationEngine;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunGlobalMonteCarloSimulation</code> runs batches of
+ * independent global MIL simulations of the classical test scenario to get
+ * distributions of the total consumption, the generator fuel consumption and
+ * the duration of the production deficits.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * As the sun intensity and fan user models are stochastic, one run of
+ * {@code RunGlobalSimulation} says little about the sizing of the batteries
+ * or of the generator. Each run of a batch builds its own copy of the global
+ * simulator with its run parameters, using
+ * {@code RunGlobalSimulation.createSimulator}, so the runs share no model
+ * instance and can be executed in parallel on a work-stealing pool.
+ * The run {@code i} of a batch uses the seed {@code baseSeed + i} for the
+ * stochastic models and the parameter set {@code i % parameterSets.size()},
+ * which overrides the standard run parameters; a batch is therefore
+ * reproducible whatever the number of threads executing it.
+ * </p>
+ * <p>
+ * The runs only read the static configuration of the models, which must not
+ * be changed while a batch executes; in particular, the tracing of the models
+ * is switched off before the batch starts.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code DEFAULT_NUMBER_OF_RUNS > 0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			RunGlobalMonteCarloSimulation
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** default number of runs in a batch.									*/
+	public static final int		DEFAULT_NUMBER_OF_RUNS = 64;
+	/** default seed of the first run of a batch.							*/
+	public static final long	DEFAULT_BASE_SEED = 20251020L;
+	/** mixing constant to derive the seed of the sun intensity model from
+	 *  the seed of the run, so that the two generators are decorrelated.	*/
+	protected static final long	SUN_SEED_MIX = 0x9E3779B97F4A7C15L;
+
+	// -------------------------------------------------------------------------
+	// Inner classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>RunResult</code> holds the measures extracted from the
+	 * final report of one run.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+	 */
+	public static class	RunResult
+	implements	Serializable
+	{
+		private static final long serialVersionUID = 1L;
+		/** index of the run in its batch.									*/
+		public final int	run;
+		/** seed used for the stochastic models.							*/
+		public final long	seed;
+		/** index of the parameter set used by the run.						*/
+		public final int	parameterSet;
+		/** total consumption of the house in kwh.							*/
+		public final double	consumption;
+		/** fuel consumed by the generator in liters.						*/
+		public final double	fuelConsumption;
+		/** duration of the production deficits in minutes.				*/
+		public final double	deficitMinutes;
+
+		public				RunResult(
+			int run,
+			long seed,
+			int parameterSet,
+			double consumption,
+			double fuelConsumption,
+			double deficitMinutes
+			)
+		{
+			this.run = run;
+			this.seed = seed;
+			this.parameterSet = parameterSet;
+			this.consumption = consumption;
+			this.fuelConsumption = fuelConsumption;
+			this.deficitMinutes = deficitMinutes;
+		}
+	}
+
+	/**
+	 * The class <code>Distribution</code> summarises the values taken by a
+	 * measure over the runs of a batch.
+	 *
+	 * <p><strong>Invariants</strong></p>
+	 *
+	 * <pre>
+	 * invariant	{@code values.length > 0}
+	 * </pre>
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+	 */
+	public static class	Distribution
+	implements	Serializable
+	{
+		private static final long serialVersionUID = 1L;
+		/** name of the measure.											*/
+		protected final String		name;
+		/** values of the measure, sorted in increasing order.				*/
+		protected final double[]	values;
+		/** mean of the values.												*/
+		protected final double		mean;
+		/** sample standard deviation of the values.						*/
+		protected final double		standardDeviation;
+
+		/**
+		 * create a distribution from the values of a measure.
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 * pre	{@code name != null && !name.isEmpty()}
+		 * pre	{@code values != null && values.length > 0}
+		 * post	{@code true}	// no postcondition.
+		 * </pre>
+		 *
+		 * @param name		name of the measure.
+		 * @param values	values of the measure over the runs.
+		 */
+		public				Distribution(String name, double[] values)
+		{
+			assert	name != null && !name.isEmpty() :
+					new AssertionError("name != null && !name.isEmpty()");
+			assert	values != null && values.length > 0 :
+					new AssertionError("values != null && values.length > 0");
+
+			this.name = name;
+			this.values = values.clone();
+			Arrays.sort(this.values);
+			double sum = 0.0;
+			for (double v : this.values) {
+				sum += v;
+			}
+			this.mean = sum/this.values.length;
+			double squares = 0.0;
+			for (double v : this.values) {
+				squares += (v - this.mean)*(v - this.mean);
+			}
+			this.standardDeviation =
+					this.values.length > 1 ?
+						Math.sqrt(squares/(this.values.length - 1))
+					:	0.0;
+		}
+
+		/** @return	the number of values.									*/
+		public int			size()			{ return this.values.length; }
+		/** @return	the mean of the values.									*/
+		public double		getMean()		{ return this.mean; }
+		/** @return	the sample standard deviation of the values.			*/
+		public double		getStandardDeviation()
+		{
+			return this.standardDeviation;
+		}
+		/** @return	the smallest value.										*/
+		public double		getMin()		{ return this.values[0]; }
+		/** @return	the largest value.										*/
+		public double		getMax()
+		{
+			return this.values[this.values.length - 1];
+		}
+
+		/**
+		 * return the {@code p} quantile of the values, linearly interpolated
+		 * between the two closest values.
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 * pre	{@code p >= 0.0 && p <= 1.0}
+		 * post	{@code return >= getMin() && return <= getMax()}
+		 * </pre>
+		 *
+		 * @param p	probability of the quantile in [0, 1].
+		 * @return	the {@code p} quantile of the values.
+		 */
+		public double		quantile(double p)
+		{
+			assert	p >= 0.0 && p <= 1.0 :
+					new AssertionError("p >= 0.0 && p <= 1.0");
+
+			double position = p*(this.values.length - 1);
+			int lower = (int) Math.floor(position);
+			int upper = Math.min(lower + 1, this.values.length - 1);
+			double fraction = position - lower;
+			return this.values[lower]
+						+ fraction*(this.values[upper] - this.values[lower]);
+		}
+
+		/**
+		 * produce a one line printout of the distribution.
+		 *
+		 * @param indent	indentation as a string of blank characters.
+		 * @return			a printout of the distribution.
+		 */
+		public String		printout(String indent)
+		{
+			return String.format(
+					"%s%-28s mean = %10.4f, sd = %10.4f, min = %10.4f, "
+					+ "q05 = %10.4f, median = %10.4f, q95 = %10.4f, "
+					+ "max = %10.4f\n",
+					indent, this.name, this.mean, this.standardDeviation,
+					this.getMin(), this.quantile(0.05), this.quantile(0.5),
+					this.quantile(0.95), this.getMax());
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	public static void	main(String[] args)
+	{
+		RunGlobalSimulation.staticInvariants();
+
+		int numberOfRuns =
+				args.length > 0 ? Integer.parseInt(args[0])
+								: DEFAULT_NUMBER_OF_RUNS;
+		int parallelism =
+				args.length > 1 ? Integer.parseInt(args[1])
+								: Runtime.getRuntime().availableProcessors();
+		long baseSeed =
+				args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_BASE_SEED;
+
+		// parameter sets: sweep the initial level of the batteries
+		double[] initialBatteriesLevels = new double[]{0.2, 0.5, 0.8};
+		List<Map<String,Object>> parameterSets = new ArrayList<>();
+		for (double level : initialBatteriesLevels) {
+			Map<String,Object> ps = new HashMap<>();
+			ps.put(ModelI.createRunParameterName(
+								BatteriesPowerModel.URI,
+								BatteriesPowerModel.INITIAL_LEVEL_RP_NAME),
+				   level);
+			parameterSets.add(ps);
+		}
+
+		try {
+			long start = System.currentTimeMillis();
+			List<RunResult> results =
+				runBatch(numberOfRuns, baseSeed, parameterSets, parallelism);
+			long end = System.currentTimeMillis();
+
+			System.out.println(
+				"Monte-Carlo global simulation: " + numberOfRuns + " runs on "
+				+ parallelism + " threads in " + (end - start) + " ms.");
+			for (int i = 0 ; i < parameterSets.size() ; i++) {
+				System.out.println("parameter set " + i + ": "
+								   + parameterSets.get(i));
+				System.out.print(printout(results, i, "  "));
+			}
+			System.out.println("all parameter sets:");
+			System.out.print(printout(results, -1, "  "));
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * run a batch of {@code numberOfRuns} independent simulations of the
+	 * classical test scenario on a work-stealing pool of {@code parallelism}
+	 * threads and return their results in the order of the runs.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code numberOfRuns > 0}
+	 * pre	{@code parameterSets != null && !parameterSets.isEmpty()}
+	 * pre	{@code parallelism > 0}
+	 * post	{@code return.size() == numberOfRuns}
+	 * </pre>
+	 *
+	 * @param numberOfRuns	number of runs in the batch.
+	 * @param baseSeed		seed of the first run, the run {@code i} using {@code baseSeed + i}.
+	 * @param parameterSets	run parameters overriding the standard ones, used in turn by the runs.
+	 * @param parallelism	number of threads executing the runs.
+	 * @return				the results of the runs.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public static List<RunResult>	runBatch(
+		int numberOfRuns,
+		long baseSeed,
+		List<Map<String,Object>> parameterSets,
+		int parallelism
+		) throws Exception
+	{
+		assert	numberOfRuns > 0 : new AssertionError("numberOfRuns > 0");
+		assert	parameterSets != null && !parameterSets.isEmpty() :
+				new AssertionError(
+						"parameterSets != null && !parameterSets.isEmpty()");
+		assert	parallelism > 0 : new AssertionError("parallelism > 0");
+
+		silenceTracing();
+
+		List<Callable<RunResult>> runs = new ArrayList<>(numberOfRuns);
+		for (int i = 0 ; i < numberOfRuns ; i++) {
+			final int run = i;
+			final long seed = baseSeed + i;
+			final int set = i % parameterSets.size();
+			final Map<String,Object> overrides = parameterSets.get(set);
+			runs.add(() -> runOne(run, seed, set, overrides));
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			List<RunResult> ret = new ArrayList<>(numberOfRuns);
+			for (Future<RunResult> f : pool.invokeAll(runs)) {
+				try {
+					ret.add(f.get());
+				} catch (ExecutionException e) {
+					throw (e.getCause() instanceof Exception) ?
+								(Exception) e.getCause()
+							:	e;
+				}
+			}
+			return ret;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * execute one run of the classical test scenario on its own copy of the
+	 * global simulation architecture.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code overrides != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param run			index of the run in its batch.
+	 * @param seed			seed for the stochastic models.
+	 * @param parameterSet	index of the parameter set.
+	 * @param overrides		run parameters overriding the standard ones.
+	 * @return				the result of the run.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected static RunResult	runOne(
+		int run,
+		long seed,
+		int parameterSet,
+		Map<String,Object> overrides
+		) throws Exception
+	{
+		return runOne(run, seed, parameterSet, overrides, false);
+	}
+
+	/**
+	 * execute one run of the classical test scenario on its own copy of the
+	 * global simulation architecture, using the
+	 * {@code AggregatingElectricMeterModel} when {@code aggregatingMeter} is
+	 * true.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code overrides != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param run				index of the run in its batch.
+	 * @param seed				seed for the stochastic models.
+	 * @param parameterSet		index of the parameter set.
+	 * @param overrides			run parameters overriding the standard ones.
+	 * @param aggregatingMeter	when true, use the {@code AggregatingElectricMeterModel}.
+	 * @return					the result of the run.
+	 * @throws Exception		<i>to do</i>.
+	 */
+	protected static RunResult	runOne(
+		int run,
+		long seed,
+		int parameterSet,
+		Map<String,Object> overrides,
+		boolean aggregatingMeter
+		) throws Exception
+	{
+		Map<String,Object> simParams = new HashMap<>();
+		SimulatorI se = RunGlobalSimulation.createSimulator(simParams,
+															aggregatingMeter);
+
+		TestScenarioWithSimulation classical = RunGlobalSimulation.classical();
+		classical.addToRunParameters(simParams);
+		simParams.putAll(overrides);
+		simParams.put(
+				ModelI.createRunParameterName(FanSimpleUserModel.URI,
+											  FanSimpleUserModel.SEED_RPNAME),
+				seed);
+		simParams.put(
+				ModelI.createRunParameterName(
+								StochasticSunIntensityModel.URI,
+								StochasticSunIntensityModel.SEED_RP_NAME),
+				seed ^ SUN_SEED_MIX);
+		se.setSimulationRunParameters(simParams);
+
+		Time startTime = classical.getStartTime();
+		Duration d = classical.getEndTime().subtract(startTime);
+		se.doStandAloneSimulation(startTime.getSimulatedTime(),
+								  d.getSimulatedDuration());
+
+		double consumption = 0.0;
+		double fuelConsumption = 0.0;
+		double deficitMinutes = 0.0;
+		GlobalReport r = (GlobalReport) se.getFinalReport();
+		for (GlobalReportI sr : r.getSubReports()) {
+			if (sr instanceof ElectricMeterElectricityReport) {
+				ElectricMeterElectricityReport mr =
+										(ElectricMeterElectricityReport) sr;
+				consumption = mr.getTotalConsumption();
+				deficitMinutes = mr.getDeficitDuration()*60.0;
+			} else if (sr instanceof GeneratorFuelReport) {
+				fuelConsumption = ((GeneratorFuelReport) sr).getFuelConsumption();
+			}
+		}
+		return new RunResult(run, seed, parameterSet, consumption,
+							 fuelConsumption, deficitMinutes);
+	}
+
+	/**
+	 * produce a printout of the distributions of the measures over the runs
+	 * that used the parameter set {@code parameterSet}, or over all the runs
+	 * when {@code parameterSet < 0}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code results != null}
+	 * pre	{@code indent != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param results		results of the runs of a batch.
+	 * @param parameterSet	index of the parameter set or -1 for all the runs.
+	 * @param indent		indentation as a string of blank characters.
+	 * @return				a printout of the distributions.
+	 */
+	public static String	printout(
+		List<RunResult> results,
+		int parameterSet,
+		String indent
+		)
+	{
+		List<RunResult> selected = new ArrayList<>();
+		for (RunResult r : results) {
+			if (parameterSet < 0 || r.parameterSet == parameterSet) {
+				selected.add(r);
+			}
+		}
+		if (selected.isEmpty()) {
+			return indent + "no run.\n";
+		}
+
+		double[] consumptions = new double[selected.size()];
+		double[] fuelConsumptions = new double[selected.size()];
+		double[] deficits = new double[selected.size()];
+		for (int i = 0 ; i < selected.size() ; i++) {
+			consumptions[i] = selected.get(i).consumption;
+			fuelConsumptions[i] = selected.get(i).fuelConsumption;
+			deficits[i] = selected.get(i).deficitMinutes;
+		}
+		StringBuffer ret = new StringBuffer();
+		ret.append(indent);
+		ret.append(selected.size());
+		ret.append(" runs\n");
+		ret.append(new Distribution("consumption (kwh)", consumptions).
+																printout(indent));
+		ret.append(new Distribution("fuel consumption (liters)",
+									fuelConsumptions).printout(indent));
+		ret.append(new Distribution("deficit duration (minutes)", deficits).
+																printout(indent));
+		return ret.toString();
+	}
+
+	/**
+	 * switch off the tracing of all the models of the global simulator, the
+	 * runs of a batch being executed concurrently.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 */
+	protected static void	silenceTracing()
+	{
+		GlobalCoupledModel.DEBUG = false;
+
+		FanElectricityModel.VERBOSE = false;
+		FanElectricityModel.DEBUG = false;
+		FanSimpleUserModel.VERBOSE = false;
+		FanSimpleUserModel.DEBUG = false;
+
+		CoffeeMachineElectricityModel.VERBOSE = false;
+		CoffeeMachineElectricityModel.DEBUG = false;
+		CoffeeMachineTemperatureModel.VERBOSE = false;
+		CoffeeMachineTemperatureModel.DEBUG  = false;
+		CoffeeMachineUnitTesterModel.VERBOSE = false;
+		CoffeeMachineUnitTesterModel.DEBUG  = false;
+
+		LaundryElectricityModel.VERBOSE = false;
+		LaundryElectricityModel.DEBUG = false;
+		LaundryUnitTesterModel.VERBOSE = false;
+		LaundryUnitTesterModel.DEBUG = false;
+
+		KettleElectricityModel.VERBOSE = false;
+		KettleElectricityModel.DEBUG = false;
+		KettleTemperatureModel.VERBOSE = false;
+		KettleTemperatureModel.DEBUG = false;
+		KettleUnitTesterModel.VERBOSE = false;
+		KettleUnitTesterModel.DEBUG = false;
+
+		BatteriesPowerModel.VERBOSE = false;
+		BatteriesPowerModel.DEBUG = false;
+
+		AstronomicalSunRiseAndSetModel.VERBOSE = false;
+		AstronomicalSunRiseAndSetModel.DEBUG = false;
+		DeterministicSunRiseAndSetModel.VERBOSE = false;
+		DeterministicSunRiseAndSetModel.DEBUG = false;
+		StochasticSunIntensityModel.VERBOSE = false;
+		StochasticSunIntensityModel.DEBUG = false;
+		DeterministicSunIntensityModel.VERBOSE = false;
+		DeterministicSunIntensityModel.DEBUG = false;
+		SolarPanelPowerModel.VERBOSE = false;
+		SolarPanelPowerModel.DEBUG = false;
+
+		GeneratorFuelModel.VERBOSE = false;
+		GeneratorFuelModel.DEBUG = false;
+		GeneratorPowerModel.VERBOSE = false;
+		GeneratorPowerModel.DEBUG = false;
+		GeneratorGlobalTesterModel.VERBOSE = false;
+		GeneratorGlobalTesterModel.DEBUG = false;
+
+		ElectricMeterElectricityModel.VERBOSE = false;
+		ElectricMeterElectricityModel.DEBUG = false;
+
+		SimulationEngine.SIMULATION_STEP_SLEEP_TIME = 0L;
+	}
+}
+// -----------------------------------------------------------------------------
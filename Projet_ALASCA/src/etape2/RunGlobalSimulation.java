@@ -71,7 +71,11 @@ import etape2.equipments.laundry.mil.events.SetWhiteModeLaundry;
 import etape2.equipments.laundry.mil.events.StartWash;
 import etape2.equipments.laundry.mil.events.SwitchOffLaundry;
 import etape2.equipments.laundry.mil.events.SwitchOnLaundry;
+import etape2.equipments.meter.mil.AbstractElectricMeterElectricityModel;
+import etape2.equipments.meter.mil.AggregatingElectricMeterModel;
 import etape2.equipments.meter.mil.ElectricMeterElectricityModel;
+import etape2.equipments.meter.mil.events.ConsumerIntensityChanged;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.equipments.solar_panel.mil.AstronomicalSunRiseAndSetModel;
 import etape2.equipments.solar_panel.mil.DeterministicSunIntensityModel;
 import etape2.equipments.solar_panel.mil.DeterministicSunRiseAndSetModel;
@@ -80,6 +84,7 @@ import etape2.equipments.solar_panel.mil.SolarPanelSimulationConfigurationI;
 import etape2.equipments.solar_panel.mil.StochasticSunIntensityModel;
 import etape2.equipments.solar_panel.mil.SunIntensityModelI;
 import etape2.equipments.solar_panel.mil.SunRiseAndSetModelI;
+import etape2.equipments.solar_panel.mil.events.SunIntensityChanged;
 import etape2.equipments.solar_panel.mil.events.SunriseEvent;
 import etape2.equipments.solar_panel.mil.events.SunsetEvent;
 import fr.sorbonne_u.components.cyphy.utils.tests.SimulationTestStep;
@@ -139,6 +144,152 @@ public class			RunGlobalSimulation
 		Time.setPrintPrecision(4);
 		Duration.setPrintPrecision(4);
 
+		try {
+			// create the simulator and the run parameters of its models
+			Map<String,Object> simParams = new HashMap<>();
+			SimulatorI se = createSimulator(simParams);
+
+			// -----------------------------------------------------------------
+			// Simulation runs
+			// -----------------------------------------------------------------
+
+			// Tracing configuration
+
+			FanElectricityModel.VERBOSE = true;
+			FanElectricityModel.DEBUG = false;
+			FanSimpleUserModel.VERBOSE = true;
+			FanSimpleUserModel.DEBUG = false;
+
+			CoffeeMachineElectricityModel.VERBOSE = false;
+			CoffeeMachineElectricityModel.DEBUG = true;
+			CoffeeMachineTemperatureModel.VERBOSE = false;
+			CoffeeMachineTemperatureModel.DEBUG  = true;
+			CoffeeMachineUnitTesterModel.VERBOSE = true;
+			CoffeeMachineUnitTesterModel.DEBUG  = false;
+
+			LaundryElectricityModel.VERBOSE = true;
+			LaundryElectricityModel.DEBUG = false;
+			LaundryUnitTesterModel.VERBOSE = true;
+			LaundryUnitTesterModel.DEBUG = false;
+
+			KettleElectricityModel.VERBOSE = true;
+			KettleElectricityModel.DEBUG = false;
+			KettleTemperatureModel.VERBOSE = true;
+			KettleTemperatureModel.DEBUG = false;
+			KettleUnitTesterModel.VERBOSE = true;
+			KettleUnitTesterModel.DEBUG = false;
+
+			BatteriesPowerModel.VERBOSE = true;
+			BatteriesPowerModel.DEBUG = false;
+
+			if (SolarPanelSimulationConfigurationI.USE_ASTRONOMICAL_MODEL) {
+				AstronomicalSunRiseAndSetModel.VERBOSE = false;
+				AstronomicalSunRiseAndSetModel.DEBUG = false;
+			} else {
+				DeterministicSunRiseAndSetModel.VERBOSE = false;
+				DeterministicSunRiseAndSetModel.DEBUG = false;
+			}
+			if (SolarPanelSimulationConfigurationI.
+										USE_STOCHASTIC_SUN_INTENSITY_MODEL) {
+				StochasticSunIntensityModel.VERBOSE = false;
+				StochasticSunIntensityModel.DEBUG = false;
+			} else {
+				DeterministicSunIntensityModel.VERBOSE = false;
+				DeterministicSunIntensityModel.DEBUG = false;
+			}
+			SolarPanelPowerModel.VERBOSE = false;
+			SolarPanelPowerModel.DEBUG = false;
+
+			GeneratorFuelModel.VERBOSE = false;
+			GeneratorFuelModel.DEBUG = false;
+			GeneratorPowerModel.VERBOSE = false;
+			GeneratorPowerModel.DEBUG = false;
+			GeneratorGlobalTesterModel.VERBOSE = false;
+			GeneratorGlobalTesterModel.DEBUG = false;
+
+			ElectricMeterElectricityModel.VERBOSE = true;
+			ElectricMeterElectricityModel.DEBUG = false;
+
+			// this add additional time at each simulation step in
+			// standard simulations (useful for debugging)
+			SimulationEngine.SIMULATION_STEP_SLEEP_TIME = 0L;
+
+			// Test scenario
+
+			// run a CLASSICAL test scenario
+			TestScenarioWithSimulation classical = classical();
+			classical.addToRunParameters(simParams);
+			se.setSimulationRunParameters(simParams);
+			Time startTime = classical.getStartTime();
+			Duration d = classical.getEndTime().subtract(startTime);
+			se.doStandAloneSimulation(startTime.getSimulatedTime(),
+									  d.getSimulatedDuration());
+			// Optional: simulation report
+			GlobalReport r = (GlobalReport) se.getFinalReport();
+			System.out.println(r.printout(""));
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * create the global MIL simulator and put the run parameters of its models,
+	 * except the ones set by the test scenarios, in {@code simParams}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code simParams != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param simParams	map to which the run parameters of the models are added.
+	 * @return			a new simulator for the global MIL simulation.
+	 */
+	public static SimulatorI	createSimulator(Map<String,Object> simParams)
+	{
+		return createSimulator(simParams, false);
+	}
+
+	/**
+	 * create the global MIL simulator using either the
+	 * {@code ElectricMeterElectricityModel}, which imports one intensity
+	 * variable per appliance, or the {@code AggregatingElectricMeterModel},
+	 * to which the appliances send their intensity in
+	 * {@code ConsumerIntensityChanged} events, and put the run parameters of
+	 * its models, except the ones set by the test scenarios, in
+	 * {@code simParams}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code simParams != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param simParams			map to which the run parameters of the models are added.
+	 * @param aggregatingMeter	when true, use the {@code AggregatingElectricMeterModel}.
+	 * @return					a new simulator for the global MIL simulation.
+	 */
+	public static SimulatorI	createSimulator(
+		Map<String,Object> simParams,
+		boolean aggregatingMeter
+		)
+	{
+		// the electric meter model and the event by which the appliances
+		// signal their intensity changes to it
+		String meterURI = aggregatingMeter ?
+								AggregatingElectricMeterModel.URI
+							:	ElectricMeterElectricityModel.URI;
+		Class<? extends AbstractElectricMeterElectricityModel> meterClass =
+							aggregatingMeter ?
+								AggregatingElectricMeterModel.class
+							:	ElectricMeterElectricityModel.class;
+		Class<? extends EventI> consumerEvent =
+							aggregatingMeter ?
+								ConsumerIntensityChanged.class
+							:	PowerChanged.class;
+
 		try {
 			// -----------------------------------------------------------------
 			// Atomic models
@@ -327,10 +478,10 @@ public class			RunGlobalSimulation
 
 
 			atomicModelDescriptors.put(
-					ElectricMeterElectricityModel.URI,
+					meterURI,
 					AtomicHIOA_Descriptor.create(
-							ElectricMeterElectricityModel.class,
-							ElectricMeterElectricityModel.URI,
+							meterClass,
+							meterURI,
 							GlobalSimulationConfigurationI.TIME_UNIT,
 							null));
 
@@ -357,7 +508,7 @@ public class			RunGlobalSimulation
 			submodels.add(GeneratorFuelModel.URI);
 			submodels.add(GeneratorPowerModel.URI);
 			submodels.add(GeneratorGlobalTesterModel.URI);
-			submodels.add(ElectricMeterElectricityModel.URI);
+			submodels.add(meterURI);
 
 			// -----------------------------------------------------------------
 			// Event exchanging connections
@@ -411,6 +562,8 @@ public class			RunGlobalSimulation
 									SetPowerCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
+										  SetPowerCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
 										  SetPowerCoffeeMachine.class)
 					});
 			connections.put(
@@ -450,36 +603,48 @@ public class			RunGlobalSimulation
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  ServeCoffee.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  ServeCoffee.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetEcoModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetEcoModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetEcoModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetMaxModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetMaxModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetMaxModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetNormalModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetNormalModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetNormalModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetSuspendedModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetSuspendedModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetSuspendedModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, FillWaterCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 									FillWaterCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+									FillWaterCoffeeMachine.class)
 					});
 
 			// Laundry events
@@ -596,6 +761,8 @@ public class			RunGlobalSimulation
 									SetPowerKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+										  SetPowerKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 										  SetPowerKettle.class)
 					});
 			connections.put(
@@ -603,6 +770,8 @@ public class			RunGlobalSimulation
 									SetEcoModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+										  SetEcoModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 										  SetEcoModeKettle.class)
 					});
 			connections.put(
@@ -610,6 +779,8 @@ public class			RunGlobalSimulation
 									SetNormalModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+										  SetNormalModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 										  SetNormalModeKettle.class)
 					});
 			connections.put(
@@ -617,6 +788,8 @@ public class			RunGlobalSimulation
 									SetMaxModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+										  SetMaxModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 										  SetMaxModeKettle.class)
 					});
 			connections.put(
@@ -624,13 +797,15 @@ public class			RunGlobalSimulation
 									SetSuspendedModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+										  SetSuspendedModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 										  SetSuspendedModeKettle.class)
 					});
 
 			// Batteries events
 
 			connections.put(
-					new EventSource(ElectricMeterElectricityModel.URI,
+					new EventSource(meterURI,
 									BatteriesRequiredPowerChanged.class),
 					new EventSink[] {
 						new EventSink(BatteriesPowerModel.URI,
@@ -651,6 +826,12 @@ public class			RunGlobalSimulation
 					new EventSink(sunIntensityModelURI, SunsetEvent.class),
 					new EventSink(SolarPanelPowerModel.URI, SunsetEvent.class)
 				});
+			connections.put(
+				new EventSource(sunIntensityModelURI, SunIntensityChanged.class),
+				new EventSink[] {
+					new EventSink(SolarPanelPowerModel.URI,
+								  SunIntensityChanged.class)
+				});
 
 			// Generator events
 
@@ -672,7 +853,7 @@ public class			RunGlobalSimulation
 					new EventSink(GeneratorFuelModel.URI, Refill.class)
 				});
 			connections.put(
-				new EventSource(ElectricMeterElectricityModel.URI,
+				new EventSource(meterURI,
 								GeneratorRequiredPowerChanged.class),
 				new EventSink[] {
 					new EventSink(GeneratorPowerModel.URI,
@@ -699,6 +880,49 @@ public class			RunGlobalSimulation
 								  GeneratorRequiredPowerChanged.class)
 				});
 
+			// Electric meter events
+
+			// every producer of a variable imported by the electric meter
+			// signals its changes, so that the meter needs not poll them
+			connections.put(
+				new EventSource(FanElectricityModel.URI, consumerEvent),
+				new EventSink[] {
+					new EventSink(meterURI, consumerEvent)
+				});
+			connections.put(
+				new EventSource(CoffeeMachineElectricityModel.URI, consumerEvent),
+				new EventSink[] {
+					new EventSink(meterURI, consumerEvent)
+				});
+			connections.put(
+				new EventSource(LaundryElectricityModel.URI, consumerEvent),
+				new EventSink[] {
+					new EventSink(meterURI, consumerEvent)
+				});
+			connections.put(
+				new EventSource(KettleElectricityModel.URI, consumerEvent),
+				new EventSink[] {
+					new EventSink(meterURI, consumerEvent)
+				});
+			connections.put(
+				new EventSource(BatteriesPowerModel.URI, PowerChanged.class),
+				new EventSink[] {
+					new EventSink(meterURI,
+								  PowerChanged.class)
+				});
+			connections.put(
+				new EventSource(SolarPanelPowerModel.URI, PowerChanged.class),
+				new EventSink[] {
+					new EventSink(meterURI,
+								  PowerChanged.class)
+				});
+			connections.put(
+				new EventSource(GeneratorPowerModel.URI, PowerChanged.class),
+				new EventSink[] {
+					new EventSink(meterURI,
+								  PowerChanged.class)
+				});
+
 			// -----------------------------------------------------------------
 			// Variable bindings
 			// -----------------------------------------------------------------
@@ -752,13 +976,13 @@ public class			RunGlobalSimulation
 								   GeneratorPowerModel.URI),
 				new VariableSink[] {
 					new VariableSink("generatorOutputPower", Double.class,
-									 ElectricMeterElectricityModel.URI),
+									 meterURI),
 					new VariableSink("generatorOutputPower", Double.class,
 									 GeneratorFuelModel.URI)
 				});
 			bindings.put(
 				new VariableSource("generatorRequiredPower", Double.class,
-								   ElectricMeterElectricityModel.URI),
+								   meterURI),
 				new VariableSink[] {
 					new VariableSink("generatorRequiredPower", Double.class,
 									 GeneratorPowerModel.URI)
@@ -772,18 +996,18 @@ public class			RunGlobalSimulation
 								   BatteriesPowerModel.URI),
 				new VariableSink[] {
 					new VariableSink("batteriesOutputPower", Double.class,
-									 ElectricMeterElectricityModel.URI)
+									 meterURI)
 				});
 			bindings.put(
 				new VariableSource("batteriesInputPower", Double.class,
 								   BatteriesPowerModel.URI),
 				new VariableSink[] {
 					new VariableSink("batteriesInputPower", Double.class,
-									 ElectricMeterElectricityModel.URI)
+									 meterURI)
 				});
 			bindings.put(
 				new VariableSource("batteriesRequiredPower", Double.class,
-								   ElectricMeterElectricityModel.URI),
+								   meterURI),
 				new VariableSink[] {
 					new VariableSink("batteriesRequiredPower", Double.class,
 									 BatteriesPowerModel.URI)
@@ -794,41 +1018,44 @@ public class			RunGlobalSimulation
 								   SolarPanelPowerModel.URI),
 				new VariableSink[] {
 					new VariableSink("solarPanelOutputPower", Double.class,
-									 ElectricMeterElectricityModel.URI)
+									 meterURI)
 				});
 
-			bindings.put(
-				new VariableSource("currentIntensity", Double.class,
-								   FanElectricityModel.URI),
-				new VariableSink[] {
-					new VariableSink("currentIntensity", Double.class,
-									 "currentFanIntensity", Double.class,
-									 ElectricMeterElectricityModel.URI)
-				});
-			bindings.put(
-				new VariableSource("currentIntensity", Double.class,
-								   CoffeeMachineElectricityModel.URI),
-				new VariableSink[] {
-					new VariableSink("currentIntensity", Double.class,
-									 "currentCoffeeMachineIntensity", Double.class,
-									 ElectricMeterElectricityModel.URI)
-				});
-			bindings.put(
-				new VariableSource("currentIntensity", Double.class,
-								   LaundryElectricityModel.URI),
-				new VariableSink[] {
-					new VariableSink("currentIntensity", Double.class,
-									 "currentLaundryIntensity", Double.class,
-									 ElectricMeterElectricityModel.URI)
-				});
-			bindings.put(
-				new VariableSource("currentIntensity", Double.class,
-								   KettleElectricityModel.URI),
-				new VariableSink[] {
-					new VariableSink("currentIntensity", Double.class,
-									 "currentKettleIntensity", Double.class,
-									 ElectricMeterElectricityModel.URI)
-				});
+			if (!aggregatingMeter) {
+				// the aggregating meter receives the intensities in events
+				bindings.put(
+					new VariableSource("currentIntensity", Double.class,
+									   FanElectricityModel.URI),
+					new VariableSink[] {
+						new VariableSink("currentIntensity", Double.class,
+										 "currentFanIntensity", Double.class,
+										 meterURI)
+					});
+				bindings.put(
+					new VariableSource("currentIntensity", Double.class,
+									   CoffeeMachineElectricityModel.URI),
+					new VariableSink[] {
+						new VariableSink("currentIntensity", Double.class,
+										 "currentCoffeeMachineIntensity", Double.class,
+										 meterURI)
+					});
+				bindings.put(
+					new VariableSource("currentIntensity", Double.class,
+									   LaundryElectricityModel.URI),
+					new VariableSink[] {
+						new VariableSink("currentIntensity", Double.class,
+										 "currentLaundryIntensity", Double.class,
+										 meterURI)
+					});
+				bindings.put(
+					new VariableSource("currentIntensity", Double.class,
+									   KettleElectricityModel.URI),
+					new VariableSink[] {
+						new VariableSink("currentIntensity", Double.class,
+										 "currentKettleIntensity", Double.class,
+										 meterURI)
+					});
+			}
 
 			coupledModelDescriptors.put(
 					GlobalCoupledModel.URI,
@@ -859,8 +1086,6 @@ public class			RunGlobalSimulation
 			// Simulation run parameters
 			// -----------------------------------------------------------------
 
-			Map<String,Object> simParams = new HashMap<>();
-
 			// run parameters for hair dryer models
 
 			simParams.put(
@@ -980,86 +1205,28 @@ public class			RunGlobalSimulation
 					SolarPanelPowerModel.COMPUTATION_STEP_RP_NAME),
 				0.25);
 
-			// -----------------------------------------------------------------
-			// Simulation runs
-			// -----------------------------------------------------------------
-
-			// Tracing configuration
+			// run parameters for the electric meter and its consumers
 
-			FanElectricityModel.VERBOSE = true;
-			FanElectricityModel.DEBUG = false;
-			FanSimpleUserModel.VERBOSE = true;
-			FanSimpleUserModel.DEBUG = false;
-
-			CoffeeMachineElectricityModel.VERBOSE = false;
-			CoffeeMachineElectricityModel.DEBUG = true;
-			CoffeeMachineTemperatureModel.VERBOSE = false;
-			CoffeeMachineTemperatureModel.DEBUG  = true;
-			CoffeeMachineUnitTesterModel.VERBOSE = true;
-			CoffeeMachineUnitTesterModel.DEBUG  = false;
-
-			LaundryElectricityModel.VERBOSE = true;
-			LaundryElectricityModel.DEBUG = false;
-			LaundryUnitTesterModel.VERBOSE = true;
-			LaundryUnitTesterModel.DEBUG = false;
-
-			KettleElectricityModel.VERBOSE = true;
-			KettleElectricityModel.DEBUG = false;
-			KettleTemperatureModel.VERBOSE = true;
-			KettleTemperatureModel.DEBUG = false;
-			KettleUnitTesterModel.VERBOSE = true;
-			KettleUnitTesterModel.DEBUG = false;
-
-			BatteriesPowerModel.VERBOSE = true;
-			BatteriesPowerModel.DEBUG = false;
-
-			if (SolarPanelSimulationConfigurationI.USE_ASTRONOMICAL_MODEL) {
-				AstronomicalSunRiseAndSetModel.VERBOSE = false;
-				AstronomicalSunRiseAndSetModel.DEBUG = false;
-			} else {
-				DeterministicSunRiseAndSetModel.VERBOSE = false;
-				DeterministicSunRiseAndSetModel.DEBUG = false;
-			}
-			if (SolarPanelSimulationConfigurationI.
-										USE_STOCHASTIC_SUN_INTENSITY_MODEL) {
-				StochasticSunIntensityModel.VERBOSE = false;
-				StochasticSunIntensityModel.DEBUG = false;
-			} else {
-				DeterministicSunIntensityModel.VERBOSE = false;
-				DeterministicSunIntensityModel.DEBUG = false;
+			if (aggregatingMeter) {
+				String[] consumers = new String[]{FanElectricityModel.URI,
+												  CoffeeMachineElectricityModel.URI,
+												  LaundryElectricityModel.URI,
+												  KettleElectricityModel.URI};
+				for (String consumer : consumers) {
+					simParams.put(
+						ModelI.createRunParameterName(
+							consumer,
+							ConsumerIntensityChanged.SIGNAL_RPNAME),
+						true);
+				}
+				simParams.put(
+					ModelI.createRunParameterName(
+						AggregatingElectricMeterModel.URI,
+						AggregatingElectricMeterModel.CONSUMERS_RP_NAME),
+					consumers);
 			}
-			SolarPanelPowerModel.VERBOSE = false;
-			SolarPanelPowerModel.DEBUG = false;
 
-			GeneratorFuelModel.VERBOSE = false;
-			GeneratorFuelModel.DEBUG = false;
-			GeneratorPowerModel.VERBOSE = false;
-			GeneratorPowerModel.DEBUG = false;
-			GeneratorGlobalTesterModel.VERBOSE = false;
-			GeneratorGlobalTesterModel.DEBUG = false;
-
-			ElectricMeterElectricityModel.VERBOSE = true;
-			ElectricMeterElectricityModel.DEBUG = false;
-
-			// this add additional time at each simulation step in
-			// standard simulations (useful for debugging)
-			SimulationEngine.SIMULATION_STEP_SLEEP_TIME = 0L;
-
-			// Test scenario
-
-			// run a CLASSICAL test scenario
-			TestScenarioWithSimulation classical = classical();
-			Map<String, Object> classicalRunParameters =
-											new HashMap<String, Object>();
-			classical.addToRunParameters(classicalRunParameters);
-			se.setSimulationRunParameters(classicalRunParameters);
-			Time startTime = classical.getStartTime();
-			Duration d = classical.getEndTime().subtract(startTime);
-			se.doStandAloneSimulation(startTime.getSimulatedTime(),
-									  d.getSimulatedDuration());
-			// Optional: simulation report
-			GlobalReport r = (GlobalReport) se.getFinalReport();
-			System.out.println(r.printout(""));
+			return se;
 		} catch (Exception e) {
 			throw new RuntimeException(e) ;
 		}
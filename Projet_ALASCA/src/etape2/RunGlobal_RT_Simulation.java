@@ -81,6 +81,7 @@ import etape2.equipments.generator.mil.events.Stop;
 import etape2.equipments.generator.mil.events.TankEmpty;
 import etape2.equipments.generator.mil.events.TankNoLongerEmpty;
 import etape2.equipments.meter.mil.ElectricMeterElectricityModel;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.equipments.solar_panel.mil.AstronomicalSunRiseAndSetModel;
 import etape2.equipments.solar_panel.mil.DeterministicSunIntensityModel;
 import etape2.equipments.solar_panel.mil.DeterministicSunRiseAndSetModel;
@@ -89,6 +90,7 @@ import etape2.equipments.solar_panel.mil.SolarPanelSimulationConfigurationI;
 import etape2.equipments.solar_panel.mil.StochasticSunIntensityModel;
 import etape2.equipments.solar_panel.mil.SunIntensityModelI;
 import etape2.equipments.solar_panel.mil.SunRiseAndSetModelI;
+import etape2.equipments.solar_panel.mil.events.SunIntensityChanged;
 import etape2.equipments.solar_panel.mil.events.SunriseEvent;
 import etape2.equipments.solar_panel.mil.events.SunsetEvent;
 import fr.sorbonne_u.devs_simulation.architectures.Architecture;
@@ -481,6 +483,8 @@ public class			RunGlobal_RT_Simulation
 									SetPowerCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
+										  SetPowerCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
 										  SetPowerCoffeeMachine.class)
 					});
 			connections.put(
@@ -520,36 +524,48 @@ public class			RunGlobal_RT_Simulation
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  ServeCoffee.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  ServeCoffee.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetEcoModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetEcoModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetEcoModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetMaxModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetMaxModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetMaxModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetNormalModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetNormalModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetNormalModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetSuspendedModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetSuspendedModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetSuspendedModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, FillWaterCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 									FillWaterCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+									FillWaterCoffeeMachine.class)
 					});
 
 			// Batteries events
@@ -576,6 +592,12 @@ public class			RunGlobal_RT_Simulation
 					new EventSink(sunIntensityModelURI, SunsetEvent.class),
 					new EventSink(SolarPanelPowerModel.URI, SunsetEvent.class)
 				});
+			connections.put(
+				new EventSource(sunIntensityModelURI, SunIntensityChanged.class),
+				new EventSink[] {
+					new EventSink(SolarPanelPowerModel.URI,
+								  SunIntensityChanged.class)
+				});
 
 			// Generator events
 
@@ -624,6 +646,41 @@ public class			RunGlobal_RT_Simulation
 								  GeneratorRequiredPowerChanged.class)
 				});
 
+			// Electric meter events
+
+			// every producer of a variable imported by the electric meter
+			// signals its changes, so that the meter needs not poll them
+			connections.put(
+				new EventSource(FanElectricityModel.URI, PowerChanged.class),
+				new EventSink[] {
+					new EventSink(ElectricMeterElectricityModel.URI,
+								  PowerChanged.class)
+				});
+			connections.put(
+				new EventSource(CoffeeMachineElectricityModel.URI, PowerChanged.class),
+				new EventSink[] {
+					new EventSink(ElectricMeterElectricityModel.URI,
+								  PowerChanged.class)
+				});
+			connections.put(
+				new EventSource(BatteriesPowerModel.URI, PowerChanged.class),
+				new EventSink[] {
+					new EventSink(ElectricMeterElectricityModel.URI,
+								  PowerChanged.class)
+				});
+			connections.put(
+				new EventSource(SolarPanelPowerModel.URI, PowerChanged.class),
+				new EventSink[] {
+					new EventSink(ElectricMeterElectricityModel.URI,
+								  PowerChanged.class)
+				});
+			connections.put(
+				new EventSource(GeneratorPowerModel.URI, PowerChanged.class),
+				new EventSink[] {
+					new EventSink(ElectricMeterElectricityModel.URI,
+								  PowerChanged.class)
+				});
+
 			// -----------------------------------------------------------------
 			// Variable bindings
 			// -----------------------------------------------------------------
@@ -35,6 +35,9 @@ package etape2.equipments.batteries.mil;
 
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+
+import etape2.GlobalReportI;
+import etape2.GlobalCoupledModel.GlobalReport;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.StaticVariableDescriptor;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.VariableSink;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.VariableSource;
@@ -45,6 +48,7 @@ import fr.sorbonne_u.devs_simulation.models.events.EventSource;
 import fr.sorbonne_u.devs_simulation.models.events.ReexportedEvent;
 import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.CoordinatorI;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulationReportI;
 
 // -----------------------------------------------------------------------------
 /**
@@ -137,5 +141,25 @@ extends		CoupledModel
 		super(uri, simulatedTimeUnit, simulationEngine, submodels, imported,
 			  reexported, connections, importedVars, reexportedVars, bindings);
 	}
+
+	// -------------------------------------------------------------------------
+	// Optional DEVS simulation protocol: simulation report
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.CoupledModel#getFinalReport()
+	 */
+	@Override
+	public SimulationReportI	getFinalReport()
+	{
+		GlobalReport ret = new GlobalReport(this.getURI());
+		for (int i = 0 ; i < this.submodels.length ; i++) {
+			SimulationReportI r = this.submodels[i].getFinalReport();
+			if (r instanceof GlobalReportI) {
+				ret.addSubReport((GlobalReportI) r);
+			}
+		}
+		return ret;
+	}
 }
 // -----------------------------------------------------------------------------
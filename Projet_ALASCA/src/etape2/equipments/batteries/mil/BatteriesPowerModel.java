@@ -40,11 +40,13 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import etape1.equipments.batteries.Batteries.State;
+import etape2.GlobalReportI;
 import etape2.equipments.batteries.mil.events.BatteriesAvailable;
 import etape2.equipments.batteries.mil.events.BatteriesEmpty;
 import etape2.equipments.batteries.mil.events.BatteriesRequiredPowerChanged;
 import etape2.equipments.batteries.mil.events.StartCharging;
 import etape2.equipments.batteries.mil.events.StopCharging;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
 import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
@@ -61,6 +63,7 @@ import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.AtomicSimulatorI;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulationReportI;
 import fr.sorbonne_u.devs_simulation.utils.AssertionChecking;
 import fr.sorbonne_u.devs_simulation.utils.Pair;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
@@ -102,6 +105,20 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * used to plan the next internal transition.
  * </p>
  * <p>
+ * However, the derivative of the charge level is constant between two
+ * transitions, so the level is an exact linear function of time between them
+ * and the time at which it reaches a limit can be computed exactly. Hence,
+ * when {@code EVENT_HORIZON_STEPPING} is true, the quantum is always the
+ * distance to the limit towards which the level goes: the next internal
+ * transition is planned at the time the batteries become full or empty and
+ * any external event occurring before simply updates the level for the elapsed
+ * time, as explained below. A batteries under a constant load then performs a
+ * single internal transition to become empty instead of one per standard
+ * quantum. The level quantum run parameter is only used when
+ * {@code EVENT_HORIZON_STEPPING} is false. The number of internal transitions
+ * performed during a run is given in the final report of the model.
+ * </p>
+ * <p>
  * This model also exhibit another important feature: it has external events
  * which occurrence can happen before the next internal transition is reached.
  * When this happens, the current charge level must be updated but not of the
@@ -167,7 +184,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  *   {@code BatteriesRequiredPowerChanged}</li>
  * <li>Exported events:
  *   {@code BatteriesEmpty},
- *   {@code BatteriesAvailable}</li>
+ *   {@code BatteriesAvailable},
+ *   {@code PowerChanged}</li>
  * <li>Imported variables:
  *   name = {@code batteriesRequiredPower}, type = {@code Double}</li>
  * <li>Exported variables:
@@ -199,7 +217,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 @ModelExternalEvents(
 	imported = {StartCharging.class, StopCharging.class,
 				BatteriesRequiredPowerChanged.class},
-	exported = {BatteriesEmpty.class, BatteriesAvailable.class})
+	exported = {BatteriesEmpty.class, BatteriesAvailable.class,
+				PowerChanged.class})
 @ModelExportedVariables(
 	{@ModelExportedVariable(name = "batteriesInputPower", type = Double.class),
 	 @ModelExportedVariable(name = "batteriesOutputPower", type = Double.class)}
@@ -240,6 +259,10 @@ extends		AtomicHIOA
 	/** when comparing floating point values, use this tolerance to get
 	 *  the result of the comparison.										*/
 	protected static final double	TOLERANCE  = 1.0e-08;
+	/** when true, the next internal transition is planned when the level
+	 *  reaches its next limit, full or empty, otherwise when it has changed
+	 *  by the standard level quantum.										*/
+	public static boolean			EVENT_HORIZON_STEPPING = true;
 
 	/** single model URI.													*/
 	public static final String	URI = "batteries-power-model";
@@ -279,6 +302,9 @@ extends		AtomicHIOA
 	protected State					currentState;
 	/** the event to be emitted at the next output or null if none.			*/
 	protected EventToBeEmittedNext	toBeEmitted;
+	/** when true, the change of the input or output power must be
+	 *  signalled to the electric meter at the next output.				*/
+	protected boolean				powerChangeToBeSignalled;
 
 	/** current power consumed from the electric circuit to charge the
 	 *  batteries in {@code MeasurementUnit.AMPERES}.						*/
@@ -312,6 +338,11 @@ extends		AtomicHIOA
 	@InternalVariable(type = Double.class)
 	protected Value<Double>	lastDerivative = new Value<>(this);
 
+	/** number of internal transitions performed during the current run.	*/
+	protected int				numberOfInternalTransitions;
+	/** final report of the last run, null until the end of a run.			*/
+	protected BatteriesPowerReport	finalReport;
+
 	// -------------------------------------------------------------------------
 	// Invariants
 	// -------------------------------------------------------------------------
@@ -521,7 +552,10 @@ extends		AtomicHIOA
 	{
 		this.currentState = State.IDLE;
 		this.toBeEmitted = null;
+		this.powerChangeToBeSignalled = false;
 		this.currentLevelQuantum = this.standardLevelQuantum;
+		this.numberOfInternalTransitions = 0;
+		this.finalReport = null;
 
 		// Invariant checking
 		assert	BatteriesPowerModel.implementationInvariants(this) :
@@ -732,6 +766,10 @@ extends		AtomicHIOA
 			// immediate internal event that will emit an external event to
 			// notify the users
 			ret = Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.powerChangeToBeSignalled) {
+			// the change of the power levels is signalled to the electric
+			// meter at the time it occurs
+			ret = Duration.zero(this.getSimulatedTimeUnit());
 		} else if (!this.currentState.equals(State.IDLE)) {
 			// when charging or producing the time to the next internal event
 			// is the time required for the batteries level to change of the
@@ -767,14 +805,19 @@ extends		AtomicHIOA
 	@Override
 	public ArrayList<EventI>	output()
 	{
-		if (this.toBeEmitted != null) {
+		if (this.toBeEmitted != null || this.powerChangeToBeSignalled) {
 			ArrayList<EventI> ret = new ArrayList<EventI>();
-			if (toBeEmitted.equals(EventToBeEmittedNext.BATTERIES_EMPTY)) {
-				ret.add(new BatteriesEmpty(this.getTimeOfNextEvent()));
-			} else {
-				ret.add(new BatteriesAvailable(this.getTimeOfNextEvent()));
+			if (this.toBeEmitted != null) {
+				if (toBeEmitted.equals(EventToBeEmittedNext.BATTERIES_EMPTY)) {
+					ret.add(new BatteriesEmpty(this.getTimeOfNextEvent()));
+				} else {
+					ret.add(new BatteriesAvailable(this.getTimeOfNextEvent()));
+				}
+			}
+			if (this.powerChangeToBeSignalled) {
+				// both flags are reset by the following internal transition
+				ret.add(new PowerChanged(this.getTimeOfNextEvent()));
 			}
-			this.toBeEmitted = null;
 			
 			// tracing
 			if (DEBUG) {
@@ -850,6 +893,9 @@ extends		AtomicHIOA
 		assert	toBeEmitted == null :
 				new NeoSim4JavaException("toBeEmitted == null");
 
+		double oldInputPower = this.batteriesInputPower.getValue();
+		double oldOutputPower = this.batteriesOutputPower.getValue();
+
 		// First, update the current level of the batteries using the level
 		// quantum chosen at the preceding evaluation, and also possibly the
 		// state, when an internal event TANK_EMPTY occurs. Next, update the
@@ -921,14 +967,16 @@ extends		AtomicHIOA
 			// update the current level quantum for the next transition
 			switch (this.currentState) {
 			case CHARGING:
-				if (newLevel + this.standardLevelQuantum <= this.maxCapacity) {
+				if (!EVENT_HORIZON_STEPPING &&
+						newLevel + this.standardLevelQuantum <= this.maxCapacity) {
 					this.currentLevelQuantum = this.standardLevelQuantum;
 				} else {
 					this.currentLevelQuantum = this.maxCapacity - newLevel;
 				}
 				break;
 			case PRODUCING:
-				if (newLevel >= this.standardLevelQuantum) {
+				if (!EVENT_HORIZON_STEPPING &&
+										newLevel >= this.standardLevelQuantum) {
 					this.currentLevelQuantum = -this.standardLevelQuantum;
 				} else {
 					this.currentLevelQuantum = -newLevel;
@@ -979,6 +1027,13 @@ extends		AtomicHIOA
 			throw new NeoSim4JavaException("unknown batteries state!");
 		}
 
+		if (PowerChanged.isSignificant(oldInputPower,
+									   this.batteriesInputPower.getValue())
+			|| PowerChanged.isSignificant(oldOutputPower,
+									   this.batteriesOutputPower.getValue())) {
+			this.powerChangeToBeSignalled = true;
+		}
+
 		// update the last derivative with the one at the current time
 		this.lastDerivative.setNewValue(
 				this.computeCurrentCapacityDerivative(), 
@@ -1008,7 +1063,20 @@ extends		AtomicHIOA
 	{
 		super.userDefinedInternalTransition(elapsedTime);
 
-		this.computeNextState();
+		this.numberOfInternalTransitions++;
+		// the events emitted by the preceding output have been sent, so the
+		// two flags are reset independently of each other
+		boolean levelEventEmitted = this.toBeEmitted != null;
+		boolean powerChangeSignalled = this.powerChangeToBeSignalled;
+		this.toBeEmitted = null;
+		this.powerChangeToBeSignalled = false;
+		if (levelEventEmitted || !powerChangeSignalled) {
+			// when the transition has only been made to signal the change of
+			// the power levels, these are already up to date and computing the
+			// next state again would consume the level quantum too early;
+			// otherwise, the next state must be computed
+			this.computeNextState();
+		}
 
 		// tracing
 		if (DEBUG) {
@@ -1106,14 +1174,124 @@ extends		AtomicHIOA
 	@Override
 	public void			endSimulation(Time endTime)
 	{
+		// the level is only updated at transitions, so its change since the
+		// last one is added from the last derivative
+		double finalLevel = this.currentLevel.getValue();
+		if (!(this.currentState.equals(State.IDLE) ||
+									this.currentState.equals(State.EMPTY))) {
+			finalLevel +=
+				this.lastDerivative.getValue() *
+					endTime.subtract(this.getCurrentStateTime()).
+													getSimulatedDuration();
+			finalLevel = Math.min(Math.max(finalLevel, 0.0), this.maxCapacity);
+		}
+		this.finalReport =
+			new BatteriesPowerReport(this.getURI(),
+									 finalLevel,
+									 this.numberOfInternalTransitions);
+
 		// tracing
 		if (VERBOSE) {
 			this.logMessage(
 					"simulation ending at " + endTime
 					+ " currentState = " + this.currentState
-					+ " currentLevel = " + this.currentLevel);
+					+ " currentLevel = " + finalLevel
+					+ " after " + this.numberOfInternalTransitions
+					+ " internal transitions");
 		}
 		super.endSimulation(endTime);
 	}
+
+	// -------------------------------------------------------------------------
+	// Optional DEVS simulation protocol: simulation report
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>BatteriesPowerReport</code> implements the simulation
+	 * report for the <code>BatteriesPowerModel</code>.
+	 *
+	 * <p><strong>Description</strong></p>
+	 * 
+	 * <p><strong>Invariant</strong></p>
+	 * 
+	 * <pre>
+	 * invariant	{@code true}	// no invariant
+	 * </pre>
+	 * 
+	 * <p>Created on : 2026-10-18</p>
+	 * 
+	 * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+	 */
+	public static class		BatteriesPowerReport
+	implements	SimulationReportI, GlobalReportI
+	{
+		private static final long serialVersionUID = 1L;
+		protected String	modelURI;
+		protected double	finalLevel; // in watt hours
+		protected int		numberOfInternalTransitions;
+
+		public			BatteriesPowerReport(
+			String modelURI,
+			double finalLevel,
+			int numberOfInternalTransitions
+			)
+		{
+			super();
+			this.modelURI = modelURI;
+			this.finalLevel = finalLevel;
+			this.numberOfInternalTransitions = numberOfInternalTransitions;
+		}
+
+		@Override
+		public String	getModelURI()
+		{
+			return this.modelURI;
+		}
+
+		/** @return	the charge level at the end of the run in watt hours.	*/
+		public double	getFinalLevel()
+		{
+			return this.finalLevel;
+		}
+
+		/** @return	the number of internal transitions during the run.		*/
+		public int		getNumberOfInternalTransitions()
+		{
+			return this.numberOfInternalTransitions;
+		}
+
+		@Override
+		public String	printout(String indent)
+		{
+			StringBuffer ret = new StringBuffer(indent);
+			ret.append("---\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append(this.modelURI);
+			ret.append(" report\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append("final charge level in watt hours = ");
+			ret.append(this.finalLevel);
+			ret.append(".\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append("number of internal transitions = ");
+			ret.append(this.numberOfInternalTransitions);
+			ret.append(".\n");
+			ret.append(indent);
+			ret.append("---\n");
+			return ret.toString();
+		}		
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#getFinalReport()
+	 */
+	@Override
+	public SimulationReportI	getFinalReport()
+	{
+		return this.finalReport;
+	}
 }
 // -----------------------------------------------------------------------------
@@ -0,0 +1,318 @@
+package etape2.equipments.batteries.mil;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import etape2.GlobalCoupledModel.GlobalReport;
+import etape2.GlobalReportI;
+import etape2.equipments.batteries.mil.BatteriesPowerModel.BatteriesPowerReport;
+import etape2.equipments.batteries.mil.events.BatteriesRequiredPowerChanged;
+import etape2.equipments.batteries.mil.events.StartCharging;
+import etape2.equipments.batteries.mil.events.StopCharging;
+import fr.sorbonne_u.components.cyphy.utils.tests.SimulationTestStep;
+import fr.sorbonne_u.components.cyphy.utils.tests.TestScenarioWithSimulation;
+import fr.sorbonne_u.devs_simulation.architectures.ArchitectureI;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.devs_simulation.simulators.SimulationEngine;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunBatteriesSteppingBenchmark</code> compares the number of
+ * internal transitions of {@code BatteriesPowerModel} with and without the
+ * event horizon stepping on a long charge and discharge scenario.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The scenario lasts a week: every day, the batteries are charged from 10:00
+ * to 13:00 and a required power of 5.0, as in the unit tests, is drawn from
+ * them from 18:00 to midnight. It is run once with
+ * the stepping by level quantum and once with the event horizon stepping,
+ * then the numbers of internal transitions and the final levels of the
+ * batteries are printed. The level being linear between transitions, both
+ * final levels must agree, while the number of transitions of the event
+ * horizon stepping only depends upon the number of input changes. It can be
+ * used as a regression check when changing the batteries models:
+ * </p>
+ * 
+ * <pre>
+ * java -ea etape2.equipments.batteries.mil.RunBatteriesSteppingBenchmark
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			RunBatteriesSteppingBenchmark
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** number of days in the benchmark scenario.							*/
+	public static final int		NUMBER_OF_DAYS = 7;
+	/** power required from the batteries in the evening.				*/
+	public static final double	EVENING_REQUIRED_POWER = 5.0;
+	/** largest relative difference accepted between the final levels.		*/
+	public static final double	LEVEL_TOLERANCE = 1.0e-6;
+	/** the start instant of the benchmark scenario.						*/
+	protected static Instant	START_INSTANT =
+									Instant.parse("2025-10-20T12:00:00.00Z");
+	/** the end instant of the benchmark scenario.							*/
+	protected static Instant	END_INSTANT =
+									START_INSTANT.plus(NUMBER_OF_DAYS,
+													   ChronoUnit.DAYS);
+	/** the start time in simulated time, corresponding to
+	 *  {@code START_INSTANT}.												*/
+	protected static Time		START_TIME =
+									new Time(0.0, TimeUnit.HOURS);
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	public static void	main(String[] args)
+	{
+		Time.setPrintPrecision(4);
+		Duration.setPrintPrecision(4);
+		BatteriesPowerModel.VERBOSE = false;
+		BatteriesPowerModel.DEBUG = false;
+		SimulationEngine.SIMULATION_STEP_SLEEP_TIME = 0L;
+
+		try {
+			BatteriesPowerReport quantum = run(false);
+			BatteriesPowerReport horizon = run(true);
+
+			System.out.println(String.format(
+				"quantum stepping:       %8d internal transitions, "
+				+ "final level %.6f Wh",
+				quantum.getNumberOfInternalTransitions(),
+				quantum.getFinalLevel()));
+			System.out.println(String.format(
+				"event horizon stepping: %8d internal transitions, "
+				+ "final level %.6f Wh",
+				horizon.getNumberOfInternalTransitions(),
+				horizon.getFinalLevel()));
+			System.out.println(String.format(
+				"transitions ratio: %.1f",
+				((double)quantum.getNumberOfInternalTransitions())/
+									horizon.getNumberOfInternalTransitions()));
+
+			double difference =
+				Math.abs(quantum.getFinalLevel() - horizon.getFinalLevel())/
+						Math.max(1.0, Math.abs(quantum.getFinalLevel()));
+			if (difference > LEVEL_TOLERANCE) {
+				System.out.println(String.format(
+					"FAILED: final levels differ by %.3e", difference));
+				System.exit(1);
+			}
+			System.out.println("final levels agree.");
+			System.exit(0);
+		} catch (Throwable e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * run the benchmark scenario with or without the event horizon stepping
+	 * and return the report of the batteries power model.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param eventHorizon	true if the event horizon stepping must be used.
+	 * @return				the report of the batteries power model.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected static BatteriesPowerReport	run(boolean eventHorizon)
+	throws Exception
+	{
+		BatteriesPowerModel.EVENT_HORIZON_STEPPING = eventHorizon;
+
+		ArchitectureI architecture =
+				RunBatteriesUnitaryMILSimulation.createArchitecture();
+		SimulatorI se = architecture.constructSimulator();
+
+		TestScenarioWithSimulation scenario = scenario();
+		Map<String, Object> runParameters = new HashMap<String, Object>();
+		scenario.addToRunParameters(runParameters);
+		se.setSimulationRunParameters(runParameters);
+		Time startTime = scenario.getStartTime();
+		Duration d = scenario.getEndTime().subtract(startTime);
+		se.doStandAloneSimulation(startTime.getSimulatedTime(),
+								  d.getSimulatedDuration());
+		se.getSimulatedModel().finalise();
+
+		GlobalReport report =
+						(GlobalReport) se.getSimulatedModel().getFinalReport();
+		for (GlobalReportI r : report.getSubReports()) {
+			if (r instanceof BatteriesPowerReport) {
+				return (BatteriesPowerReport) r;
+			}
+		}
+		throw new RuntimeException("no batteries power report found.");
+	}
+
+	/**
+	 * return the benchmark scenario, charging the batteries every morning and
+	 * drawing power from them every evening.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return				the benchmark scenario.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected static TestScenarioWithSimulation	scenario() throws Exception
+	{
+		ArrayList<SimulationTestStep> steps = new ArrayList<>();
+		Instant midnight = START_INSTANT.truncatedTo(ChronoUnit.DAYS);
+		for (int day = 0 ; day < NUMBER_OF_DAYS ; day++) {
+			Instant dayStart = midnight.plus(day, ChronoUnit.DAYS);
+			Instant startCharging = dayStart.plus(10, ChronoUnit.HOURS);
+			if (startCharging.isAfter(START_INSTANT)) {
+				steps.add(new SimulationTestStep(
+					BatteriesUnitTesterModel.URI,
+					startCharging,
+					(m, t) -> {
+						ArrayList<EventI> ret = new ArrayList<>();
+						ret.add(new StartCharging(t));
+						return ret;
+					},
+					(m, t) -> {}));
+				steps.add(new SimulationTestStep(
+					BatteriesUnitTesterModel.URI,
+					dayStart.plus(13, ChronoUnit.HOURS),
+					(m, t) -> {
+						ArrayList<EventI> ret = new ArrayList<>();
+						ret.add(new StopCharging(t));
+						return ret;
+					},
+					(m, t) -> {}));
+			}
+			addRequiredPowerChange(steps,
+								   dayStart.plus(18, ChronoUnit.HOURS),
+								   EVENING_REQUIRED_POWER);
+			addRequiredPowerChange(steps,
+								   dayStart.plus(24, ChronoUnit.HOURS),
+								   0.0);
+		}
+
+		return new TestScenarioWithSimulation(
+			"-----------------------------------------------------\n" +
+			"Batteries stepping benchmark\n" +
+			"-----------------------------------------------------\n",
+			"\n-----------------------------------------------------\n" +
+			"End batteries stepping benchmark\n" +
+			"-----------------------------------------------------",
+			"fake-clock-URI",	// for simulation only test scenario, no clock needed
+			START_INSTANT,
+			END_INSTANT,
+			BatteriesCoupledModel.URI,
+			START_TIME,
+			(ts, simParams) -> {
+				RunBatteriesUnitaryMILSimulation.
+										putPowerModelRunParameters(simParams);
+				simParams.put(
+					ModelI.createRunParameterName(
+						BatteriesUnitTesterModel.URI,
+						BatteriesUnitTesterModel.TEST_SCENARIO_RP_NAME),
+					ts);
+			},
+			steps.toArray(new SimulationTestStep[steps.size()]));
+	}
+
+	/**
+	 * add to {@code steps} the two steps changing the power required from the
+	 * batteries at {@code instant}, the first setting the power and the
+	 * second emitting the event notifying the change, as in the unit tests.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code steps != null}
+	 * pre	{@code instant != null}
+	 * pre	{@code power >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param steps		list of test steps to be completed.
+	 * @param instant	instant at which the required power changes.
+	 * @param power		new power required from the batteries in watts.
+	 */
+	protected static void	addRequiredPowerChange(
+		ArrayList<SimulationTestStep> steps,
+		Instant instant,
+		double power
+		)
+	{
+		steps.add(new SimulationTestStep(
+			BatteriesUnitTesterModel.URI,
+			instant,
+			(m, t) -> { return null; },
+			(m, t) -> {
+				((BatteriesUnitTesterModel)m).
+										setBatteriesRequiredPower(power, t);
+			}));
+		steps.add(new SimulationTestStep(
+			BatteriesUnitTesterModel.URI,
+			instant,
+			(m, t) -> {
+				ArrayList<EventI> ret = new ArrayList<>();
+				ret.add(new BatteriesRequiredPowerChanged(t));
+				return ret;
+			},
+			(m, t) -> {}));
+	}
+}
+// -----------------------------------------------------------------------------
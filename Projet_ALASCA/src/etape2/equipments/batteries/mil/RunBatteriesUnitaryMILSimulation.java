@@ -126,13 +126,21 @@ public class			RunBatteriesUnitaryMILSimulation
 	// Methods
 	// -------------------------------------------------------------------------
 
-	public static void	main(String[] args)
+	/**
+	 * create the simulation architecture of the batteries unit tests.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return				the simulation architecture of the batteries unit tests.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public static ArchitectureI	createArchitecture() throws Exception
 	{
-		staticInvariants();
-		Time.setPrintPrecision(4);
-		Duration.setPrintPrecision(4);
-
-		try {
 			// map that will contain the atomic model descriptors to construct
 			// the simulation architecture
 			Map<String,AbstractAtomicModelDescriptor> atomicModelDescriptors =
@@ -260,6 +268,67 @@ public class			RunBatteriesUnitaryMILSimulation
 							atomicModelDescriptors,
 							coupledModelDescriptors,
 							BatteriesSimulationConfiguration.TIME_UNIT);
+			return architecture;
+	}
+
+	/**
+	 * put the run parameters of the batteries power model used in the test
+	 * scenarios into {@code simParams}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code simParams != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param simParams	map of run parameters to be completed.
+	 */
+	public static void	putPowerModelRunParameters(Map<String,Object> simParams)
+	{
+				simParams.put(
+					ModelI.createRunParameterName(
+						BatteriesPowerModel.URI,
+						BatteriesPowerModel.CAPACITY_RP_NAME),
+					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
+						* BatteriesSimulationConfiguration.
+												NUMBER_OF_CELL_GROUPS_IN_SERIES
+							* Batteries.CAPACITY_PER_UNIT.getData());
+				simParams.put(
+					ModelI.createRunParameterName(
+						BatteriesPowerModel.URI,
+						BatteriesPowerModel.IN_POWER_RP_NAME),
+					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
+						* Batteries.IN_POWER_PER_CELL.getData());
+				simParams.put(
+					ModelI.createRunParameterName(
+						BatteriesPowerModel.URI,
+						BatteriesPowerModel.MAX_OUT_POWER_RP_NAME),
+					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
+						* Batteries.MAX_OUT_POWER_PER_CELL.getData());
+				simParams.put(
+					ModelI.createRunParameterName(
+						BatteriesPowerModel.URI,
+						BatteriesPowerModel.LEVEL_QUANTUM_RP_NAME),
+					BatteriesSimulationConfiguration.
+											STANDARD_LEVEL_INTEGRATION_QUANTUM);
+				simParams.put(
+					ModelI.createRunParameterName(
+						BatteriesPowerModel.URI,
+						BatteriesPowerModel.INITIAL_LEVEL_RP_NAME),
+					BatteriesSimulationConfiguration.
+												INITIAL_BATTERIES_LEVEL_RATIO);
+	}
+
+	public static void	main(String[] args)
+	{
+		staticInvariants();
+		Time.setPrintPrecision(4);
+		Duration.setPrintPrecision(4);
+
+		try {
+			// simulation architecture
+			ArchitectureI architecture = createArchitecture();
 
 			// create the simulator from the simulation architecture
 			SimulatorI se = architecture.constructSimulator();
@@ -359,38 +428,7 @@ public class			RunBatteriesUnitaryMILSimulation
 			BatteriesCoupledModel.URI,
 			START_TIME,
 			(ts, simParams) -> {
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.CAPACITY_RP_NAME),
-					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
-						* BatteriesSimulationConfiguration.
-												NUMBER_OF_CELL_GROUPS_IN_SERIES
-							* Batteries.CAPACITY_PER_UNIT.getData());
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.IN_POWER_RP_NAME),
-					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
-						* Batteries.IN_POWER_PER_CELL.getData());
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.MAX_OUT_POWER_RP_NAME),
-					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
-						* Batteries.MAX_OUT_POWER_PER_CELL.getData());
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.LEVEL_QUANTUM_RP_NAME),
-					BatteriesSimulationConfiguration.
-											STANDARD_LEVEL_INTEGRATION_QUANTUM);
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.INITIAL_LEVEL_RP_NAME),
-					BatteriesSimulationConfiguration.
-												INITIAL_BATTERIES_LEVEL_RATIO);
+				putPowerModelRunParameters(simParams);
 				simParams.put(
 					ModelI.createRunParameterName(
 						BatteriesUnitTesterModel.URI,
@@ -489,38 +527,7 @@ public class			RunBatteriesUnitaryMILSimulation
 			BatteriesCoupledModel.URI,
 			START_TIME,
 			(ts, simParams) -> {
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.CAPACITY_RP_NAME),
-					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
-						* BatteriesSimulationConfiguration.
-												NUMBER_OF_CELL_GROUPS_IN_SERIES
-							* Batteries.CAPACITY_PER_UNIT.getData());
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.IN_POWER_RP_NAME),
-					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
-						* Batteries.IN_POWER_PER_CELL.getData());
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.MAX_OUT_POWER_RP_NAME),
-					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
-						* Batteries.MAX_OUT_POWER_PER_CELL.getData());
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.LEVEL_QUANTUM_RP_NAME),
-					BatteriesSimulationConfiguration.
-											STANDARD_LEVEL_INTEGRATION_QUANTUM);
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.INITIAL_LEVEL_RP_NAME),
-					BatteriesSimulationConfiguration.
-												INITIAL_BATTERIES_LEVEL_RATIO);
+				putPowerModelRunParameters(simParams);
 				simParams.put(
 					ModelI.createRunParameterName(
 						BatteriesUnitTesterModel.URI,
@@ -573,38 +580,7 @@ public class			RunBatteriesUnitaryMILSimulation
 			BatteriesCoupledModel.URI,
 			START_TIME,
 			(ts, simParams) -> {
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.CAPACITY_RP_NAME),
-					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
-						* BatteriesSimulationConfiguration.
-												NUMBER_OF_CELL_GROUPS_IN_SERIES
-							* Batteries.CAPACITY_PER_UNIT.getData());
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.IN_POWER_RP_NAME),
-					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
-						* Batteries.IN_POWER_PER_CELL.getData());
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.MAX_OUT_POWER_RP_NAME),
-					BatteriesSimulationConfiguration.NUMBER_OF_PARALLEL_CELLS
-						* Batteries.MAX_OUT_POWER_PER_CELL.getData());
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.LEVEL_QUANTUM_RP_NAME),
-					BatteriesSimulationConfiguration.
-											STANDARD_LEVEL_INTEGRATION_QUANTUM);
-				simParams.put(
-					ModelI.createRunParameterName(
-						BatteriesPowerModel.URI,
-						BatteriesPowerModel.INITIAL_LEVEL_RP_NAME),
-					BatteriesSimulationConfiguration.
-												INITIAL_BATTERIES_LEVEL_RATIO);
+				putPowerModelRunParameters(simParams);
 				simParams.put(
 					ModelI.createRunParameterName(
 						BatteriesUnitTesterModel.URI,
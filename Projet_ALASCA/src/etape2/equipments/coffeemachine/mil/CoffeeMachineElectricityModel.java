@@ -33,6 +33,7 @@ package etape2.equipments.coffeemachine.mil;
 // knowledge of the CeCILL-C license and that you accept its terms.
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import etape1.equipements.coffee_machine.CoffeeMachine;
@@ -52,7 +53,11 @@ import etape2.equipments.coffeemachine.mil.events.SetPowerCoffeeMachine;
 import etape2.equipments.coffeemachine.mil.events.SetSuspendedModeCoffeeMachine;
 import etape2.equipments.coffeemachine.mil.events.SwitchOffCoffeeMachine;
 import etape2.equipments.coffeemachine.mil.events.SwitchOnCoffeeMachine;
+import etape2.equipments.meter.mil.events.ConsumerIntensityChanged;
+import etape2.equipments.meter.mil.events.ConsumerIntensityChanged.IntensityValue;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.utils.Electricity;
+import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
 import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
@@ -61,6 +66,7 @@ import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.Event;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.AtomicSimulatorI;
@@ -99,7 +105,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * <li>Imported events: {@code SwitchOnCoffeeMachine},
  * {@code SwitchOffCoffeeMachine}, {@code SetPowerCoffeeMachine}, {@code Heat},
  * {@code DoNotHeat}</li>
- * <li>Exported events: none</li>
+ * <li>Exported events: {@code PowerChanged}</li>
  * <li>Imported variables: none</li>
  * <li>Exported variables: name = {@code currentIntensity}, type =
  * {@code Double}</li>
@@ -160,7 +166,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  */
 @ModelExternalEvents(imported = { SwitchOnCoffeeMachine.class, SwitchOffCoffeeMachine.class,
 		SetPowerCoffeeMachine.class, DoNotHeat.class, SetEcoModeCoffeeMachine.class, SetMaxModeCoffeeMachine.class,
-		SetSuspendedModeCoffeeMachine.class, SetNormalModeCoffeeMachine.class, ServeCoffee.class, MakeCoffee.class, FillWaterCoffeeMachine.class })
+		SetSuspendedModeCoffeeMachine.class, SetNormalModeCoffeeMachine.class, ServeCoffee.class, MakeCoffee.class, FillWaterCoffeeMachine.class },
+		exported = { PowerChanged.class, ConsumerIntensityChanged.class })
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 @ModelExportedVariable(name = "currentHeatingPower", type = Double.class)
 @ModelExportedVariable(name = "currentWaterLevel", type = Double.class)
@@ -190,6 +197,18 @@ public class CoffeeMachineElectricityModel extends AtomicHIOA implements CoffeeM
 	 * <code>currentIntensity</code>.
 	 */
 	protected boolean consumptionHasChanged = false;
+	/**
+	 * true when the intensity has changed and the change must be signalled to
+	 * the electric meter at the next output.
+	 */
+	protected boolean powerChangeToBeSignalled = false;
+	/**
+	 * true when the intensity changes are signalled to the electric meter by
+	 * {@code ConsumerIntensityChanged} events carrying the new intensity,
+	 * instead of {@code PowerChanged} events; set by the run parameter
+	 * {@code ConsumerIntensityChanged.SIGNAL_RPNAME}.
+	 */
+	protected boolean signalConsumerIntensity = false;
 
 	/**
 	 * power consumption in the LOW mode in the power unit defined by the hair
@@ -603,6 +622,7 @@ public class CoffeeMachineElectricityModel extends AtomicHIOA implements CoffeeM
 		this.currentState = CoffeeMachineState.OFF;
 		this.currentMode = CoffeeMachineMode.NORMAL;
 		this.consumptionHasChanged = false;
+		this.powerChangeToBeSignalled = false;
 		this.totalConsumption = 0.0;
 
 		if (VERBOSE) {
@@ -665,7 +685,22 @@ public class CoffeeMachineElectricityModel extends AtomicHIOA implements CoffeeM
 	 */
 	@Override
 	public ArrayList<EventI> output() {
-		return null;
+		if (this.powerChangeToBeSignalled) {
+			ArrayList<EventI> ret = new ArrayList<EventI>();
+			if (this.signalConsumerIntensity) {
+				ret.add(new ConsumerIntensityChanged(
+							this.getTimeOfNextEvent(),
+							new IntensityValue(
+									this.getURI(),
+									this.currentIntensity.getValue())));
+			} else {
+				ret.add(new PowerChanged(this.getTimeOfNextEvent()));
+			}
+			this.powerChangeToBeSignalled = false;
+			return ret;
+		} else {
+			return null;
+		}
 	}
 
 	/**
@@ -681,6 +716,9 @@ public class CoffeeMachineElectricityModel extends AtomicHIOA implements CoffeeM
 			// consumption.
 			this.consumptionHasChanged = false;
 			ret = Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.powerChangeToBeSignalled) {
+			// signal the new intensity to the electric meter immediately.
+			ret = Duration.zero(this.getSimulatedTimeUnit());
 		} else {
 			// As long as the state does not change, no internal transition
 			// is made (delay = infinity).
@@ -703,6 +741,7 @@ public class CoffeeMachineElectricityModel extends AtomicHIOA implements CoffeeM
 		super.userDefinedInternalTransition(elapsedTime);
 
 		Time t = this.getCurrentStateTime();
+		double oldIntensity = this.currentIntensity.getValue();
 
 		if (this.currentState == CoffeeMachineState.ON) {
 			switch (this.currentMode) {
@@ -726,6 +765,10 @@ public class CoffeeMachineElectricityModel extends AtomicHIOA implements CoffeeM
 			assert this.currentState == CoffeeMachineState.OFF;
 			this.currentIntensity.setNewValue(0.0, t);
 		}
+		if (PowerChanged.isSignificant(oldIntensity,
+									   this.currentIntensity.getValue())) {
+			this.powerChangeToBeSignalled = true;
+		}
 
 		if (VERBOSE) {
 			StringBuffer sb = new StringBuffer("new consumption: ");
@@ -801,6 +844,28 @@ public class CoffeeMachineElectricityModel extends AtomicHIOA implements CoffeeM
 		super.endSimulation(endTime);
 	}
 
+	// -------------------------------------------------------------------------
+	// Optional DEVS simulation protocol: simulation run parameters
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#setSimulationRunParameters(Map)
+	 */
+	@Override
+	public void setSimulationRunParameters(
+		Map<String, Object> simParams
+		) throws MissingRunParameterException
+	{
+		super.setSimulationRunParameters(simParams);
+
+		String signalName =
+			ModelI.createRunParameterName(
+						getURI(), ConsumerIntensityChanged.SIGNAL_RPNAME);
+		this.signalConsumerIntensity =
+				simParams.containsKey(signalName)
+							&& (boolean) simParams.get(signalName);
+	}
+
 	// -------------------------------------------------------------------------
 	// Optional DEVS simulation protocol: simulation report
 	// -------------------------------------------------------------------------
@@ -8,7 +8,14 @@ import etape1.equipements.coffee_machine.interfaces.CoffeeMachineImplementationI
 import etape1.equipements.coffee_machine.interfaces.CoffeeMachineImplementationI.CoffeeMachineState;
 import etape2.GlobalReportI;
 import etape2.equipments.coffeemachine.mil.events.DoNotHeat;
+import etape2.equipments.coffeemachine.mil.events.FillWaterCoffeeMachine;
 import etape2.equipments.coffeemachine.mil.events.MakeCoffee;
+import etape2.equipments.coffeemachine.mil.events.ServeCoffee;
+import etape2.equipments.coffeemachine.mil.events.SetEcoModeCoffeeMachine;
+import etape2.equipments.coffeemachine.mil.events.SetMaxModeCoffeeMachine;
+import etape2.equipments.coffeemachine.mil.events.SetNormalModeCoffeeMachine;
+import etape2.equipments.coffeemachine.mil.events.SetPowerCoffeeMachine;
+import etape2.equipments.coffeemachine.mil.events.SetSuspendedModeCoffeeMachine;
 import etape2.equipments.coffeemachine.mil.events.SwitchOffCoffeeMachine;
 import etape2.equipments.coffeemachine.mil.events.SwitchOnCoffeeMachine;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
@@ -37,9 +44,24 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * La dérivée de la température est calculée selon la formule : dT/dt =
  * (Puissance_Chauffage) / (Masse_Eau * Capacité_Thermique_Eau) -
  * (Pertes_Thermiques)
+ * <p>
+ * L'équation est linéaire et la puissance de chauffe constante entre deux
+ * événements : quand {@code EXACT_INTEGRATION} est vrai, la température suit
+ * la solution exacte T(s) = T0 + T'0 * K * (1 - exp(-s/K)), avec K la
+ * constante d'isolation et s le temps écoulé en secondes, et les transitions
+ * internes ne sont planifiées qu'aux franchissements des
+ * {@code TEMPERATURE_THRESHOLDS} au lieu de tous les {@code STEP} (Euler).
+ * Le modèle pouvant alors dormir jusqu'au prochain seuil, il reçoit aussi les
+ * événements de puissance, de mode et d'eau : la température est intégrée
+ * jusqu'à l'événement puis, comme le modèle électrique met à jour la
+ * puissance et le niveau d'eau importés au même instant, la dérivée et le
+ * prochain seuil sont recalculés par une transition interne immédiate.
+ * </p>
  */
 @ModelExternalEvents(imported = { SwitchOnCoffeeMachine.class, SwitchOffCoffeeMachine.class, MakeCoffee.class,
-		DoNotHeat.class })
+		DoNotHeat.class, SetPowerCoffeeMachine.class, SetEcoModeCoffeeMachine.class, SetMaxModeCoffeeMachine.class,
+		SetNormalModeCoffeeMachine.class, SetSuspendedModeCoffeeMachine.class, ServeCoffee.class,
+		FillWaterCoffeeMachine.class })
 @ModelImportedVariable(name = "currentHeatingPower", type = Double.class)
 @ModelImportedVariable(name = "currentWaterLevel", type = Double.class)
 public class CoffeeMachineTemperatureModel extends AtomicHIOA implements CoffeeMachineOperationI {
@@ -68,11 +90,24 @@ public class CoffeeMachineTemperatureModel extends AtomicHIOA implements CoffeeM
 	
 	protected static double		STEP = 60.0/3600.0;
 
+	/** Si vrai, solution exacte au lieu des pas d'Euler. */
+	public static boolean EXACT_INTEGRATION = true;
+
+	/** Températures (°C) auxquelles une transition interne est planifiée. */
+	protected static double[] TEMPERATURE_THRESHOLDS = {
+			Constants.NORMAL_MODE_WATER_TEMPERATURE, Constants.MAX_TEMPARATURE };
+
+	/** Un seuil plus proche que cette valeur est considéré comme atteint. */
+	protected static final double THRESHOLD_TOLERANCE = 1.0e-06;
+
 	/** État actuel de la machine (similaire au modèle électrique). */
 	protected CoffeeMachineState currentState = CoffeeMachineState.ON;
 
 	protected final Duration integrationStep;
 
+	/** Vrai quand la puissance et le niveau d'eau importés doivent être relus. */
+	protected boolean importsToBeReread;
+
 	/**
 	 * accumulator to compute the mean external temperature for the simulation
 	 * report.
@@ -161,10 +196,42 @@ public class CoffeeMachineTemperatureModel extends AtomicHIOA implements CoffeeM
 		double oldTemp = this.currentWaterTemperature.evaluateAt(t);
 		double derivative = this.currentWaterTemperature.getFirstDerivative();
 
-		// T(t+dt) = T(t) + T'(t) * dt
-		double newTemp = oldTemp + derivative * deltaT * 3600;
+		if (!EXACT_INTEGRATION) {
+			// T(t+dt) = T(t) + T'(t) * dt
+			return oldTemp + derivative * deltaT * 3600;
+		}
 
-		return newTemp;
+		// T(s) = T0 + T'0 * K * (1 - exp(-s/K)), s en secondes ; sans eau, la
+		// dérivée est nulle et la température reste constante
+		double s = deltaT * 3600;
+		double k = INSULATION_CONSTANT;
+		double rise = derivative * k;
+		double decay = -Math.expm1(-s / k);
+		// intégrale exacte de la température sur deltaT, en °C.h
+		this.temperatureAcc += oldTemp * deltaT + rise * (deltaT - k * decay / 3600);
+		return oldTemp + rise * decay;
+	}
+
+	/**
+	 * Durée en heures avant que la température n'atteigne le seuil le plus
+	 * proche dans le sens de son évolution, ou l'infini si elle n'en atteint
+	 * aucun.
+	 */
+	protected double computeTimeToThreshold() {
+		double temp = this.currentWaterTemperature.getValue();
+		double rise = this.currentWaterTemperature.getFirstDerivative() * INSULATION_CONSTANT;
+		double ret = Double.POSITIVE_INFINITY;
+		for (double threshold : TEMPERATURE_THRESHOLDS) {
+			if (Math.abs(threshold - temp) > THRESHOLD_TOLERANCE) {
+				// fraction du chemin vers la température asymptotique
+				double r = (threshold - temp) / rise;
+				if (r > 0.0 && r < 1.0) {
+					double s = -INSULATION_CONSTANT * Math.log1p(-r);
+					ret = Math.min(ret, s / 3600);
+				}
+			}
+		}
+		return ret;
 	}
 
 	// -------------------------------------------------------------------------
@@ -188,6 +255,8 @@ public class CoffeeMachineTemperatureModel extends AtomicHIOA implements CoffeeM
 		super.initialiseState(initialTime);
 		// Initialisation : Température ambiante, pas de dérivée au début.
 		this.start = initialTime;
+		this.temperatureAcc = 0.0;
+		this.importsToBeReread = false;
 		if (VERBOSE) {
 			this.logMessage("Simulation starts. Water Temp: " + AMBIENT_TEMPERATURE);
 		}
@@ -228,12 +297,25 @@ public class CoffeeMachineTemperatureModel extends AtomicHIOA implements CoffeeM
 
 	@Override
 	public Duration timeAdvance() {
-		// On avance par petits pas (STEP) pour recalculer l'intégrale
-		return this.integrationStep;
+		if (this.importsToBeReread) {
+			// relire la puissance et le niveau d'eau mis à jour à cet instant
+			return Duration.zero(this.getSimulatedTimeUnit());
+		}
+		if (!EXACT_INTEGRATION || !this.currentWaterTemperature.isInitialised()) {
+			// On avance par petits pas (STEP) pour recalculer l'intégrale
+			return this.integrationStep;
+		}
+		// Sinon, prochaine transition au franchissement d'un seuil
+		double d = this.computeTimeToThreshold();
+		if (Double.isInfinite(d)) {
+			return Duration.INFINITY;
+		}
+		return new Duration(d, this.getSimulatedTimeUnit());
 	}
 
 	@Override
 	public void userDefinedInternalTransition(Duration elapsedTime) {
+		this.importsToBeReread = false;
 		// Calculer la nouvelle température basée sur le temps écoulé
 		double newTemp = this.computeNewTemperature(elapsedTime.getSimulatedDuration());
 
@@ -266,6 +348,11 @@ public class CoffeeMachineTemperatureModel extends AtomicHIOA implements CoffeeM
 
 		// L'exécution de l'événement va appeler this.setState(...)
 		ce.executeOn(this);
+		this.importsToBeReread =
+				ce instanceof SetPowerCoffeeMachine || ce instanceof SetEcoModeCoffeeMachine
+				|| ce instanceof SetMaxModeCoffeeMachine || ce instanceof SetNormalModeCoffeeMachine
+				|| ce instanceof SetSuspendedModeCoffeeMachine || ce instanceof ServeCoffee
+				|| ce instanceof FillWaterCoffeeMachine;
 
 		// Recalculer la dérivée avec le NOUVEL état (ex: on vient de passer en
 		// HEATING)
@@ -288,6 +375,11 @@ public class CoffeeMachineTemperatureModel extends AtomicHIOA implements CoffeeM
 	 */
 	@Override
 	public void endSimulation(Time endTime) {
+		if (EXACT_INTEGRATION && this.currentWaterTemperature.isInitialised()) {
+			// prendre en compte le temps écoulé depuis la dernière transition
+			this.computeNewTemperature(
+					endTime.subtract(this.currentWaterTemperature.getTime()).getSimulatedDuration());
+		}
 		this.meanTemperature = this.temperatureAcc / endTime.subtract(this.start).getSimulatedDuration();
 
 		if (VERBOSE) {
@@ -354,17 +446,17 @@ public class CoffeeMachineTemperatureModel extends AtomicHIOA implements CoffeeM
 
 	@Override
 	public void setStateMode(CoffeeMachineState on, CoffeeMachineMode normal) {
-		// TODO Auto-generated method stub
-
+		// le mode ne change que la puissance, relue après l'événement
+		this.currentState = on;
 	}
 
 	@Override
 	public void setCurrentHeatingPower(double newPower, Time t) {
-		// Not used in temperature model - heating power is imported
+		// la puissance est importée, elle est relue après l'événement
 	}
 
 	@Override
 	public void setCurrentWaterLevel(double newLevel, Time t) {
-		// Not used in temperature model - water level is imported
+		// le niveau d'eau est importé, il est relu après l'événement
 	}
 }
\ No newline at end of file
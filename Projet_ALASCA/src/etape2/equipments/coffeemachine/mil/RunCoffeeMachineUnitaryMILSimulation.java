@@ -186,6 +186,8 @@ public class			RunCoffeeMachineUnitaryMILSimulation
 									SetPowerCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
+										  SetPowerCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
 										  SetPowerCoffeeMachine.class)
 					});
 			connections.put(
@@ -225,36 +227,48 @@ public class			RunCoffeeMachineUnitaryMILSimulation
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  ServeCoffee.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  ServeCoffee.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetEcoModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetEcoModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetEcoModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetMaxModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetMaxModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetMaxModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetNormalModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetNormalModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetNormalModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, SetSuspendedModeCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 										  SetSuspendedModeCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+										  SetSuspendedModeCoffeeMachine.class)
 					});
 			connections.put(
 					new EventSource(CoffeeMachineUnitTesterModel.URI, FillWaterCoffeeMachine.class),
 					new EventSink[] {
 							new EventSink(CoffeeMachineElectricityModel.URI,
 									FillWaterCoffeeMachine.class),
+							new EventSink(CoffeeMachineTemperatureModel.URI,
+									FillWaterCoffeeMachine.class)
 					});
 
 			// variable bindings between exporting and importing models
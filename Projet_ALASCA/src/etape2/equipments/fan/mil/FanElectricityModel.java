@@ -47,6 +47,9 @@ import etape2.equipments.fan.mil.events.SetLowModeFan;
 import etape2.equipments.fan.mil.events.SetMediumModeFan;
 import etape2.equipments.fan.mil.events.SwitchOffFan;
 import etape2.equipments.fan.mil.events.SwitchOnFan;
+import etape2.equipments.meter.mil.events.ConsumerIntensityChanged;
+import etape2.equipments.meter.mil.events.ConsumerIntensityChanged.IntensityValue;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.utils.Electricity;
 import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
 import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
@@ -95,7 +98,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * <li>Imported events: {@code SwitchOnFan},
  * {@code SwitchOffFan}, {@code SetPowerFan}, {@code Heat},
  * {@code DoNotHeat}</li>
- * <li>Exported events: none</li>
+ * <li>Exported events: {@code PowerChanged}</li>
  * <li>Imported variables: none</li>
  * <li>Exported variables: name = {@code currentIntensity}, type =
  * {@code Double}</li>
@@ -155,7 +158,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * @author <a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
  */
 @ModelExternalEvents(imported = { SwitchOnFan.class, SwitchOffFan.class,
-		SetHighModeFan.class, SetMediumModeFan.class, SetLowModeFan.class})
+		SetHighModeFan.class, SetMediumModeFan.class, SetLowModeFan.class},
+		exported = { PowerChanged.class, ConsumerIntensityChanged.class })
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 @ModelExportedVariable(name = "currentHeatingPower", type = Double.class)
 @ModelExportedVariable(name = "currentWaterLevel", type = Double.class)
@@ -185,6 +189,18 @@ public class FanElectricityModel extends AtomicHIOA {
 	 * <code>currentIntensity</code>.
 	 */
 	protected boolean consumptionHasChanged = false;
+	/**
+	 * true when the intensity has changed and the change must be signalled to
+	 * the electric meter at the next output.
+	 */
+	protected boolean powerChangeToBeSignalled = false;
+	/**
+	 * true when the intensity changes are signalled to the electric meter by
+	 * {@code ConsumerIntensityChanged} events carrying the new intensity,
+	 * instead of {@code PowerChanged} events; set by the run parameter
+	 * {@code ConsumerIntensityChanged.SIGNAL_RPNAME}.
+	 */
+	protected boolean signalConsumerIntensity = false;
 
 	/**
 	 * power consumption in the LOW mode in the power unit defined by the hair
@@ -528,6 +544,7 @@ public class FanElectricityModel extends AtomicHIOA {
 		this.currentState = FanState.OFF;
 		this.currentMode = FanMode.LOW;
 		this.consumptionHasChanged = false;
+		this.powerChangeToBeSignalled = false;
 		this.totalConsumption = 0.0;
 
 		if (VERBOSE) {
@@ -566,7 +583,22 @@ public class FanElectricityModel extends AtomicHIOA {
 	 */
 	@Override
 	public ArrayList<EventI> output() {
-		return null;
+		if (this.powerChangeToBeSignalled) {
+			ArrayList<EventI> ret = new ArrayList<EventI>();
+			if (this.signalConsumerIntensity) {
+				ret.add(new ConsumerIntensityChanged(
+							this.getTimeOfNextEvent(),
+							new IntensityValue(
+									this.getURI(),
+									this.currentIntensity.getValue())));
+			} else {
+				ret.add(new PowerChanged(this.getTimeOfNextEvent()));
+			}
+			this.powerChangeToBeSignalled = false;
+			return ret;
+		} else {
+			return null;
+		}
 	}
 
 	/**
@@ -582,6 +614,9 @@ public class FanElectricityModel extends AtomicHIOA {
 			// consumption.
 			this.consumptionHasChanged = false;
 			ret = Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.powerChangeToBeSignalled) {
+			// signal the new intensity to the electric meter immediately.
+			ret = Duration.zero(this.getSimulatedTimeUnit());
 		} else {
 			// As long as the state does not change, no internal transition
 			// is made (delay = infinity).
@@ -604,6 +639,7 @@ public class FanElectricityModel extends AtomicHIOA {
 		super.userDefinedInternalTransition(elapsedTime);
 
 		Time t = this.getCurrentStateTime();
+		double oldIntensity = this.currentIntensity.getValue();
 
 		if (this.currentState == FanState.ON) {
 			switch (this.currentMode) {
@@ -621,6 +657,10 @@ public class FanElectricityModel extends AtomicHIOA {
 		} else {
 			this.currentIntensity.setNewValue(0.0, t);
 		}
+		if (PowerChanged.isSignificant(oldIntensity,
+									   this.currentIntensity.getValue())) {
+			this.powerChangeToBeSignalled = true;
+		}
 
 		if (VERBOSE) {
 			StringBuffer message =
@@ -742,6 +782,12 @@ public class FanElectricityModel extends AtomicHIOA {
 			if (simParams.containsKey(highName)) {
 				this.highModeConsumption = (double) simParams.get(highName);
 			}
+			String signalName =
+				ModelI.createRunParameterName(
+							getURI(), ConsumerIntensityChanged.SIGNAL_RPNAME);
+			this.signalConsumerIntensity =
+					simParams.containsKey(signalName)
+								&& (boolean) simParams.get(signalName);
 
 			assert	FanElectricityModel.implementationInvariants(this) :
 					new NeoSim4JavaException(
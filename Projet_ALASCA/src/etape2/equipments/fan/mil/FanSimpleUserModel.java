@@ -158,6 +158,12 @@ public class FanSimpleUserModel extends AtomicES_Model {
 
 	/** the random number generator from common math library. */
 	protected final RandomDataGenerator rg;
+	/** mean time interval between event outputs in hours for this run. */
+	protected double stepMeanDuration;
+	/** mean time interval between fan usages in hours for this run. */
+	protected double delayMeanDuration;
+	/** seed of the random number generator, null for a secure reseeding. */
+	protected Long seed;
 
 	// -------------------------------------------------------------------------
 	// Invariants
@@ -328,6 +334,8 @@ public class FanSimpleUserModel extends AtomicES_Model {
 		super(uri, simulatedTimeUnit, simulationEngine);
 
 		this.rg = new RandomDataGenerator();
+		this.stepMeanDuration = STEP_MEAN_DURATION;
+		this.delayMeanDuration = DELAY_MEAN_DURATION;
 		this.getSimulationEngine().setLogger(new StandardLogger());
 
 		assert FanSimpleUserModel.implementationInvariants(this)
@@ -380,7 +388,7 @@ public class FanSimpleUserModel extends AtomicES_Model {
 			} else if (current instanceof SetLowModeFan) {
 				nextEvent = new SetMediumModeFan(t);
 			} else if (current instanceof SetMediumModeFan) {
-				if (Math.random() > 0.5) {
+				if (this.rg.nextUniform(0.0, 1.0) > 0.5) {
 					nextEvent = new SetLowModeFan(t);
 				} else {
 					nextEvent = new SetHighModeFan(t);
@@ -418,7 +426,7 @@ public class FanSimpleUserModel extends AtomicES_Model {
 
 		// generate randomly the next time interval but force it to be
 		// greater than 0 by returning at least 0.1
-		double delay = Math.max(this.rg.nextGaussian(STEP_MEAN_DURATION, STEP_MEAN_DURATION / 2.0), 0.1);
+		double delay = Math.max(this.rg.nextGaussian(this.stepMeanDuration, this.stepMeanDuration / 2.0), 0.1);
 		// compute the new time by adding the delay to from
 		Time t = from.add(new Duration(delay, this.getSimulatedTimeUnit()));
 		return t;
@@ -450,7 +458,7 @@ public class FanSimpleUserModel extends AtomicES_Model {
 
 		// generate randomly the next time interval but force it to be
 		// greater than 0 by returning at least 0.1
-		double delay = Math.max(this.rg.nextGaussian(DELAY_MEAN_DURATION, DELAY_MEAN_DURATION / 10.0), 0.1);
+		double delay = Math.max(this.rg.nextGaussian(this.delayMeanDuration, this.delayMeanDuration / 10.0), 0.1);
 		// compute the new time by adding the delay to from
 		Time t = from.add(new Duration(delay, this.getSimulatedTimeUnit()));
 		return t;
@@ -467,8 +475,13 @@ public class FanSimpleUserModel extends AtomicES_Model {
 	public void initialiseState(Time initialTime) {
 		super.initialiseState(initialTime);
 
-		// reinitialise the random number generator to get good samples
-		this.rg.reSeedSecure();
+		// reinitialise the random number generator to get good samples,
+		// unless a seed is given to reproduce a run
+		if (this.seed != null) {
+			this.rg.reSeed(this.seed);
+		} else {
+			this.rg.reSeedSecure();
+		}
 
 		// compute the time of occurrence for the first event
 		Time t = this.computeTimeOfNextEvent(this.getCurrentStateTime());
@@ -514,8 +527,10 @@ public class FanSimpleUserModel extends AtomicES_Model {
 
 	/** run parameter name for {@code STEP_MEAN_DURATION}. */
 	public static final String MEAN_STEP_RPNAME = "STEP_MEAN_DURATION";
-	/** run parameter name for {@code STEP_MEAN_DURATION}. */
-	public static final String MEAN_DELAY_RPNAME = "STEP_MEAN_DURATION";
+	/** run parameter name for {@code DELAY_MEAN_DURATION}. */
+	public static final String MEAN_DELAY_RPNAME = "DELAY_MEAN_DURATION";
+	/** run parameter name for the seed of the random number generator. */
+	public static final String SEED_RPNAME = "SEED";
 
 	/**
 	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#setSimulationRunParameters(Map)
@@ -526,11 +541,15 @@ public class FanSimpleUserModel extends AtomicES_Model {
 
 		String stepName = ModelI.createRunParameterName(getURI(), MEAN_STEP_RPNAME);
 		if (simParams.containsKey(stepName)) {
-			STEP_MEAN_DURATION = (double) simParams.get(stepName);
+			this.stepMeanDuration = (double) simParams.get(stepName);
 		}
 		String delayName = ModelI.createRunParameterName(getURI(), MEAN_DELAY_RPNAME);
 		if (simParams.containsKey(delayName)) {
-			DELAY_MEAN_DURATION = (double) simParams.get(delayName);
+			this.delayMeanDuration = (double) simParams.get(delayName);
+		}
+		String seedName = ModelI.createRunParameterName(getURI(), SEED_RPNAME);
+		if (simParams.containsKey(seedName)) {
+			this.seed = (Long) simParams.get(seedName);
 		}
 	}
 
@@ -42,6 +42,7 @@ import java.util.concurrent.TimeUnit;
 
 import etape1.equipments.generator.Generator;
 import etape1.equipments.generator.GeneratorImplementationI.State;
+import etape2.GlobalReportI;
 import etape2.GlobalSimulationConfigurationI;
 import etape2.equipments.generator.mil.events.GeneratorRequiredPowerChanged;
 import etape2.equipments.generator.mil.events.Refill;
@@ -62,6 +63,7 @@ import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.AtomicSimulatorI;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulationReportI;
 import fr.sorbonne_u.devs_simulation.utils.AssertionChecking;
 import fr.sorbonne_u.devs_simulation.utils.Pair;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
@@ -73,6 +75,19 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  *
  * <p><strong>Description</strong></p>
  * 
+ * <p>
+ * The fuel level derivative only depends upon the state of the generator and
+ * its output power, which both change only on external events. Between two
+ * transitions, the level is therefore an exact linear function of time and
+ * the time at which the tank becomes empty can be computed in closed form.
+ * When {@code EVENT_HORIZON_STEPPING} is true, the next internal transition
+ * is planned directly at that time instead of after every level quantum; an
+ * external event occurring before simply updates the level for the elapsed
+ * time. The level quantum run parameter is only used when
+ * {@code EVENT_HORIZON_STEPPING} is false. The predicted time to tank empty
+ * is given by {@code timeToTankEmpty}.
+ * </p>
+ * 
  * <ul>
  * <li>Imported events:
  *   {@code Start},
@@ -93,7 +108,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * invariant	{@code !currentLevel.isInitialised() || (currentLevel.getValue() >= 0.0 && currentLevel.getValue() < maxCapacity)}
  * invariant	{@code !lastDerivative.isInitialised() || (lastDerivative.getValue() <= 0.0)}
  * invariant	{@code standardLevelQuantum > 0.0}
- * invariant	{@code Math.abs(currentLevelQuantum) >= 0.0 && Math.abs(currentLevelQuantum <= standardLevelQuantum)}
+ * invariant	{@code EVENT_HORIZON_STEPPING || Math.abs(currentLevelQuantum) <= standardLevelQuantum}
  * </pre>
  * 
  * <p><strong>Invariants</strong></p>
@@ -145,6 +160,10 @@ implements	GeneratorStateManagementI
 	public static boolean			VERBOSE = true;
 	/** when true, leaves a debugging trace of the execution of the model.	*/
 	public static boolean			DEBUG = false;
+	/** when true, the next internal transition is planned when the tank
+	 *  becomes empty, otherwise when the level has dropped by the standard
+	 *  level quantum.														*/
+	public static boolean			EVENT_HORIZON_STEPPING = true;
 	/** when comparing floating point values, use this tolerance to get
 	 *  the result of the comparison.										*/
 	protected static final double	TOLERANCE  = 1.0e-08;
@@ -212,6 +231,12 @@ implements	GeneratorStateManagementI
 	@InternalVariable(type = Double.class)
 	protected Value<Double>	lastDerivative = new Value<>(this);
 
+	/** quantity of fuel added by refills during the run in
+	 *  {@code MeasurementUnit.LITERS}.										*/
+	protected double	refilledQuantity;
+	/** final report of the simulation run.									*/
+	protected GeneratorFuelReport	finalReport;
+
 	// -------------------------------------------------------------------------
 	// Invariants
 	// -------------------------------------------------------------------------
@@ -276,11 +301,11 @@ implements	GeneratorStateManagementI
 				GeneratorFuelModel.class, instance,
 				"standardLevelQuantum > 0.0");
 		ret &= AssertionChecking.checkImplementationInvariant(
-				Math.abs(instance.currentLevelQuantum) >= 0.0 &&
+				EVENT_HORIZON_STEPPING ||
 						Math.abs(instance.currentLevelQuantum) <=
 												instance.standardLevelQuantum,
 				GeneratorFuelModel.class, instance,
-				"currentLevelQuantum >= 0.0 && currentLevelQuantum <= "
+				"EVENT_HORIZON_STEPPING || Math.abs(currentLevelQuantum) <= "
 				+ "standardLevelQuantum");
 		return ret;
 	}
@@ -457,6 +482,7 @@ implements	GeneratorStateManagementI
 		this.currentState = State.OFF;
 		this.toBeEmitted = null;
 		this.currentLevelQuantum = this.standardLevelQuantum;
+		this.refilledQuantity = 0.0;
 
 		// Invariant checking
 		assert	GeneratorFuelModel.implementationInvariants(this) :
@@ -587,6 +613,7 @@ implements	GeneratorStateManagementI
 		if (newValue > this.maxCapacity) {
 			newValue = this.maxCapacity;
 		}
+		this.refilledQuantity += newValue - old;
 		this.currentLevel.setNewValue(newValue, currentStateTime);
 		if (this.currentState.equals(State.TANK_EMPTY)) {
 			this.currentState = State.OFF;
@@ -742,6 +769,38 @@ implements	GeneratorStateManagementI
 		}
 	}
 
+	/**
+	 * return the duration after which the tank will be empty if the fuel
+	 * keeps being consumed at its current rate, computed in closed form from
+	 * the level and the derivative at the last transition.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code t != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param t	time at which the duration to tank empty is evaluated, not before the last transition.
+	 * @return	the duration to tank empty at {@code t} or {@code Duration.INFINITY} if no fuel is consumed.
+	 */
+	public Duration		timeToTankEmpty(Time t)
+	{
+		assert	t != null : new NeoSim4JavaException("t != null");
+
+		double derivative = this.lastDerivative.getValue();
+		if (derivative > -TOLERANCE) {
+			return Duration.INFINITY;
+		}
+		double level =
+			this.currentLevel.getValue() +
+				derivative *
+					t.subtract(this.getCurrentStateTime()).
+													getSimulatedDuration();
+		return new Duration(Math.max(level, 0.0)/(-derivative),
+							this.getSimulatedTimeUnit());
+	}
+
 	/**
 	 * compute a new state when a transition occurs, internal or external after
 	 * having executed the effect of the external event.
@@ -838,14 +897,15 @@ implements	GeneratorStateManagementI
 			switch (this.currentState) {
 			case PRODUCING:
 			case IDLE:
-				if (newLevel >= this.standardLevelQuantum) {
+				if (!EVENT_HORIZON_STEPPING &&
+									newLevel >= this.standardLevelQuantum) {
 					// newLevel is high enough to drop by the standard quantum
 					// during the next step
 					this.currentLevelQuantum = -this.standardLevelQuantum;
 				} else {
-					// otherwise, the tank will become empty during the next
-					// step, hence choose the current level as the temporary
-					// quantum for the next step
+					// otherwise, the next step goes straight to the time at
+					// which the tank becomes empty, hence choose the current
+					// level as the quantum for the next step
 					this.currentLevelQuantum = -newLevel;
 				}
 				break;
@@ -978,7 +1038,9 @@ implements	GeneratorStateManagementI
 					+ this.getCurrentStateTime()
 					+ " on event " + e
 					+ ": currentState = " + this.currentState
-					+ ", currentLevel = " + this.currentLevel);
+					+ ", currentLevel = " + this.currentLevel
+					+ ", tank empty in "
+					+ this.timeToTankEmpty(this.getCurrentStateTime()));
 		}
 	}
 
@@ -988,6 +1050,23 @@ implements	GeneratorStateManagementI
 	@Override
 	public void			endSimulation(Time endTime)
 	{
+		// the level is only updated at transitions, so the consumption since
+		// the last one is added from the last derivative
+		double finalLevel = this.currentLevel.getValue();
+		if (!this.currentState.equals(State.OFF) &&
+								!this.currentState.equals(State.TANK_EMPTY)) {
+			finalLevel +=
+				this.lastDerivative.getValue() *
+					endTime.subtract(this.getCurrentStateTime()).
+													getSimulatedDuration();
+			finalLevel = Math.max(finalLevel, 0.0);
+		}
+		this.finalReport =
+			new GeneratorFuelReport(
+					this.getURI(),
+					this.initialLevel + this.refilledQuantity - finalLevel,
+					finalLevel);
+
 		// tracing
 		if (VERBOSE) {
 			this.logMessage(
@@ -998,5 +1077,97 @@ implements	GeneratorStateManagementI
 
 		super.endSimulation(endTime);
 	}
+
+	// -------------------------------------------------------------------------
+	// Optional DEVS simulation protocol: simulation report
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>GeneratorFuelReport</code> implements the simulation
+	 * report for the <code>GeneratorFuelModel</code>.
+	 *
+	 * <p><strong>Description</strong></p>
+	 * 
+	 * <p><strong>Invariant</strong></p>
+	 * 
+	 * <pre>
+	 * invariant	{@code true}	// no invariant
+	 * </pre>
+	 * 
+	 * <p>Created on : 2026-10-18</p>
+	 * 
+	 * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+	 */
+	public static class		GeneratorFuelReport
+	implements	SimulationReportI, GlobalReportI
+	{
+		private static final long serialVersionUID = 1L;
+		protected String	modelURI;
+		protected double	fuelConsumption; // in liters
+		protected double	finalLevel; // in liters
+
+		public			GeneratorFuelReport(
+			String modelURI,
+			double fuelConsumption,
+			double finalLevel
+			)
+		{
+			super();
+			this.modelURI = modelURI;
+			this.fuelConsumption = fuelConsumption;
+			this.finalLevel = finalLevel;
+		}
+
+		@Override
+		public String	getModelURI()
+		{
+			return this.modelURI;
+		}
+
+		/** @return	the fuel consumed during the run in liters.				*/
+		public double	getFuelConsumption()
+		{
+			return this.fuelConsumption;
+		}
+
+		/** @return	the fuel level at the end of the run in liters.			*/
+		public double	getFinalLevel()
+		{
+			return this.finalLevel;
+		}
+
+		@Override
+		public String	printout(String indent)
+		{
+			StringBuffer ret = new StringBuffer(indent);
+			ret.append("---\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append(this.modelURI);
+			ret.append(" report\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append("fuel consumption in liters = ");
+			ret.append(this.fuelConsumption);
+			ret.append(".\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append("final tank level in liters = ");
+			ret.append(this.finalLevel);
+			ret.append(".\n");
+			ret.append(indent);
+			ret.append("---\n");
+			return ret.toString();
+		}		
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#getFinalReport()
+	 */
+	@Override
+	public SimulationReportI	getFinalReport()
+	{
+		return this.finalReport;
+	}
 }
 // -----------------------------------------------------------------------------
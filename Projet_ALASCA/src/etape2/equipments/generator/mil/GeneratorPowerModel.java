@@ -48,6 +48,7 @@ import etape2.equipments.generator.mil.events.Start;
 import etape2.equipments.generator.mil.events.Stop;
 import etape2.equipments.generator.mil.events.TankEmpty;
 import etape2.equipments.generator.mil.events.TankNoLongerEmpty;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
 import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
@@ -132,7 +133,9 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * required power is voluntary, the generator model assumes that it will receive
  * an external event at the time of the required power change notifying it of
  * the shared continuous state change that just occurred, hence triggering an
- * immediate update of the output power.
+ * immediate update of the output power. Symmetrically, each change of the
+ * output power is signalled to the electric meter by a {@code PowerChanged}
+ * event.
  * </p>
  * <p>
  * Note that the implementation of this model is made a bit more complicated by
@@ -169,7 +172,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 @ModelExternalEvents(
 	imported = {Start.class, Stop.class, GeneratorRequiredPowerChanged.class,
 				TankEmpty.class, TankNoLongerEmpty.class},
-	exported = {GeneratorRequiredPowerChanged.class})
+	exported = {GeneratorRequiredPowerChanged.class, PowerChanged.class})
 @ModelExportedVariable(name = "generatorOutputPower", type = Double.class)
 @ModelImportedVariable(name = "generatorRequiredPower", type = Double.class)
 //-----------------------------------------------------------------------------
@@ -208,6 +211,9 @@ implements	TankLevelManagementI,
 	/** when true, the model must emit an event of type
 	 *  {@code SharedContinuousStateChange}.								*/
 	protected boolean			signalSharedContinuousStateChange;
+	/** when true, the model must emit an event of type
+	 *  {@code PowerChanged} towards the electric meter.					*/
+	protected boolean			powerChangeToBeSignalled;
 
 	/** current power required by the electric circuit from the generator
 	 *  in {@code MeasurementUnit.AMPERES}; it is set by the electric
@@ -448,6 +454,7 @@ implements	TankLevelManagementI,
 	{
 		this.currentState = State.OFF;
 		this.signalSharedContinuousStateChange = false;
+		this.powerChangeToBeSignalled = false;
 
 		// Invariant checking
 		assert	GeneratorPowerModel.implementationInvariants(this) :
@@ -594,7 +601,8 @@ implements	TankLevelManagementI,
 	public Duration		timeAdvance()
 	{
 		Duration ret = null;
-		if (this.signalSharedContinuousStateChange) {
+		if (this.signalSharedContinuousStateChange
+										|| this.powerChangeToBeSignalled) {
 			ret = Duration.zero(this.getSimulatedTimeUnit());
 		} else {
 			ret = Duration.INFINITY;
@@ -615,10 +623,18 @@ implements	TankLevelManagementI,
 	@Override
 	public ArrayList<EventI>	output()
 	{
-		if (this.signalSharedContinuousStateChange) {
+		if (this.signalSharedContinuousStateChange
+										|| this.powerChangeToBeSignalled) {
 			ArrayList<EventI> ret = new ArrayList<EventI>();
-			ret.add(new GeneratorRequiredPowerChanged(this.getTimeOfNextEvent()));
-			this.signalSharedContinuousStateChange = false;
+			if (this.signalSharedContinuousStateChange) {
+				ret.add(new GeneratorRequiredPowerChanged(
+												this.getTimeOfNextEvent()));
+				this.signalSharedContinuousStateChange = false;
+			}
+			if (this.powerChangeToBeSignalled) {
+				ret.add(new PowerChanged(this.getTimeOfNextEvent()));
+				this.powerChangeToBeSignalled = false;
+			}
 
 			// tracing
 			if (DEBUG) {
@@ -655,6 +671,8 @@ implements	TankLevelManagementI,
 					+ ", generatorRequiredPower = " + this.generatorRequiredPower);
 		}
 
+		double oldOutputPower = this.generatorOutputPower.getValue();
+
 		// update the power levels, in and out
 		switch (this.currentState) {
 		case PRODUCING:
@@ -702,6 +720,10 @@ implements	TankLevelManagementI,
 			this.generatorOutputPower.setNewValue(0.0,
 												  this.getCurrentStateTime());
 		}
+		if (PowerChanged.isSignificant(oldOutputPower,
+									   this.generatorOutputPower.getValue())) {
+			this.powerChangeToBeSignalled = true;
+		}
 
 		// Invariant checking
 		assert	GeneratorPowerModel.implementationInvariants(this) :
@@ -1,6 +1,7 @@
 package etape2.equipments.kettle.mil;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import etape1.equipements.kettle.interfaces.KettleImplementationI;
@@ -18,7 +19,11 @@ import etape2.equipments.kettle.mil.events.SetPowerKettle;
 import etape2.equipments.kettle.mil.events.SetSuspendedModeKettle;
 import etape2.equipments.kettle.mil.events.SwitchOffKettle;
 import etape2.equipments.kettle.mil.events.SwitchOnKettle;
+import etape2.equipments.meter.mil.events.ConsumerIntensityChanged;
+import etape2.equipments.meter.mil.events.ConsumerIntensityChanged.IntensityValue;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.utils.Electricity;
+import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
 import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
@@ -27,6 +32,7 @@ import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.Event;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.AtomicSimulatorI;
@@ -45,7 +51,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * <p>
  * The electric power consumption depends upon the state and the current
  * power mode: OFF => 0.0, ON => mode-dependent consumption,
- * HEATING => currentHeatingPower / voltage.
+ * HEATING => currentHeatingPower / voltage. Each change of the intensity is
+ * signalled to the electric meter by a {@code PowerChanged} event.
  * </p>
  *
  * <p>Created on : 2026-02-06</p>
@@ -55,7 +62,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 		SetPowerKettle.class, HeatKettle.class, DoNotHeatKettle.class,
 		SetEcoModeKettle.class, SetMaxModeKettle.class,
 		SetSuspendedModeKettle.class, SetNormalModeKettle.class
-})
+	},
+	exported = { PowerChanged.class, ConsumerIntensityChanged.class })
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 @ModelExportedVariable(name = "currentHeatingPower", type = Double.class)
 // -----------------------------------------------------------------------------
@@ -76,6 +84,16 @@ implements	KettleOperationI
 	protected KettleState currentState = KettleState.OFF;
 	protected KettleMode currentMode = KettleMode.NORMAL;
 	protected boolean consumptionHasChanged = false;
+	/** true when the intensity change must be signalled to the electric
+	 *  meter at the next output. */
+	protected boolean powerChangeToBeSignalled = false;
+	/**
+	 * true when the intensity changes are signalled to the electric meter by
+	 * {@code ConsumerIntensityChanged} events carrying the new intensity,
+	 * instead of {@code PowerChanged} events; set by the run parameter
+	 * {@code ConsumerIntensityChanged.SIGNAL_RPNAME}.
+	 */
+	protected boolean signalConsumerIntensity = false;
 
 	protected double suspendedModeConsumption;
 	protected double ecoModeConsumption;
@@ -253,6 +271,7 @@ implements	KettleOperationI
 		this.currentState = KettleState.OFF;
 		this.currentMode = KettleMode.NORMAL;
 		this.consumptionHasChanged = false;
+		this.powerChangeToBeSignalled = false;
 		this.totalConsumption = 0.0;
 
 		if (VERBOSE) {
@@ -309,7 +328,22 @@ implements	KettleOperationI
 	@Override
 	public ArrayList<EventI> output()
 	{
-		return null;
+		if (this.powerChangeToBeSignalled) {
+			ArrayList<EventI> ret = new ArrayList<EventI>();
+			if (this.signalConsumerIntensity) {
+				ret.add(new ConsumerIntensityChanged(
+							this.getTimeOfNextEvent(),
+							new IntensityValue(
+									this.getURI(),
+									this.currentIntensity.getValue())));
+			} else {
+				ret.add(new PowerChanged(this.getTimeOfNextEvent()));
+			}
+			this.powerChangeToBeSignalled = false;
+			return ret;
+		} else {
+			return null;
+		}
 	}
 
 	@Override
@@ -320,6 +354,8 @@ implements	KettleOperationI
 		if (this.consumptionHasChanged) {
 			this.consumptionHasChanged = false;
 			ret = Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.powerChangeToBeSignalled) {
+			ret = Duration.zero(this.getSimulatedTimeUnit());
 		} else {
 			ret = Duration.INFINITY;
 		}
@@ -333,6 +369,7 @@ implements	KettleOperationI
 		super.userDefinedInternalTransition(elapsedTime);
 
 		Time t = this.getCurrentStateTime();
+		double oldIntensity = this.currentIntensity.getValue();
 
 		if (this.currentState == KettleState.ON) {
 			switch (this.currentMode) {
@@ -365,6 +402,10 @@ implements	KettleOperationI
 			assert this.currentState == KettleState.OFF;
 			this.currentIntensity.setNewValue(0.0, t);
 		}
+		if (PowerChanged.isSignificant(oldIntensity,
+									   this.currentIntensity.getValue())) {
+			this.powerChangeToBeSignalled = true;
+		}
 
 		if (VERBOSE) {
 			StringBuffer sb = new StringBuffer("new consumption: ");
@@ -433,6 +474,28 @@ implements	KettleOperationI
 		super.endSimulation(endTime);
 	}
 
+	// -------------------------------------------------------------------------
+	// Optional DEVS simulation protocol: simulation run parameters
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#setSimulationRunParameters(Map)
+	 */
+	@Override
+	public void setSimulationRunParameters(
+		Map<String, Object> simParams
+		) throws MissingRunParameterException
+	{
+		super.setSimulationRunParameters(simParams);
+
+		String signalName =
+			ModelI.createRunParameterName(
+						getURI(), ConsumerIntensityChanged.SIGNAL_RPNAME);
+		this.signalConsumerIntensity =
+				simParams.containsKey(signalName)
+							&& (boolean) simParams.get(signalName);
+	}
+
 	// -------------------------------------------------------------------------
 	// Optional DEVS simulation protocol: simulation report
 	// -------------------------------------------------------------------------
@@ -3,11 +3,17 @@ package etape2.equipments.kettle.mil;
 import java.util.ArrayList;
 import java.util.concurrent.TimeUnit;
 
+import etape1.equipements.kettle.interfaces.KettleImplementationI;
 import etape1.equipements.kettle.interfaces.KettleImplementationI.KettleMode;
 import etape1.equipements.kettle.interfaces.KettleImplementationI.KettleState;
 import etape2.GlobalReportI;
 import etape2.equipments.kettle.mil.events.DoNotHeatKettle;
 import etape2.equipments.kettle.mil.events.HeatKettle;
+import etape2.equipments.kettle.mil.events.SetEcoModeKettle;
+import etape2.equipments.kettle.mil.events.SetMaxModeKettle;
+import etape2.equipments.kettle.mil.events.SetNormalModeKettle;
+import etape2.equipments.kettle.mil.events.SetPowerKettle;
+import etape2.equipments.kettle.mil.events.SetSuspendedModeKettle;
 import etape2.equipments.kettle.mil.events.SwitchOffKettle;
 import etape2.equipments.kettle.mil.events.SwitchOnKettle;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
@@ -39,11 +45,29 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * where WaterMass = 200 kg (200L tank, fixed).
  * </p>
  *
+ * <p>
+ * The equation is linear and the heating power is constant between two
+ * events, so when {@code EXACT_INTEGRATION} is true the temperature is given
+ * by its closed-form solution T(s) = T0 + T'0 * K * (1 - exp(-s/K)), with K
+ * the insulation constant and s the elapsed time in seconds. Internal
+ * transitions are then planned only when the temperature reaches one of the
+ * {@code TEMPERATURE_THRESHOLDS}, instead of every {@code STEP} with the
+ * explicit Euler method. As the model may then sleep until the next
+ * threshold, it also receives the power and mode events: the temperature is
+ * integrated up to the event and, as the new heating power is set in the
+ * imported variable by the electricity model at the same time, the
+ * derivative and the next threshold are recomputed by an immediate internal
+ * transition once the power has been updated.
+ * </p>
+ *
  * <p>Created on : 2026-02-06</p>
  */
 @ModelExternalEvents(imported = {
 		SwitchOnKettle.class, SwitchOffKettle.class,
-		HeatKettle.class, DoNotHeatKettle.class
+		HeatKettle.class, DoNotHeatKettle.class,
+		SetPowerKettle.class, SetEcoModeKettle.class,
+		SetNormalModeKettle.class, SetMaxModeKettle.class,
+		SetSuspendedModeKettle.class
 })
 @ModelImportedVariable(name = "currentHeatingPower", type = Double.class)
 // -----------------------------------------------------------------------------
@@ -77,8 +101,23 @@ implements	KettleOperationI
 	/** Integration step in hours (1 minute). */
 	protected static double STEP = 60.0 / 3600.0;
 
+	/** When true, use the closed-form solution instead of Euler steps. */
+	public static boolean EXACT_INTEGRATION = true;
+
+	/** Temperatures in °C at which an internal transition is planned. */
+	protected static double[] TEMPERATURE_THRESHOLDS = {
+			KettleImplementationI.MIN_TARGET_TEMPERATURE,
+			KettleImplementationI.DEFAULT_TARGET_TEMPERATURE,
+			KettleImplementationI.MAX_TARGET_TEMPERATURE
+	};
+
+	/** Thresholds closer than this to the current temperature are reached. */
+	protected static final double THRESHOLD_TOLERANCE = 1.0e-06;
+
 	protected KettleState currentState = KettleState.ON;
 	protected final Duration integrationStep;
+	/** true when the imported heating power must be read again. */
+	protected boolean powerToBeReread;
 
 	protected double temperatureAcc;
 	protected Time start;
@@ -139,10 +178,43 @@ implements	KettleOperationI
 		double derivative =
 				this.currentWaterTemperature.getFirstDerivative();
 
-		// T(t+dt) = T(t) + T'(t) * dt * 3600
-		double newTemp = oldTemp + derivative * deltaT * 3600;
+		if (!EXACT_INTEGRATION) {
+			// T(t+dt) = T(t) + T'(t) * dt * 3600
+			return oldTemp + derivative * deltaT * 3600;
+		}
 
-		return newTemp;
+		// T(s) = T0 + T'0 * K * (1 - exp(-s/K)), s in seconds
+		double s = deltaT * 3600;
+		double k = INSULATION_CONSTANT;
+		double rise = derivative * k;
+		double decay = -Math.expm1(-s / k);
+		// exact integral of the temperature over deltaT, in °C.h
+		this.temperatureAcc +=
+				oldTemp * deltaT + rise * (deltaT - k * decay / 3600);
+		return oldTemp + rise * decay;
+	}
+
+	/**
+	 * Duration in hours until the temperature reaches the closest threshold
+	 * in the direction of its evolution, or infinity if it never does.
+	 */
+	protected double computeTimeToThreshold()
+	{
+		double temp = this.currentWaterTemperature.getValue();
+		double rise = this.currentWaterTemperature.getFirstDerivative()
+						* INSULATION_CONSTANT;
+		double ret = Double.POSITIVE_INFINITY;
+		for (double threshold : TEMPERATURE_THRESHOLDS) {
+			if (Math.abs(threshold - temp) > THRESHOLD_TOLERANCE) {
+				// fraction of the way to the asymptotic temperature
+				double r = (threshold - temp) / rise;
+				if (r > 0.0 && r < 1.0) {
+					double s = -INSULATION_CONSTANT * Math.log1p(-r);
+					ret = Math.min(ret, s / 3600);
+				}
+			}
+		}
+		return ret;
 	}
 
 	// -------------------------------------------------------------------------
@@ -176,7 +248,7 @@ implements	KettleOperationI
 	@Override
 	public void setCurrentHeatingPower(double newPower, Time t)
 	{
-		// Not used in temperature model - heating power is imported
+		// the heating power is imported, it is read again after the event
 	}
 
 	// -------------------------------------------------------------------------
@@ -189,6 +261,7 @@ implements	KettleOperationI
 		super.initialiseState(initialTime);
 		this.start = initialTime;
 		this.temperatureAcc = 0.0;
+		this.powerToBeReread = false;
 		if (VERBOSE) {
 			this.logMessage("Simulation starts. Water Temp: "
 					+ AMBIENT_TEMPERATURE);
@@ -231,12 +304,24 @@ implements	KettleOperationI
 	@Override
 	public Duration timeAdvance()
 	{
-		return this.integrationStep;
+		if (this.powerToBeReread) {
+			return Duration.zero(this.getSimulatedTimeUnit());
+		}
+		if (!EXACT_INTEGRATION
+				|| !this.currentWaterTemperature.isInitialised()) {
+			return this.integrationStep;
+		}
+		double d = this.computeTimeToThreshold();
+		if (Double.isInfinite(d)) {
+			return Duration.INFINITY;
+		}
+		return new Duration(d, this.getSimulatedTimeUnit());
 	}
 
 	@Override
 	public void userDefinedInternalTransition(Duration elapsedTime)
 	{
+		this.powerToBeReread = false;
 		double newTemp =
 				this.computeNewTemperature(
 						elapsedTime.getSimulatedDuration());
@@ -246,8 +331,10 @@ implements	KettleOperationI
 				new Time(this.getCurrentStateTime().getSimulatedTime(),
 						this.getSimulatedTimeUnit()));
 
-		this.temperatureAcc +=
-				newTemp * elapsedTime.getSimulatedDuration();
+		if (!EXACT_INTEGRATION) {
+			this.temperatureAcc +=
+					newTemp * elapsedTime.getSimulatedDuration();
+		}
 
 		if (VERBOSE && this.currentState == KettleState.HEATING) {
 			this.logMessage("Temp update: "
@@ -269,6 +356,7 @@ implements	KettleOperationI
 		Event ce = (Event) currentEvents.get(0);
 
 		ce.executeOn(this);
+		this.powerToBeReread = ce instanceof SetPowerKettle;
 
 		double newDerivative = this.computeDerivatives(newTemp);
 		this.currentWaterTemperature.setNewValue(
@@ -289,6 +377,12 @@ implements	KettleOperationI
 	@Override
 	public void endSimulation(Time endTime)
 	{
+		if (EXACT_INTEGRATION && this.currentWaterTemperature.isInitialised()) {
+			// account for the time elapsed since the last transition
+			this.computeNewTemperature(
+					endTime.subtract(this.currentWaterTemperature.getTime())
+						   .getSimulatedDuration());
+		}
 		double duration =
 				endTime.subtract(this.start).getSimulatedDuration();
 		if (duration > 0.0) {
@@ -141,6 +141,8 @@ public class RunKettleUnitaryMILSimulation
 							SetPowerKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+									SetPowerKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 									SetPowerKettle.class)
 					});
 			connections.put(
@@ -148,6 +150,8 @@ public class RunKettleUnitaryMILSimulation
 							SetEcoModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+									SetEcoModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 									SetEcoModeKettle.class)
 					});
 			connections.put(
@@ -155,6 +159,8 @@ public class RunKettleUnitaryMILSimulation
 							SetNormalModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+									SetNormalModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 									SetNormalModeKettle.class)
 					});
 			connections.put(
@@ -162,6 +168,8 @@ public class RunKettleUnitaryMILSimulation
 							SetMaxModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+									SetMaxModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 									SetMaxModeKettle.class)
 					});
 			connections.put(
@@ -169,6 +177,8 @@ public class RunKettleUnitaryMILSimulation
 							SetSuspendedModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+									SetSuspendedModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 									SetSuspendedModeKettle.class)
 					});
 
@@ -143,6 +143,8 @@ public class RunKettleUnitaryMILSimulation2
 							SetPowerKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+									SetPowerKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 									SetPowerKettle.class)
 					});
 			connections.put(
@@ -150,6 +152,8 @@ public class RunKettleUnitaryMILSimulation2
 							SetEcoModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+									SetEcoModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 									SetEcoModeKettle.class)
 					});
 			connections.put(
@@ -157,6 +161,8 @@ public class RunKettleUnitaryMILSimulation2
 							SetNormalModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+									SetNormalModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 									SetNormalModeKettle.class)
 					});
 			connections.put(
@@ -164,6 +170,8 @@ public class RunKettleUnitaryMILSimulation2
 							SetMaxModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+									SetMaxModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 									SetMaxModeKettle.class)
 					});
 			connections.put(
@@ -171,6 +179,8 @@ public class RunKettleUnitaryMILSimulation2
 							SetSuspendedModeKettle.class),
 					new EventSink[] {
 							new EventSink(KettleElectricityModel.URI,
+									SetSuspendedModeKettle.class),
+							new EventSink(KettleTemperatureModel.URI,
 									SetSuspendedModeKettle.class)
 					});
 
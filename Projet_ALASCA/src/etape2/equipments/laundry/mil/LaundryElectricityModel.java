@@ -33,6 +33,7 @@ package etape2.equipments.laundry.mil;
 // knowledge of the CeCILL-C license and that you accept its terms.
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import etape1.equipements.laundry.Laundry;
@@ -42,7 +43,11 @@ import etape1.equipements.laundry.interfaces.LaundryImplementationI.SpinSpeed;
 import etape1.equipments.meter.ElectricMeterImplementationI;
 import etape2.GlobalReportI;
 import etape2.equipments.laundry.mil.events.*;
+import etape2.equipments.meter.mil.events.ConsumerIntensityChanged;
+import etape2.equipments.meter.mil.events.ConsumerIntensityChanged.IntensityValue;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.utils.Electricity;
+import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
 import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
@@ -51,6 +56,7 @@ import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.Event;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.AtomicSimulatorI;
@@ -78,7 +84,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * <ul>
  * <li>Imported events: {@code SwitchOnLaundry}, {@code SwitchOffLaundry},
  * {@code SetPowerLaundry}, {@code StartWash}, {@code CancelWash}, etc.</li>
- * <li>Exported events: none</li>
+ * <li>Exported events: {@code PowerChanged}</li>
  * <li>Imported variables: none</li>
  * <li>Exported variables: name = {@code currentIntensity}, type = {@code Double}</li>
  * </ul>
@@ -91,7 +97,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 		SetPowerLaundry.class, StartWash.class, CancelWash.class,
 		SetDelicateModeLaundry.class, SetColorModeLaundry.class,
 		SetWhiteModeLaundry.class, SetIntensiveModeLaundry.class,
-		SetWashTemperature.class, SetSpinSpeed.class })
+		SetWashTemperature.class, SetSpinSpeed.class },
+		exported = { PowerChanged.class, ConsumerIntensityChanged.class })
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 @ModelExportedVariable(name = "currentWashingPower", type = Double.class)
 @ModelExportedVariable(name = "currentWaterLevel", type = Double.class)
@@ -121,6 +128,18 @@ public class LaundryElectricityModel extends AtomicHIOA implements LaundryOperat
 	 * executing an external event.
 	 */
 	protected boolean consumptionHasChanged = false;
+	/**
+	 * true when the intensity has changed and the change must be signalled to
+	 * the electric meter at the next output.
+	 */
+	protected boolean powerChangeToBeSignalled = false;
+	/**
+	 * true when the intensity changes are signalled to the electric meter by
+	 * {@code ConsumerIntensityChanged} events carrying the new intensity,
+	 * instead of {@code PowerChanged} events; set by the run parameter
+	 * {@code ConsumerIntensityChanged.SIGNAL_RPNAME}.
+	 */
+	protected boolean signalConsumerIntensity = false;
 
 	/** power consumption for each wash mode in watts. */
 	protected double delicateModeConsumption;
@@ -322,6 +341,7 @@ public class LaundryElectricityModel extends AtomicHIOA implements LaundryOperat
 		this.currentWashMode = LaundryWashMode.COLOR;
 		this.currentSpinSpeed = SpinSpeed.RPM_1000;
 		this.consumptionHasChanged = false;
+		this.powerChangeToBeSignalled = false;
 		this.totalConsumption = 0.0;
 
 		this.getSimulationEngine().toggleDebugMode();
@@ -371,7 +391,22 @@ public class LaundryElectricityModel extends AtomicHIOA implements LaundryOperat
 
 	@Override
 	public ArrayList<EventI> output() {
-		return null;
+		if (this.powerChangeToBeSignalled) {
+			ArrayList<EventI> ret = new ArrayList<EventI>();
+			if (this.signalConsumerIntensity) {
+				ret.add(new ConsumerIntensityChanged(
+							this.getTimeOfNextEvent(),
+							new IntensityValue(
+									this.getURI(),
+									this.currentIntensity.getValue())));
+			} else {
+				ret.add(new PowerChanged(this.getTimeOfNextEvent()));
+			}
+			this.powerChangeToBeSignalled = false;
+			return ret;
+		} else {
+			return null;
+		}
 	}
 
 	@Override
@@ -381,6 +416,9 @@ public class LaundryElectricityModel extends AtomicHIOA implements LaundryOperat
 		if (this.consumptionHasChanged) {
 			this.consumptionHasChanged = false;
 			ret = Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.powerChangeToBeSignalled) {
+			// signal the new intensity to the electric meter immediately.
+			ret = Duration.zero(this.getSimulatedTimeUnit());
 		} else {
 			ret = Duration.INFINITY;
 		}
@@ -393,6 +431,7 @@ public class LaundryElectricityModel extends AtomicHIOA implements LaundryOperat
 		super.userDefinedInternalTransition(elapsedTime);
 
 		Time t = this.getCurrentStateTime();
+		double oldIntensity = this.currentIntensity.getValue();
 
 		switch (this.currentState) {
 		case OFF:
@@ -424,6 +463,10 @@ public class LaundryElectricityModel extends AtomicHIOA implements LaundryOperat
 					this.currentWashingPower.getValue() / Laundry.VOLTAGE.getData(), t);
 			break;
 		}
+		if (PowerChanged.isSignificant(oldIntensity,
+									   this.currentIntensity.getValue())) {
+			this.powerChangeToBeSignalled = true;
+		}
 
 		if (VERBOSE) {
 			StringBuffer sb = new StringBuffer("new consumption: ");
@@ -474,6 +517,28 @@ public class LaundryElectricityModel extends AtomicHIOA implements LaundryOperat
 		super.endSimulation(endTime);
 	}
 
+	// -------------------------------------------------------------------------
+	// Optional DEVS simulation protocol: simulation run parameters
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#setSimulationRunParameters(Map)
+	 */
+	@Override
+	public void setSimulationRunParameters(
+		Map<String, Object> simParams
+		) throws MissingRunParameterException
+	{
+		super.setSimulationRunParameters(simParams);
+
+		String signalName =
+			ModelI.createRunParameterName(
+						getURI(), ConsumerIntensityChanged.SIGNAL_RPNAME);
+		this.signalConsumerIntensity =
+				simParams.containsKey(signalName)
+							&& (boolean) simParams.get(signalName);
+	}
+
 	// -------------------------------------------------------------------------
 	// Optional DEVS simulation protocol: simulation report
 	// -------------------------------------------------------------------------
@@ -0,0 +1,297 @@
+package etape2.equipments.meter.mil;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import etape2.equipments.batteries.mil.events.BatteriesRequiredPowerChanged;
+import etape2.equipments.generator.mil.events.GeneratorRequiredPowerChanged;
+import etape2.equipments.meter.mil.events.ConsumerIntensityChanged;
+import etape2.equipments.meter.mil.events.PowerChanged;
+import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
+import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
+import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariables;
+import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelImportedVariable;
+import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelImportedVariables;
+import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.AtomicSimulatorI;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>AggregatingElectricMeterModel</code> defines an electric
+ * meter model which consumption comes from any number of consumers instead of
+ * one imported variable per appliance.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The consumers send their new intensity in {@code ConsumerIntensityChanged}
+ * events, identified by their URI; any number of consumer models can hence be
+ * connected to the meter by the simulation architecture without changing this
+ * class. A consumer is registered at its first event, or beforehand through
+ * the run parameter {@code CONSUMERS_RP_NAME} giving an array of consumer URIs.
+ * The intensities are kept by an {@code IntensityAggregator} which updates the
+ * total by the difference between the new and the old intensity, so a change
+ * costs a constant time whatever the number of consumers.
+ * </p>
+ * <p>
+ * Everything else is inherited from
+ * {@code AbstractElectricMeterElectricityModel}: the batteries input power is
+ * still imported as a variable and added to the total intensity, and the
+ * production side is the same as in {@code ElectricMeterElectricityModel}.
+ * As every consumption change arrives in an event, the model is purely
+ * event-driven and never reevaluates its variables periodically.
+ * </p>
+ * <p>
+ * The consumer models send {@code ConsumerIntensityChanged} events only when
+ * their run parameter {@code ConsumerIntensityChanged.SIGNAL_RPNAME} is true;
+ * {@code RunGlobalSimulation.createSimulator(Map, boolean)} builds the global
+ * architecture around this model in that way.
+ * </p>
+ * 
+ * <ul>
+ * <li>Imported events: {@code PowerChanged}, {@code ConsumerIntensityChanged}</li>
+ * <li>Exported events: {@code BatteriesRequiredPowerChanged},
+ *   {@code GeneratorRequiredPowerChanged}</li>
+ * <li>Imported variables:
+ *   <ul>
+ *   <i>name = {@code solarPanelOutputPower}, type = {@code Double}</li>
+ *   <i>name = {@code batteriesInputPower}, type = {@code Double}</li>
+ *   <i>name = {@code batteriesOutputPower}, type = {@code Double}</li>
+ *   <i>name = {@code generatorOutputPower}, type = {@code Double}</li>
+ *   </ul>
+ * </li>
+ * <li>Exported variables:
+ *   <ul>
+ *   <i>name = {@code batteriesRequiredPower}, type = {@code Double}</li>
+ *   <i>name = {@code generatorRequiredPower}, type = {@code Double}</li>
+ *   </ul>
+ * </li>
+ * </ul>
+ * 
+ * <p><strong>Implementation Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code consumers != null}
+ * </pre>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code URI != null && !URI.isEmpty()}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+// -----------------------------------------------------------------------------
+@ModelExternalEvents(
+	imported = {PowerChanged.class, ConsumerIntensityChanged.class},
+	exported = {BatteriesRequiredPowerChanged.class,
+				GeneratorRequiredPowerChanged.class}
+	)
+@ModelImportedVariables(
+	{@ModelImportedVariable(name = "solarPanelOutputPower",
+	 						type = Double.class),
+	 @ModelImportedVariable(name = "batteriesInputPower",
+	 						type = Double.class),
+	 @ModelImportedVariable(name = "batteriesOutputPower",
+	 						type = Double.class),
+	 @ModelImportedVariable(name = "generatorOutputPower",
+	 						type = Double.class)
+	})
+@ModelExportedVariables(
+	{@ModelExportedVariable(name = "batteriesRequiredPower",
+							type = Double.class),
+	 @ModelExportedVariable(name = "generatorRequiredPower",
+	 						type = Double.class)
+	})
+// -----------------------------------------------------------------------------
+public class			AggregatingElectricMeterModel
+extends		AbstractElectricMeterElectricityModel
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long	serialVersionUID = 1L;
+	/** URI for a model; works when only one instance is created.			*/
+	public static final String	URI = AggregatingElectricMeterModel.class.
+																getSimpleName();
+	/** name of the optional run parameter giving the URIs of the consumers
+	 *  to be registered before the first events, as a {@code String[]}.	*/
+	public static final String	CONSUMERS_RP_NAME = "CONSUMERS";
+
+	/** current intensities of the consumers and their total.				*/
+	protected final IntensityAggregator	consumers;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create an <code>AggregatingElectricMeterModel</code> instance.
+	 * 
+	 * <pre>
+	 * pre	{@code uri == null || !uri.isEmpty()}
+	 * pre	{@code simulatedTimeUnit != null}
+	 * pre	{@code simulationEngine != null && !simulationEngine.isModelSet()}
+	 * pre	{@code simulationEngine instanceof AtomicEngine}
+	 * post	{@code getNumberOfConsumers() == 0}
+	 * </pre>
+	 *
+	 * @param uri				URI of the model.
+	 * @param simulatedTimeUnit	time unit used for the simulation time.
+	 * @param simulationEngine	simulation engine to which the model is attached.
+	 * @throws Exception		<i>to do</i>.
+	 */
+	public				AggregatingElectricMeterModel(
+		String uri,
+		TimeUnit simulatedTimeUnit,
+		AtomicSimulatorI simulationEngine
+		) throws Exception
+	{
+		super(uri, simulatedTimeUnit, simulationEngine);
+		this.consumers = new IntensityAggregator();
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the number of registered consumers.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return >= 0}
+	 * </pre>
+	 *
+	 * @return	the number of registered consumers.
+	 */
+	public int			getNumberOfConsumers()
+	{
+		return this.consumers.size();
+	}
+
+	/**
+	 * set the current intensity of the consumer {@code consumerURI},
+	 * registering it if needed.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code consumerURI != null && !consumerURI.isEmpty()}
+	 * pre	{@code intensity >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param consumerURI	URI of the consumer.
+	 * @param intensity		new intensity of the consumer in amperes.
+	 */
+	public void			setConsumerIntensity(
+		String consumerURI,
+		double intensity
+		)
+	{
+		this.consumers.set(consumerURI, intensity);
+
+		if (DEBUG) {
+			this.logMessage("setConsumerIntensity " + consumerURI + " = "
+							+ intensity + ", total = "
+							+ this.consumers.total());
+		}
+	}
+
+	/**
+	 * @see etape2.equipments.meter.mil.AbstractElectricMeterElectricityModel#computeTotalIntensity()
+	 */
+	@Override
+	protected double	computeTotalIntensity()
+	{
+		return this.batteriesInputPower.getValue() + this.consumers.total();
+	}
+
+	/**
+	 * @see etape2.equipments.meter.mil.AbstractElectricMeterElectricityModel#consumptionInputsInitialised()
+	 */
+	@Override
+	protected boolean	consumptionInputsInitialised()
+	{
+		// consumers that have not sent any event yet consume nothing
+		return this.batteriesInputPower.isInitialised();
+	}
+
+	// -------------------------------------------------------------------------
+	// DEVS simulation protocol
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.Model#setSimulationRunParameters(java.util.Map)
+	 */
+	@Override
+	public void			setSimulationRunParameters(
+		Map<String, Object> simParams
+		) throws MissingRunParameterException
+	{
+		super.setSimulationRunParameters(simParams);
+
+		String consumersName =
+				ModelI.createRunParameterName(this.getURI(), CONSUMERS_RP_NAME);
+		if (simParams != null && simParams.containsKey(consumersName)) {
+			for (String consumerURI : (String[]) simParams.get(consumersName)) {
+				this.consumers.register(consumerURI);
+			}
+		}
+	}
+
+	/**
+	 * @see etape2.equipments.meter.mil.AbstractElectricMeterElectricityModel#initialiseState(fr.sorbonne_u.devs_simulation.models.time.Time)
+	 */
+	@Override
+	public void			initialiseState(Time initialTime)
+	{
+		// keep the registered consumers but forget their previous intensities
+		this.consumers.reset();
+
+		super.initialiseState(initialTime);
+	}
+}
+// -----------------------------------------------------------------------------
@@ -1,7 +1,5 @@
 package etape2.equipments.meter.mil;
 
-import java.text.NumberFormat;
-
 // Copyright Jacques Malenfant, Sorbonne Universite.
 // Jacques.Malenfant@lip6.fr
 //
@@ -34,35 +32,22 @@ import java.text.NumberFormat;
 // The fact that you are presently reading this means that you have had
 // knowledge of the CeCILL-C license and that you accept its terms.
 
-import java.util.ArrayList;
-import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
-import etape1.equipments.meter.ElectricMeter;
-import etape2.GlobalReportI;
-import etape2.GlobalSimulationConfigurationI;
 import etape2.equipments.batteries.mil.events.BatteriesRequiredPowerChanged;
 import etape2.equipments.generator.mil.events.GeneratorRequiredPowerChanged;
-import etape2.utils.Electricity;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
-import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
-import fr.sorbonne_u.devs_simulation.hioa.annotations.InternalVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariables;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelImportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelImportedVariables;
-import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
-import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
-import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.AtomicSimulatorI;
-import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulationReportI;
 import fr.sorbonne_u.devs_simulation.utils.AssertionChecking;
-import fr.sorbonne_u.devs_simulation.utils.Pair;
-import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 
 // -----------------------------------------------------------------------------
 /**
@@ -73,12 +58,25 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * 
  * <p>
  * This model is an HIOA model that imports variables, hence shows how this kind
- * of models are programmed.
+ * of models are programmed. It imports one intensity variable per appliance
+ * and sums them with the batteries input power to get the total intensity,
+ * the rest of the behaviour being inherited from
+ * {@code AbstractElectricMeterElectricityModel}.
+ * </p>
+ * <p>
+ * When {@code EVENT_DRIVEN} is true, the models producing the imported
+ * variables emit a {@code PowerChanged} event each time they change one of
+ * them, and the model wakes up only on these events. As the imported
+ * variables are constant between two events, the cumulative consumption is
+ * then computed exactly. Otherwise, the model also reevaluates its variables
+ * every {@code STEP}, which is needed when some producer does not signal its
+ * changes.
  * </p>
  * 
  * <ul>
- * <li>Imported events: none</li>
- * <li>Exported events: none</li>
+ * <li>Imported events: {@code PowerChanged}</li>
+ * <li>Exported events: {@code BatteriesRequiredPowerChanged},
+ *   {@code GeneratorRequiredPowerChanged}</li>
  * <li>Imported variables:
  *   <ul>
  *   <i>name = {@code currentHeaterIntensity}, type = {@code Double}</li>
@@ -122,6 +120,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  */
 // -----------------------------------------------------------------------------
 @ModelExternalEvents(
+	imported = {PowerChanged.class},
 	exported = {BatteriesRequiredPowerChanged.class,
 				GeneratorRequiredPowerChanged.class}
 	)
@@ -151,7 +150,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 	})
 // -----------------------------------------------------------------------------
 public class			ElectricMeterElectricityModel
-extends		AtomicHIOA
+extends		AbstractElectricMeterElectricityModel
 {
 	// -------------------------------------------------------------------------
 	// Constants and variables
@@ -161,58 +160,21 @@ extends		AtomicHIOA
 	/** URI for a model; works when only one instance is created.			*/
 	public static final String	URI = ElectricMeterElectricityModel.class.
 																getSimpleName();
-	/** when true, leaves a trace of the execution of the model.			*/
-	public static boolean		VERBOSE = true;
-	/** when true, leaves a debugging trace of the execution of the model.	*/
-	public static boolean		DEBUG = false;
-	/** when comparing floating point values, use this tolerance to get
-	 *  the result of the comparison.										*/
-	protected static final double	TOLERANCE  = 1.0e-08;
+	/** when true, the model reevaluates its variables only when signalled
+	 *  a change by a {@code PowerChanged} event, otherwise it also does it
+	 *  every {@code STEP}.												*/
+	public static boolean		EVENT_DRIVEN = true;
 
 	/** evaluation step for the equation (assumed in hours).				*/
 	protected static final double	STEP = 60.0/3600.0;	// 60 seconds
 
 	/** evaluation step as a duration, including the time unit.				*/
 	protected final Duration	evaluationStep;
-	/** when true, the generator power model must be notified of a change
-	 *  in the required power at the next output.						 	*/
-	protected boolean			generatorToBeNotified;
-	/** when true, the batteries power model must be notified of a change
-	 *  in the required power at the next output.						 	*/
-	protected boolean			batteriesToBeNotified;
-
-	/** final report of the simulation run.									*/
-	protected ElectricMeterElectricityReport	finalReport;
 
 	// -------------------------------------------------------------------------
 	// HIOA model variables
 	// -------------------------------------------------------------------------
 
-	/** power consumed from the electric circuit to charge the batteries
-	 *  in {@code MeasurementUnit.AMPERES}.									*/
-	@ImportedVariable(type = Double.class)
-	protected Value<Double>			batteriesInputPower;
-	/** power required by the electric circuit from the batteries in
-	 *  {@code MeasurementUnit.AMPERES}.									*/
-	@ExportedVariable(type = Double.class)
-	protected Value<Double>			batteriesRequiredPower = new Value<>(this);
-	/** power delivered to the electric circuit by the batteries in
-	 *  {@code MeasurementUnit.AMPERES}.									*/
-	@ImportedVariable(type = Double.class)
-	protected Value<Double>			batteriesOutputPower;
-
-	/** current power production of the solar panel in amperes.				*/
-	@ImportedVariable(type = Double.class)
-	protected Value<Double>			solarPanelOutputPower;
-	/** current power production of the generator in amperes.				*/
-	@ImportedVariable(type = Double.class)
-	protected Value<Double>			generatorOutputPower;
-
-	/** current power required from the generator.							*/
-	@ExportedVariable(type = Double.class)
-	protected Value<Double>			generatorRequiredPower =
-												new Value<Double>(this);
-
 	/** current intensity of the fan in amperes.								*/
 	@ImportedVariable(type = Double.class)
 	protected Value<Double>			currentFanIntensity;
@@ -226,21 +188,6 @@ extends		AtomicHIOA
 	@ImportedVariable(type = Double.class)
 	protected Value<Double>			currentKettleIntensity;
 
-	/** current total power production of the house in the power unit
-	 *  defined by the electric meter.										*/
-	@InternalVariable(type = Double.class)
-	protected final Value<Double>	powerProduction =
-												new Value<Double>(this);
-	/** current total consumed intensity of the house in the power unit
-	 *  defined by the electric meter.										*/
-	@InternalVariable(type = Double.class)
-	protected final Value<Double>	currentIntensity =
-												new Value<Double>(this);
-	/** current total consumption of the house in kwh.						*/
-	@InternalVariable(type = Double.class)
-	protected final Value<Double>	cumulativeConsumption =
-												new Value<Double>(this);
-
 	// -------------------------------------------------------------------------
 	// Invariants
 	// -------------------------------------------------------------------------
@@ -268,6 +215,8 @@ extends		AtomicHIOA
 						+ "instance != null");
 
 		boolean ret = true;
+		ret &= AbstractElectricMeterElectricityModel.implementationInvariants(
+																	instance);
 		ret &= AssertionChecking.checkImplementationInvariant(
 				STEP > 0.0,
 				ElectricMeterElectricityModel.class,
@@ -278,15 +227,6 @@ extends		AtomicHIOA
 				ElectricMeterElectricityModel.class,
 				instance,
 				"evaluationStep.getSimulatedDuration() > 0.0");
-		ret &= AssertionChecking.checkImplementationInvariant(
-				instance.solarPanelOutputPower == null ||
-					!instance.solarPanelOutputPower.isInitialised() ||
-						instance.solarPanelOutputPower.getValue() >= 0.0,
-				ElectricMeterElectricityModel.class,
-				instance,
-				"solarPanelOutputPower == null || "
-				+ "!solarPanelOutputPower.isInitialised() || "
-				+ "solarPanelOutputPower.getValue() >= 0.0");
 		ret &= AssertionChecking.checkImplementationInvariant(
 				instance.currentFanIntensity == null ||
 					!instance.currentFanIntensity.isInitialised() ||
@@ -323,33 +263,6 @@ extends		AtomicHIOA
 				"currentKettleIntensity == null || "
 				+ "!currentKettleIntensity.isInitialised() || "
 				+ "currentKettleIntensity.getValue() >= 0.0");
-		ret &= AssertionChecking.checkImplementationInvariant(
-				instance.currentIntensity != null &&
-					(!instance.currentIntensity.isInitialised() ||
-								instance.currentIntensity.getValue() >= 0.0),
-				ElectricMeterElectricityModel.class,
-				instance,
-				"currentIntensity != null && "
-				+ "(!currentIntensity.isInitialised() || "
-				+ "currentIntensity.getValue() >= 0.0)");
-		ret &= AssertionChecking.checkImplementationInvariant(
-				instance.cumulativeConsumption != null &&
-					(!instance.cumulativeConsumption.isInitialised() ||
-								instance.cumulativeConsumption.getValue() >= 0.0),
-				ElectricMeterElectricityModel.class,
-				instance,
-				"cumulativeConsumption != null && "
-				+ "(!cumulativeConsumption.isInitialised() || "
-				+ "cumulativeConsumption.getValue() >= 0.0)");
-		ret &= AssertionChecking.checkImplementationInvariant(
-				instance.powerProduction != null &&
-					(!instance.powerProduction.isInitialised() ||
-								instance.powerProduction.getValue() >= 0.0),
-				ElectricMeterElectricityModel.class,
-				instance,
-				"powerProduction != null && "
-				+ "(!powerProduction.isInitialised() || "
-				+ "powerProduction.getValue() >= 0.0)");
 		return ret;
 	}
 
@@ -368,7 +281,7 @@ extends		AtomicHIOA
 	protected static boolean	staticInvariants()
 	{
 		boolean ret = true;
-		ret &= GlobalSimulationConfigurationI.staticInvariants();
+		ret &= AbstractElectricMeterElectricityModel.staticInvariants();
 		ret &= AssertionChecking.checkStaticInvariant(
 				URI != null && !URI.isEmpty(),
 				ElectricMeterElectricityModel.class,
@@ -398,6 +311,7 @@ extends		AtomicHIOA
 						+ "instance != null");
 
 		boolean ret = true;
+		ret &= AbstractElectricMeterElectricityModel.invariants(instance);
 		ret &= staticInvariants();
 		return ret;
 	}
@@ -435,7 +349,6 @@ extends		AtomicHIOA
 		super(uri, simulatedTimeUnit, simulationEngine);
 
 		this.evaluationStep = new Duration(STEP, this.getSimulatedTimeUnit());
-		this.getSimulationEngine().setLogger(new StandardLogger());
 
 		assert	ElectricMeterElectricityModel.implementationInvariants(this) :
 				new NeoSim4JavaException(
@@ -451,48 +364,9 @@ extends		AtomicHIOA
 	// -------------------------------------------------------------------------
 
 	/**
-	 * update the cumulative electricity consumption in kwh given the current
-	 * intensity has been constant for the duration {@code d}.
-	 * 
-	 * <p><strong>Contract</strong></p>
-	 * 
-	 * <pre>
-	 * pre	{@code d != null}
-	 * post	{@code true}	// no postcondition.
-	 * </pre>
-	 *
-	 * @param d	duration for which the intensity has been maintained.
-	 */
-	protected void		updateCumulativeConsumption(Duration d)
-	{
-		double c = this.cumulativeConsumption.getValue();
-		c += Electricity.computeConsumption(
-				d,
-				ElectricMeter.TENSION.getData()*this.currentIntensity.getValue());
-		Time t = this.cumulativeConsumption.getTime().add(d);
-		this.cumulativeConsumption.setNewValue(c, t);
-
-		assert	ElectricMeterElectricityModel.implementationInvariants(this) :
-				new NeoSim4JavaException(
-						"ElectricMeterElectricityModel."
-						+ "implementationInvariants(this)");
-		assert	ElectricMeterElectricityModel.invariants(this) :
-				new NeoSim4JavaException(
-						"ElectricMeterElectricityModel.invariants(this)");
-	}
-
-	/**
-	 * compute the current total intensity.
-	 * 
-	 * <p><strong>Contract</strong></p>
-	 * 
-	 * <pre>
-	 * pre	{@code true}	// no precondition.
-	 * post	{@code true}	// no postcondition.
-	 * </pre>
-	 *
-	 * @return the current total intensity of electric consumption.
+	 * @see etape2.equipments.meter.mil.AbstractElectricMeterElectricityModel#computeTotalIntensity()
 	 */
+	@Override
 	protected double	computeTotalIntensity()
 	{
 		// simple sum of all incoming intensities
@@ -504,22 +378,16 @@ extends		AtomicHIOA
 	}
 
 	/**
-	 * compute the current total power production.
-	 * 
-	 * <p><strong>Contract</strong></p>
-	 * 
-	 * <pre>
-	 * pre	{@code true}	// no precondition.
-	 * post	{@code true}	// no postcondition.
-	 * </pre>
-	 *
-	 * @return	the current total power production.
+	 * @see etape2.equipments.meter.mil.AbstractElectricMeterElectricityModel#consumptionInputsInitialised()
 	 */
-	protected double	computeTotalPowerProduction()
+	@Override
+	protected boolean	consumptionInputsInitialised()
 	{
-		return this.solarPanelOutputPower.getValue() +
-			   this.generatorOutputPower.getValue() +
-			   this.batteriesOutputPower.getValue();
+		return this.batteriesInputPower.isInitialised()
+					&& this.currentFanIntensity.isInitialised()
+					&& this.currentCoffeeMachineIntensity.isInitialised()
+					&& this.currentLaundryIntensity.isInitialised()
+					&& this.currentKettleIntensity.isInitialised();
 	}
 
 	// -------------------------------------------------------------------------
@@ -527,347 +395,18 @@ extends		AtomicHIOA
 	// -------------------------------------------------------------------------
 
 	/**
-	 * @see fr.sorbonne_u.devs_simulation.hioa.models.interfaces.VariableInitialisationI#useFixpointInitialiseVariables()
-	 */
-	@Override
-	public boolean		useFixpointInitialiseVariables()
-	{
-		return true;
-	}
-
-	/**
-	 * @see fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA#initialiseState(fr.sorbonne_u.devs_simulation.models.time.Time)
-	 */
-	@Override
-	public void			initialiseState(Time initialTime)
-	{
-		this.generatorToBeNotified = false;
-		this.batteriesToBeNotified = false;
-		
-		super.initialiseState(initialTime);
-	}
-
-	/**
-	 * @see fr.sorbonne_u.devs_simulation.hioa.models.interfaces.VariableInitialisationI#fixpointInitialiseVariables()
-	 */
-	@Override
-	public Pair<Integer, Integer>	fixpointInitialiseVariables()
-	{
-		int justInitialised = 0;
-		int notInitialisedYet = 0;
-
-		// the variable batteriesRequiredPower is exported and does not depend
-		// upon any other variable, hence it can be immediately initialised
-		if (!this.batteriesRequiredPower.isInitialised()) {
-			this.batteriesRequiredPower.initialise(0.0);
-			justInitialised++;
-			if (DEBUG) {
-				this.logMessage(
-						"fixpointInitialiseVariables batteriesRequiredPower = "
-						+ this.batteriesRequiredPower.getValue());
-			}
-		}
-
-		// the variable generatorRequiredPower is exported and does not depend
-		// upon any other variable, hence it can be immediately initialised
-		if (!this.generatorRequiredPower.isInitialised()) {
-			this.generatorRequiredPower.initialise(0.0);
-			justInitialised++;
-			if (DEBUG) {
-				this.logMessage(
-						"fixpointInitialiseVariables generatorRequiredPower = "
-						+ this.generatorRequiredPower.getValue());
-			}
-		}
-
-		if (!this.currentIntensity.isInitialised()
-				&& this.batteriesInputPower.isInitialised()
-				&& this.currentFanIntensity.isInitialised()
-				&& this.currentCoffeeMachineIntensity.isInitialised()
-				&& this.currentLaundryIntensity.isInitialised()
-				&& this.currentKettleIntensity.isInitialised()) {
-			double i = this.computeTotalIntensity();
-			this.currentIntensity.initialise(i);
-			this.cumulativeConsumption.initialise(0.0);
-			justInitialised += 2;
-		} else if (!this.currentIntensity.isInitialised()) {
-			notInitialisedYet += 2;
-		}
-
-		if (!this.powerProduction.isInitialised()
-				&& this.solarPanelOutputPower.isInitialised()
-				&& this.generatorOutputPower.isInitialised()
-				&& this.batteriesOutputPower.isInitialised()) {
-			double p = this.computeTotalPowerProduction();
-			this.powerProduction.initialise(p);
-			justInitialised++;
-		} else if (!this.powerProduction.isInitialised()) {
-			notInitialisedYet++;
-		}
-
-		assert	ElectricMeterElectricityModel.implementationInvariants(this) :
-				new NeoSim4JavaException(
-						"ElectricMeterElectricityModel."
-						+ "implementationInvariants(this)");
-		assert	ElectricMeterElectricityModel.invariants(this) :
-				new NeoSim4JavaException(
-						"ElectricMeterElectricityModel.invariants(this)");
-
-		return new Pair<>(justInitialised, notInitialisedYet);
-	}
-
-	/**
-	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI#output()
-	 */
-	@Override
-	public ArrayList<EventI>	output()
-	{
-		ArrayList<EventI> ret = null;
-		if (this.generatorToBeNotified) {
-			ret = new ArrayList<>();
-			ret.add(new GeneratorRequiredPowerChanged(
-												this.getCurrentStateTime()));
-		}
-		if (this.batteriesToBeNotified) {
-			if (ret == null) {
-				ret = new ArrayList<>();
-			}
-			ret.add(new BatteriesRequiredPowerChanged(
-												this.getCurrentStateTime()));
-		}
-		return ret;
-	}
-
-	/**
-	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#timeAdvance()
+	 * @see etape2.equipments.meter.mil.AbstractElectricMeterElectricityModel#timeAdvance()
 	 */
 	@Override
 	public Duration		timeAdvance()
 	{
-		if (this.generatorToBeNotified || this.batteriesToBeNotified) {
-			return Duration.zero(this.getSimulatedTimeUnit());
+		if (EVENT_DRIVEN || this.generatorToBeNotified
+				|| this.batteriesToBeNotified || this.reevaluationPending) {
+			return super.timeAdvance();
 		} else {
 			// trigger a new internal transition at each evaluation step duration
 			return this.evaluationStep;
 		}
 	}
-
-	/**
-	 * @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedInternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration)
-	 */
-	@Override
-	public void			userDefinedInternalTransition(Duration elapsedTime)
-	{
-		super.userDefinedInternalTransition(elapsedTime);
-
-		// update the current consumption since the last consumption update.
-		// must be done before recomputing the instantaneous intensity.
-		this.updateCumulativeConsumption(elapsedTime);
-
-		boolean somethingHasChanged = false;
-		// recompute the current power production
-		double totalProduction = this.computeTotalPowerProduction();
-		if (Math.abs(totalProduction - this.powerProduction.getValue())
-																>= TOLERANCE) {
-			somethingHasChanged = true;
-		}
-		this.powerProduction.setNewValue(totalProduction, this.getCurrentStateTime());
-		// recompute the current total intensity
-		double totalConsumption = this.computeTotalIntensity();
-		if (Math.abs(totalConsumption - this.currentIntensity.getValue())
-																>= TOLERANCE) {
-			somethingHasChanged = true;
-		}
-		this.currentIntensity.setNewValue(totalConsumption, this.getCurrentStateTime());
-
-		if (somethingHasChanged) {
-			// set the power to be taken from the generator
-			double oldGeneratorRequiredPower =
-										this.generatorRequiredPower.getValue();
-			double newGeneratorRequiredPower =
-					totalConsumption - this.solarPanelOutputPower.getValue();
-			if (newGeneratorRequiredPower < 0.0) {
-				newGeneratorRequiredPower = 0.0;
-			}
-			if (Math.abs(newGeneratorRequiredPower - oldGeneratorRequiredPower)
-																> TOLERANCE) {
-				// the production is under the consumption in a sensible way
-				// try to activate the generator i.e., if it is running
-				this.generatorRequiredPower.setNewValue(
-													newGeneratorRequiredPower,
-													this.getCurrentStateTime());
-			}
-			if (!this.generatorToBeNotified) {
-				if (Math.abs(newGeneratorRequiredPower
-									- oldGeneratorRequiredPower) > TOLERANCE) {
-					this.generatorToBeNotified = true;
-				} else {
-					this.generatorToBeNotified = false;
-				}
-			} else {
-				this.generatorToBeNotified = false;
-			}
-
-			// set the power to be taken from the batteries
-			double oldBatteriesRequiredPower =
-										this.batteriesRequiredPower.getValue();
-			double newBatteriesRequiredPower =
-					totalConsumption -
-						(this.solarPanelOutputPower.getValue()
-								+ this.generatorOutputPower.getValue());
-			if (newBatteriesRequiredPower < 0.0) {
-				newBatteriesRequiredPower = 0.0;
-			}
-			if (Math.abs(newBatteriesRequiredPower - oldBatteriesRequiredPower)
-																>= TOLERANCE) {
-				this.batteriesRequiredPower.setNewValue(
-													newBatteriesRequiredPower,
-													this.getCurrentStateTime());
-			}
-			if (!this.batteriesToBeNotified) {
-				if (Math.abs(newBatteriesRequiredPower
-								- oldBatteriesRequiredPower) > TOLERANCE) {
-					this.batteriesToBeNotified = true;
-				} else {
-					this.batteriesToBeNotified = false;
-				}
-			} else {
-				this.batteriesToBeNotified = false;
-			}
-		} else {
-			this.generatorToBeNotified = false;
-			this.batteriesToBeNotified = false;
-		}
-
-		// Tracing
-		if (VERBOSE) {
-			if (this.powerProduction.isInitialised()
-									&& this.currentIntensity.isInitialised()) {
-				StringBuffer message =
-						new StringBuffer("current total power production: ");
-				NumberFormat nf = NumberFormat.getInstance(Locale.US);
-				nf.setGroupingUsed(false);
-				nf.setMaximumFractionDigits(2);
-				message.append(nf.format(this.powerProduction.getValue()));
-				message.append(", solar panel production: ");
-				message.append(this.solarPanelOutputPower.getValue());
-				message.append(", generator required power: ");
-				message.append(this.generatorRequiredPower.getValue());
-				message.append(", generator production: ");
-				message.append(this.generatorOutputPower.getValue());
-				message.append(", batteries required power: ");
-				message.append(this.batteriesRequiredPower.getValue());
-				message.append(", batteries production: ");
-				message.append(this.batteriesOutputPower.getValue());
-				message.append(", current total consumption: ");
-				message.append(this.currentIntensity.getValue());
-				message.append(" at ");
-				message.append(this.getCurrentStateTime());
-				this.logMessage(message.toString());
-			}
-		}
-
-		assert	ElectricMeterElectricityModel.implementationInvariants(this) :
-				new NeoSim4JavaException(
-						"ElectricMeterElectricityModel."
-						+ "implementationInvariants(this)");
-		assert	ElectricMeterElectricityModel.invariants(this) :
-				new NeoSim4JavaException(
-						"ElectricMeterElectricityModel.invariants(this)");
-	}
-
-	/**
-	 * @see fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA#endSimulation(fr.sorbonne_u.devs_simulation.models.time.Time)
-	 */
-	@Override
-	public void			endSimulation(Time endTime)
-	{
-		this.updateCumulativeConsumption(
-						endTime.subtract(this.cumulativeConsumption.getTime()));
-
-		// must capture the current consumption before the finalisation
-		// reinitialise the internal model variable.
-		this.finalReport = new ElectricMeterElectricityReport(
-											URI,
-											this.cumulativeConsumption.getValue());
-
-		if (VERBOSE) {
-			this.logMessage("simulation ends.");
-		}
-
-		super.endSimulation(endTime);
-	}
-
-	// -------------------------------------------------------------------------
-	// Optional DEVS simulation protocol: simulation report
-	// -------------------------------------------------------------------------
-
-	/**
-	 * The class <code>ElectricMeterElectricityReport</code> implements the
-	 * simulation report for the <code>ElectricMeterElectricityModel</code>.
-	 *
-	 * <p><strong>Description</strong></p>
-	 * 
-	 * <p><strong>Invariant</strong></p>
-	 * 
-	 * <pre>
-	 * invariant	{@code true}	// no invariant
-	 * </pre>
-	 * 
-	 * <p>Created on : 2021-10-01</p>
-	 * 
-	 * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
-	 */
-	public static class		ElectricMeterElectricityReport
-	implements	SimulationReportI, GlobalReportI
-	{
-		private static final long serialVersionUID = 1L;
-		protected String	modelURI;
-		protected double	totalConsumption; // in kwh
-
-		public			ElectricMeterElectricityReport(
-			String modelURI,
-			double totalConsumption
-			)
-		{
-			super();
-			this.modelURI = modelURI;
-			this.totalConsumption = totalConsumption;
-		}
-
-		@Override
-		public String	getModelURI()
-		{
-			return this.modelURI;
-		}
-
-		@Override
-		public String	printout(String indent)
-		{
-			StringBuffer ret = new StringBuffer(indent);
-			ret.append("---\n");
-			ret.append(indent);
-			ret.append('|');
-			ret.append(this.modelURI);
-			ret.append(" report\n");
-			ret.append(indent);
-			ret.append('|');
-			ret.append("total consumption in kwh = ");
-			ret.append(this.totalConsumption);
-			ret.append(".\n");
-			ret.append(indent);
-			ret.append("---\n");
-			return ret.toString();
-		}		
-	}
-
-	/**
-	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#getFinalReport()
-	 */
-	@Override
-	public SimulationReportI	getFinalReport()
-	{
-		return this.finalReport;
-	}
 }
 // -----------------------------------------------------------------------------
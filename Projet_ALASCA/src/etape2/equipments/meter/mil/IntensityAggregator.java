@@ -0,0 +1,377 @@
+package etape2.equipments.meter.mil;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>IntensityAggregator</code> maintains the total intensity of
+ * any number of consumers, each change costing a constant time.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Consumers are registered by URI and get a dense index; their current
+ * intensities are kept in an array and their total in a running sum updated by
+ * the difference between the new and the old intensity of the consumer that
+ * changed. The running sum uses Neumaier's compensated summation, and it is
+ * recomputed from the array every {@code max(size(), MIN_RESYNC_PERIOD)}
+ * updates, which bounds the accumulated rounding errors for an amortised cost
+ * that stays constant per update.
+ * </p>
+ * 
+ * <p><strong>Implementation Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code size >= 0 && size <= intensities.length}
+ * invariant	{@code indexes.size() == size}
+ * </pre>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code MIN_RESYNC_PERIOD > 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			IntensityAggregator
+implements	Serializable
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** minimum number of updates between two recomputations of the sum.	*/
+	public static final int		MIN_RESYNC_PERIOD = 64;
+	/** initial capacity of the intensities array.							*/
+	protected static final int	INITIAL_CAPACITY = 16;
+
+	/** index of each registered consumer in {@code intensities}.			*/
+	protected final Map<String,Integer>	indexes;
+	/** URI of each registered consumer, by index.							*/
+	protected String[]			consumers;
+	/** current intensity of each registered consumer, by index.			*/
+	protected double[]			intensities;
+	/** number of registered consumers.										*/
+	protected int				size;
+	/** running sum of the intensities.										*/
+	protected double			sum;
+	/** compensation of the rounding errors made on {@code sum}.			*/
+	protected double			compensation;
+	/** number of updates since the last recomputation of the sum.			*/
+	protected int				updatesSinceResync;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create an aggregator without registered consumer.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code size() == 0}
+	 * post	{@code total() == 0.0}
+	 * </pre>
+	 */
+	public				IntensityAggregator()
+	{
+		this.indexes = new HashMap<>();
+		this.consumers = new String[INITIAL_CAPACITY];
+		this.intensities = new double[INITIAL_CAPACITY];
+		this.size = 0;
+		this.reset();
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the number of registered consumers.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return >= 0}
+	 * </pre>
+	 *
+	 * @return	the number of registered consumers.
+	 */
+	public int			size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * register the consumer {@code consumerURI} with a null intensity if it is
+	 * not already registered, and return its index.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code consumerURI != null && !consumerURI.isEmpty()}
+	 * post	{@code return >= 0 && return < size()}
+	 * </pre>
+	 *
+	 * @param consumerURI	URI of the consumer.
+	 * @return				the index of the consumer.
+	 */
+	public int			register(String consumerURI)
+	{
+		assert	consumerURI != null && !consumerURI.isEmpty() :
+				new NeoSim4JavaException(
+						"Precondition violation: "
+						+ "consumerURI != null && !consumerURI.isEmpty()");
+
+		Integer index = this.indexes.get(consumerURI);
+		if (index == null) {
+			if (this.size == this.intensities.length) {
+				int capacity = 2 * this.intensities.length;
+				this.consumers = Arrays.copyOf(this.consumers, capacity);
+				this.intensities = Arrays.copyOf(this.intensities, capacity);
+			}
+			index = this.size++;
+			this.consumers[index] = consumerURI;
+			this.intensities[index] = 0.0;
+			this.indexes.put(consumerURI, index);
+		}
+		return index;
+	}
+
+	/**
+	 * return the index of the consumer {@code consumerURI} or -1 if it is not
+	 * registered.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code consumerURI != null}
+	 * post	{@code return >= -1 && return < size()}
+	 * </pre>
+	 *
+	 * @param consumerURI	URI of the consumer.
+	 * @return				the index of the consumer or -1 if it is not registered.
+	 */
+	public int			indexOf(String consumerURI)
+	{
+		Integer index = this.indexes.get(consumerURI);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * return the URI of the consumer at {@code index}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code index >= 0 && index < size()}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param index	index of the consumer.
+	 * @return		the URI of the consumer.
+	 */
+	public String		consumerAt(int index)
+	{
+		assert	index >= 0 && index < this.size :
+				new NeoSim4JavaException(
+						"Precondition violation: index >= 0 && index < size()");
+
+		return this.consumers[index];
+	}
+
+	/**
+	 * return the current intensity of the consumer at {@code index}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code index >= 0 && index < size()}
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @param index	index of the consumer.
+	 * @return		the current intensity of the consumer.
+	 */
+	public double		intensity(int index)
+	{
+		assert	index >= 0 && index < this.size :
+				new NeoSim4JavaException(
+						"Precondition violation: index >= 0 && index < size()");
+
+		return this.intensities[index];
+	}
+
+	/**
+	 * set the current intensity of the consumer {@code consumerURI},
+	 * registering it if needed.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code consumerURI != null && !consumerURI.isEmpty()}
+	 * pre	{@code intensity >= 0.0}
+	 * post	{@code intensity(indexOf(consumerURI)) == intensity}
+	 * </pre>
+	 *
+	 * @param consumerURI	URI of the consumer.
+	 * @param intensity		new intensity of the consumer.
+	 */
+	public void			set(String consumerURI, double intensity)
+	{
+		this.set(this.register(consumerURI), intensity);
+	}
+
+	/**
+	 * set the current intensity of the consumer at {@code index}, updating
+	 * the total by the difference with its previous intensity.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code index >= 0 && index < size()}
+	 * pre	{@code intensity >= 0.0}
+	 * post	{@code intensity(index) == intensity}
+	 * </pre>
+	 *
+	 * @param index		index of the consumer.
+	 * @param intensity	new intensity of the consumer.
+	 */
+	public void			set(int index, double intensity)
+	{
+		assert	index >= 0 && index < this.size :
+				new NeoSim4JavaException(
+						"Precondition violation: index >= 0 && index < size()");
+		assert	intensity >= 0.0 :
+				new NeoSim4JavaException(
+						"Precondition violation: intensity >= 0.0");
+
+		double delta = intensity - this.intensities[index];
+		this.intensities[index] = intensity;
+		if (++this.updatesSinceResync >=
+								Math.max(this.size, MIN_RESYNC_PERIOD)) {
+			this.resync();
+		} else {
+			// Neumaier's compensated summation
+			double t = this.sum + delta;
+			if (Math.abs(this.sum) >= Math.abs(delta)) {
+				this.compensation += (this.sum - t) + delta;
+			} else {
+				this.compensation += (delta - t) + this.sum;
+			}
+			this.sum = t;
+		}
+	}
+
+	/**
+	 * return the total intensity of the registered consumers.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @return	the total intensity of the registered consumers.
+	 */
+	public double		total()
+	{
+		// the compensated sum of nonnegative values may only be negative by
+		// a rounding error
+		return Math.max(0.0, this.sum + this.compensation);
+	}
+
+	/**
+	 * recompute the running sum from the intensities of the consumers.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 */
+	public void			resync()
+	{
+		double s = 0.0;
+		double c = 0.0;
+		for (int i = 0; i < this.size; i++) {
+			double x = this.intensities[i];
+			double t = s + x;
+			if (Math.abs(s) >= Math.abs(x)) {
+				c += (s - t) + x;
+			} else {
+				c += (x - t) + s;
+			}
+			s = t;
+		}
+		this.sum = s;
+		this.compensation = c;
+		this.updatesSinceResync = 0;
+	}
+
+	/**
+	 * set the intensities of all the registered consumers to zero, keeping
+	 * them registered.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code total() == 0.0}
+	 * </pre>
+	 */
+	public void			reset()
+	{
+		Arrays.fill(this.intensities, 0, this.size, 0.0);
+		this.sum = 0.0;
+		this.compensation = 0.0;
+		this.updatesSinceResync = 0;
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,153 @@
+package etape2.equipments.meter.mil;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.Random;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunIntensityAggregationBenchmark</code> measures the cost of
+ * a change of intensity of one consumer when the total intensity is summed
+ * over all the consumers, as {@code ElectricMeterElectricityModel} does, and
+ * when it is updated by the {@code IntensityAggregator}, for 4 to 10,000
+ * consumers.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Each measurement applies the same random sequence of changes to both
+ * approaches and reports the time per change and the largest difference
+ * between the running total and the exact sum observed. The cost of the two
+ * electric meter models within the global simulation is measured by
+ * {@code etape2.RunElectricMeterModelsBenchmark}. Run it with the number of
+ * changes per measurement, for instance:
+ * </p>
+ * 
+ * <pre>
+ * java -ea etape2.equipments.meter.mil.RunIntensityAggregationBenchmark 1000000
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			RunIntensityAggregationBenchmark
+{
+	/** numbers of consumers for the successive measurements.				*/
+	protected static final int[]	CONSUMERS =
+								{4, 16, 64, 256, 1000, 4000, 10000};
+	/** maximum intensity of a consumer in amperes.							*/
+	protected static final double	MAX_INTENSITY = 20.0;
+	/** keeps the computed totals alive so the JIT cannot drop them.		*/
+	protected static volatile double	blackhole;
+
+	public static void	main(String[] args)
+	{
+		int changes = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+		// warm up both paths before measuring
+		for (int i = 0; i < 3; i++) {
+			summing(1000, changes / 10, 1L);
+			aggregating(1000, changes / 10, 1L);
+		}
+
+		System.out.println(String.format("%10s %14s %14s %12s",
+										 "consumers", "sum ns/change",
+										 "delta ns/change", "max error"));
+		for (int n : CONSUMERS) {
+			long t0 = System.nanoTime();
+			summing(n, changes, n);
+			long t1 = System.nanoTime();
+			double error = aggregating(n, changes, n);
+			long t2 = System.nanoTime();
+			System.out.println(String.format("%10d %14.1f %14.1f %12.2e",
+											 n,
+											 (t1 - t0) / (double) changes,
+											 (t2 - t1) / (double) changes,
+											 error));
+		}
+	}
+
+	/** apply {@code changes} random changes, summing all the intensities
+	 *  after each one.														*/
+	protected static void	summing(int n, int changes, long seed)
+	{
+		Random r = new Random(seed);
+		double[] intensities = new double[n];
+		for (int c = 0; c < changes; c++) {
+			intensities[r.nextInt(n)] = r.nextDouble() * MAX_INTENSITY;
+			double total = 0.0;
+			for (int i = 0; i < n; i++) {
+				total += intensities[i];
+			}
+			blackhole = total;
+		}
+	}
+
+	/** apply {@code changes} random changes to an aggregator and return the
+	 *  largest difference observed with the exact total, which is checked
+	 *  every {@code n} changes to keep the check out of the measure.		*/
+	protected static double	aggregating(int n, int changes, long seed)
+	{
+		Random r = new Random(seed);
+		IntensityAggregator a = new IntensityAggregator();
+		for (int i = 0; i < n; i++) {
+			a.register("consumer-" + i);
+		}
+		double maxError = 0.0;
+		for (int c = 0; c < changes; c++) {
+			int index = r.nextInt(n);
+			double intensity = r.nextDouble() * MAX_INTENSITY;
+			a.set(index, intensity);
+			blackhole = a.total();
+			if (c % n == 0) {
+				maxError = Math.max(maxError,
+									Math.abs(a.total() - exactTotal(a)));
+			}
+		}
+		return maxError;
+	}
+
+	/** return the total intensity of {@code a} summed from scratch.		*/
+	protected static double	exactTotal(IntensityAggregator a)
+	{
+		double total = 0.0;
+		for (int i = 0; i < a.size(); i++) {
+			total += a.intensity(i);
+		}
+		return total;
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,234 @@
+package etape2.equipments.meter.mil.events;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import etape2.equipments.meter.mil.AggregatingElectricMeterModel;
+import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
+import fr.sorbonne_u.devs_simulation.models.events.Event;
+import fr.sorbonne_u.devs_simulation.models.events.EventInformationI;
+import fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.devs_simulation.utils.AssertionChecking;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>ConsumerIntensityChanged</code> implements the event that
+ * carries the new intensity of a consumer to the
+ * {@code AggregatingElectricMeterModel}.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Unlike {@code PowerChanged}, which only signals that an imported variable
+ * has changed, this event carries the new value, identified by the URI of the
+ * consumer, so that the electric meter does not need one imported variable
+ * per consumer.
+ * </p>
+ * 
+ * <p><strong>Implementation Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			ConsumerIntensityChanged
+extends		Event
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>IntensityValue</code> represents the intensity of a
+	 * consumer as an information attached to an event.
+	 *
+	 * <p><strong>Description</strong></p>
+	 * 
+	 * <p><strong>Implementation Invariants</strong></p>
+	 * 
+	 * <pre>
+	 * invariant	{@code consumerURI != null && !consumerURI.isEmpty()}
+	 * invariant	{@code intensity >= 0.0}
+	 * </pre>
+	 * 
+	 * <p><strong>Invariants</strong></p>
+	 * 
+	 * <pre>
+	 * invariant	{@code true}	// no more invariant
+	 * </pre>
+	 * 
+	 * <p>Created on : 2026-10-18</p>
+	 * 
+	 * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+	 */
+	public static class	IntensityValue
+	implements	EventInformationI
+	{
+		private static final long serialVersionUID = 1L;
+
+		/** URI of the consumer.											*/
+		protected final String	consumerURI;
+		/** intensity of the consumer in amperes.							*/
+		protected final double	intensity;
+
+		/**
+		 * create an intensity value for the given consumer.
+		 * 
+		 * <p><strong>Contract</strong></p>
+		 * 
+		 * <pre>
+		 * pre	{@code consumerURI != null && !consumerURI.isEmpty()}
+		 * pre	{@code intensity >= 0.0}
+		 * post	{@code true}	// no postcondition.
+		 * </pre>
+		 *
+		 * @param consumerURI	URI of the consumer.
+		 * @param intensity		intensity of the consumer in amperes.
+		 */
+		public			IntensityValue(String consumerURI, double intensity)
+		{
+			super();
+
+			assert	consumerURI != null && !consumerURI.isEmpty() :
+					new NeoSim4JavaException(
+							"consumerURI != null && !consumerURI.isEmpty()");
+			assert	intensity >= 0.0 :
+					new NeoSim4JavaException("intensity >= 0.0");
+
+			this.consumerURI = consumerURI;
+			this.intensity = intensity;
+		}
+
+		/** @return	the URI of the consumer.								*/
+		public String	getConsumerURI()
+		{
+			return this.consumerURI;
+		}
+
+		/** @return	the intensity of the consumer in amperes.				*/
+		public double	getIntensity()
+		{
+			return this.intensity;
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String	toString()
+		{
+			StringBuffer ret = new StringBuffer(this.getClass().getSimpleName());
+			ret.append("[consumerURI = ");
+			ret.append(this.consumerURI);
+			ret.append(", intensity = ");
+			ret.append(this.intensity);
+			ret.append("]");
+			return ret.toString();
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** name of the run parameter of the consumer models which, when true,
+	 *  makes them signal their intensity changes with this event instead
+	 *  of {@code PowerChanged}, as a {@code Boolean}.						*/
+	public static final String	SIGNAL_RPNAME = "SIGNAL_CONSUMER_INTENSITY";
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a <code>ConsumerIntensityChanged</code> event.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code timeOfOccurrence != null}
+	 * pre	{@code value != null}
+	 * post	{@code getTimeOfOccurrence().equals(timeOfOccurrence)}
+	 * post	{@code value.equals(getEventInformation())}
+	 * </pre>
+	 *
+	 * @param timeOfOccurrence	time of occurrence of the event.
+	 * @param value				new intensity of the consumer.
+	 */
+	public				ConsumerIntensityChanged(
+		Time timeOfOccurrence,
+		IntensityValue value
+		)
+	{
+		super(timeOfOccurrence,
+			  AssertionChecking.assertNonNullOrThrow(
+				value,
+				() -> new NeoSim4JavaException(
+							"Precondition violation: value != null")));
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.events.Event#executeOn(fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI)
+	 */
+	@Override
+	public void			executeOn(AtomicModelI model)
+	{
+		assert	model instanceof AggregatingElectricMeterModel :
+				new NeoSim4JavaException(
+						"Precondition violation: model instanceof "
+						+ "AggregatingElectricMeterModel");
+
+		IntensityValue v = (IntensityValue) this.getEventInformation();
+		((AggregatingElectricMeterModel) model).setConsumerIntensity(
+													v.getConsumerURI(),
+													v.getIntensity());
+	}
+}
+// -----------------------------------------------------------------------------
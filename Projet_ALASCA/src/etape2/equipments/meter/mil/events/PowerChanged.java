@@ -0,0 +1,129 @@
+package etape2.equipments.meter.mil.events;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import fr.sorbonne_u.devs_simulation.models.events.Event;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>PowerChanged</code> implements the event that signals the
+ * electric meter that one of the intensity or power variables it imports has
+ * just changed.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The models producing the variables imported by the electric meter emit this
+ * event at the time of the change, after having set the new value. Between two
+ * such events, all the imported variables are constant, hence the electric
+ * meter can compute its cumulative consumption exactly and does not need to
+ * wake up otherwise.
+ * </p>
+ * 
+ * <p><strong>Implementation Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code TOLERANCE > 0.0}
+ * </pre>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			PowerChanged
+extends		Event
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** changes of at most this amount are not signalled.					*/
+	public static final double	TOLERANCE = 1.0e-08;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a <code>PowerChanged</code> event.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code timeOfOccurrence != null}
+	 * post	{@code getTimeOfOccurrence().equals(timeOfOccurrence)}
+	 * post	{@code getEventInformation() == null}
+	 * </pre>
+	 *
+	 * @param timeOfOccurrence	time of occurrence of the event.
+	 */
+	public				PowerChanged(Time timeOfOccurrence)
+	{
+		super(timeOfOccurrence, null);
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return true if the change from {@code oldValue} to {@code newValue} must
+	 * be signalled to the electric meter.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param oldValue	value of the variable before the transition.
+	 * @param newValue	value of the variable after the transition.
+	 * @return			true if the change must be signalled.
+	 */
+	public static boolean	isSignificant(double oldValue, double newValue)
+	{
+		return Math.abs(newValue - oldValue) > TOLERANCE;
+	}
+}
+// -----------------------------------------------------------------------------
@@ -38,9 +38,11 @@ import java.util.Map;
 // The fact that you are presently reading this means that you have had
 // knowledge of the CeCILL-C license and that you accept its terms.
 
+import java.util.ArrayList;
 import java.util.concurrent.TimeUnit;
 
 import etape2.equipments.solar_panel.mil.events.SolarPanelEventI;
+import etape2.equipments.solar_panel.mil.events.SunIntensityChanged;
 import etape2.equipments.solar_panel.mil.events.SunriseEvent;
 import etape2.equipments.solar_panel.mil.events.SunsetEvent;
 import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
@@ -49,6 +51,7 @@ import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
@@ -72,7 +75,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * 
  * <ul>
  * <li>Imported events: {@code SunriseEvent}, {@code SunsetEvent}</li>
- * <li>Exported events: none</li>
+ * <li>Exported events: {@code SunIntensityChanged}</li>
  * <li>Imported variables: none</li>
  * <li>Exported variables:
  *   name = {@code sunIntensityCoef}, type = {@code Double}</li>
@@ -95,7 +98,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
  */
 //-----------------------------------------------------------------------------
-@ModelExternalEvents(imported = {SunriseEvent.class, SunsetEvent.class})
+@ModelExternalEvents(imported = {SunriseEvent.class, SunsetEvent.class},
+					 exported = {SunIntensityChanged.class})
 @ModelExportedVariable(name = "sunIntensityCoef", type = Double.class)
 //-----------------------------------------------------------------------------
 public class			DeterministicSunIntensityModel
@@ -127,6 +131,9 @@ implements	SunIntensityModelI
 	protected ZonedDateTime current;
 	/** current state, day or night.										*/
 	protected SunState		currentState;
+	/** when true, the change of the intensity coefficient must be signalled
+	 *  to the solar panel power model at the next output.					*/
+	protected boolean		intensityChangeToBeSignalled;
 
 	/** the intensity coefficient computed by this model.					*/
 	@ExportedVariable(type = Double.class)
@@ -237,6 +244,8 @@ implements	SunIntensityModelI
 	@Override
 	public void			initialiseState(Time initialTime)
 	{
+		this.intensityChangeToBeSignalled = false;
+
 		super.initialiseState(initialTime);
 
 		if (DEBUG) {
@@ -332,7 +341,11 @@ implements	SunIntensityModelI
 	public Duration		timeAdvance()
 	{
 		Duration ret = null;
-		if (this.currentState == null || this.currentState.equals(SunState.NIGHT)) {
+		if (this.intensityChangeToBeSignalled) {
+			// the significant change must be signalled immediately
+			ret = Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.currentState == null ||
+									this.currentState.equals(SunState.NIGHT)) {
 			ret = Duration.INFINITY;
 		} else {
 			ret = new Duration(this.computationStep, this.getSimulatedTimeUnit());
@@ -346,6 +359,21 @@ implements	SunIntensityModelI
 		return ret;
 	}
 
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI#output()
+	 */
+	@Override
+	public ArrayList<EventI>	output()
+	{
+		if (this.intensityChangeToBeSignalled) {
+			ArrayList<EventI> ret = new ArrayList<EventI>();
+			ret.add(new SunIntensityChanged(this.getTimeOfNextEvent()));
+			return ret;
+		} else {
+			return null;
+		}
+	}
+
 	/**
 	 * @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedInternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration)
 	 */
@@ -354,10 +382,20 @@ implements	SunIntensityModelI
 	{
 		super.userDefinedInternalTransition(elapsedTime);
 
+		if (this.intensityChangeToBeSignalled) {
+			// zero delay transition that has just signalled the change
+			this.intensityChangeToBeSignalled = false;
+			return;
+		}
+
 		long stepInSeconds = (long) (computationStep * 3600.0);
 		this.current = this.current.plusSeconds(stepInSeconds);
-		this.sunIntensityCoef.setNewValue(this.computeNewIntensity(),
+		double oldIntensity = this.sunIntensityCoef.getValue();
+		double newIntensity = this.computeNewIntensity();
+		this.sunIntensityCoef.setNewValue(newIntensity,
 										  this.getCurrentStateTime());
+		this.intensityChangeToBeSignalled =
+				SunIntensityChanged.isSignificant(oldIntensity, newIntensity);
 
 		if (VERBOSE) {
 			this.logMessage(
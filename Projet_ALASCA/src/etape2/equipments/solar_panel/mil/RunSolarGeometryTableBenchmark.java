@@ -0,0 +1,178 @@
+package etape2.equipments.solar_panel.mil;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import etape2.equipments.solar_panel.mil.events.SolarPanelEventI.Position;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunSolarGeometryTableBenchmark</code> measures the accuracy
+ * and the cost of the lookups in a {@code SolarGeometryTable} compared to the
+ * computation of the geometric performance coefficient from the sun position.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The benchmark uses the geometry of the panel in
+ * {@code SolarPanelSimulationConfigurationI}, fills the table for a whole
+ * year, then draws random instants in this year and reports the time of a
+ * full computation and of a lookup, and the largest and mean absolute
+ * differences between them, overall and outside the minutes where the sun
+ * crosses the horizon. Run it with the number of random instants and the
+ * year, for instance:
+ * </p>
+ * 
+ * <pre>
+ * java -ea etape2.equipments.solar_panel.mil.RunSolarGeometryTableBenchmark 100000 2025
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			RunSolarGeometryTableBenchmark
+{
+	/** keeps the computed coefficients alive so the JIT cannot drop them.	*/
+	protected static volatile double	blackhole;
+
+	public static void	main(String[] args)
+	{
+		int samples = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int year = args.length > 1 ? Integer.parseInt(args[1]) : 2025;
+
+		double[] location =
+				new double[]{
+					degrees(SolarPanelSimulationConfigurationI.LATITUDE),
+					degrees(SolarPanelSimulationConfigurationI.LONGITUDE)};
+		double slope = SolarPanelSimulationConfigurationI.SLOPE;
+		double orientation = SolarPanelSimulationConfigurationI.ORIENTATION;
+
+		Instant start =
+			LocalDate.of(year, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+		int days = LocalDate.of(year, 1, 1).lengthOfYear();
+		long seconds = days*86400L;
+
+		SolarGeometryTable table =
+				SolarGeometryTable.get(location, slope, orientation);
+		long t0 = System.nanoTime();
+		table.precompute(start, days);
+		long t1 = System.nanoTime();
+		System.out.println(String.format(
+							"table for %d days filled in %.1f ms",
+							days, (t1 - t0)/1.0e6));
+
+		Instant[] instants = new Instant[samples];
+		Random r = new Random(year);
+		for (int i = 0 ; i < samples ; i++) {
+			instants[i] = start.plusMillis((long) (r.nextDouble()*seconds*1000L));
+		}
+
+		// warm up both paths before measuring
+		for (int k = 0 ; k < 3 ; k++) {
+			for (int i = 0 ; i < Math.min(samples, 10000) ; i++) {
+				blackhole = SolarGeometryTable.computeCoefficient(
+									location, slope, orientation, instants[i]);
+				blackhole = table.coefficient(instants[i]);
+			}
+		}
+
+		double[] exact = new double[samples];
+		long t2 = System.nanoTime();
+		for (int i = 0 ; i < samples ; i++) {
+			exact[i] = SolarGeometryTable.computeCoefficient(
+									location, slope, orientation, instants[i]);
+		}
+		long t3 = System.nanoTime();
+		double[] interpolated = new double[samples];
+		for (int i = 0 ; i < samples ; i++) {
+			interpolated[i] = table.coefficient(instants[i]);
+		}
+		long t4 = System.nanoTime();
+
+		double maxError = 0.0;
+		double sumError = 0.0;
+		double maxSmoothError = 0.0;
+		int horizonCrossings = 0;
+		for (int i = 0 ; i < samples ; i++) {
+			double error = Math.abs(interpolated[i] - exact[i]);
+			maxError = Math.max(maxError, error);
+			sumError += error;
+			if (crossesHorizon(table, instants[i])) {
+				horizonCrossings++;
+			} else {
+				maxSmoothError = Math.max(maxSmoothError, error);
+			}
+		}
+
+		System.out.println(String.format(
+				"full computation: %8.1f ns/coefficient", (t3 - t2)/(double) samples));
+		System.out.println(String.format(
+				"table lookup:     %8.1f ns/coefficient", (t4 - t3)/(double) samples));
+		System.out.println(String.format(
+				"max error = %.3e, mean error = %.3e over %d instants",
+				maxError, sumError/samples, samples));
+		System.out.println(String.format(
+				"max error = %.3e outside the %d instants in a minute where "
+				+ "the coefficient jumps at the horizon",
+				maxSmoothError, horizonCrossings));
+	}
+
+	/** return the position in degrees as a real.							*/
+	protected static double	degrees(Position p)
+	{
+		return p.getDegree() + p.getMinutes()/60.0 + p.getSeconds()/3600.0;
+	}
+
+	/** return true if {@code instant} is in a minute where the coefficient
+	 *  goes from zero to non zero or back, i.e., the sun or its projection
+	 *  crosses the limits of the panel field.								*/
+	protected static boolean	crossesHorizon(
+		SolarGeometryTable table,
+		Instant instant
+		)
+	{
+		Instant minute =
+				Instant.ofEpochSecond(
+						Math.floorDiv(instant.getEpochSecond(), 60L)*60L);
+		double before = table.coefficient(minute);
+		double after = table.coefficient(minute.plusSeconds(60L));
+		return (before == 0.0) != (after == 0.0);
+	}
+}
+// -----------------------------------------------------------------------------
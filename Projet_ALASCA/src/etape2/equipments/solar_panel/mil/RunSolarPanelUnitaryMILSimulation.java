@@ -40,6 +40,7 @@ import java.util.Map;
 import java.util.Set;
 
 import etape1.equipments.solar_panel.SolarPanel;
+import etape2.equipments.solar_panel.mil.events.SunIntensityChanged;
 import etape2.equipments.solar_panel.mil.events.SunriseEvent;
 import etape2.equipments.solar_panel.mil.events.SunsetEvent;
 import fr.sorbonne_u.devs_simulation.architectures.Architecture;
@@ -78,7 +79,10 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
  * the latter or deterministic versions where each days repeats exactly the
  * same values. Deterministic versions are more suited to functionality tests
  * while astronomical/stochastic ones are better suited to performance tests or
- * dimensioning.
+ * dimensioning. When {@code USE_SOLAR_PLANT_MODEL} is true, the solar panel
+ * power model is replaced by the multi-string {@code SolarPlantPowerModel},
+ * which imports the cloud transparency of the stochastic sun intensity model
+ * instead of its intensity coefficient.
  * </p>
  * 
  * <p><strong>Implementation Invariants</strong></p>
@@ -196,15 +200,34 @@ public class			RunSolarPanelUnitaryMILSimulation
 							SolarPanelSimulationConfigurationI.TIME_UNIT,
 							null));
 			}
-			// SolarPanelPowerModel is an atomic HIOA model, so needs an
-			// AtomicHIOA_Descriptor
-			atomicModelDescriptors.put(
+			String powerModelURI = null;
+			if (SolarPanelSimulationConfigurationI.USE_SOLAR_PLANT_MODEL) {
+				assert	SolarPanelSimulationConfigurationI.
+										USE_STOCHASTIC_SUN_INTENSITY_MODEL :
+						new AssertionError(
+								"USE_STOCHASTIC_SUN_INTENSITY_MODEL");
+				// SolarPlantPowerModel is an atomic HIOA model, so needs an
+				// AtomicHIOA_Descriptor
+				powerModelURI = SolarPlantPowerModel.URI;
+				atomicModelDescriptors.put(
+					SolarPlantPowerModel.URI,
+					AtomicHIOA_Descriptor.create(
+							SolarPlantPowerModel.class,
+							SolarPlantPowerModel.URI,
+							SolarPanelSimulationConfigurationI.TIME_UNIT,
+							null));
+			} else {
+				// SolarPanelPowerModel is an atomic HIOA model, so needs an
+				// AtomicHIOA_Descriptor
+				powerModelURI = SolarPanelPowerModel.URI;
+				atomicModelDescriptors.put(
 					SolarPanelPowerModel.URI,
 					AtomicHIOA_Descriptor.create(
 							SolarPanelPowerModel.class,
 							SolarPanelPowerModel.URI,
 							SolarPanelSimulationConfigurationI.TIME_UNIT,
 							null));
+			}
 
 			
 			// map that will contain the coupled model descriptors to construct
@@ -216,7 +239,7 @@ public class			RunSolarPanelUnitaryMILSimulation
 			Set<String> submodels = new HashSet<String>();
 			submodels.add(sunRiseAndSetURI);
 			submodels.add(sunIntensityModelURI);
-			submodels.add(SolarPanelPowerModel.URI);
+			submodels.add(powerModelURI);
 
 			// event exchanging connections between exporting and importing
 			// models
@@ -229,7 +252,7 @@ public class			RunSolarPanelUnitaryMILSimulation
 					new EventSink[] {
 							new EventSink(sunIntensityModelURI,
 										  SunriseEvent.class),
-							new EventSink(SolarPanelPowerModel.URI,
+							new EventSink(powerModelURI,
 										  SunriseEvent.class)
 					});
 			connections.put(
@@ -238,22 +261,37 @@ public class			RunSolarPanelUnitaryMILSimulation
 					new EventSink[] {
 							new EventSink(sunIntensityModelURI,
 										  SunsetEvent.class),
-							new EventSink(SolarPanelPowerModel.URI,
+							new EventSink(powerModelURI,
 										  SunsetEvent.class)
 					});
+			if (!SolarPanelSimulationConfigurationI.USE_SOLAR_PLANT_MODEL) {
+				connections.put(
+					new EventSource(sunIntensityModelURI,
+									SunIntensityChanged.class),
+					new EventSink[] {
+							new EventSink(SolarPanelPowerModel.URI,
+										  SunIntensityChanged.class)
+					});
+			}
 
 			// variable sharing bindings between exporting and importing
 			// models
 			Map<VariableSource,VariableSink[]> bindings =
 								new HashMap<VariableSource,VariableSink[]>();
 
+			// the plant model computes the geometry of its strings itself
+			// and only imports the cloud transparency
+			String sharedVariable =
+				SolarPanelSimulationConfigurationI.USE_SOLAR_PLANT_MODEL ?
+					"cloudTransparency"
+				:	"sunIntensityCoef";
 			VariableSource source =
-					new VariableSource("sunIntensityCoef", Double.class,
+					new VariableSource(sharedVariable, Double.class,
 									   sunIntensityModelURI);
 			VariableSink[] sinks =
 					new VariableSink[] {
-						new VariableSink("sunIntensityCoef", Double.class,
-										 SolarPanelPowerModel.URI)
+						new VariableSink(sharedVariable, Double.class,
+										 powerModelURI)
 					};
 			bindings.put(source, sinks);
 
@@ -370,6 +408,36 @@ public class			RunSolarPanelUnitaryMILSimulation
 							SolarPanelPowerModel.COMPUTATION_STEP_RP_NAME),
 					0.25);
 
+			simParams.put(
+					ModelI.createRunParameterName(
+							SolarPlantPowerModel.URI,
+							SolarPlantPowerModel.LATITUDE_RP_NAME),
+					SolarPanelSimulationConfigurationI.LATITUDE);
+			simParams.put(
+					ModelI.createRunParameterName(
+							SolarPlantPowerModel.URI,
+							SolarPlantPowerModel.LONGITUDE_RP_NAME),
+					SolarPanelSimulationConfigurationI.LONGITUDE);
+			simParams.put(
+					ModelI.createRunParameterName(
+							SolarPlantPowerModel.URI,
+							SolarPlantPowerModel.START_INSTANT_RP_NAME),
+					START_INSTANT);
+			simParams.put(
+					ModelI.createRunParameterName(
+							SolarPlantPowerModel.URI,
+							SolarPlantPowerModel.ZONE_ID_RP_NAME),
+					SolarPanelSimulationConfigurationI.ZONE);
+			simParams.put(
+					ModelI.createRunParameterName(
+							SolarPlantPowerModel.URI,
+							SolarPlantPowerModel.STRINGS_RP_NAME),
+					SolarPanelSimulationConfigurationI.STRINGS);
+			simParams.put(ModelI.createRunParameterName(
+							SolarPlantPowerModel.URI,
+							SolarPlantPowerModel.COMPUTATION_STEP_RP_NAME),
+					0.25);
+
 			se.setSimulationRunParameters(simParams);
 
 			// this add additional time at each simulation step in
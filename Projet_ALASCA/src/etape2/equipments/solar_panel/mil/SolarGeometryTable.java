@@ -0,0 +1,333 @@
+package etape2.equipments.solar_panel.mil;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.shredzone.commons.suncalc.SunPosition;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>SolarGeometryTable</code> caches, for a given location,
+ * slope and orientation of a solar panel, the geometric performance
+ * coefficient of the panel, that is the product of
+ * {@code StochasticSunIntensityModel.azimuthalPerformanceCoefficient} and
+ * {@code StochasticSunIntensityModel.altitudePerformance}, at a one minute
+ * resolution.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Computing the sun position is a costly ephemeris calculation that the sun
+ * intensity model would otherwise repeat at each computation step, for each
+ * panel and for each run of a batch, while the geometry does not depend on the
+ * run. The table stores the coefficient in primitive arrays of
+ * {@code MINUTES_PER_DAY + 1} values per UTC day, the last value of a day
+ * being the first of the next one, and a lookup interpolates linearly between
+ * the two minutes around the requested instant. Days are computed on their
+ * first use, or in advance with {@code precompute}, so a simulation of one
+ * day does not pay for a full year; a year filled in takes about 4 MB.
+ * </p>
+ * <p>
+ * Tables are shared through {@code get} among all the models, and all the
+ * threads, using the same geometry. As the values of a day are a
+ * deterministic function of the geometry, two threads computing the same day
+ * at the same time only waste work; the first stored array is kept.
+ * </p>
+ * <p>
+ * The linear interpolation is exact up to the curvature of the coefficient
+ * over a minute, except in the minute where the sun crosses the horizon, where
+ * the altitude performance jumps from zero; the error can be measured with
+ * {@code RunSolarGeometryTableBenchmark}.
+ * </p>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code location != null && location.length == 2}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			SolarGeometryTable
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** number of samples per day, one per minute.							*/
+	public static final int		MINUTES_PER_DAY = 24*60;
+	/** tables shared by all the models, keyed by their geometry.			*/
+	protected static final ConcurrentHashMap<String,SolarGeometryTable>
+												TABLES = new ConcurrentHashMap<>();
+
+	/** location in latitude and longitude represented as real in degrees.	*/
+	protected final double[]	location;
+	/** slope of the solar panel in degrees from the ground horizontal.		*/
+	protected final double		slope;
+	/** orientation in degrees, north-based.								*/
+	protected final double		orientation;
+	/** coefficients of the days already computed, keyed by epoch day.		*/
+	protected final ConcurrentHashMap<Long,double[]>	days;
+	/** last day used, as successive lookups mostly fall in the same day.	*/
+	protected volatile Day		lastDay;
+
+	/**
+	 * The class <code>Day</code> pairs an epoch day and its coefficients so
+	 * that both are published together.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 * 
+	 * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+	 */
+	protected static final class	Day
+	{
+		protected final long		epochDay;
+		protected final double[]	values;
+
+		protected			Day(long epochDay, double[] values)
+		{
+			this.epochDay = epochDay;
+			this.values = values;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create an empty table for the given geometry.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code location != null && location.length == 2}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param location		latitude and longitude of the panel in degrees.
+	 * @param slope			slope of the panel in degrees from the ground horizontal.
+	 * @param orientation	orientation of the panel in degrees, north-based.
+	 */
+	protected			SolarGeometryTable(
+		double[] location,
+		double slope,
+		double orientation
+		)
+	{
+		assert	location != null && location.length == 2 :
+				new PreconditionException("location != null && location.length == 2");
+
+		this.location = location.clone();
+		this.slope = slope;
+		this.orientation = orientation;
+		this.days = new ConcurrentHashMap<>();
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the table shared by all the panels with the given geometry,
+	 * creating it if needed.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code location != null && location.length == 2}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param location		latitude and longitude of the panel in degrees.
+	 * @param slope			slope of the panel in degrees from the ground horizontal.
+	 * @param orientation	orientation of the panel in degrees, north-based.
+	 * @return				the table for the given geometry.
+	 */
+	public static SolarGeometryTable	get(
+		double[] location,
+		double slope,
+		double orientation
+		)
+	{
+		assert	location != null && location.length == 2 :
+				new PreconditionException("location != null && location.length == 2");
+
+		String key = location[0] + "/" + location[1] + "/" + slope + "/"
+															+ orientation;
+		return TABLES.computeIfAbsent(
+						key,
+						k -> new SolarGeometryTable(location, slope,
+													orientation));
+	}
+
+	/**
+	 * compute the geometric performance coefficient of a panel at
+	 * {@code instant} from the sun position, without the table.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code location != null && location.length == 2}
+	 * pre	{@code instant != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param location		latitude and longitude of the panel in degrees.
+	 * @param slope			slope of the panel in degrees from the ground horizontal.
+	 * @param orientation	orientation of the panel in degrees, north-based.
+	 * @param instant		instant at which the coefficient is computed.
+	 * @return				the geometric performance coefficient at {@code instant}.
+	 */
+	public static double	computeCoefficient(
+		double[] location,
+		double slope,
+		double orientation,
+		Instant instant
+		)
+	{
+		// the sun position only depends upon the instant, not the time zone
+		SunPosition sunPosition =
+				SunPosition.compute()
+					.on(instant.atZone(ZoneOffset.UTC))
+					.at(location)
+					.timezone(ZoneOffset.UTC)
+					.execute();
+		return StochasticSunIntensityModel.azimuthalPerformanceCoefficient(
+										orientation, sunPosition.getAzimuth())
+				* StochasticSunIntensityModel.altitudePerformance(
+										slope, sunPosition.getAltitude());
+	}
+
+	/**
+	 * return the geometric performance coefficient at {@code instant},
+	 * interpolated from the table.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code instant != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param instant	instant at which the coefficient is required.
+	 * @return			the geometric performance coefficient at {@code instant}.
+	 */
+	public double		coefficient(Instant instant)
+	{
+		long epochSecond = instant.getEpochSecond();
+		long epochMinute = Math.floorDiv(epochSecond, 60L);
+		long epochDay = Math.floorDiv(epochMinute, (long) MINUTES_PER_DAY);
+		int minute = (int) (epochMinute - epochDay*MINUTES_PER_DAY);
+		double fraction =
+				(epochSecond - epochMinute*60L + instant.getNano()/1.0e9)/60.0;
+
+		double[] values = this.day(epochDay);
+		return values[minute] + fraction*(values[minute + 1] - values[minute]);
+	}
+
+	/**
+	 * compute in advance the days covering {@code numberOfDays} days from
+	 * {@code from}, for instance before running a batch of simulations.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code from != null}
+	 * pre	{@code numberOfDays >= 0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param from			first instant to be covered.
+	 * @param numberOfDays	number of days to be covered.
+	 */
+	public void			precompute(Instant from, int numberOfDays)
+	{
+		assert	from != null : new PreconditionException("from != null");
+		assert	numberOfDays >= 0 : new PreconditionException("numberOfDays >= 0");
+
+		long first = Math.floorDiv(from.getEpochSecond(), 86400L);
+		for (long d = first ; d <= first + numberOfDays ; d++) {
+			this.day(d);
+		}
+	}
+
+	/**
+	 * return the coefficients of the UTC day {@code epochDay}, computing them
+	 * on first use.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null && return.length == MINUTES_PER_DAY + 1}
+	 * </pre>
+	 *
+	 * @param epochDay	number of days since the epoch.
+	 * @return			the coefficients of the day, one per minute plus the first minute of the next day.
+	 */
+	protected double[]	day(long epochDay)
+	{
+		Day last = this.lastDay;
+		if (last != null && last.epochDay == epochDay) {
+			return last.values;
+		}
+
+		double[] values = this.days.get(epochDay);
+		if (values == null) {
+			double[] computed = new double[MINUTES_PER_DAY + 1];
+			Instant start = Instant.ofEpochSecond(epochDay*86400L);
+			for (int m = 0 ; m <= MINUTES_PER_DAY ; m++) {
+				computed[m] =
+					computeCoefficient(this.location, this.slope,
+									   this.orientation,
+									   start.plusSeconds(60L*m));
+			}
+			values = this.days.putIfAbsent(epochDay, computed);
+			if (values == null) {
+				values = computed;
+			}
+		}
+		this.lastDay = new Day(epochDay, values);
+		return values;
+	}
+}
+// -----------------------------------------------------------------------------
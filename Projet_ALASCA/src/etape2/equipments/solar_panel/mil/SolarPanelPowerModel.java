@@ -3,6 +3,7 @@ package etape2.equipments.solar_panel.mil;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Map;
 
 // Copyright Jacques Malenfant, Sorbonne Universite.
@@ -44,8 +45,10 @@ import org.shredzone.commons.suncalc.SunTimes;
 
 import etape1.equipments.meter.ElectricMeter;
 import etape1.equipments.meter.ElectricMeterImplementationI;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.equipments.solar_panel.mil.events.SolarPanelEventI;
 import etape2.equipments.solar_panel.mil.events.SolarPanelEventI.Position;
+import etape2.equipments.solar_panel.mil.events.SunIntensityChanged;
 import etape2.equipments.solar_panel.mil.events.SunriseEvent;
 import etape2.equipments.solar_panel.mil.events.SunsetEvent;
 import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
@@ -57,6 +60,7 @@ import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelImportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
@@ -75,12 +79,22 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * This simulation model computes the production power of the solar panel as
  * the maximum power of the solar panel times an imported performance
  * coefficient in [0, 1]. The model exports the production power towards the
- * electric meter model.
+ * electric meter model and signals each of its changes to the electric meter
+ * with a {@code PowerChanged} event.
+ * </p>
+ * <p>
+ * When {@code EVENT_DRIVEN} is true, the model does not poll the sun
+ * intensity coefficient every computation step; it recomputes the power only
+ * when the sun intensity model signals a significant change with a
+ * {@code SunIntensityChanged} event, or at sunrise and sunset. Between these
+ * events, it is quiescent and does not constrain the simulation clock. At
+ * night, the power is zero whatever the last value of the coefficient.
  * </p>
  * 
  * <ul>
- * <li>Imported events: {@code SunriseEvent}, {@code SunsetEvent}</li>
- * <li>Exported events: none</li>
+ * <li>Imported events: {@code SunriseEvent}, {@code SunsetEvent},
+ *   {@code SunIntensityChanged}</li>
+ * <li>Exported events: {@code PowerChanged}</li>
  * <li>Imported variables:
  *   name = {@code sunIntensityCoef}, type = {@code Double}</li>
  * <li>Exported variables:
@@ -104,7 +118,9 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
  */
 //-----------------------------------------------------------------------------
-@ModelExternalEvents(imported = {SunriseEvent.class, SunsetEvent.class})
+@ModelExternalEvents(imported = {SunriseEvent.class, SunsetEvent.class,
+								 SunIntensityChanged.class},
+					 exported = {PowerChanged.class})
 @ModelImportedVariable(name = "sunIntensityCoef", type = Double.class)
 @ModelExportedVariable(name = "solarPanelOutputPower", type = Double.class)
 //-----------------------------------------------------------------------------
@@ -121,6 +137,10 @@ implements	SunStateManagementI
 	public static boolean		VERBOSE = true;
 	/** when true, leaves a debugging trace of the execution of the model.	*/
 	public static boolean		DEBUG = false;
+	/** when true, the model recomputes the power only when signalled a
+	 *  change by a {@code SunIntensityChanged} event, otherwise it also does
+	 *  it every computation step during the day.							*/
+	public static boolean		EVENT_DRIVEN = true;
 
 	/** single model URI.													*/
 	public static final String	URI = "solar-panel-power-model";
@@ -157,6 +177,9 @@ implements	SunStateManagementI
 
 	/** current state, day or night.										*/
 	protected SunState		currentState;
+	/** when true, the change of the output power must be signalled to the
+	 *  electric meter at the next output.									*/
+	protected boolean		powerChangeToBeSignalled;
 
 	/** the intensity coefficient computed by {@code SunIntensityModel}.	*/
 	@ImportedVariable(type = Double.class)
@@ -280,6 +303,8 @@ implements	SunStateManagementI
 	@Override
 	public void			initialiseState(Time initialTime)
 	{
+		this.powerChangeToBeSignalled = false;
+
 		super.initialiseState(initialTime);
 
 		if (DEBUG) {
@@ -421,15 +446,67 @@ implements	SunStateManagementI
 			this.logMessage("timeAdvance " + this.currentState);
 		}
 
-		if (this.currentState == null ||
+		if (this.powerChangeToBeSignalled) {
+			return Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.currentState == null ||
 									SunState.NIGHT.equals(this.currentState)) {
 			return Duration.INFINITY;
+		} else if (EVENT_DRIVEN) {
+			// the sun intensity model signals its significant changes
+			return Duration.INFINITY;
 		} else {
 			return new Duration(this.computationStep,
 								this.getSimulatedTimeUnit());
 		}
 	}
 
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI#output()
+	 */
+	@Override
+	public ArrayList<EventI>	output()
+	{
+		if (this.powerChangeToBeSignalled) {
+			ArrayList<EventI> ret = new ArrayList<EventI>();
+			ret.add(new PowerChanged(this.getTimeOfNextEvent()));
+			this.powerChangeToBeSignalled = false;
+			return ret;
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * update the output power from the current sun intensity coefficient and
+	 * note if the change must be signalled to the electric meter.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the new output power.
+	 */
+	protected double	updateOutputPower()
+	{
+		// at night, the coefficient may not have been updated yet when the
+		// sunset event is received at the same time by the two models
+		double coef =
+				SunState.NIGHT.equals(this.currentState) ?
+					0.0
+				:	this.sunIntensityCoef.evaluateAt(this.getCurrentStateTime());
+		double production = this.powerProduction(coef);
+		if (PowerChanged.isSignificant(this.solarPanelOutputPower.getValue(),
+									   production)) {
+			this.powerChangeToBeSignalled = true;
+		}
+		this.solarPanelOutputPower.setNewValue(production,
+											   this.getCurrentStateTime());
+		return production;
+	}
+
 	/**
 	 * @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedInternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration)
 	 */
@@ -439,11 +516,7 @@ implements	SunStateManagementI
 		super.userDefinedInternalTransition(elapsedTime);
 
 		// update the power production
-		double coef =
-				this.sunIntensityCoef.evaluateAt(this.getCurrentStateTime());
-		double production = this.powerProduction(coef);
-		this.solarPanelOutputPower.setNewValue(production,
-												   this.getCurrentStateTime());
+		double production = this.updateOutputPower();
 
 		if (DEBUG) {
 			this.logMessage("userDefinedInternalTransition output power = "
@@ -468,20 +541,18 @@ implements	SunStateManagementI
 	{		
 		super.userDefinedExternalTransition(elapsedTime);
 
-		assert	this.currentStoredEvents.size() == 1 :
-				new NeoSim4JavaException("currentStoredEvents.size() == 1");
+		// a sunrise or sunset event may occur at the same time as a sun
+		// intensity change, so all received events are executed
+		ArrayList<EventI> currentEvents = this.getStoredEventAndReset();
+		assert	currentEvents.size() >= 1 :
+				new NeoSim4JavaException("currentEvents.size() >= 1");
 
-		SolarPanelEventI e =
-				(SolarPanelEventI) this.getStoredEventAndReset().remove(0);
-
-		e.executeOn(this);
+		for (EventI e : currentEvents) {
+			((SolarPanelEventI) e).executeOn(this);
+		}
 
 		// update the power production
-		double coef =
-				this.sunIntensityCoef.evaluateAt(this.getCurrentStateTime());
-		double production = this.powerProduction(coef);
-		this.solarPanelOutputPower.setNewValue(production,
-											   this.getCurrentStateTime());
+		this.updateOutputPower();
 
 		if (DEBUG) {
 			this.logMessage("userDefinedInternalTransition output power = "
@@ -109,6 +109,18 @@ public interface		SolarPanelSimulationConfigurationI
 	/** when true, use the stochastic version of the sun intensity model,
 	 *  otherwise use the deterministic version.							*/
 	public static boolean			USE_STOCHASTIC_SUN_INTENSITY_MODEL = true;
+	/** when true, use the multi-string solar plant power model, which
+	 *  requires the stochastic sun intensity model, otherwise use the
+	 *  single surface solar panel power model.								*/
+	public static boolean			USE_SOLAR_PLANT_MODEL = false;
+	/** strings of the solar plant when {@code USE_SOLAR_PLANT_MODEL} is
+	 *  true; the default splits {@code NB_SQUARE_METERS} between a south
+	 *  and an east oriented string.										*/
+	public static SolarString[]		STRINGS =
+			new SolarString[]{
+				new SolarString(15.0, 45.0, 190.0, 1.0),
+				new SolarString(10.0, 30.0, 100.0, 0.95)
+			};
 
 	// -------------------------------------------------------------------------
 	// Invariants
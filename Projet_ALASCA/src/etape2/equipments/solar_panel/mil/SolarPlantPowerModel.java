@@ -0,0 +1,656 @@
+package etape2.equipments.solar_panel.mil;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.shredzone.commons.suncalc.SunTimes;
+
+import etape1.equipments.meter.ElectricMeter;
+import etape1.equipments.meter.ElectricMeterImplementationI;
+import etape2.equipments.meter.mil.events.PowerChanged;
+import etape2.equipments.solar_panel.mil.events.SolarPanelEventI;
+import etape2.equipments.solar_panel.mil.events.SolarPanelEventI.Position;
+import etape2.equipments.solar_panel.mil.events.SunriseEvent;
+import etape2.equipments.solar_panel.mil.events.SunsetEvent;
+import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
+import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
+import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
+import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
+import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
+import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelImportedVariable;
+import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
+import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.AtomicSimulatorI;
+import fr.sorbonne_u.devs_simulation.utils.Pair;
+import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>SolarPlantPowerModel</code> implements the simulation model
+ * that computes the current power production of a solar plant made of several
+ * strings of panels with different slopes and orientations.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Where {@code SolarPanelPowerModel} models a single surface, this model takes
+ * an array of {@code SolarString} as run parameter and computes the power of
+ * all of them in one model, rather than using one sun intensity model and one
+ * power model per string, which would multiply the models and the events
+ * exchanged with the electric meter. The descriptions of the strings are
+ * copied into primitive arrays, so that each computation step is a single
+ * loop over the strings: the power of a string is its maximum power times its
+ * geometric performance coefficient, interpolated from the
+ * {@code SolarGeometryTable} of its slope and orientation, times the cloud
+ * transparency imported from {@code StochasticSunIntensityModel}, which is
+ * the same for all the strings of the plant.
+ * </p>
+ * <p>
+ * The model exports the total power under the same name as
+ * {@code SolarPanelPowerModel}, so it can replace it in front of the electric
+ * meter, and signals its significant changes with {@code PowerChanged}
+ * events. As the geometric coefficients of the strings change continuously,
+ * the power is recomputed every computation step during the day; at night,
+ * the model is quiescent and the power is zero. The power of each string is
+ * available through {@code getStringPower(int)}.
+ * </p>
+ * 
+ * <ul>
+ * <li>Imported events: {@code SunriseEvent}, {@code SunsetEvent}</li>
+ * <li>Exported events: {@code PowerChanged}</li>
+ * <li>Imported variables:
+ *   name = {@code cloudTransparency}, type = {@code Double}</li>
+ * <li>Exported variables:
+ *   name = {@code solarPanelOutputPower}, type = {@code Double}</li>
+ * </ul>
+ * 
+ * <p><strong>Implementation Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code maxPowers == null || maxPowers.length == tables.length}
+ * invariant	{@code maxPowers == null || maxPowers.length == stringPowers.length}
+ * </pre>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+//-----------------------------------------------------------------------------
+@ModelExternalEvents(imported = {SunriseEvent.class, SunsetEvent.class},
+					 exported = {PowerChanged.class})
+@ModelImportedVariable(name = "cloudTransparency", type = Double.class)
+@ModelExportedVariable(name = "solarPanelOutputPower", type = Double.class)
+//-----------------------------------------------------------------------------
+public class			SolarPlantPowerModel
+extends		AtomicHIOA
+implements	SunStateManagementI
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long	serialVersionUID = 1L;
+	/** when true, leaves a trace of the execution of the model.			*/
+	public static boolean		VERBOSE = true;
+	/** when true, leaves a debugging trace of the execution of the model.	*/
+	public static boolean		DEBUG = false;
+
+	/** single model URI.													*/
+	public static final String	URI = "solar-plant-power-model";
+	/**	name of the run parameter for the initialisation of the latitude.	*/
+	public static final String	LATITUDE_RP_NAME = "LATITUDE";
+	/**	name of the run parameter for the initialisation of the longitude.	*/
+	public static final String	LONGITUDE_RP_NAME = "LONGITUDE";
+	/**	name of the run parameter for the initialisation of the start
+	 *  instant.															*/
+	public static final String	START_INSTANT_RP_NAME = "START_INSTANT";
+	/**	name of the run parameter for the initialisation of the time zone.	*/
+	public static final String	ZONE_ID_RP_NAME = "ZONE_ID";
+	/**	name of the run parameter giving the array of {@code SolarString}
+	 *  composing the plant.												*/
+	public static final String	STRINGS_RP_NAME = "STRINGS";
+	/**	name of the run parameter for the initialisation of the
+	 *  computation step.													*/
+	public static final String	COMPUTATION_STEP_RP_NAME = "COMPUTATION_STEP";
+
+	/** computation step in hours.											*/
+	public double			computationStep;
+
+	/** start time of the simulation in {@code Instant} format.				*/
+	protected Instant		startInstant;
+	/** simulated time at which the simulation starts, corresponding to
+	 *  {@code startInstant}.												*/
+	protected Time			startTime;
+	/** time zone of the solar plant.										*/
+	protected ZoneId		zoneId;
+	/**	latitude of the solar plant in degrees, minutes and seconds.		*/
+	protected Position		latitude;
+	/**	longitude of the solar plant in degrees, minutes and seconds.		*/
+	protected Position		longitude;
+	/** maximum power of each string in watts.								*/
+	protected double[]		maxPowers;
+	/** table of the geometric coefficients of each string.					*/
+	protected SolarGeometryTable[]	tables;
+	/** current power of each string in watts.								*/
+	protected double[]		stringPowers;
+
+	/** current state, day or night.										*/
+	protected SunState		currentState;
+	/** when true, the change of the output power must be signalled to the
+	 *  electric meter at the next output.									*/
+	protected boolean		powerChangeToBeSignalled;
+
+	/** the cloud transparency computed by the sun intensity model.			*/
+	@ImportedVariable(type = Double.class)
+	protected Value<Double>	cloudTransparency;
+	/** the current power produced by the solar plant computed by this
+	 *  model in the power unit used by the electric meter.					*/
+	@ExportedVariable(type = Double.class)
+	protected Value<Double>	solarPanelOutputPower = new Value<>(this);
+
+	// -------------------------------------------------------------------------
+	// Invariants
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return true if the implementation invariants are observed, false
+	 * otherwise.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code instance != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param instance	instance to be tested.
+	 * @return			true if the implementation invariants are observed, false otherwise.
+	 */
+	protected static boolean	implementationInvariants(
+		SolarPlantPowerModel instance
+		)
+	{
+		assert	instance != null :
+				new NeoSim4JavaException("instance != null");
+
+		boolean ret = true;
+		ret &= instance.maxPowers == null ||
+					(instance.maxPowers.length == instance.tables.length &&
+					 instance.maxPowers.length == instance.stringPowers.length);
+		return ret;
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create an atomic hybrid input/output model with the given URI (if null,
+	 * one will be generated) and to be run by the given simulator using the
+	 * given time unit for its clock.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uri == null || !uri.isEmpty()}
+	 * pre	{@code simulatedTimeUnit != null}
+	 * pre	{@code simulationEngine != null && !simulationEngine.isModelSet()}
+	 * pre	{@code simulationEngine instanceof AtomicEngine}
+	 * post	{@code !isDebugModeOn()}
+	 * post	{@code getURI() != null && !getURI().isEmpty()}
+	 * post	{@code uri == null || getURI().equals(uri)}
+	 * post	{@code getSimulatedTimeUnit().equals(simulatedTimeUnit)}
+	 * post	{@code getSimulationEngine().equals(simulationEngine)}
+	 * </pre>
+	 *
+	 * @param uri				unique identifier of the model.
+	 * @param simulatedTimeUnit	time unit used for the simulation clock.
+	 * @param simulationEngine	simulation engine enacting the model.
+	 */
+	public				SolarPlantPowerModel(
+		String uri,
+		TimeUnit simulatedTimeUnit,
+		AtomicSimulatorI simulationEngine
+		)
+	{
+		super(uri, simulatedTimeUnit, simulationEngine);
+
+		this.getSimulationEngine().setLogger(new StandardLogger());
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see etape2.equipments.solar_panel.mil.SunStateManagementI#setState(etape2.equipments.solar_panel.mil.SunState)
+	 */
+	@Override
+	public void			setState(SunState s)
+	{
+		this.currentState = s;
+	}
+
+	/**
+	 * @see etape2.equipments.solar_panel.mil.SunStateManagementI#setCurrent(java.time.ZonedDateTime)
+	 */
+	@Override
+	public void			setCurrent(ZonedDateTime newCurrent)
+	{
+		;
+	}
+
+	/**
+	 * return the number of strings in the plant.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return >= 0}
+	 * </pre>
+	 *
+	 * @return	the number of strings in the plant.
+	 */
+	public int			numberOfStrings()
+	{
+		return this.maxPowers == null ? 0 : this.maxPowers.length;
+	}
+
+	/**
+	 * return the current power of the string at index {@code i} in watts.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code i >= 0 && i < numberOfStrings()}
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @param i	index of the string in the run parameter array.
+	 * @return	the current power of the string in watts.
+	 */
+	public double		getStringPower(int i)
+	{
+		assert	i >= 0 && i < this.numberOfStrings() :
+				new NeoSim4JavaException("i >= 0 && i < numberOfStrings()");
+
+		return this.stringPowers[i];
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.Model#setSimulationRunParameters(Map)
+	 */
+	@Override
+	public void			setSimulationRunParameters(
+		Map<String, Object> simParams
+		) throws MissingRunParameterException
+	{
+		String latitudeName = ModelI.createRunParameterName(this.getURI(),
+															LATITUDE_RP_NAME);
+		String longitudeName = ModelI.createRunParameterName(this.getURI(),
+															LONGITUDE_RP_NAME);
+		String startInstantName = ModelI.createRunParameterName(this.getURI(),
+														START_INSTANT_RP_NAME);
+		String zoneIdName = ModelI.createRunParameterName(this.getURI(),
+															ZONE_ID_RP_NAME);
+		String stringsName = ModelI.createRunParameterName(this.getURI(),
+															STRINGS_RP_NAME);
+		String computationStepName = ModelI.createRunParameterName(this.getURI(),
+													COMPUTATION_STEP_RP_NAME);
+
+		assert	simParams != null :
+				new MissingRunParameterException("simParams != null");
+		assert	simParams.containsKey(latitudeName) :
+				new MissingRunParameterException(latitudeName);
+		assert	simParams.containsKey(longitudeName) :
+				new MissingRunParameterException(longitudeName);
+		assert	simParams.containsKey(startInstantName) :
+				new MissingRunParameterException(startInstantName);
+		assert	simParams.containsKey(zoneIdName) :
+				new MissingRunParameterException(zoneIdName);
+		assert	simParams.containsKey(stringsName) :
+				new MissingRunParameterException(stringsName);
+		assert	simParams.containsKey(computationStepName) :
+				new MissingRunParameterException(computationStepName);
+
+		this.latitude = (Position) simParams.get(latitudeName);
+		this.longitude = (Position) simParams.get(longitudeName);
+		this.startInstant = (Instant) simParams.get(startInstantName);
+		this.zoneId = (ZoneId) simParams.get(zoneIdName);
+		this.computationStep = (double) simParams.get(computationStepName);
+
+		double[] location =
+			new double[]{
+				this.latitude.getDegree() + this.latitude.getMinutes()/60.0
+									+ this.latitude.getSeconds()/3600.0,
+				this.longitude.getDegree() + this.longitude.getMinutes()/60.0
+									+ this.longitude.getSeconds()/3600.0};
+		SolarString[] strings = (SolarString[]) simParams.get(stringsName);
+		assert	strings.length > 0 :
+				new NeoSim4JavaException("strings.length > 0");
+		this.maxPowers = new double[strings.length];
+		this.tables = new SolarGeometryTable[strings.length];
+		this.stringPowers = new double[strings.length];
+		for (int i = 0 ; i < strings.length ; i++) {
+			this.maxPowers[i] = strings[i].maxPower();
+			this.tables[i] = SolarGeometryTable.get(location,
+													strings[i].getSlope(),
+													strings[i].getOrientation());
+		}
+
+		assert	implementationInvariants(this) :
+				new NeoSim4JavaException("implementationInvariants(this)");
+
+		if (DEBUG) {
+			this.logMessage("setSimulationRunParameters");
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.es.models.AtomicES_Model#initialiseState(fr.sorbonne_u.devs_simulation.models.time.Time)
+	 */
+	@Override
+	public void			initialiseState(Time initialTime)
+	{
+		this.powerChangeToBeSignalled = false;
+		this.startTime = initialTime;
+
+		super.initialiseState(initialTime);
+
+		if (DEBUG) {
+			this.logMessage("initialiseState initialTime " + initialTime);
+		}
+
+		ZonedDateTime current =
+				ZonedDateTime.ofInstant(this.startInstant, this.zoneId);
+		SunTimes st = SunTimes.compute()
+				.on(current)
+            	.latitude(latitude.getDegree(),
+            			  latitude.getMinutes(),
+            			  latitude.getSeconds())
+            	.longitude(longitude.getDegree(),
+            			   longitude.getMinutes(),
+            			   longitude.getSeconds())
+            	.execute();
+		ZonedDateTime sunRiseTime = st.getRise();
+		ZonedDateTime sunSetTime = st.getSet();
+
+		if (sunRiseTime.compareTo(sunSetTime) <= 0) {
+			// next event is sunrise, hence we are at night
+			this.currentState = SunState.NIGHT;
+		} else {
+			// next event is sunset, hence we are during the day
+			this.currentState = SunState.DAY;
+		}
+
+		this.nextTimeAdvance = this.timeAdvance();
+		this.timeOfNextEvent = this.currentStateTime.add(this.nextTimeAdvance);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.hioa.models.interfaces.VariableInitialisationI#useFixpointInitialiseVariables()
+	 */
+	@Override
+	public boolean	useFixpointInitialiseVariables()
+	{
+		return true;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.hioa.models.interfaces.VariableInitialisationI#fixpointInitialiseVariables()
+	 */
+	@Override
+	public Pair<Integer, Integer>	fixpointInitialiseVariables()
+	{
+		int numberOfNewlyInitialisedVariables = 0;
+		int numberOfStillNotInitialisedVariables = 0;
+
+		// the output power depends upon the imported cloud transparency
+		if (!this.solarPanelOutputPower.isInitialised()) {
+			if (this.cloudTransparency.isInitialised()) {
+				this.solarPanelOutputPower.initialise(
+					this.powerProduction(this.cloudTransparency.getValue()));
+				numberOfNewlyInitialisedVariables++;
+				if (VERBOSE) {
+					this.logMessage(
+							"fixpointInitialiseVariables "
+							+ this.solarPanelOutputPower.getValue());
+				}
+			} else {
+				numberOfStillNotInitialisedVariables++;
+			}
+		}
+
+		return new Pair<Integer, Integer>(numberOfNewlyInitialisedVariables,
+										  numberOfStillNotInitialisedVariables);
+	}
+
+	/**
+	 * return the instant corresponding to the current simulated time.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the instant corresponding to the current simulated time.
+	 */
+	protected Instant	currentInstant()
+	{
+		// the start instant corresponds to the initial time of the simulation,
+		// which is not necessarily zero
+		double elapsed = this.getCurrentStateTime().subtract(this.startTime).
+														getSimulatedDuration();
+		return this.startInstant.plusMillis(
+					Math.round(elapsed *
+								this.getSimulatedTimeUnit().toMillis(1L)));
+	}
+
+	/**
+	 * compute the power of each string and return the total power produced
+	 * by the plant in the power unit used by the electric meter.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code cloudTransparency >= 0.0 && cloudTransparency <= 1.0}
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @param cloudTransparency	the current cloud transparency.
+	 * @return					the total power produced by the plant in the power unit used by the electric meter.
+	 */
+	protected double		powerProduction(double cloudTransparency)
+	{
+		double powerInWatts = 0.0;
+		if (SunState.NIGHT.equals(this.currentState)) {
+			for (int i = 0 ; i < this.stringPowers.length ; i++) {
+				this.stringPowers[i] = 0.0;
+			}
+		} else {
+			Instant now = this.currentInstant();
+			for (int i = 0 ; i < this.stringPowers.length ; i++) {
+				double p = this.maxPowers[i] * cloudTransparency *
+											this.tables[i].coefficient(now);
+				this.stringPowers[i] = p;
+				powerInWatts += p;
+			}
+		}
+
+		double ret;
+		switch (ElectricMeterImplementationI.POWER_UNIT) {
+		case WATTS:
+			ret = powerInWatts;
+			break;
+		case AMPERES:
+			ret = powerInWatts/ElectricMeter.TENSION.getData();
+			break;
+		default:
+			throw new NeoSim4JavaException(
+									"incorrect measurement unit: "
+									+ ElectricMeterImplementationI.POWER_UNIT);
+		}
+		return ret;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#timeAdvance()
+	 */
+	@Override
+	public Duration timeAdvance()
+	{
+		if (this.powerChangeToBeSignalled) {
+			return Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.currentState == null ||
+									SunState.NIGHT.equals(this.currentState)) {
+			return Duration.INFINITY;
+		} else {
+			return new Duration(this.computationStep,
+								this.getSimulatedTimeUnit());
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI#output()
+	 */
+	@Override
+	public ArrayList<EventI>	output()
+	{
+		if (this.powerChangeToBeSignalled) {
+			ArrayList<EventI> ret = new ArrayList<EventI>();
+			ret.add(new PowerChanged(this.getTimeOfNextEvent()));
+			this.powerChangeToBeSignalled = false;
+			return ret;
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * update the output power from the current cloud transparency and note if
+	 * the change must be signalled to the electric meter.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the new output power.
+	 */
+	protected double	updateOutputPower()
+	{
+		double production =
+			this.powerProduction(
+				this.cloudTransparency.evaluateAt(this.getCurrentStateTime()));
+		if (PowerChanged.isSignificant(this.solarPanelOutputPower.getValue(),
+									   production)) {
+			this.powerChangeToBeSignalled = true;
+		}
+		this.solarPanelOutputPower.setNewValue(production,
+											   this.getCurrentStateTime());
+		return production;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedInternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration)
+	 */
+	@Override
+	public void			userDefinedInternalTransition(Duration elapsedTime)
+	{
+		super.userDefinedInternalTransition(elapsedTime);
+
+		double production = this.updateOutputPower();
+
+		if (VERBOSE) {
+			StringBuffer sb = new StringBuffer();
+			for (int i = 0 ; i < this.stringPowers.length ; i++) {
+				sb.append(i == 0 ? "" : ", ");
+				sb.append(this.stringPowers[i]);
+			}
+			this.logMessage("userDefinedInternalTransition output power = "
+							+ production + " "
+							+ ElectricMeterImplementationI.POWER_UNIT
+							+ " strings [" + sb + "] at "
+							+ this.getCurrentStateTime());
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedExternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration)
+	 */
+	@Override
+	public void			userDefinedExternalTransition(Duration elapsedTime)
+	{		
+		super.userDefinedExternalTransition(elapsedTime);
+
+		ArrayList<EventI> currentEvents = this.getStoredEventAndReset();
+		assert	currentEvents.size() >= 1 :
+				new NeoSim4JavaException("currentEvents.size() >= 1");
+
+		for (EventI e : currentEvents) {
+			((SolarPanelEventI) e).executeOn(this);
+		}
+
+		this.updateOutputPower();
+
+		if (VERBOSE) {
+			this.logMessage("userDefinedExternalTransition output power = "
+							+ this.solarPanelOutputPower.getValue()
+							+ " at " + this.getCurrentStateTime());
+		}
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,198 @@
+package etape2.equipments.solar_panel.mil;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.Serializable;
+
+import etape1.equipments.solar_panel.SolarPanel;
+import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>SolarString</code> describes one string of solar panels of
+ * a solar plant, that is a set of panels sharing the same slope and
+ * orientation.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The maximum power of the string is its area times
+ * {@code SolarPanel.CAPACITY_PER_SQUARE_METER} times its efficiency, which is
+ * the fraction of the nominal capacity actually delivered by the string
+ * (ageing, soiling, inverter and wiring losses). The slope and the orientation
+ * are given as for the sun intensity models, the orientation being
+ * north-based.
+ * </p>
+ * 
+ * <p><strong>Implementation Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code area > 0.0}
+ * invariant	{@code slope >= 0.0 && slope <= 90.0}
+ * invariant	{@code orientation >= 0.0 && orientation < 360.0}
+ * invariant	{@code efficiency > 0.0 && efficiency <= 1.0}
+ * </pre>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			SolarString
+implements	Serializable
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** area of the string in square meters.								*/
+	protected final double	area;
+	/** slope of the string in degrees from the ground horizontal.			*/
+	protected final double	slope;
+	/** orientation of the string in degrees, north-based.					*/
+	protected final double	orientation;
+	/** fraction of the nominal capacity delivered by the string.			*/
+	protected final double	efficiency;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a string description.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code area > 0.0}
+	 * pre	{@code slope >= 0.0 && slope <= 90.0}
+	 * pre	{@code orientation >= 0.0 && orientation < 360.0}
+	 * pre	{@code efficiency > 0.0 && efficiency <= 1.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param area			area of the string in square meters.
+	 * @param slope			slope of the string in degrees from the ground horizontal.
+	 * @param orientation	orientation of the string in degrees, north-based.
+	 * @param efficiency	fraction of the nominal capacity delivered by the string.
+	 */
+	public				SolarString(
+		double area,
+		double slope,
+		double orientation,
+		double efficiency
+		)
+	{
+		super();
+
+		assert	area > 0.0 : new NeoSim4JavaException("area > 0.0");
+		assert	slope >= 0.0 && slope <= 90.0 :
+				new NeoSim4JavaException("slope >= 0.0 && slope <= 90.0");
+		assert	orientation >= 0.0 && orientation < 360.0 :
+				new NeoSim4JavaException(
+							"orientation >= 0.0 && orientation < 360.0");
+		assert	efficiency > 0.0 && efficiency <= 1.0 :
+				new NeoSim4JavaException(
+							"efficiency > 0.0 && efficiency <= 1.0");
+
+		this.area = area;
+		this.slope = slope;
+		this.orientation = orientation;
+		this.efficiency = efficiency;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/** @return the area of the string in square meters.					*/
+	public double		getArea()
+	{
+		return this.area;
+	}
+
+	/** @return the slope of the string in degrees.							*/
+	public double		getSlope()
+	{
+		return this.slope;
+	}
+
+	/** @return the orientation of the string in degrees, north-based.		*/
+	public double		getOrientation()
+	{
+		return this.orientation;
+	}
+
+	/** @return the fraction of the nominal capacity delivered.				*/
+	public double		getEfficiency()
+	{
+		return this.efficiency;
+	}
+
+	/**
+	 * return the maximum power of the string in watts.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return > 0.0}
+	 * </pre>
+	 *
+	 * @return	the maximum power of the string in watts.
+	 */
+	public double		maxPower()
+	{
+		return this.area * this.efficiency *
+							SolarPanel.CAPACITY_PER_SQUARE_METER.getData();
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String		toString()
+	{
+		return this.getClass().getSimpleName() + "[" + this.area + " m2, "
+				+ this.slope + ", " + this.orientation + ", "
+				+ this.efficiency + "]";
+	}
+}
+// -----------------------------------------------------------------------------
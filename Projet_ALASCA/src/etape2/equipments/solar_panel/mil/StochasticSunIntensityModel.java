@@ -38,6 +38,7 @@ import java.util.Map;
 // The fact that you are presently reading this means that you have had
 // knowledge of the CeCILL-C license and that you accept its terms.
 
+import java.util.ArrayList;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.math3.random.RandomDataGenerator;
@@ -47,14 +48,17 @@ import org.shredzone.commons.suncalc.SunTimes;
 import etape1.equipments.solar_panel.SolarPanel;
 import etape2.equipments.solar_panel.mil.events.SolarPanelEventI;
 import etape2.equipments.solar_panel.mil.events.SolarPanelEventI.Position;
+import etape2.equipments.solar_panel.mil.events.SunIntensityChanged;
 import etape2.equipments.solar_panel.mil.events.SunriseEvent;
 import etape2.equipments.solar_panel.mil.events.SunsetEvent;
 import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
+import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariables;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
@@ -80,18 +84,39 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * </p>
  * <p>
  * This model also introduces the effect of clouds on the sun intensity by
- * applying a random coefficient in [0, 1]. This is not a very good stochastic
- * model for sun intensity as there is no correlation between successive random
- * coefficients. In the real world, large clouds induces long period of low
- * intensity.
+ * applying a cloud transparency coefficient in [0, 1]. In the real world,
+ * large clouds induce long periods of low intensity, hence successive values
+ * of the transparency must be correlated. The transparency follows an
+ * Ornstein-Uhlenbeck process reverting to {@code CLOUD_MEAN_TRANSPARENCY}
+ * with a time constant given by the run parameter
+ * {@code CLOUD_TIME_CONSTANT_RP_NAME} (in hours), which is sampled exactly
+ * over the time elapsed since its last value, whatever the computation step
+ * or the length of the night; the resulting value is clipped to [0, 1].
+ * It is also exported alone as {@code cloudTransparency}, updated at each
+ * computation step during the day, for the models that compute the geometric
+ * part themselves, such as {@code SolarPlantPowerModel}.
+ * </p>
+ * <p>
+ * To avoid signalling the solar panel power model at each computation step
+ * for changes that have no practical effect, the exported coefficient is
+ * updated only when it differs from its current value by more than the
+ * run parameter {@code CHANGE_THRESHOLD_RP_NAME}, or when it reaches or
+ * leaves zero.
+ * </p>
+ * <p>
+ * When {@code USE_GEOMETRY_TABLE} is true, the geometric part of the
+ * coefficient is interpolated from a {@code SolarGeometryTable} shared by all
+ * the models with the same location, slope and orientation instead of being
+ * computed from the sun position at each step.
  * </p>
  * 
  * <ul>
  * <li>Imported events: {@code SunriseEvent}, {@code SunsetEvent}</li>
- * <li>Exported events: none</li>
+ * <li>Exported events: {@code SunIntensityChanged}</li>
  * <li>Imported variables: none</li>
  * <li>Exported variables:
- *   name = {@code sunIntensityCoef}, type = {@code Double}</li>
+ *   name = {@code sunIntensityCoef}, type = {@code Double};
+ *   name = {@code cloudTransparency}, type = {@code Double}</li>
  * </ul>
  * 
  * <p><strong>Implementation Invariants</strong></p>
@@ -111,8 +136,11 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
  */
 //-----------------------------------------------------------------------------
-@ModelExternalEvents(imported = {SunriseEvent.class, SunsetEvent.class})
-@ModelExportedVariable(name = "sunIntensityCoef", type = Double.class)
+@ModelExternalEvents(imported = {SunriseEvent.class, SunsetEvent.class},
+					 exported = {SunIntensityChanged.class})
+@ModelExportedVariables(
+	{@ModelExportedVariable(name = "sunIntensityCoef", type = Double.class),
+	 @ModelExportedVariable(name = "cloudTransparency", type = Double.class)})
 //-----------------------------------------------------------------------------
 public class			StochasticSunIntensityModel
 extends		AtomicHIOA
@@ -128,8 +156,33 @@ implements	SunIntensityModelI
 	/** when true, leaves a debugging trace of the execution of the model.	*/
 	public static boolean		DEBUG = false;
 
+	/** when true, the geometric coefficient is interpolated from a shared
+	 *  {@code SolarGeometryTable} rather than computed at each step.		*/
+	public static boolean		USE_GEOMETRY_TABLE = true;
+
 	/** single model URI.													*/
 	public static final String	URI = "stochastic-sun-intensity-model";
+	/** name of the optional run parameter giving the seed of the random
+	 *  number generator, to reproduce a run.								*/
+	public static final String	SEED_RP_NAME = "SEED";
+	/** name of the optional run parameter giving the time constant of the
+	 *  cloud transparency process in hours.								*/
+	public static final String	CLOUD_TIME_CONSTANT_RP_NAME =
+													"CLOUD_TIME_CONSTANT";
+	/** name of the optional run parameter giving the smallest change of
+	 *  the intensity coefficient that is exported and signalled.			*/
+	public static final String	CHANGE_THRESHOLD_RP_NAME = "CHANGE_THRESHOLD";
+
+	/** mean towards which the cloud transparency reverts.					*/
+	public static final double	CLOUD_MEAN_TRANSPARENCY = 0.5;
+	/** standard deviation of the cloud transparency in the long run, close
+	 *  to the one of the uniform distribution on [0, 1].					*/
+	public static final double	CLOUD_TRANSPARENCY_SD = 0.3;
+	/** default time constant of the cloud transparency process in hours.	*/
+	public static final double	STANDARD_CLOUD_TIME_CONSTANT = 0.5;
+	/** default smallest change of the intensity coefficient that is
+	 *  exported and signalled.												*/
+	public static final double	STANDARD_CHANGE_THRESHOLD = 0.01;
 
 	/** computation step in hours.											*/
 	public double			computationStep;
@@ -148,18 +201,40 @@ implements	SunIntensityModelI
 	protected double		slope;
 	/** orientation in degrees, north-based.								*/
 	protected double		orientation;
+	/** table of the geometric coefficients for the location, slope and
+	 *  orientation of the panel.											*/
+	protected SolarGeometryTable	geometryTable;
 
 	/** random number generator to generate cloud opacity.					*/
 	protected RandomDataGenerator	rgCloudTransparency;
+	/** seed of the random number generator, null for a random seed.		*/
+	protected Long			seed;
+	/** time constant of the cloud transparency process in hours.			*/
+	protected double		cloudTimeConstant;
+	/** smallest change of the intensity coefficient that is exported.		*/
+	protected double		changeThreshold;
+	/** current value of the cloud transparency process, before clipping.	*/
+	protected double		cloudState;
+	/** instant of the current value of the cloud transparency process, null
+	 *  until its first value is drawn.										*/
+	protected Instant		cloudStateInstant;
+	/** last value of the cloud transparency, after clipping.				*/
+	protected double		lastCloudTransparency;
 
 	/** current time, in {@code ZonedTimeDate} format.						*/
 	protected ZonedDateTime currentZonedDateTime;
 	/** current state, day or night.										*/
 	protected SunState		currentState;
+	/** when true, the change of the intensity coefficient must be signalled
+	 *  to the solar panel power model at the next output.					*/
+	protected boolean		intensityChangeToBeSignalled;
 
 	/** the intensity coefficient computed by this model.					*/
 	@ExportedVariable(type = Double.class)
 	protected final Value<Double> sunIntensityCoef = new Value<Double>(this) ;
+	/** the cloud transparency in [0, 1] computed by this model.			*/
+	@ExportedVariable(type = Double.class)
+	protected final Value<Double> cloudTransparency = new Value<Double>(this) ;
 
 	// -------------------------------------------------------------------------
 	// Constructors
@@ -282,6 +357,30 @@ implements	SunIntensityModelI
 		this.slope = (double) simParams.get(slopeName);
 		this.orientation = (double) simParams.get(orientationName);
 		this.computationStep = (double) simParams.get(computationStepName);
+		String seedName =
+				ModelI.createRunParameterName(this.getURI(), SEED_RP_NAME);
+		if (simParams.containsKey(seedName)) {
+			this.seed = (Long) simParams.get(seedName);
+		}
+		this.cloudTimeConstant = STANDARD_CLOUD_TIME_CONSTANT;
+		String cloudTimeConstantName =
+				ModelI.createRunParameterName(this.getURI(),
+											  CLOUD_TIME_CONSTANT_RP_NAME);
+		if (simParams.containsKey(cloudTimeConstantName)) {
+			this.cloudTimeConstant =
+						(double) simParams.get(cloudTimeConstantName);
+		}
+		this.changeThreshold = STANDARD_CHANGE_THRESHOLD;
+		String changeThresholdName =
+				ModelI.createRunParameterName(this.getURI(),
+											  CHANGE_THRESHOLD_RP_NAME);
+		if (simParams.containsKey(changeThresholdName)) {
+			this.changeThreshold = (double) simParams.get(changeThresholdName);
+		}
+		assert	this.cloudTimeConstant > 0.0 :
+				new AssertionError("cloudTimeConstant > 0.0");
+		assert	this.changeThreshold >= 0.0 :
+				new AssertionError("changeThreshold >= 0.0");
 
 		double latitudeInDegrees = this.latitude.getDegree();
 		latitudeInDegrees += this.latitude.getMinutes()/60.0;
@@ -290,6 +389,8 @@ implements	SunIntensityModelI
 		longitudeInDegrees += this.longitude.getMinutes()/60.0;
 		longitudeInDegrees += this.longitude.getSeconds()/3600.0;
 		this.location = new double[] {latitudeInDegrees, longitudeInDegrees};
+		this.geometryTable =
+			SolarGeometryTable.get(this.location, this.slope, this.orientation);
 
 		if (DEBUG) {
 			this.logMessage(
@@ -303,6 +404,8 @@ implements	SunIntensityModelI
 	@Override
 	public void			initialiseState(Time initialTime)
 	{
+		this.intensityChangeToBeSignalled = false;
+
 		super.initialiseState(initialTime);
 
 		if (DEBUG) {
@@ -311,6 +414,11 @@ implements	SunIntensityModelI
 
 		// create the random number generator
 		this.rgCloudTransparency = new RandomDataGenerator();
+		if (this.seed != null) {
+			this.rgCloudTransparency.reSeed(this.seed);
+		}
+		this.cloudStateInstant = null;
+		this.lastCloudTransparency = CLOUD_MEAN_TRANSPARENCY;
 
 		this.currentZonedDateTime =
 				ZonedDateTime.ofInstant(this.startInstant, this.zoneId);
@@ -373,6 +481,10 @@ implements	SunIntensityModelI
 								+ this.sunIntensityCoef.getValue());
 			}
 		}
+		if (!this.cloudTransparency.isInitialised()) {
+			this.cloudTransparency.initialise(this.lastCloudTransparency);
+			numberOfNewlyInitialisedVariables++;
+		}
 
 		// the two counters are returned and aggregated among the different
 		// execution of fixpointInitialiseVariables in the different models
@@ -396,13 +508,32 @@ implements	SunIntensityModelI
 			this.logMessage("timeAdvance " + this.currentState);
 		}
 
-		if (this.currentState == null || this.currentState.equals(SunState.NIGHT)) {
+		if (this.intensityChangeToBeSignalled) {
+			// the significant change must be signalled immediately
+			return Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.currentState == null ||
+									this.currentState.equals(SunState.NIGHT)) {
 			return Duration.INFINITY;
 		} else {
 			return new Duration(this.computationStep, this.getSimulatedTimeUnit());
 		}
 	}
 
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI#output()
+	 */
+	@Override
+	public ArrayList<EventI>	output()
+	{
+		if (this.intensityChangeToBeSignalled) {
+			ArrayList<EventI> ret = new ArrayList<EventI>();
+			ret.add(new SunIntensityChanged(this.getTimeOfNextEvent()));
+			return ret;
+		} else {
+			return null;
+		}
+	}
+
 	/**
 	 * @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedInternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration)
 	 */
@@ -411,13 +542,28 @@ implements	SunIntensityModelI
 	{
 		super.userDefinedInternalTransition(elapsedTime);
 
+		if (this.intensityChangeToBeSignalled) {
+			// zero delay transition that has just signalled the change
+			this.intensityChangeToBeSignalled = false;
+			return;
+		}
+
 		long stepInSeconds = (long) (this.computationStep * 3600.0);
 		this.currentZonedDateTime =
 				this.currentZonedDateTime.plusSeconds(stepInSeconds);
-		this.sunIntensityCoef.setNewValue(this.computeNewIntensity(),
-										  this.getCurrentStateTime());
+		double oldIntensity = this.sunIntensityCoef.getValue();
+		double newIntensity = this.computeNewIntensity();
+		if (this.cloudTransparency.getValue() != this.lastCloudTransparency) {
+			this.cloudTransparency.setNewValue(this.lastCloudTransparency,
+											   this.getCurrentStateTime());
+		}
+		if (this.isExported(oldIntensity, newIntensity)) {
+			this.sunIntensityCoef.setNewValue(newIntensity,
+											  this.getCurrentStateTime());
+			this.intensityChangeToBeSignalled = true;
+		}
 
-		if (VERBOSE) {
+		if (VERBOSE && this.intensityChangeToBeSignalled) {
 			this.logMessage(
 					"userDefinedInternalTransition new sunIntensityCoef = "
 					+ this.sunIntensityCoef.getValue() + " at "
@@ -425,6 +571,84 @@ implements	SunIntensityModelI
 		}
 	}
 
+	/**
+	 * return true if the new intensity coefficient must replace the exported
+	 * one, that is when it differs by more than the change threshold or when
+	 * it reaches or leaves zero.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param oldIntensity	currently exported intensity coefficient.
+	 * @param newIntensity	newly computed intensity coefficient.
+	 * @return				true if the new intensity coefficient must be exported.
+	 */
+	protected boolean	isExported(double oldIntensity, double newIntensity)
+	{
+		if (!SunIntensityChanged.isSignificant(oldIntensity, newIntensity)) {
+			return false;
+		} else {
+			return Math.abs(newIntensity - oldIntensity) > this.changeThreshold
+					|| oldIntensity == 0.0 || newIntensity == 0.0;
+		}
+	}
+
+	/**
+	 * advance the cloud transparency process to the current time and return
+	 * its new value clipped to [0, 1].
+	 * 
+	 * <p><strong>Description</strong></p>
+	 * 
+	 * <p>
+	 * The Ornstein-Uhlenbeck process
+	 * {@code dX = (m - X)/tau dt + s sqrt(2/tau) dW} has an exact transition
+	 * over any delay {@code dt}: {@code X(t+dt)} is normally distributed
+	 * with mean {@code m + (X(t) - m) exp(-dt/tau)} and standard deviation
+	 * {@code s sqrt(1 - exp(-2 dt/tau))}. The first value is drawn from the
+	 * stationary distribution, with mean {@code m} and standard deviation
+	 * {@code s}, which the transition also converges to after a night.
+	 * </p>
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return >= 0.0 && return <= 1.0}
+	 * </pre>
+	 *
+	 * @return	the cloud transparency at the current time.
+	 */
+	protected double	nextCloudTransparency()
+	{
+		Instant now = this.currentZonedDateTime.toInstant();
+		if (this.cloudStateInstant == null) {
+			this.cloudState =
+				this.rgCloudTransparency.nextGaussian(CLOUD_MEAN_TRANSPARENCY,
+													  CLOUD_TRANSPARENCY_SD);
+		} else {
+			double elapsed =
+				Math.max(0L, now.toEpochMilli()
+									- this.cloudStateInstant.toEpochMilli())
+															/ 3600000.0;
+			if (elapsed > 0.0) {
+				double decay = Math.exp(-elapsed/this.cloudTimeConstant);
+				double mean = CLOUD_MEAN_TRANSPARENCY +
+						(this.cloudState - CLOUD_MEAN_TRANSPARENCY) * decay;
+				double sd = CLOUD_TRANSPARENCY_SD *
+											Math.sqrt(1.0 - decay * decay);
+				this.cloudState = this.rgCloudTransparency.nextGaussian(mean, sd);
+			}
+		}
+		this.cloudStateInstant = now;
+		this.lastCloudTransparency =
+							Math.min(1.0, Math.max(0.0, this.cloudState));
+		return this.lastCloudTransparency;
+	}
+
 	/**
 	 * return the new sun intensity.
 	 * 
@@ -440,37 +664,45 @@ implements	SunIntensityModelI
 	protected double	computeNewIntensity()
 	{
 		if (this.currentState.equals(SunState.DAY)) {
-			SunPosition sunPosition =
-					SunPosition.compute()
-						.on(this.currentZonedDateTime)
-						.at(this.location)
-						.timezone(this.zoneId)
-						.execute();
-			double azimuthalCoef =
-					azimuthalPerformanceCoefficient(
+			double geometricCoef;
+			if (USE_GEOMETRY_TABLE) {
+				geometricCoef =
+					this.geometryTable.coefficient(
+									this.currentZonedDateTime.toInstant());
+			} else {
+				SunPosition sunPosition =
+						SunPosition.compute()
+							.on(this.currentZonedDateTime)
+							.at(this.location)
+							.timezone(this.zoneId)
+							.execute();
+				double azimuthalCoef =
+						azimuthalPerformanceCoefficient(
 									this.orientation, sunPosition.getAzimuth());		
-			double altitudeCoef =
-					altitudePerformance(this.slope, sunPosition.getAltitude());
-			// Not a very good stochastic model for the cloud factor as there
-			// is no correlation between successive values of transparency. A
-			// stochastic differential equation would be a better fit.
-			double cloudTransparency =
-					this.rgCloudTransparency.nextUniform(0.0, 1.0);
+				double altitudeCoef =
+						altitudePerformance(this.slope, sunPosition.getAltitude());
+				geometricCoef = azimuthalCoef * altitudeCoef;
+
+				if (DEBUG) {
+					this.logMessage("The sun position is " + sunPosition);
+					this.logMessage("The azimuthal performance is " + azimuthalCoef);
+					this.logMessage("The altitude performance is " + altitudeCoef);
+				}
+			}
+			double cloudTransparency = this.nextCloudTransparency();
 
 			if (DEBUG) {
-				this.logMessage("The sun position is " + sunPosition);
-				this.logMessage("The azimuthal performance is " + azimuthalCoef);
-				this.logMessage("The altitude performance is " + altitudeCoef);
+				this.logMessage("The geometric performance is " + geometricCoef);
 				this.logMessage("The cloud transparency is " + cloudTransparency);
 				this.logMessage(
 					"The overall intensity coefficient at " + this.currentZonedDateTime
 					+ " is "
-					+ (azimuthalCoef * altitudeCoef * cloudTransparency)
+					+ (geometricCoef * cloudTransparency)
 					+ " "
 					+ SolarPanel.CAPACITY_PER_SQUARE_METER.getMeasurementUnit());
 			}
 
-			return azimuthalCoef * altitudeCoef * cloudTransparency;
+			return geometricCoef * cloudTransparency;
 		} else {
 			return 0.0;
 		}
@@ -493,7 +725,11 @@ implements	SunIntensityModelI
 		e.executeOn(this);
 
 		if (this.currentState.equals(SunState.NIGHT)) {
+			double oldIntensity = this.sunIntensityCoef.getValue();
 			this.sunIntensityCoef.setNewValue(0.0, this.getCurrentStateTime());
+			if (SunIntensityChanged.isSignificant(oldIntensity, 0.0)) {
+				this.intensityChangeToBeSignalled = true;
+			}
 		}
 
 		if (VERBOSE) {
@@ -0,0 +1,140 @@
+package etape2.equipments.solar_panel.mil.events;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import fr.sorbonne_u.devs_simulation.models.events.Event;
+import fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>SunIntensityChanged</code> implements the event that signals
+ * the solar panel power model that the sun intensity coefficient it imports
+ * has just changed.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The sun intensity models emit this event after having set the new value of
+ * the coefficient. Between two such events, the coefficient is constant, hence
+ * the solar panel power model does not need to poll it and can remain
+ * quiescent until the next change; the update of the production is done by
+ * the model after executing the event, which has no effect by itself.
+ * </p>
+ * 
+ * <p><strong>Implementation Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code TOLERANCE > 0.0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			SunIntensityChanged
+extends		Event
+implements	ExternalSolarPanelEventI
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** changes of at most this amount are not signalled.					*/
+	public static final double	TOLERANCE = 1.0e-08;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a <code>SunIntensityChanged</code> event.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code timeOfOccurrence != null}
+	 * post	{@code getTimeOfOccurrence().equals(timeOfOccurrence)}
+	 * post	{@code getEventInformation() == null}
+	 * </pre>
+	 *
+	 * @param timeOfOccurrence	time of occurrence of the event.
+	 */
+	public				SunIntensityChanged(Time timeOfOccurrence)
+	{
+		super(timeOfOccurrence, null);
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return true if the change of the sun intensity coefficient from
+	 * {@code oldValue} to {@code newValue} must be signalled.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param oldValue	value of the coefficient before the transition.
+	 * @param newValue	value of the coefficient after the transition.
+	 * @return			true if the change must be signalled.
+	 */
+	public static boolean	isSignificant(double oldValue, double newValue)
+	{
+		return Math.abs(newValue - oldValue) > TOLERANCE;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.events.Event#executeOn(fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI)
+	 */
+	@Override
+	public void			executeOn(AtomicModelI model)
+	{
+		// the receiving model reads the new coefficient after executing the
+		// event, hence there is nothing to do here
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,478 @@
+package etape2.utils.ode;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to implement a mock-up
+// of household energy management system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.Serializable;
+import fr.sorbonne_u.devs_simulation.exceptions.NeoSim4JavaException;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>AbstractODESolver</code> implements the integration loop
+ * shared by the one-step solvers, including the detection and the location of
+ * zero-crossings.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Subclasses define how a step is attempted and how the step size evolves.
+ * A step returns the new state, the derivatives at the new state, which are
+ * reused as the first stage of the next step, and a normalised error estimate,
+ * the step being accepted when it is not greater than 1. After each accepted
+ * step, the zero-crossing functions are evaluated at the new state; when some
+ * of them have changed sign, their crossing times are located by the Illinois
+ * variant of the regula falsi on the cubic Hermite interpolant of the step,
+ * and the integration stops at the earliest one.
+ * </p>
+ * 
+ * <p><strong>Implementation Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code maxStep > 0.0}
+ * invariant	{@code timePrecision > 0.0}
+ * </pre>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code DEFAULT_TIME_PRECISION > 0.0}
+ * invariant	{@code MAX_LOCATION_ITERATIONS > 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public abstract class	AbstractODESolver
+implements	ODESolverI,
+			Serializable
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** default precision on the time of a crossing, relative to the time
+	 *  when it is greater than 1.											*/
+	public static final double	DEFAULT_TIME_PRECISION = 1.0e-10;
+	/** maximum number of iterations to locate a crossing.					*/
+	protected static final int	MAX_LOCATION_ITERATIONS = 100;
+
+	/** maximum step size.													*/
+	protected final double		maxStep;
+	/** precision on the time of a crossing.								*/
+	protected final double		timePrecision;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a solver.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code maxStep > 0.0}
+	 * pre	{@code timePrecision > 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param maxStep		maximum step size, possibly infinite.
+	 * @param timePrecision	precision on the time of a crossing.
+	 */
+	protected			AbstractODESolver(double maxStep, double timePrecision)
+	{
+		assert	maxStep > 0.0 : new PreconditionException("maxStep > 0.0");
+		assert	timePrecision > 0.0 :
+				new PreconditionException("timePrecision > 0.0");
+
+		this.maxStep = maxStep;
+		this.timePrecision = timePrecision;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the number of work arrays of the system dimension that
+	 * {@code attemptStep} needs.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return >= 0}
+	 * </pre>
+	 *
+	 * @return	the number of work arrays needed by {@code attemptStep}.
+	 */
+	protected abstract int	workArrays();
+
+	/**
+	 * return the number of evaluations of the derivatives performed by one
+	 * call to {@code attemptStep}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return > 0}
+	 * </pre>
+	 *
+	 * @return	the number of evaluations of the derivatives per step.
+	 */
+	protected abstract int	evaluationsPerStep();
+
+	/**
+	 * return the size of the first step of an integration.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code t1 > t0}
+	 * post	{@code return > 0.0}
+	 * </pre>
+	 *
+	 * @param t0	start time.
+	 * @param y0	state at {@code t0}.
+	 * @param f0	derivatives at {@code t0}.
+	 * @param t1	end time.
+	 * @return		the size of the first step.
+	 */
+	protected abstract double	initialStep(
+		double t0,
+		double[] y0,
+		double[] f0,
+		double t1
+		);
+
+	/**
+	 * attempt a step of size {@code h} from {@code (t, y)}, putting the new
+	 * state in {@code yNew} and the derivatives at the new state in
+	 * {@code fNew}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code h > 0.0}
+	 * pre	{@code work.length == workArrays()}
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @param system	system of differential equations.
+	 * @param t			time at the beginning of the step.
+	 * @param y			state at {@code t}, not to be modified.
+	 * @param f			derivatives at {@code t}, not to be modified.
+	 * @param h			step size.
+	 * @param yNew		array receiving the state at {@code t + h}.
+	 * @param fNew		array receiving the derivatives at {@code t + h}.
+	 * @param work		work arrays of the system dimension.
+	 * @return			the normalised error estimate, the step being accepted when not greater than 1.
+	 */
+	protected abstract double	attemptStep(
+		ODESystemI system,
+		double t,
+		double[] y,
+		double[] f,
+		double h,
+		double[] yNew,
+		double[] fNew,
+		double[][] work
+		);
+
+	/**
+	 * return the size of the next step given the size and the normalised error
+	 * of the last attempted step.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code h > 0.0 && error >= 0.0}
+	 * post	{@code return > 0.0}
+	 * </pre>
+	 *
+	 * @param h		size of the last attempted step.
+	 * @param error	normalised error of the last attempted step.
+	 * @return		the size of the next step.
+	 */
+	protected abstract double	nextStep(double h, double error);
+
+	/**
+	 * @see etape2.utils.ode.ODESolverI#integrate(etape2.utils.ode.ODESystemI, double, double[], double, etape2.utils.ode.ZeroCrossingI[])
+	 */
+	@Override
+	public IntegrationResult	integrate(
+		ODESystemI system,
+		double t0,
+		double[] y0,
+		double t1,
+		ZeroCrossingI... crossings
+		)
+	{
+		assert	system != null : new PreconditionException("system != null");
+		assert	y0 != null && y0.length == system.dimension() :
+				new PreconditionException(
+						"y0 != null && y0.length == system.dimension()");
+		assert	t1 >= t0 : new PreconditionException("t1 >= t0");
+		assert	crossings != null :
+				new PreconditionException("crossings != null");
+
+		int n = y0.length;
+		double[] y = y0.clone();
+		if (t1 == t0) {
+			return new IntegrationResult(t0, y, IntegrationResult.NO_CROSSING,
+										 0, 0, 0);
+		}
+
+		double[] f = new double[n];
+		double[] yNew = new double[n];
+		double[] fNew = new double[n];
+		double[][] work = new double[this.workArrays()][n];
+		system.computeDerivatives(t0, y, f);
+		int evaluations = 1;
+		int accepted = 0;
+		int rejected = 0;
+
+		// a function which is zero at the start is armed only when it leaves 0
+		double[] g = new double[crossings.length];
+		boolean[] armed = new boolean[crossings.length];
+		for (int i = 0 ; i < crossings.length ; i++) {
+			g[i] = crossings[i].evaluate(t0, y);
+			armed[i] = g[i] != 0.0;
+		}
+
+		double t = t0;
+		double h = Math.min(this.maxStep, this.initialStep(t0, y, f, t1));
+		boolean last = false;
+		while (!last) {
+			if (t + h >= t1 || t1 - (t + h) <= this.precision(t1)) {
+				h = t1 - t;
+				last = true;
+			}
+			double error = this.attemptStep(system, t, y, f, h, yNew, fNew, work);
+			evaluations += this.evaluationsPerStep();
+			if (error > 1.0) {
+				rejected++;
+				last = false;
+				h = Math.min(this.maxStep, this.nextStep(h, error));
+				if (h <= this.precision(t)) {
+					throw new NeoSim4JavaException(
+							"step size underflow at t = " + t);
+				}
+				continue;
+			}
+			accepted++;
+			double tNew = last ? t1 : t + h;
+
+			// detect and locate the earliest crossing in the step
+			int first = IntegrationResult.NO_CROSSING;
+			double tCrossing = tNew;
+			for (int i = 0 ; i < crossings.length ; i++) {
+				double gNew = crossings[i].evaluate(tNew, yNew);
+				if (armed[i] && (gNew == 0.0 || (gNew > 0.0) != (g[i] > 0.0))) {
+					double ti = this.locateCrossing(crossings[i], t, y, f, g[i],
+													tNew, yNew, fNew, gNew);
+					if (first == IntegrationResult.NO_CROSSING ||
+															ti < tCrossing) {
+						first = i;
+						tCrossing = ti;
+					}
+				}
+				if (gNew != 0.0) {
+					armed[i] = true;
+				}
+				g[i] = gNew;
+			}
+			if (first != IntegrationResult.NO_CROSSING) {
+				double[] yCrossing = new double[n];
+				interpolate(t, y, f, tNew, yNew, fNew, tCrossing, yCrossing);
+				return new IntegrationResult(tCrossing, yCrossing, first,
+											 accepted, rejected, evaluations);
+			}
+
+			double[] tmp = y;
+			y = yNew;
+			yNew = tmp;
+			tmp = f;
+			f = fNew;
+			fNew = tmp;
+			t = tNew;
+			if (!last) {
+				h = Math.min(this.maxStep, this.nextStep(h, error));
+			}
+		}
+
+		return new IntegrationResult(t1, y, IntegrationResult.NO_CROSSING,
+									 accepted, rejected, evaluations);
+	}
+
+	/**
+	 * return the precision on times around {@code t}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return > 0.0}
+	 * </pre>
+	 *
+	 * @param t	a time.
+	 * @return	the precision on times around {@code t}.
+	 */
+	protected double	precision(double t)
+	{
+		return this.timePrecision * Math.max(1.0, Math.abs(t));
+	}
+
+	/**
+	 * locate the time at which {@code crossing} changes sign in the step
+	 * from {@code ta} to {@code tb}, returning a time at which the sign has
+	 * already changed.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code ta < tb}
+	 * pre	{@code ga != 0.0}
+	 * pre	{@code gb == 0.0 || (ga > 0.0) != (gb > 0.0)}
+	 * post	{@code return > ta && return <= tb}
+	 * </pre>
+	 *
+	 * @param crossing	zero-crossing function.
+	 * @param ta		time at the beginning of the step.
+	 * @param ya		state at {@code ta}.
+	 * @param fa		derivatives at {@code ta}.
+	 * @param ga		value of the function at {@code ta}.
+	 * @param tb		time at the end of the step.
+	 * @param yb		state at {@code tb}.
+	 * @param fb		derivatives at {@code tb}.
+	 * @param gb		value of the function at {@code tb}.
+	 * @return			the crossing time.
+	 */
+	protected double	locateCrossing(
+		ZeroCrossingI crossing,
+		double ta,
+		double[] ya,
+		double[] fa,
+		double ga,
+		double tb,
+		double[] yb,
+		double[] fb,
+		double gb
+		)
+	{
+		if (gb == 0.0) {
+			return tb;
+		}
+		double[] yc = new double[ya.length];
+		double a = ta;
+		double b = tb;
+		int side = 0;
+		for (int i = 0 ; i < MAX_LOCATION_ITERATIONS &&
+									b - a > this.precision(b) ; i++) {
+			double c = (a * gb - b * ga) / (gb - ga);
+			if (!(c > a && c < b)) {
+				c = 0.5 * (a + b);
+			}
+			interpolate(ta, ya, fa, tb, yb, fb, c, yc);
+			double gc = crossing.evaluate(c, yc);
+			if (gc == 0.0) {
+				return c;
+			}
+			if ((gc > 0.0) == (ga > 0.0)) {
+				a = c;
+				ga = gc;
+				if (side == -1) {
+					// Illinois: halve the retained end to avoid stagnation
+					gb *= 0.5;
+				}
+				side = -1;
+			} else {
+				b = c;
+				gb = gc;
+				if (side == 1) {
+					ga *= 0.5;
+				}
+				side = 1;
+			}
+		}
+		return b;
+	}
+
+	/**
+	 * compute in {@code yt} the cubic Hermite interpolant at {@code t} of the
+	 * step from {@code (ta, ya)} to {@code (tb, yb)}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code ta < tb && t >= ta && t <= tb}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param ta	time at the beginning of the step.
+	 * @param ya	state at {@code ta}.
+	 * @param fa	derivatives at {@code ta}.
+	 * @param tb	time at the end of the step.
+	 * @param yb	state at {@code tb}.
+	 * @param fb	derivatives at {@code tb}.
+	 * @param t		interpolation time.
+	 * @param yt	array receiving the interpolated state.
+	 */
+	protected static void	interpolate(
+		double ta,
+		double[] ya,
+		double[] fa,
+		double tb,
+		double[] yb,
+		double[] fb,
+		double t,
+		double[] yt
+		)
+	{
+		double h = tb - ta;
+		double s = (t - ta) / h;
+		double s2 = s * s;
+		double s3 = s2 * s;
+		double h00 = 2.0 * s3 - 3.0 * s2 + 1.0;
+		double h10 = (s3 - 2.0 * s2 + s) * h;
+		double h01 = 3.0 * s2 - 2.0 * s3;
+		double h11 = (s3 - s2) * h;
+		for (int i = 0 ; i < yt.length ; i++) {
+			yt[i] = h00 * ya[i] + h10 * fa[i] + h01 * yb[i] + h11 * fb[i];
+		}
+	}
+}
+// -----------------------------------------------------------------------------
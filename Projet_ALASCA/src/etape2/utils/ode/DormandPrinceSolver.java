@@ -0,0 +1,315 @@
+package etape2.utils.ode;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to implement a mock-up
+// of household energy management system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>DormandPrinceSolver</code> implements the embedded
+ * Runge-Kutta method of Dormand and Prince of orders 5(4) with an adaptive
+ * step size.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Each step computes a fifth order solution and the difference with an
+ * embedded fourth order one, which estimates the local error. The error is
+ * normalised by {@code absoluteTolerance + relativeTolerance * |y|} in root
+ * mean square over the components; a step is accepted when this normalised
+ * error is not greater than 1, and the next step size is scaled by
+ * {@code SAFETY * error^(-1/5)}, bounded by {@code MIN_FACTOR} and
+ * {@code MAX_FACTOR}. Steps hence shrink where the dynamics are fast and
+ * grow where the state hardly changes, up to {@code maxStep}. The method has
+ * the first same as last property: the last stage of a step is the
+ * derivatives at its end, reused as the first stage of the next step, so an
+ * attempted step costs six evaluations of the derivatives.
+ * </p>
+ * 
+ * <p><strong>Implementation Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code absoluteTolerance > 0.0}
+ * invariant	{@code relativeTolerance >= 0.0}
+ * </pre>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code SAFETY > 0.0 && SAFETY < 1.0}
+ * invariant	{@code MIN_FACTOR > 0.0 && MIN_FACTOR < 1.0 && MAX_FACTOR > 1.0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			DormandPrinceSolver
+extends		AbstractODESolver
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** safety factor applied to the optimal step size.						*/
+	protected static final double	SAFETY = 0.9;
+	/** minimum ratio between two successive step sizes.					*/
+	protected static final double	MIN_FACTOR = 0.2;
+	/** maximum ratio between two successive step sizes.					*/
+	protected static final double	MAX_FACTOR = 5.0;
+
+	// Butcher tableau of the method.
+	protected static final double	C2 = 1.0/5.0;
+	protected static final double	C3 = 3.0/10.0;
+	protected static final double	C4 = 4.0/5.0;
+	protected static final double	C5 = 8.0/9.0;
+	protected static final double	A21 = 1.0/5.0;
+	protected static final double	A31 = 3.0/40.0;
+	protected static final double	A32 = 9.0/40.0;
+	protected static final double	A41 = 44.0/45.0;
+	protected static final double	A42 = -56.0/15.0;
+	protected static final double	A43 = 32.0/9.0;
+	protected static final double	A51 = 19372.0/6561.0;
+	protected static final double	A52 = -25360.0/2187.0;
+	protected static final double	A53 = 64448.0/6561.0;
+	protected static final double	A54 = -212.0/729.0;
+	protected static final double	A61 = 9017.0/3168.0;
+	protected static final double	A62 = -355.0/33.0;
+	protected static final double	A63 = 46732.0/5247.0;
+	protected static final double	A64 = 49.0/176.0;
+	protected static final double	A65 = -5103.0/18656.0;
+	protected static final double	B1 = 35.0/384.0;
+	protected static final double	B3 = 500.0/1113.0;
+	protected static final double	B4 = 125.0/192.0;
+	protected static final double	B5 = -2187.0/6784.0;
+	protected static final double	B6 = 11.0/84.0;
+	// differences between the fifth and the fourth order weights
+	protected static final double	E1 = 71.0/57600.0;
+	protected static final double	E3 = -71.0/16695.0;
+	protected static final double	E4 = 71.0/1920.0;
+	protected static final double	E5 = -17253.0/339200.0;
+	protected static final double	E6 = 22.0/525.0;
+	protected static final double	E7 = -1.0/40.0;
+
+	/** absolute tolerance on the local error.								*/
+	protected final double		absoluteTolerance;
+	/** relative tolerance on the local error.								*/
+	protected final double		relativeTolerance;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a Dormand-Prince solver without limit on the step size.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code absoluteTolerance > 0.0}
+	 * pre	{@code relativeTolerance >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param absoluteTolerance	absolute tolerance on the local error.
+	 * @param relativeTolerance	relative tolerance on the local error.
+	 */
+	public				DormandPrinceSolver(
+		double absoluteTolerance,
+		double relativeTolerance
+		)
+	{
+		this(absoluteTolerance, relativeTolerance, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * create a Dormand-Prince solver.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code absoluteTolerance > 0.0}
+	 * pre	{@code relativeTolerance >= 0.0}
+	 * pre	{@code maxStep > 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param absoluteTolerance	absolute tolerance on the local error.
+	 * @param relativeTolerance	relative tolerance on the local error.
+	 * @param maxStep			maximum step size, possibly infinite.
+	 */
+	public				DormandPrinceSolver(
+		double absoluteTolerance,
+		double relativeTolerance,
+		double maxStep
+		)
+	{
+		super(maxStep, DEFAULT_TIME_PRECISION);
+
+		assert	absoluteTolerance > 0.0 :
+				new PreconditionException("absoluteTolerance > 0.0");
+		assert	relativeTolerance >= 0.0 :
+				new PreconditionException("relativeTolerance >= 0.0");
+
+		this.absoluteTolerance = absoluteTolerance;
+		this.relativeTolerance = relativeTolerance;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see etape2.utils.ode.AbstractODESolver#workArrays()
+	 */
+	@Override
+	protected int		workArrays()
+	{
+		return 6;
+	}
+
+	/**
+	 * @see etape2.utils.ode.AbstractODESolver#evaluationsPerStep()
+	 */
+	@Override
+	protected int		evaluationsPerStep()
+	{
+		return 6;
+	}
+
+	/**
+	 * @see etape2.utils.ode.AbstractODESolver#initialStep(double, double[], double[], double)
+	 */
+	@Override
+	protected double	initialStep(double t0, double[] y0, double[] f0, double t1)
+	{
+		// the step for which the first order change of the state is a
+		// hundredth of its magnitude, all normalised by the tolerances; when
+		// the state does not move, the whole interval can be tried at once
+		double d0 = 0.0;
+		double d1 = 0.0;
+		for (int i = 0 ; i < y0.length ; i++) {
+			double scale = this.absoluteTolerance +
+									this.relativeTolerance * Math.abs(y0[i]);
+			d0 += (y0[i] / scale) * (y0[i] / scale);
+			d1 += (f0[i] / scale) * (f0[i] / scale);
+		}
+		d0 = Math.sqrt(d0 / y0.length);
+		d1 = Math.sqrt(d1 / y0.length);
+		if (d1 <= 1.0e-5) {
+			return t1 - t0;
+		}
+		return Math.min(t1 - t0, 0.01 * Math.max(d0, 1.0e-5) / d1);
+	}
+
+	/**
+	 * @see etape2.utils.ode.AbstractODESolver#attemptStep(etape2.utils.ode.ODESystemI, double, double[], double[], double, double[], double[], double[][])
+	 */
+	@Override
+	protected double	attemptStep(
+		ODESystemI system,
+		double t,
+		double[] y,
+		double[] f,
+		double h,
+		double[] yNew,
+		double[] fNew,
+		double[][] work
+		)
+	{
+		double[] k2 = work[0];
+		double[] k3 = work[1];
+		double[] k4 = work[2];
+		double[] k5 = work[3];
+		double[] k6 = work[4];
+		double[] tmp = work[5];
+		int n = y.length;
+
+		for (int i = 0 ; i < n ; i++) {
+			tmp[i] = y[i] + h * A21 * f[i];
+		}
+		system.computeDerivatives(t + C2 * h, tmp, k2);
+		for (int i = 0 ; i < n ; i++) {
+			tmp[i] = y[i] + h * (A31 * f[i] + A32 * k2[i]);
+		}
+		system.computeDerivatives(t + C3 * h, tmp, k3);
+		for (int i = 0 ; i < n ; i++) {
+			tmp[i] = y[i] + h * (A41 * f[i] + A42 * k2[i] + A43 * k3[i]);
+		}
+		system.computeDerivatives(t + C4 * h, tmp, k4);
+		for (int i = 0 ; i < n ; i++) {
+			tmp[i] = y[i] + h * (A51 * f[i] + A52 * k2[i] + A53 * k3[i]
+															+ A54 * k4[i]);
+		}
+		system.computeDerivatives(t + C5 * h, tmp, k5);
+		for (int i = 0 ; i < n ; i++) {
+			tmp[i] = y[i] + h * (A61 * f[i] + A62 * k2[i] + A63 * k3[i]
+											+ A64 * k4[i] + A65 * k5[i]);
+		}
+		system.computeDerivatives(t + h, tmp, k6);
+		for (int i = 0 ; i < n ; i++) {
+			yNew[i] = y[i] + h * (B1 * f[i] + B3 * k3[i] + B4 * k4[i]
+											+ B5 * k5[i] + B6 * k6[i]);
+		}
+		system.computeDerivatives(t + h, yNew, fNew);
+
+		double error = 0.0;
+		for (int i = 0 ; i < n ; i++) {
+			double e = h * (E1 * f[i] + E3 * k3[i] + E4 * k4[i] + E5 * k5[i]
+											+ E6 * k6[i] + E7 * fNew[i]);
+			double scale = this.absoluteTolerance + this.relativeTolerance *
+								Math.max(Math.abs(y[i]), Math.abs(yNew[i]));
+			error += (e / scale) * (e / scale);
+		}
+		return Math.sqrt(error / n);
+	}
+
+	/**
+	 * @see etape2.utils.ode.AbstractODESolver#nextStep(double, double)
+	 */
+	@Override
+	protected double	nextStep(double h, double error)
+	{
+		double factor = error == 0.0 ?
+							MAX_FACTOR
+						:	Math.min(MAX_FACTOR, Math.max(MIN_FACTOR,
+										SAFETY * Math.pow(error, -0.2)));
+		if (error > 1.0) {
+			// never grow after a rejection
+			factor = Math.min(factor, 1.0);
+		}
+		return h * factor;
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,218 @@
+package etape2.utils.ode;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to implement a mock-up
+// of household energy management system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.Serializable;
+import java.util.Arrays;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>IntegrationResult</code> holds the outcome of an
+ * integration performed by an {@code ODESolverI}.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Besides the time and the state reached, the result tells which
+ * zero-crossing function stopped the integration, if any, and how much work
+ * the solver did, which allows to compare the solvers on a given model.
+ * </p>
+ * 
+ * <p><strong>Implementation Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code state != null}
+ * invariant	{@code acceptedSteps >= 0 && rejectedSteps >= 0 && evaluations >= 0}
+ * </pre>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code NO_CROSSING < 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			IntegrationResult
+implements	Serializable
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** value of {@code getCrossing()} when the end time has been reached.	*/
+	public static final int		NO_CROSSING = -1;
+
+	/** time reached by the integration.									*/
+	protected final double		time;
+	/** state reached by the integration.									*/
+	protected final double[]	state;
+	/** index of the zero-crossing function that stopped the integration or
+	 *  {@code NO_CROSSING}.												*/
+	protected final int			crossing;
+	/** number of accepted steps.											*/
+	protected final int			acceptedSteps;
+	/** number of steps rejected by the error control.						*/
+	protected final int			rejectedSteps;
+	/** number of evaluations of the derivatives.							*/
+	protected final int			evaluations;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create an integration result.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code state != null}
+	 * pre	{@code acceptedSteps >= 0 && rejectedSteps >= 0 && evaluations >= 0}
+	 * post	{@code getTime() == time}
+	 * post	{@code getCrossing() == crossing}
+	 * </pre>
+	 *
+	 * @param time			time reached by the integration.
+	 * @param state			state reached by the integration, which is not copied.
+	 * @param crossing		index of the zero-crossing function that stopped the integration or {@code NO_CROSSING}.
+	 * @param acceptedSteps	number of accepted steps.
+	 * @param rejectedSteps	number of rejected steps.
+	 * @param evaluations	number of evaluations of the derivatives.
+	 */
+	public				IntegrationResult(
+		double time,
+		double[] state,
+		int crossing,
+		int acceptedSteps,
+		int rejectedSteps,
+		int evaluations
+		)
+	{
+		assert	state != null : new PreconditionException("state != null");
+		assert	acceptedSteps >= 0 && rejectedSteps >= 0 && evaluations >= 0 :
+				new PreconditionException(
+						"acceptedSteps >= 0 && rejectedSteps >= 0 && "
+						+ "evaluations >= 0");
+
+		this.time = time;
+		this.state = state;
+		this.crossing = crossing;
+		this.acceptedSteps = acceptedSteps;
+		this.rejectedSteps = rejectedSteps;
+		this.evaluations = evaluations;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/** @return the time reached by the integration.						*/
+	public double		getTime()
+	{
+		return this.time;
+	}
+
+	/** @return the state reached by the integration, not to be modified.	*/
+	public double[]		getState()
+	{
+		return this.state;
+	}
+
+	/**
+	 * return the component {@code i} of the state reached.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code i >= 0 && i < getState().length}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param i	index of the component.
+	 * @return	the component {@code i} of the state reached.
+	 */
+	public double		getState(int i)
+	{
+		return this.state[i];
+	}
+
+	/** @return the index of the crossing that stopped the integration or {@code NO_CROSSING}.	*/
+	public int			getCrossing()
+	{
+		return this.crossing;
+	}
+
+	/** @return true if a zero-crossing function stopped the integration.	*/
+	public boolean		isCrossing()
+	{
+		return this.crossing != NO_CROSSING;
+	}
+
+	/** @return the number of accepted steps.								*/
+	public int			getAcceptedSteps()
+	{
+		return this.acceptedSteps;
+	}
+
+	/** @return the number of steps rejected by the error control.			*/
+	public int			getRejectedSteps()
+	{
+		return this.rejectedSteps;
+	}
+
+	/** @return the number of evaluations of the derivatives.				*/
+	public int			getEvaluations()
+	{
+		return this.evaluations;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String		toString()
+	{
+		return this.getClass().getSimpleName() + "[time = " + this.time
+				+ ", state = " + Arrays.toString(this.state)
+				+ ", crossing = " + this.crossing
+				+ ", accepted steps = " + this.acceptedSteps
+				+ ", rejected steps = " + this.rejectedSteps
+				+ ", evaluations = " + this.evaluations + "]";
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,96 @@
+package etape2.utils.ode;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to implement a mock-up
+// of household energy management system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+// -----------------------------------------------------------------------------
+/**
+ * The interface <code>ODESolverI</code> defines the integration of an
+ * {@code ODESystemI} over a time interval, stopping at the first crossing of
+ * a set of zero-crossing functions.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Solvers keep no state between calls other than their parameters, hence
+ * one solver can be shared by all of the integrations performed by a model,
+ * and even between models running in different threads.
+ * </p>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public interface		ODESolverI
+{
+	// -------------------------------------------------------------------------
+	// Signature and default methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * integrate {@code system} from {@code (t0, y0)} up to {@code t1} or up to
+	 * the first crossing of one of {@code crossings}, whichever comes first.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code system != null}
+	 * pre	{@code y0 != null && y0.length == system.dimension()}
+	 * pre	{@code t1 >= t0}
+	 * pre	{@code crossings != null}
+	 * post	{@code return != null}
+	 * post	{@code return.getTime() >= t0 && return.getTime() <= t1}
+	 * post	{@code return.getCrossing() < 0 || return.getCrossing() < crossings.length}
+	 * </pre>
+	 *
+	 * @param system	system of differential equations to be integrated.
+	 * @param t0		start time.
+	 * @param y0		state at {@code t0}, which is not modified.
+	 * @param t1		end time.
+	 * @param crossings	zero-crossing functions stopping the integration, possibly none.
+	 * @return			the time and state reached and the crossing that stopped the integration, if any.
+	 */
+	public IntegrationResult	integrate(
+		ODESystemI system,
+		double t0,
+		double[] y0,
+		double t1,
+		ZeroCrossingI... crossings
+		);
+}
+// -----------------------------------------------------------------------------
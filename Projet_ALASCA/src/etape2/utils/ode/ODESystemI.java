@@ -0,0 +1,98 @@
+package etape2.utils.ode;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to implement a mock-up
+// of household energy management system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+// -----------------------------------------------------------------------------
+/**
+ * The interface <code>ODESystemI</code> defines a system of first order
+ * ordinary differential equations {@code y' = f(t, y)} that can be integrated
+ * by an {@code ODESolverI}.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The time unit of {@code t} is chosen by the system and the solver is
+ * called with times in the same unit. The derivatives must be a continuous
+ * function of the state between two transitions of the model using the
+ * system; discontinuities in the state space (regime changes) should be
+ * declared as zero-crossing functions so that the integration stops on them.
+ * </p>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code dimension() > 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public interface		ODESystemI
+{
+	// -------------------------------------------------------------------------
+	// Signature and default methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the number of components of the state vector.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return > 0}
+	 * </pre>
+	 *
+	 * @return	the number of components of the state vector.
+	 */
+	public int			dimension();
+
+	/**
+	 * compute the derivatives {@code yDot = f(t, y)}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code y != null && y.length == dimension()}
+	 * pre	{@code yDot != null && yDot.length == dimension()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param t		current time.
+	 * @param y		current state, which must not be modified.
+	 * @param yDot	array receiving the derivatives of the state.
+	 */
+	public void			computeDerivatives(double t, double[] y, double[] yDot);
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,188 @@
+package etape2.utils.ode;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to implement a mock-up
+// of household energy management system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RungeKutta4Solver</code> implements the classical fourth
+ * order Runge-Kutta method with a fixed step size.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The step size is constant except for the last step, shortened to end
+ * exactly at the requested time. The derivatives at the end of a step are
+ * reused as the first stage of the next one, hence a step costs four
+ * evaluations of the derivatives. Without error control, the step size must
+ * be chosen for the fastest dynamics of the system; use a
+ * {@code DormandPrinceSolver} when the dynamics vary.
+ * </p>
+ * 
+ * <p><strong>Implementation Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code step > 0.0 && step <= maxStep}
+ * </pre>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			RungeKutta4Solver
+extends		AbstractODESolver
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** step size.															*/
+	protected final double		step;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a fourth order Runge-Kutta solver with step size {@code step}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code step > 0.0 && Double.isFinite(step)}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param step	step size.
+	 */
+	public				RungeKutta4Solver(double step)
+	{
+		super(step, DEFAULT_TIME_PRECISION);
+
+		assert	step > 0.0 && Double.isFinite(step) :
+				new PreconditionException("step > 0.0 && Double.isFinite(step)");
+
+		this.step = step;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see etape2.utils.ode.AbstractODESolver#workArrays()
+	 */
+	@Override
+	protected int		workArrays()
+	{
+		return 4;
+	}
+
+	/**
+	 * @see etape2.utils.ode.AbstractODESolver#evaluationsPerStep()
+	 */
+	@Override
+	protected int		evaluationsPerStep()
+	{
+		return 4;
+	}
+
+	/**
+	 * @see etape2.utils.ode.AbstractODESolver#initialStep(double, double[], double[], double)
+	 */
+	@Override
+	protected double	initialStep(double t0, double[] y0, double[] f0, double t1)
+	{
+		return this.step;
+	}
+
+	/**
+	 * @see etape2.utils.ode.AbstractODESolver#attemptStep(etape2.utils.ode.ODESystemI, double, double[], double[], double, double[], double[], double[][])
+	 */
+	@Override
+	protected double	attemptStep(
+		ODESystemI system,
+		double t,
+		double[] y,
+		double[] f,
+		double h,
+		double[] yNew,
+		double[] fNew,
+		double[][] work
+		)
+	{
+		double[] k2 = work[0];
+		double[] k3 = work[1];
+		double[] k4 = work[2];
+		double[] tmp = work[3];
+		int n = y.length;
+
+		for (int i = 0 ; i < n ; i++) {
+			tmp[i] = y[i] + 0.5 * h * f[i];
+		}
+		system.computeDerivatives(t + 0.5 * h, tmp, k2);
+		for (int i = 0 ; i < n ; i++) {
+			tmp[i] = y[i] + 0.5 * h * k2[i];
+		}
+		system.computeDerivatives(t + 0.5 * h, tmp, k3);
+		for (int i = 0 ; i < n ; i++) {
+			tmp[i] = y[i] + h * k3[i];
+		}
+		system.computeDerivatives(t + h, tmp, k4);
+		for (int i = 0 ; i < n ; i++) {
+			yNew[i] = y[i] + h * (f[i] + 2.0 * (k2[i] + k3[i]) + k4[i]) / 6.0;
+		}
+		system.computeDerivatives(t + h, yNew, fNew);
+
+		// no error control: every step is accepted
+		return 0.0;
+	}
+
+	/**
+	 * @see etape2.utils.ode.AbstractODESolver#nextStep(double, double)
+	 */
+	@Override
+	protected double	nextStep(double h, double error)
+	{
+		return this.step;
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,85 @@
+package etape2.utils.ode;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to implement a mock-up
+// of household energy management system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+// -----------------------------------------------------------------------------
+/**
+ * The interface <code>ZeroCrossingI</code> defines a function of the time and
+ * the state which sign change stops an integration.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * A zero-crossing function typically measures the distance of the state to a
+ * threshold, such as a target temperature or an empty tank. A solver
+ * evaluates it at the end of each step and, when its sign has changed, it
+ * locates the crossing time on the interpolated trajectory and stops there.
+ * A function which is exactly zero at the start of an integration is only
+ * armed once it has taken a non zero value, so that restarting from a
+ * crossing does not stop immediately.
+ * </p>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+@FunctionalInterface
+public interface		ZeroCrossingI
+{
+	// -------------------------------------------------------------------------
+	// Signature and default methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * evaluate the function at time {@code t} for the state {@code y}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code y != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param t	current time.
+	 * @param y	current state, which must not be modified.
+	 * @return	the value of the function, which sign change is a crossing.
+	 */
+	public double		evaluate(double t, double[] y);
+}
+// -----------------------------------------------------------------------------
@@ -46,6 +46,8 @@ import etape3.equipements.coffee_machine.sil.CoffeeMachineElectricitySILModel;
 import etape3.equipements.coffee_machine.sil.CoffeeMachineStateSILModel;
 import etape3.equipements.coffee_machine.sil.CoffeeMachineTemperatureSILModel;
 import etape3.equipements.coffee_machine.sil.Local_SIL_SimulationArchitectures;
+import etape4.coordination.ConsumptionNotificationCI;
+import etape4.coordination.connections.ConsumptionNotificationOutboundPort;
 import fr.sorbonne_u.alasca.physical_data.Measure;
 import fr.sorbonne_u.alasca.physical_data.MeasurementUnit;
 import fr.sorbonne_u.alasca.physical_data.TimedMeasure;
@@ -84,7 +86,7 @@ import fr.sorbonne_u.utils.aclocks.ClocksServerCI;
 @OfferedInterfaces(offered = { CoffeeMachineUserCI.class, CoffeeMachineInternalControlCI.class,
 		CoffeeMachineExternalControlJava4CI.class, CoffeeMachineSensorDataCI.CoffeeMachineSensorOfferedPullCI.class,
 		CoffeeMachineActuatorCI.class })
-@RequiredInterfaces(required = { RegistrationCI.class })
+@RequiredInterfaces(required = { RegistrationCI.class, ConsumptionNotificationCI.class })
 public class CoffeeMachineCyPhy extends AbstractCyPhyComponent
 		implements CoffeeMachineUserI, CoffeeMachineInternalControlI, CoffeeMachineExternalControlI {
 
@@ -155,6 +157,9 @@ public class CoffeeMachineCyPhy extends AbstractCyPhyComponent
 	
 	protected RegistrationOutboundPort rop;
 
+	/** port pushing consumption changes to the HEM, when it offers them. */
+	protected ConsumptionNotificationOutboundPort cnop;
+
 	protected String uid;
 
 	protected boolean isIntegrationTestMode;
@@ -290,6 +295,8 @@ public class CoffeeMachineCyPhy extends AbstractCyPhyComponent
 			System.out.println("Machine à café publication port Registration (CM)");
 			this.rop = new RegistrationOutboundPort(this);
 			this.rop.publishPort();
+			this.cnop = new ConsumptionNotificationOutboundPort(this);
+			this.cnop.publishPort();
 			System.out.println("Machine à café port Registration publié (CM)");
 		}
 		
@@ -440,6 +447,10 @@ public class CoffeeMachineCyPhy extends AbstractCyPhyComponent
 					this.doPortDisconnection(this.rop.getPortURI());
 				}
 				this.rop.unpublishPort();
+				if (this.cnop.connected()) {
+					this.doPortDisconnection(this.cnop.getPortURI());
+				}
+				this.cnop.unpublishPort();
 			}
 		} catch (Throwable e) {
 			throw new ComponentShutdownException(e);
@@ -528,6 +539,7 @@ public class CoffeeMachineCyPhy extends AbstractCyPhyComponent
 					System.out.println("DEBUG CoffeeMachine.turnOn(): rop reconnected");
 				}
 				this.rop.register(uid, cmecjip.getPortURI(), XML_COFFEE_MACHINE_ADAPTER_DESCRIPTOR);
+				this.cnop.connectToHEM();
 				System.out.println("DEBUG CoffeeMachine.turnOn(): registered successfully");
 			} catch (Exception e) {
 				System.out.println("ERROR CoffeeMachine.turnOn() registration failed: " + e.getMessage());
@@ -560,6 +572,7 @@ public class CoffeeMachineCyPhy extends AbstractCyPhyComponent
 		this.currentTemperature = new TimedMeasure<>(MIN_TEMPERATURE.getData(), TEMPERATURE_UNIT);
 		
 		if (isIntegrationTestMode) {
+			this.cnop.disconnectFromHEM();
 			this.rop.unregister(uid);
 			this.doPortDisconnection(this.rop.getPortURI());
 		}
@@ -831,12 +844,16 @@ public class CoffeeMachineCyPhy extends AbstractCyPhyComponent
 
 		assert this.on() : new PreconditionException("on()");
 
+		double oldWatts = this.currentPowerLevel == null ? 0.0 : this.currentPowerLevel.getData();
 		if (powerLevel.getData() <= getMaxPowerLevel().getData()) {
 			this.currentPowerLevel = new TimedMeasure<>(powerLevel.getData(), powerLevel.getMeasurementUnit());
 		} else {
 			this.currentPowerLevel = new TimedMeasure<>(HIGH_POWER_IN_WATTS.getData(),
 					HIGH_POWER_IN_WATTS.getMeasurementUnit());
 		}
+		if (this.cnop != null) {
+			this.cnop.pushConsumptionChange(this.uid, oldWatts, this.currentPowerLevel.getData());
+		}
 	}
 
 	@Override
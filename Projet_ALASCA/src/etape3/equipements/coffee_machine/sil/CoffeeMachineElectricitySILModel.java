@@ -53,6 +53,7 @@ import etape2.equipments.coffeemachine.mil.events.SetNormalModeCoffeeMachine;
 import etape2.equipments.coffeemachine.mil.events.SetSuspendedModeCoffeeMachine;
 import etape2.equipments.coffeemachine.mil.events.SwitchOffCoffeeMachine;
 import etape2.equipments.coffeemachine.mil.events.SwitchOnCoffeeMachine;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.utils.Electricity;
 import fr.sorbonne_u.components.cyphy.interfaces.ModelStateAccessI.VariableValue;
 import fr.sorbonne_u.components.cyphy.plugins.devs.AtomicSimulatorPlugin;
@@ -95,7 +96,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  *   {@code SetNormalModeCoffeeMachine}, {@code SetSuspendedModeCoffeeMachine},
  *   {@code MakeCoffee}, {@code ServeCoffee},
  *   {@code FillWaterCoffeeMachine}</li>
- * <li>Exported events: none</li>
+ * <li>Exported events: {@code PowerChanged}</li>
  * <li>Imported variables: none</li>
  * <li>Exported variables:
  *   name = {@code currentIntensity}, type = {@code Double}
@@ -134,7 +135,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 								 SetSuspendedModeCoffeeMachine.class,
 								 MakeCoffee.class,
 								 ServeCoffee.class,
-								 FillWaterCoffeeMachine.class})
+								 FillWaterCoffeeMachine.class},
+					 exported = {PowerChanged.class})
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 @ModelExportedVariable(name = "currentHeatingPower", type = Double.class)
 @ModelExportedVariable(name = "currentWaterLevel", type = Double.class)
@@ -165,6 +167,9 @@ implements	SIL_CoffeeMachineOperationI
 	 *  external event; triggers an internal transition to update the
 	 *  variable <code>currentIntensity</code>.								*/
 	protected boolean					consumptionHasChanged = false;
+	/** true when the intensity has changed and the change must be
+	 *  signalled to the electric meter at the next output.				*/
+	protected boolean					powerChangeToBeSignalled = false;
 
 	/** power consumption in SUSPEND mode (watts).							*/
 	protected double					suspendedModeConsumption;
@@ -543,6 +548,7 @@ implements	SIL_CoffeeMachineOperationI
 		this.currentState = CoffeeMachineState.OFF;
 		this.currentMode = CoffeeMachineMode.SUSPEND;
 		this.consumptionHasChanged = false;
+		this.powerChangeToBeSignalled = false;
 		this.totalConsumption = 0.0;
 
 		if (VERBOSE) {
@@ -612,7 +618,14 @@ implements	SIL_CoffeeMachineOperationI
 	@Override
 	public ArrayList<EventI>	output()
 	{
-		return null;
+		if (this.powerChangeToBeSignalled) {
+			ArrayList<EventI> ret = new ArrayList<EventI>();
+			ret.add(new PowerChanged(this.getTimeOfNextEvent()));
+			this.powerChangeToBeSignalled = false;
+			return ret;
+		} else {
+			return null;
+		}
 	}
 
 	/**
@@ -629,6 +642,9 @@ implements	SIL_CoffeeMachineOperationI
 			// consumption.
 			this.consumptionHasChanged = false;
 			ret = Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.powerChangeToBeSignalled) {
+			// signal the new intensity to the electric meter immediately.
+			ret = Duration.zero(this.getSimulatedTimeUnit());
 		} else {
 			// As long as the state does not change, no internal transition
 			// is made (delay = infinity).
@@ -680,6 +696,10 @@ implements	SIL_CoffeeMachineOperationI
 		}
 
 		// Update current intensity (I = P/V, assuming 220V)
+		if (PowerChanged.isSignificant(this.currentIntensity.getValue(),
+									   currentPower / 220.0)) {
+			this.powerChangeToBeSignalled = true;
+		}
 		this.currentIntensity.setNewValue(currentPower / 220.0, t);
 
 		if (VERBOSE) {
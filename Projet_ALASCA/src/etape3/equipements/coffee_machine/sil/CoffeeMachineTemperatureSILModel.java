@@ -45,6 +45,11 @@ import etape2.equipments.coffeemachine.mil.events.Heat;
 import etape2.equipments.coffeemachine.mil.events.MakeCoffee;
 import etape2.equipments.coffeemachine.mil.events.SwitchOffCoffeeMachine;
 import etape2.equipments.coffeemachine.mil.events.SwitchOnCoffeeMachine;
+import etape2.utils.ode.DormandPrinceSolver;
+import etape2.utils.ode.IntegrationResult;
+import etape2.utils.ode.ODESolverI;
+import etape2.utils.ode.ODESystemI;
+import etape2.utils.ode.ZeroCrossingI;
 import fr.sorbonne_u.components.cyphy.interfaces.ModelStateAccessI.VariableValue;
 import fr.sorbonne_u.components.cyphy.plugins.devs.AtomicSimulatorPlugin;
 import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
@@ -79,6 +84,16 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * where thermal losses follow Newton's law of cooling.
  * </p>
  *
+ * <p>
+ * As the heating is reduced near the boiling point, the equation is not
+ * linear. When {@code ADAPTIVE_INTEGRATION} is true, it is integrated with
+ * the temperature integral used for the mean temperature by an adaptive
+ * Dormand-Prince solver, and transitions are planned only when the temperature
+ * has changed by {@code TEMPERATURE_QUANTUM} or enters the reduced heating
+ * regime, at most every {@code MAX_PLANNING_HORIZON}; otherwise, the Euler
+ * method is used with a fixed step {@code STEP}.
+ * </p>
+ *
  * <ul>
  * <li>Imported events:
  *   {@code SwitchOnCoffeeMachine},
@@ -149,11 +164,34 @@ implements	SIL_CoffeeMachineOperationI
 	/** evaluation step for the differential equation (in hours).			*/
 	protected static double		STEP = 60.0/3600.0;  // 10 seconds
 
+	/** when true, integrate the temperature with an adaptive solver and
+	 *  plan transitions on temperature changes, otherwise use the Euler
+	 *  method with a fixed step.											*/
+	public static boolean		ADAPTIVE_INTEGRATION = true;
+	/** temperature above which the heating is reduced.					*/
+	protected static double		REDUCTION_START_TEMPERATURE = 95.0;
+	/** boiling temperature, above which there is no heating.				*/
+	protected static double		BOILING_TEMPERATURE = 100.0;
+	/** seconds of heating per simulated hour, the derivative being in
+	 *  degrees C/s; the model heats at 60 seconds per simulated hour.		*/
+	protected static double		DERIVATIVE_TIME_SCALE = 60.0;
+	/** temperature change between two planned transitions.				*/
+	protected static double		TEMPERATURE_QUANTUM = 0.5;
+	/** maximum delay between two planned transitions (in hours).			*/
+	protected static double		MAX_PLANNING_HORIZON = 1.0;
+	/** absolute and relative tolerance of the adaptive solver.			*/
+	protected static double		INTEGRATION_TOLERANCE = 1.0e-6;
+
 	/** current state of the coffee machine (similar to electricity model).*/
 	protected CoffeeMachineState	currentState = CoffeeMachineState.ON;
 
 	/** integration step as a duration, including the time unit.			*/
 	protected final Duration		integrationStep;
+	/** adaptive solver of the temperature equation.						*/
+	protected final ODESolverI		solver;
+	/** delay to the next planned transition (in hours) or NaN when it must
+	 *  be computed again.													*/
+	protected double				plannedDelay;
 
 	/** accumulator to compute the mean temperature for the simulation
 	 *  report.																*/
@@ -309,6 +347,9 @@ implements	SIL_CoffeeMachineOperationI
 	{
 		super(uri, simulatedTimeUnit, simulationEngine);
 		this.integrationStep = new Duration(STEP, simulatedTimeUnit);
+		this.solver = new DormandPrinceSolver(INTEGRATION_TOLERANCE,
+											  INTEGRATION_TOLERANCE);
+		this.plannedDelay = Double.NaN;
 		this.getSimulationEngine().setLogger(new StandardLogger());
 
 		assert	CoffeeMachineTemperatureSILModel.implementationInvariants(this) :
@@ -365,17 +406,19 @@ implements	SIL_CoffeeMachineOperationI
 
 			// Physical limit: reduce heating power as we approach boiling point
 			// to prevent overshoot due to discrete time steps
-			if (currentTemp > 95.0) {
+			if (currentTemp > REDUCTION_START_TEMPERATURE) {
 				// Gradual reduction from 95°C to 100°C
 				// At 95°C: factor = 1.0 (full power)
 				// At 97.5°C: factor = 0.5 (half power)
 				// At 100°C: factor = 0.0 (no heating)
-				double reductionFactor = Math.max(0.0, (100.0 - currentTemp) / 5.0);
+				double reductionFactor = Math.max(0.0,
+						(BOILING_TEMPERATURE - currentTemp) /
+						(BOILING_TEMPERATURE - REDUCTION_START_TEMPERATURE));
 				heatingContribution *= reductionFactor;
 			}
 
 			// Hard limit: no heating above 100°C
-			if (currentTemp >= 100.0) {
+			if (currentTemp >= BOILING_TEMPERATURE) {
 				heatingContribution = 0.0;
 			}
 		}
@@ -390,7 +433,103 @@ implements	SIL_CoffeeMachineOperationI
 	}
 
 	/**
-	 * compute the new temperature after a time deltaT via the Euler method.
+	 * return the system made of the temperature, in degrees C, and its
+	 * integral over the simulated time, in degrees C times hours, as functions
+	 * of the simulated time in hours, given the current state of the coffee
+	 * machine.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null && return.dimension() == 2}
+	 * </pre>
+	 *
+	 * @return	the system of the temperature and its integral.
+	 */
+	protected ODESystemI	temperatureSystem()
+	{
+		return new ODESystemI() {
+			@Override
+			public int	dimension()
+			{
+				return 2;
+			}
+
+			@Override
+			public void	computeDerivatives(double t, double[] y, double[] yDot)
+			{
+				yDot[0] = CoffeeMachineTemperatureSILModel.this.
+							computeDerivatives(y[0]) * DERIVATIVE_TIME_SCALE;
+				yDot[1] = y[0];
+			}
+		};
+	}
+
+	/**
+	 * compute the delay in hours to the next planned transition, when the
+	 * temperature has changed by {@code TEMPERATURE_QUANTUM} or crosses
+	 * {@code REDUCTION_START_TEMPERATURE}, at most
+	 * {@code MAX_PLANNING_HORIZON}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code currentWaterTemperature.isInitialised()}
+	 * post	{@code return >= 0.0 && return <= MAX_PLANNING_HORIZON}
+	 * </pre>
+	 *
+	 * @return	the delay in hours to the next planned transition.
+	 */
+	protected double	planNextTransition()
+	{
+		final double temp = this.currentWaterTemperature.getValue();
+		ZeroCrossingI quantum =
+				(t, y) -> Math.abs(y[0] - temp) - TEMPERATURE_QUANTUM;
+		ZeroCrossingI reduction =
+				(t, y) -> y[0] - REDUCTION_START_TEMPERATURE;
+		IntegrationResult r =
+				this.solver.integrate(this.temperatureSystem(), 0.0,
+									  new double[]{temp, 0.0},
+									  MAX_PLANNING_HORIZON,
+									  quantum, reduction);
+		return r.getTime();
+	}
+
+	/**
+	 * return the integral of the temperature over the next {@code deltaT}
+	 * hours when only the losses to the environment apply, using the exact
+	 * solution of Newton's law of cooling from the current temperature.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code deltaT >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param deltaT	time delta in hours.
+	 * @return			the integral of the temperature in degrees C times hours.
+	 */
+	protected double	coolingTemperatureIntegral(double deltaT)
+	{
+		double oldTemp = this.currentWaterTemperature.getValue();
+		if (this.currentWaterLevel != null &&
+				this.currentWaterLevel.isInitialised() &&
+				this.currentWaterLevel.getValue() <= 0.001) {
+			// without water, computeDerivatives keeps the temperature constant
+			return oldTemp * deltaT;
+		}
+		// time constant of the cooling in hours
+		double tau = INSULATION_CONSTANT/DERIVATIVE_TIME_SCALE;
+		return AMBIENT_TEMPERATURE * deltaT +
+				(oldTemp - AMBIENT_TEMPERATURE) * tau *
+											(1.0 - Math.exp(-deltaT/tau));
+	}
+
+	/**
+	 * compute the new temperature after a time deltaT via the adaptive solver
+	 * or the Euler method.
 	 *
 	 * <p><strong>Contract</strong></p>
 	 *
@@ -407,22 +546,31 @@ implements	SIL_CoffeeMachineOperationI
 		Time t = this.currentWaterTemperature.getTime();
 		double oldTemp = this.currentWaterTemperature.evaluateAt(t);
 		double newTemp;
-		
+
+		if (ADAPTIVE_INTEGRATION) {
+			// integrate the temperature and its integral together, the
+			// latter accumulating exactly for the mean temperature
+			IntegrationResult r =
+				this.solver.integrate(this.temperatureSystem(), 0.0,
+									  new double[]{oldTemp, 0.0}, deltaT);
+			this.temperatureAcc += r.getState(1);
+			return Math.min(r.getState(0), BOILING_TEMPERATURE);
+		}
 
 		if (deltaT > 0.0001) { // TEMPERATURE_UPDATE_TOLERANCE
 			// T(t+dt) = T(t) + T'(t) * dt
 			// deltaT is in hours, derivative is in °C/s
 			// Multiply by 3600 to convert hours to seconds (same as etape2)
 			double derivative = this.currentWaterTemperature.getFirstDerivative();
-			newTemp = oldTemp + derivative * deltaT * 60;
+			newTemp = oldTemp + derivative * deltaT * DERIVATIVE_TIME_SCALE;
 		} else {
 			newTemp = oldTemp;
 		}
 
 		// Physical limit: water cannot exceed boiling point at atmospheric pressure
 		// Hard cap at 100°C (boiling point of water)
-		if (newTemp > 100.0) {
-			newTemp = 100.0;
+		if (newTemp > BOILING_TEMPERATURE) {
+			newTemp = BOILING_TEMPERATURE;
 		}
 
 		// accumulate the temperature*time to compute the mean temperature
@@ -546,6 +694,7 @@ implements	SIL_CoffeeMachineOperationI
 		this.start = initialTime;
 		this.temperatureAcc = 0.0;
 		this.meanTemperature = 0.0;
+		this.plannedDelay = Double.NaN;
 
 		if (VERBOSE) {
 			this.logMessage("simulation begins. Water Temp: " + AMBIENT_TEMPERATURE);
@@ -645,9 +794,17 @@ implements	SIL_CoffeeMachineOperationI
 		if (this.currentState == CoffeeMachineState.OFF) {
 			// When the machine is OFF, no simulation is needed
 			return Duration.INFINITY;
-		} else {
+		} else if (!ADAPTIVE_INTEGRATION ||
+								!this.currentWaterTemperature.isInitialised()) {
 			// When the machine is ON or HEATING, perform a continuous simulation
 			return this.integrationStep;
+		} else {
+			// the plan is kept until the next transition, as the time advance
+			// may be asked several times in the same state
+			if (Double.isNaN(this.plannedDelay)) {
+				this.plannedDelay = this.planNextTransition();
+			}
+			return new Duration(this.plannedDelay, this.getSimulatedTimeUnit());
 		}
 	}
 
@@ -667,6 +824,7 @@ implements	SIL_CoffeeMachineOperationI
 		// set the new temperature value and derivative
 		Time t = this.getCurrentStateTime();
 		this.currentWaterTemperature.setNewValue(newTemp, newDerivative, t);
+		this.plannedDelay = Double.NaN;
 
 		if (VERBOSE) {
 			StringBuffer sb = new StringBuffer();
@@ -730,14 +888,18 @@ implements	SIL_CoffeeMachineOperationI
 		// Next, compute the new derivative based on the new state
 		double newDerivative = this.computeDerivatives(newTemp);
 
-		// Finally, set the new temperature value and derivative
-		if (elapsedTime.getSimulatedDuration() > 0.0001) { // TEMPERATURE_UPDATE_TOLERANCE
+		// Finally, set the new temperature value and derivative; the
+		// adaptive integration has already accumulated the elapsed time, so
+		// the time of the value must always follow the event
+		if (ADAPTIVE_INTEGRATION ||
+				elapsedTime.getSimulatedDuration() > 0.0001) { // TEMPERATURE_UPDATE_TOLERANCE
 			this.currentWaterTemperature.setNewValue(
 					newTemp,
 					newDerivative,
 					new Time(this.getCurrentStateTime().getSimulatedTime(),
 							 this.getSimulatedTimeUnit()));
 		}
+		this.plannedDelay = Double.NaN;
 
 		assert	CoffeeMachineTemperatureSILModel.implementationInvariants(this) :
 				new NeoSim4JavaException(
@@ -753,6 +915,20 @@ implements	SIL_CoffeeMachineOperationI
 	@Override
 	public void			endSimulation(Time endTime)
 	{
+		if (ADAPTIVE_INTEGRATION && this.currentWaterTemperature.isInitialised()) {
+			// the temperature integral is accumulated up to the last
+			// transition, add the remaining time until the end
+			double tail =
+					endTime.subtract(this.currentWaterTemperature.getTime()).
+														getSimulatedDuration();
+			if (this.currentState == CoffeeMachineState.OFF) {
+				// the last transition is the switch off, after which there
+				// is no heating, so only the cooling law applies
+				this.temperatureAcc += this.coolingTemperatureIntegral(tail);
+			} else {
+				this.computeNewTemperature(tail);
+			}
+		}
 		this.meanTemperature =
 				this.temperatureAcc/
 					endTime.subtract(this.start).getSimulatedDuration();
@@ -49,6 +49,7 @@ import etape2.equipments.fan.mil.events.SetLowModeFan;
 import etape2.equipments.fan.mil.events.SetMediumModeFan;
 import etape2.equipments.fan.mil.events.SwitchOffFan;
 import etape2.equipments.fan.mil.events.SwitchOnFan;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.utils.Electricity;
 import etape3.equipements.fan.FanCyPhy;
 import fr.sorbonne_u.components.cyphy.plugins.devs.AtomicSimulatorPlugin;
@@ -155,7 +156,7 @@ import fr.sorbonne_u.exceptions.AssertionChecking;
  */
 // -----------------------------------------------------------------------------
 @ModelExternalEvents(imported = { SwitchOnFan.class, SwitchOffFan.class, SetLowModeFan.class, SetMediumModeFan.class,
-		SetHighModeFan.class })
+		SetHighModeFan.class }, exported = { PowerChanged.class })
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 // -----------------------------------------------------------------------------
 public class FanElectricitySILModel extends AtomicHIOA implements FanOperationI {
@@ -186,6 +187,11 @@ public class FanElectricitySILModel extends AtomicHIOA implements FanOperationI
 	 * <code>currentIntensity</code>.
 	 */
 	protected boolean consumptionHasChanged = false;
+	/**
+	 * true when the intensity has changed and the change must be signalled to
+	 * the electric meter at the next output.
+	 */
+	protected boolean powerChangeToBeSignalled = false;
 
 	/**
 	 * power consumption in the LOW mode in the unit defined by the fan.
@@ -513,6 +519,7 @@ public class FanElectricitySILModel extends AtomicHIOA implements FanOperationI
 		this.currentState = FanState.OFF;
 		this.currentMode = FanMode.HIGH;
 		this.consumptionHasChanged = false;
+		this.powerChangeToBeSignalled = false;
 		this.totalConsumption = 0.0;
 
 		if (VERBOSE) {
@@ -570,8 +577,15 @@ public class FanElectricitySILModel extends AtomicHIOA implements FanOperationI
 	 */
 	@Override
 	public ArrayList<EventI> output() {
-		// the model does not export events.
-		return null;
+		// the model only signals the changes of its intensity.
+		if (this.powerChangeToBeSignalled) {
+			ArrayList<EventI> ret = new ArrayList<EventI>();
+			ret.add(new PowerChanged(this.getTimeOfNextEvent()));
+			this.powerChangeToBeSignalled = false;
+			return ret;
+		} else {
+			return null;
+		}
 	}
 
 	/**
@@ -589,6 +603,9 @@ public class FanElectricitySILModel extends AtomicHIOA implements FanOperationI
 			// to prepare for the next internal transition.
 			this.toggleConsumptionHasChanged();
 			ret = new Duration(0.0, this.getSimulatedTimeUnit());
+		} else if (this.powerChangeToBeSignalled) {
+			// signal the new intensity to the electric meter immediately.
+			ret = new Duration(0.0, this.getSimulatedTimeUnit());
 		} else {
 			// after an internal transition, wait until another external
 			// events comes in, hence no internal transition is planned
@@ -612,6 +629,7 @@ public class FanElectricitySILModel extends AtomicHIOA implements FanOperationI
 
 		// set the current electricity consumption from the current state
 		Time t = this.getCurrentStateTime();
+		double oldIntensity = this.currentIntensity.getValue();
 		if (this.currentState == FanState.ON) {
 			switch (this.currentMode) {
 			case LOW:
@@ -626,6 +644,10 @@ public class FanElectricitySILModel extends AtomicHIOA implements FanOperationI
 		} else {
 			this.currentIntensity.setNewValue(0.0, t);
 		}
+		if (PowerChanged.isSignificant(oldIntensity,
+									   this.currentIntensity.getValue())) {
+			this.powerChangeToBeSignalled = true;
+		}
 
 		// Tracing
 		if (VERBOSE) {
@@ -4,9 +4,7 @@ import java.util.HashMap;
 
 import etape1.bases.AdjustableCI;
 import etape1.bases.RegistrationCI;
-import etape1.bases.generator.ConnectorGenerator;
-import etape1.bases.parser.ConnectorAdapterInfo;
-import etape1.bases.parser.ConnectorAdapterParserXML;
+import etape1.bases.generator.ConnectorCache;
 import etape1.equipements.coffee_machine.CoffeeMachine;
 import etape1.equipements.hem.ports.AdjustableOutboundPort;
 import etape1.equipements.registration.ports.RegistrationI;
@@ -942,11 +940,8 @@ public class HEMCyPhy extends AbstractComponent implements RegistrationI {
 		AdjustableOutboundPort equipmentPort = new AdjustableOutboundPort(this);
 		equipmentPort.publishPort();
 
-		// Parse the XML descriptor and generate the connector
-		ConnectorAdapterInfo infos = ConnectorAdapterParserXML.parse(xmlControlAdapter);
-		// Sanitize uid for use as Java class name (dashes are invalid)
-		String safeClassName = uid.replaceAll("[^a-zA-Z0-9_]", "_");
-		Class<?> connectorGenerated = ConnectorGenerator.generate(infos, safeClassName);
+		// Get the connector shared by all equipment using the same descriptor
+		Class<?> connectorGenerated = ConnectorCache.getConnector(xmlControlAdapter);
 
 		System.out.println("[HEM] Connector generated for " + uid + ": " + connectorGenerated.getCanonicalName());
 
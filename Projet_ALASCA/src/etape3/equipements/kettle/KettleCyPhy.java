@@ -35,6 +35,8 @@ import etape3.equipements.kettle.sensor_data.KettleTemperatureSensorData;
 import etape3.equipements.kettle.sil.KettleStateSILModel;
 import etape3.equipements.kettle.sil.KettleTemperatureSILModel;
 import etape3.equipements.kettle.sil.Local_SIL_SimulationArchitectures;
+import etape4.coordination.ConsumptionNotificationCI;
+import etape4.coordination.connections.ConsumptionNotificationOutboundPort;
 import fr.sorbonne_u.alasca.physical_data.Measure;
 import fr.sorbonne_u.alasca.physical_data.MeasurementUnit;
 import fr.sorbonne_u.alasca.physical_data.TimedMeasure;
@@ -73,7 +75,7 @@ import fr.sorbonne_u.utils.aclocks.ClocksServerCI;
 @OfferedInterfaces(offered = { KettleUserCI.class,
 		KettleExternalControlJava4CI.class, KettleSensorDataCI.KettleSensorOfferedPullCI.class,
 		KettleActuatorCI.class })
-@RequiredInterfaces(required = { RegistrationCI.class })
+@RequiredInterfaces(required = { RegistrationCI.class, ConsumptionNotificationCI.class })
 public class KettleCyPhy extends AbstractCyPhyComponent
 		implements KettleUserI, KettleExternalControlI {
 
@@ -133,6 +135,9 @@ public class KettleCyPhy extends AbstractCyPhyComponent
 
 	protected RegistrationOutboundPort rop;
 
+	/** port pushing consumption changes to the HEM, when it offers them. */
+	protected ConsumptionNotificationOutboundPort cnop;
+
 	protected String uid;
 
 	protected boolean isIntegrationTestMode;
@@ -263,6 +268,8 @@ public class KettleCyPhy extends AbstractCyPhyComponent
 			System.out.println("Kettle publication port Registration");
 			this.rop = new RegistrationOutboundPort(this);
 			this.rop.publishPort();
+			this.cnop = new ConsumptionNotificationOutboundPort(this);
+			this.cnop.publishPort();
 			System.out.println("Kettle port Registration published");
 		}
 
@@ -397,6 +404,10 @@ public class KettleCyPhy extends AbstractCyPhyComponent
 					this.doPortDisconnection(this.rop.getPortURI());
 				}
 				this.rop.unpublishPort();
+				if (this.cnop.connected()) {
+					this.doPortDisconnection(this.cnop.getPortURI());
+				}
+				this.cnop.unpublishPort();
 			}
 		} catch (Throwable e) {
 			throw new ComponentShutdownException(e);
@@ -535,6 +546,7 @@ public class KettleCyPhy extends AbstractCyPhyComponent
 			System.out.println("DEBUG Kettle.turnOn(): this.uid = " + this.uid);
 			System.out.println("DEBUG Kettle.turnOn(): KETTLE_CONNECTOR_NAME = " + KETTLE_CONNECTOR_NAME);
 			this.rop.register(uid, kecjip.getPortURI(), XML_KETTLE_ADAPTER_DESCRIPTOR);
+			this.cnop.connectToHEM();
 			this.traceMessage("Kettle registered to HEM !");
 		}
 
@@ -573,6 +585,7 @@ public class KettleCyPhy extends AbstractCyPhyComponent
 		this.currentTemperature = new TimedMeasure<>(KettleImplementationI.MIN_TARGET_TEMPERATURE, TEMPERATURE_UNIT);
 
 		if (isIntegrationTestMode) {
+			this.cnop.disconnectFromHEM();
 			this.rop.unregister(uid);
 			this.doPortDisconnection(this.rop.getPortURI());
 		}
@@ -753,12 +766,16 @@ public class KettleCyPhy extends AbstractCyPhyComponent
 			this.traceMessage("Kettle sets power level to " + powerLevel + ".\n");
 		}
 
+		double oldWatts = this.currentPowerLevel == null ? 0.0 : this.currentPowerLevel.getData();
 		if (powerLevel.getData() <= getMaxPowerLevel().getData()) {
 			this.currentPowerLevel = new TimedMeasure<>(powerLevel.getData(), powerLevel.getMeasurementUnit());
 		} else {
 			this.currentPowerLevel = new TimedMeasure<>(HIGH_POWER_IN_WATTS.getData(),
 					HIGH_POWER_IN_WATTS.getMeasurementUnit());
 		}
+		if (this.cnop != null) {
+			this.cnop.pushConsumptionChange(this.uid, oldWatts, this.currentPowerLevel.getData());
+		}
 	}
 
 	// -------------------------------------------------------------------------
@@ -151,7 +151,8 @@ implements	SIL_KettleOperationI
 
 	@Override
 	public ArrayList<EventI> output() {
-		return null;
+		// the inherited output signals the intensity changes to the meter
+		return super.output();
 	}
 
 	@Override
@@ -161,6 +162,8 @@ implements	SIL_KettleOperationI
 		if (this.consumptionHasChanged) {
 			this.consumptionHasChanged = false;
 			ret = new Duration(0.0, this.getSimulatedTimeUnit());
+		} else if (this.powerChangeToBeSignalled) {
+			ret = new Duration(0.0, this.getSimulatedTimeUnit());
 		} else {
 			ret = Duration.INFINITY;
 		}
@@ -35,6 +35,8 @@ import etape3.equipements.laundry.sensor_data.LaundryStateSensorData;
 import etape3.equipements.laundry.sensor_data.WashProgressSensorData;
 import etape3.equipements.laundry.sil.LaundryStateSILModel;
 import etape3.equipements.laundry.sil.Local_SIL_SimulationArchitectures;
+import etape4.coordination.ConsumptionNotificationCI;
+import etape4.coordination.connections.ConsumptionNotificationOutboundPort;
 import fr.sorbonne_u.alasca.physical_data.Measure;
 import fr.sorbonne_u.alasca.physical_data.MeasurementUnit;
 import fr.sorbonne_u.components.AbstractComponent;
@@ -101,7 +103,7 @@ import fr.sorbonne_u.utils.aclocks.ClocksServer;
 	LaundrySensorDataCI.LaundrySensorOfferedPullCI.class,
 	LaundryActuatorCI.class
 })
-@RequiredInterfaces(required = { RegistrationCI.class })
+@RequiredInterfaces(required = { RegistrationCI.class, ConsumptionNotificationCI.class })
 public class LaundryCyPhy
 extends		AbstractCyPhyComponent
 implements	LaundryUserI,
@@ -150,6 +152,8 @@ implements	LaundryUserI,
 	protected LaundrySensorDataInboundPort sensorInboundPort;
 	protected LaundryActuatorInboundPort actuatorInboundPort;
 	protected RegistrationOutboundPort rop;
+	/** port pushing consumption changes to the HEM, when it offers them. */
+	protected ConsumptionNotificationOutboundPort cnop;
 
 	// State variables
 	protected LaundryState currentState;
@@ -346,6 +350,8 @@ implements	LaundryUserI,
 		if (isIntegrationTestMode) {
 			this.rop = new RegistrationOutboundPort(this);
 			this.rop.publishPort();
+			this.cnop = new ConsumptionNotificationOutboundPort(this);
+			this.cnop.publishPort();
 		}
 
 		if (VERBOSE) {
@@ -460,6 +466,10 @@ implements	LaundryUserI,
 			this.actuatorInboundPort.unpublishPort();
 			if (isIntegrationTestMode) {
 				this.rop.unpublishPort();
+				if (this.cnop.connected()) {
+					this.doPortDisconnection(this.cnop.getPortURI());
+				}
+				this.cnop.unpublishPort();
 			}
 		} catch (Throwable e) {
 			throw new ComponentShutdownException(e);
@@ -566,7 +576,7 @@ implements	LaundryUserI,
 			: new PreconditionException("currentState == LaundryState.OFF");
 
 		this.currentState = LaundryState.ON;
-		this.currentPowerConsumption = MIN_POWER_IN_WATTS;
+		this.setCurrentPowerConsumption(MIN_POWER_IN_WATTS);
 
 		if (this.getExecutionMode().isSILTest()) {
 			((RTAtomicSimulatorPlugin) this.asp).triggerExternalEvent(
@@ -581,6 +591,7 @@ implements	LaundryUserI,
 			this.traceMessage("Laundry registering to HEM.\n");
 			this.rop.register(uid, lecip.getPortURI(),
 							  XML_LAUNDRY_ADAPTER_DESCRIPTOR);
+			this.cnop.connectToHEM();
 			this.traceMessage("Laundry registered to HEM!\n");
 		}
 
@@ -609,10 +620,11 @@ implements	LaundryUserI,
 		}
 
 		this.currentState = LaundryState.OFF;
-		this.currentPowerConsumption = MIN_POWER_IN_WATTS;
+		this.setCurrentPowerConsumption(MIN_POWER_IN_WATTS);
 		this.isSuspended = false;
 
 		if (isIntegrationTestMode) {
+			this.cnop.disconnectFromHEM();
 			this.rop.unregister(uid);
 			this.doPortDisconnection(this.rop.getPortURI());
 		}
@@ -657,7 +669,7 @@ implements	LaundryUserI,
 			: new PreconditionException("isRunning()");
 
 		this.currentState = LaundryState.ON;
-		this.currentPowerConsumption = MIN_POWER_IN_WATTS;
+		this.setCurrentPowerConsumption(MIN_POWER_IN_WATTS);
 
 		if (this.getExecutionMode().isSILTest()) {
 			this.sensorInboundPort.send(
@@ -847,7 +859,7 @@ implements	LaundryUserI,
 			this.traceMessage("Laundry suspends.\n");
 		}
 		this.isSuspended = true;
-		this.currentPowerConsumption = MIN_POWER_IN_WATTS;
+		this.setCurrentPowerConsumption(MIN_POWER_IN_WATTS);
 	}
 
 	@Override
@@ -963,19 +975,33 @@ implements	LaundryUserI,
 	// Internal helper methods
 	// -------------------------------------------------------------------------
 
+	/**
+	 * set the current power consumption and push its change to the HEM.
+	 *
+	 * @param consumption	the new power consumption.
+	 */
+	protected void setCurrentPowerConsumption(Measure<Double> consumption) {
+		double oldWatts = this.currentPowerConsumption == null
+							? 0.0 : this.currentPowerConsumption.getData();
+		this.currentPowerConsumption = consumption;
+		if (this.cnop != null) {
+			this.cnop.pushConsumptionChange(this.uid, oldWatts, consumption.getData());
+		}
+	}
+
 	protected void updatePowerForCurrentMode() {
 		switch (this.currentWashMode) {
 		case WHITE:
-			this.currentPowerConsumption = WHITE_MODE_POWER_IN_WATTS;
+			this.setCurrentPowerConsumption(WHITE_MODE_POWER_IN_WATTS);
 			break;
 		case COLOR:
-			this.currentPowerConsumption = COLOR_MODE_POWER_IN_WATTS;
+			this.setCurrentPowerConsumption(COLOR_MODE_POWER_IN_WATTS);
 			break;
 		case DELICATE:
-			this.currentPowerConsumption = DELICATE_MODE_POWER_IN_WATTS;
+			this.setCurrentPowerConsumption(DELICATE_MODE_POWER_IN_WATTS);
 			break;
 		case INTENSIVE:
-			this.currentPowerConsumption = INTENSIVE_MODE_POWER_IN_WATTS;
+			this.setCurrentPowerConsumption(INTENSIVE_MODE_POWER_IN_WATTS);
 			break;
 		}
 	}
@@ -160,7 +160,8 @@ public class LaundryElectricitySILModel extends LaundryElectricityModel {
 
 	@Override
 	public ArrayList<EventI> output() {
-		return null;
+		// the inherited output signals the intensity changes to the meter
+		return super.output();
 	}
 
 	@Override
@@ -170,6 +171,8 @@ public class LaundryElectricitySILModel extends LaundryElectricityModel {
 		if (this.consumptionHasChanged) {
 			this.consumptionHasChanged = false;
 			ret = new Duration(0.0, this.getSimulatedTimeUnit());
+		} else if (this.powerChangeToBeSignalled) {
+			ret = new Duration(0.0, this.getSimulatedTimeUnit());
 		} else {
 			ret = Duration.INFINITY;
 		}
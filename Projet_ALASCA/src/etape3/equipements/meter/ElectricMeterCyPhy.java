@@ -6,7 +6,6 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import etape1.equipments.meter.ElectricMeterCI;
@@ -171,8 +170,8 @@ import fr.sorbonne_u.utils.aclocks.ClocksServer;
  * <p><strong>Implementation Invariants</strong></p>
  * 
  * <pre>
- * invariant	{@code currentPowerConsumption.get() == null || currentPowerConsumption.get().getMeasure().getData() >= 0.0 && currentPowerConsumption.get().getMeasure().getMeasurementUnit().equals(POWER_UNIT)}
- * invariant	{@code currentPowerProduction.get() == null || currentPowerProduction.get().getMeasure().getData() >= 0.0 && currentPowerProduction.get().getMeasure().getMeasurementUnit().equals(POWER_UNIT)}
+ * invariant	{@code currentPowerConsumption == null || currentPowerConsumption.getValue() >= 0.0}
+ * invariant	{@code currentPowerProduction == null || currentPowerProduction.getValue() >= 0.0}
  * invariant	{@code !getExecutionMode().isSimulationTest() || (localArchitectureURI != null && !localArchitectureURI.isEmpty())}
  * invariant	{@code !getExecutionMode().isSimulationTest() || accFactor > 0.0}
  * </pre>
@@ -228,6 +227,67 @@ public class			ElectricMeterCyPhy
 extends		AbstractCyPhyComponent
 implements	ElectricMeterImplementationI
 {
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>PowerSignal</code> holds the last measure of a power
+	 * signal of the meter as a primitive value in {@code POWER_UNIT} and the
+	 * instant of the measure, so that the simulator updates it without
+	 * allocating; {@code signalView} builds the {@code SignalData} expected by
+	 * {@code ElectricMeterCI} when the value is read.
+	 *
+	 * <p><strong>Invariants</strong></p>
+	 *
+	 * <pre>
+	 * invariant	{@code getValue() >= 0.0}
+	 * </pre>
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+	 */
+	protected static class	PowerSignal
+	{
+		/** last measured power in {@code POWER_UNIT}.						*/
+		protected double	value;
+		/** instant of the last measure, null before the first one.		*/
+		protected Instant	timestamp;
+
+		/**
+		 * set the last measure of the signal.
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 * pre	{@code value >= 0.0}
+		 * pre	{@code timestamp != null}
+		 * post	{@code getValue() == value && getTimestamp().equals(timestamp)}
+		 * </pre>
+		 *
+		 * @param value		measured power in {@code POWER_UNIT}.
+		 * @param timestamp	instant of the measure.
+		 */
+		public synchronized void	set(double value, Instant timestamp)
+		{
+			this.value = value;
+			this.timestamp = timestamp;
+		}
+
+		/** @return	the last measured power in {@code POWER_UNIT}.			*/
+		public synchronized double	getValue()
+		{
+			return this.value;
+		}
+
+		/** @return	the instant of the last measure.						*/
+		public synchronized Instant	getTimestamp()
+		{
+			return this.timestamp;
+		}
+	}
+
 	// -------------------------------------------------------------------------
 	// Constants and variables
 	// -------------------------------------------------------------------------
@@ -250,11 +310,11 @@ implements	ElectricMeterImplementationI
 	protected ElectricMeterInboundPort		emip;
 
 	/** current total electric power consumption measured at the electric
-	 *  meter in the power unit of the meter.								*/
-	protected AtomicReference<SignalData<Double>>	currentPowerConsumption;
+	 *  meter in {@code POWER_UNIT}, updated in place by the simulator.		*/
+	protected PowerSignal	currentPowerConsumption;
 	/** current total electric power production measured at the electric
-	 *  meter in the power unit of the meter.								*/
-	protected AtomicReference<SignalData<Double>>	currentPowerProduction;
+	 *  meter in {@code POWER_UNIT}, updated in place by the simulator.		*/
+	protected PowerSignal	currentPowerProduction;
 
 	// Execution/Simulation
 
@@ -311,27 +371,17 @@ implements	ElectricMeterImplementationI
 
 		boolean ret = true;
 		ret &= AssertionChecking.checkImplementationInvariant(
-				instance.currentPowerConsumption.get() == null ||
-					instance.currentPowerConsumption.get().getMeasure().
-															getData() >= 0.0
-					&& instance.currentPowerConsumption.get().getMeasure().
-										getMeasurementUnit().equals(POWER_UNIT),
+				instance.currentPowerConsumption == null ||
+					instance.currentPowerConsumption.getValue() >= 0.0,
 				ElectricMeterCyPhy.class, instance,
-				"currentPowerConsumption.get() == null || "
-				+ "currentPowerConsumption.get().getMeasure().getData() >= 0.0 "
-				+ "&& currentPowerConsumption.get().getMeasure()."
-				+ "getMeasurementUnit().equals(POWER_UNIT)");
+				"currentPowerConsumption == null || "
+				+ "currentPowerConsumption.getValue() >= 0.0");
 		ret &= AssertionChecking.checkImplementationInvariant(
-				instance.currentPowerProduction.get() == null ||
-					instance.currentPowerProduction.get().getMeasure().
-															getData() >= 0.0
-					&& instance.currentPowerProduction.get().getMeasure().
-										getMeasurementUnit().equals(POWER_UNIT),
+				instance.currentPowerProduction == null ||
+					instance.currentPowerProduction.getValue() >= 0.0,
 				ElectricMeterCyPhy.class, instance,
-				"currentPowerProduction.get() == null || "
-				+ "currentPowerProduction.get().getMeasure().getData() >= 0.0 "
-				+ "&& currentPowerProduction.get().getMeasure()."
-				+ "getMeasurementUnit().equals(POWER_UNIT)");
+				"currentPowerProduction == null || "
+				+ "currentPowerProduction.getValue() >= 0.0");
 		ret &= AssertionChecking.checkImplementationInvariant(
 				!instance.getExecutionMode().isSimulationTest() ||
 					(instance.localArchitectureURI != null &&
@@ -717,8 +767,8 @@ implements	ElectricMeterImplementationI
 				new ElectricMeterInboundPort(electricMeterInboundPortURI, this);
 		this.emip.publishPort();
 
-		this.currentPowerProduction = new AtomicReference<>();
-		this.currentPowerConsumption = new AtomicReference<>();
+		this.currentPowerProduction = new PowerSignal();
+		this.currentPowerConsumption = new PowerSignal();
 
 		if (VERBOSE) {
 			this.tracer.get().setTitle("Electric meter component");
@@ -771,6 +821,42 @@ implements	ElectricMeterImplementationI
 	// Component internal methods
 	// -------------------------------------------------------------------------
 
+	/**
+	 * return the signal data holding the current value of a power signal,
+	 * built on demand so that the simulator updates the signal in place
+	 * without allocating.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code getExecutionMode().isSimulationTest()}
+	 * pre	{@code signal != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param signal	a power signal of this meter.
+	 * @return			the signal data holding the current value of {@code signal}.
+	 */
+	protected SignalData<Double>	signalView(PowerSignal signal)
+	{
+		assert	signal != null : new PreconditionException("signal != null");
+
+		double value;
+		Instant timestamp;
+		synchronized (signal) {
+			value = signal.getValue();
+			timestamp = signal.getTimestamp();
+		}
+		return new SignalData<>(
+						this.getClock4Simulation(),
+						new TimedMeasure<Double>(
+								value,
+								POWER_UNIT,
+								this.getClock4Simulation(),
+								timestamp),
+						timestamp);
+	}
+
 	/**
 	 * set the current power consumption, a method that is meant to be called
 	 * only by the simulator in SIL runs, otherwise a hardware sensor would be
@@ -796,28 +882,15 @@ implements	ElectricMeterImplementationI
 		assert	power >= 0.0 : new PreconditionException("power >= 0.0");
 		assert	t != null : new PreconditionException("t != null");
 
-		Instant currentInstant = this.getClock4Simulation().currentInstant();
-		TimedMeasure<Double> measuredPowerConsumption =
-				new TimedMeasure<Double>(
-						power,
-						POWER_UNIT,
-						this.getClock4Simulation(),
-						this.getClock4Simulation().instantOfSimulatedTime(t));
-		SignalData<Double> powerConsumptionSignal =
-				new SignalData<>(
-						this.getClock4Simulation(),
-						measuredPowerConsumption,
-						currentInstant);
-
-		SignalData<Double> oldSignalData =
-				this.currentPowerConsumption.getAndSet(powerConsumptionSignal);
-		if (oldSignalData != null && VERBOSE) {
-			double old = oldSignalData.getMeasure().getData();
-			if (Math.abs(old - power) > TOLERANCE) {
-				this.traceMessage(
-					"Electric meter sets its current consumption with new value "
-					+ measuredPowerConsumption + " at " + currentInstant + ".\n");
-			}
+		Instant measureInstant =
+				this.getClock4Simulation().instantOfSimulatedTime(t);
+		double old = this.currentPowerConsumption.getValue();
+		this.currentPowerConsumption.set(power, measureInstant);
+
+		if (VERBOSE && Math.abs(old - power) > TOLERANCE) {
+			this.traceMessage(
+				"Electric meter sets its current consumption with new value "
+				+ power + " " + POWER_UNIT + " at " + measureInstant + ".\n");
 		}
 	}
 
@@ -846,28 +919,15 @@ implements	ElectricMeterImplementationI
 		assert	power >= 0.0 : new PreconditionException("power >= 0.0");
 		assert	t != null : new PreconditionException("t != null");
 
-		Instant currentInstant = this.getClock4Simulation().currentInstant();
-		TimedMeasure<Double> measuredPowerProduction =
-				new TimedMeasure<Double>(
-						power,
-						POWER_UNIT,
-						this.getClock4Simulation(),
-						this.getClock4Simulation().instantOfSimulatedTime(t));
-		SignalData<Double> powerProductionSignal =
-				new SignalData<>(
-						this.getClock4Simulation(),
-						measuredPowerProduction,
-						currentInstant);
-
-		SignalData<Double> oldSignalData =
-			this.currentPowerProduction.getAndSet(powerProductionSignal);
-		if (oldSignalData != null && VERBOSE) {
-			double old = oldSignalData.getMeasure().getData();
-			if (Math.abs(old - power) > TOLERANCE) {
-				this.traceMessage(
-					"Electric meter sets its current production with new value "
-					+ measuredPowerProduction + " at " + currentInstant + ".\n");
-			}
+		Instant measureInstant =
+				this.getClock4Simulation().instantOfSimulatedTime(t);
+		double old = this.currentPowerProduction.getValue();
+		this.currentPowerProduction.set(power, measureInstant);
+
+		if (VERBOSE && Math.abs(old - power) > TOLERANCE) {
+			this.traceMessage(
+				"Electric meter sets its current production with new value "
+				+ power + " " + POWER_UNIT + " at " + measureInstant + ".\n");
 		}
 	}
 
@@ -1049,46 +1109,19 @@ implements	ElectricMeterImplementationI
 
 		switch (this.getExecutionMode()) {
 		case STANDARD:
-			TimedMeasure<Double> measuredPowerConsumption =
-					new TimedMeasure<Double>(0.0, POWER_UNIT);
-			SignalData<Double> powerConsumptionSignal =
-					new SignalData<>(measuredPowerConsumption);
-			this.currentPowerConsumption.set(powerConsumptionSignal);
-			TimedMeasure<Double> measuredPowerProduction =
-					new TimedMeasure<Double>(0.0, POWER_UNIT);
-			SignalData<Double> powerProductionSignal =
-					new SignalData<>(measuredPowerProduction);
-			this.currentPowerProduction.set(powerProductionSignal);
+			Instant now = Instant.ofEpochMilli(System.currentTimeMillis());
+			this.currentPowerConsumption.set(0.0, now);
+			this.currentPowerProduction.set(0.0, now);
 			break;
 		case UNIT_TEST:
 		case INTEGRATION_TEST:
 			this.initialiseClock(
 					ClocksServer.STANDARD_INBOUNDPORT_URI,
 					this.clockURI);
-			measuredPowerConsumption =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock(),
-							this.getClock().getStartInstant());
-			powerConsumptionSignal =
-					new SignalData<>(
-							this.getClock(),
-							measuredPowerConsumption,
-							this.getClock().getStartInstant());
-			this.currentPowerConsumption.set(powerConsumptionSignal);
-			measuredPowerProduction =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock(),
-							this.getClock().getStartInstant());
-			powerProductionSignal =
-					new SignalData<>(
-							this.getClock(),
-							measuredPowerProduction,
-							this.getClock().getStartInstant());
-			this.currentPowerProduction.set(powerProductionSignal);
+			this.currentPowerConsumption.set(
+					0.0, this.getClock().getStartInstant());
+			this.currentPowerProduction.set(
+					0.0, this.getClock().getStartInstant());
 			break;
 		case UNIT_TEST_WITH_SIL_SIMULATION:
 			this.initialiseClock4Simulation(
@@ -1107,30 +1140,10 @@ implements	ElectricMeterImplementationI
 					this.getClock4Simulation().getSimulatedDuration().
 														getSimulatedDuration());
 
-			measuredPowerConsumption =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock4Simulation(),
-							this.getClock4Simulation().getStartInstant());
-			powerConsumptionSignal =
-					new SignalData<>(
-							this.getClock4Simulation(),
-							measuredPowerConsumption,
-							this.getClock4Simulation().getStartInstant());
-			this.currentPowerConsumption.set(powerConsumptionSignal);
-			measuredPowerProduction =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock4Simulation(),
-							this.getClock().getStartInstant());
-			powerProductionSignal =
-					new SignalData<>(
-							this.getClock4Simulation(),
-							measuredPowerProduction,
-							this.getClock4Simulation().getStartInstant());
-			this.currentPowerProduction.set(powerProductionSignal);
+			this.currentPowerConsumption.set(
+					0.0, this.getClock4Simulation().getStartInstant());
+			this.currentPowerProduction.set(
+					0.0, this.getClock4Simulation().getStartInstant());
 			// wait until the simulation ends
 			this.getClock4Simulation().waitUntilEnd();
 			// give some time for the end of simulation catering tasks
@@ -1142,30 +1155,10 @@ implements	ElectricMeterImplementationI
 			this.initialiseClock4Simulation(
 					ClocksServerWithSimulation.STANDARD_INBOUNDPORT_URI,
 					this.clockURI);
-			measuredPowerConsumption =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock4Simulation(),
-							this.getClock4Simulation().getStartInstant());
-			powerConsumptionSignal =
-					new SignalData<>(
-							this.getClock4Simulation(),
-							measuredPowerConsumption,
-							this.getClock4Simulation().getStartInstant());
-			this.currentPowerConsumption.set(powerConsumptionSignal);
-			measuredPowerProduction =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock4Simulation(),
-							this.getClock().getStartInstant());
-			powerProductionSignal =
-					new SignalData<>(
-							this.getClock4Simulation(),
-							measuredPowerProduction,
-							this.getClock4Simulation().getStartInstant());
-			this.currentPowerProduction.set(powerProductionSignal);
+			this.currentPowerConsumption.set(
+					0.0, this.getClock4Simulation().getStartInstant());
+			this.currentPowerProduction.set(
+					0.0, this.getClock4Simulation().getStartInstant());
 			break;
 		case UNIT_TEST_WITH_HIL_SIMULATION:
 		case INTEGRATION_TEST_WITH_HIL_SIMULATION:
@@ -1221,7 +1214,7 @@ implements	ElectricMeterImplementationI
 
 		SignalData<Double> ret = null;
 		if (this.getExecutionMode().isSimulationTest()) {
-			ret = this.currentPowerConsumption.get();
+			ret = this.signalView(this.currentPowerConsumption);
 		} else {
 			TimedMeasure<Double> measuredPowerProduction = null;
 			if (this.getExecutionMode().isTestWithoutSimulation()) {
@@ -1266,7 +1259,7 @@ implements	ElectricMeterImplementationI
 
 		SignalData<Double> ret = null;
 		if (this.getExecutionMode().isSimulationTest()) {
-			ret = this.currentPowerProduction.get();
+			ret = this.signalView(this.currentPowerProduction);
 		} else {
 			TimedMeasure<Double> measuredPowerProduction = null;
 			if (this.getExecutionMode().isTestWithoutSimulation()) {
@@ -45,6 +45,7 @@ import etape1.equipments.meter.ElectricMeterImplementationI;
 import etape2.GlobalReportI;
 import etape2.GlobalSimulationConfigurationI;
 import etape2.equipments.generator.mil.events.GeneratorRequiredPowerChanged;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.utils.Electricity;
 import etape3.equipements.meter.ElectricMeterCyPhy;
 import etape4.equipments.batteries.sil.events.SIL_BatteriesRequiredPowerChanged;
@@ -82,10 +83,17 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  * This model is an HIOA model that imports variables, hence shows how this kind
  * of models are programmed.
  * </p>
+ * <p>
+ * As its MIL counterpart, when {@code EVENT_DRIVEN} is true, the model wakes
+ * up only on the {@code PowerChanged} events emitted by the models producing
+ * the imported variables, otherwise it also reevaluates its variables every
+ * {@code STEP}.
+ * </p>
  * 
  * <ul>
- * <li>Imported events: none</li>
- * <li>Exported events: none</li>
+ * <li>Imported events: {@code PowerChanged}</li>
+ * <li>Exported events: {@code SIL_BatteriesRequiredPowerChanged},
+ *   {@code GeneratorRequiredPowerChanged}</li>
  * <li>Imported variables:
  *   <ul>
  *   <i>name = {@code currentHeaterIntensity}, type = {@code Double}</li>
@@ -129,6 +137,7 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  */
 // -----------------------------------------------------------------------------
 @ModelExternalEvents(
+	imported = {PowerChanged.class},
 	exported = {SIL_BatteriesRequiredPowerChanged.class,
 				GeneratorRequiredPowerChanged.class
 			   }
@@ -176,6 +185,10 @@ extends		AtomicHIOA
 	/** when comparing floating point values, use this tolerance to get
 	 *  the result of the comparison.										*/
 	protected static final double	TOLERANCE  = 1.0e-08;
+	/** when true, the model reevaluates its variables only when signalled
+	 *  a change by a {@code PowerChanged} event, otherwise it also does it
+	 *  every {@code STEP}.												*/
+	public static boolean		EVENT_DRIVEN = true;
 
 	/** evaluation step for the equation (assumed in hours).				*/
 	protected static final double	STEP = 60.0/3600.0;	// 60 seconds
@@ -188,6 +201,9 @@ extends		AtomicHIOA
 	/** when true, the batteries power model must be notified of a change
 	 *  in the required power at the next output.						 	*/
 	protected boolean			batteriesToBeNotified;
+	/** when true, an imported variable has changed and the variables of
+	 *  the model must be reevaluated at the next internal transition.	*/
+	protected boolean			reevaluationPending;
 
 	/** the component that owns and run this simulation model.				*/
 	protected ElectricMeterCyPhy				ownerComponent;
@@ -560,6 +576,8 @@ extends		AtomicHIOA
 	{
 		this.generatorToBeNotified = false;
 		this.batteriesToBeNotified = false;
+		// evaluate the initial required powers at the start time
+		this.reevaluationPending = true;
 		
 		super.initialiseState(initialTime);
 	}
@@ -661,8 +679,12 @@ extends		AtomicHIOA
 	@Override
 	public Duration		timeAdvance()
 	{
-		if (this.generatorToBeNotified || this.batteriesToBeNotified) {
+		if (this.generatorToBeNotified || this.batteriesToBeNotified
+												|| this.reevaluationPending) {
 			return Duration.zero(this.getSimulatedTimeUnit());
+		} else if (EVENT_DRIVEN) {
+			// the imported variables do not change until the next event
+			return Duration.INFINITY;
 		} else {
 			// trigger a new internal transition at each evaluation step duration
 			return this.evaluationStep;
@@ -677,6 +699,8 @@ extends		AtomicHIOA
 	{
 		super.userDefinedInternalTransition(elapsedTime);
 
+		this.reevaluationPending = false;
+
 		// update the current consumption since the last consumption update.
 		// must be done before recomputing the instantaneous intensity.
 		this.updateCumulativeConsumption(elapsedTime);
@@ -816,6 +840,41 @@ extends		AtomicHIOA
 						"ElectricMeterElectricityModel.invariants(this)");
 	}
 
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedExternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration)
+	 */
+	@Override
+	public void			userDefinedExternalTransition(Duration elapsedTime)
+	{
+		super.userDefinedExternalTransition(elapsedTime);
+
+		// several producers may signal a change at the same time
+		ArrayList<EventI> currentEvents = this.getStoredEventAndReset();
+		assert	currentEvents != null && !currentEvents.isEmpty() :
+				new NeoSim4JavaException(
+						"currentEvents != null && !currentEvents.isEmpty()");
+
+		// the total intensity has been constant since the last transition,
+		// so the consumption up to now is exact; the new values of the
+		// imported variables are taken into account by an immediate
+		// internal transition.
+		this.updateCumulativeConsumption(elapsedTime);
+		this.reevaluationPending = true;
+
+		if (DEBUG) {
+			this.logMessage("userDefinedExternalTransition on " + currentEvents
+							+ " at " + this.getCurrentStateTime());
+		}
+
+		assert	ElectricMeterElectricitySILModel.implementationInvariants(this) :
+				new NeoSim4JavaException(
+						"ElectricMeterElectricityModel."
+						+ "implementationInvariants(this)");
+		assert	ElectricMeterElectricitySILModel.invariants(this) :
+				new NeoSim4JavaException(
+						"ElectricMeterElectricityModel.invariants(this)");
+	}
+
 	/**
 	 * @see fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA#endSimulation(fr.sorbonne_u.devs_simulation.models.time.Time)
 	 */
@@ -81,6 +81,7 @@ import etape2.equipments.laundry.mil.events.SetWhiteModeLaundry;
 import etape2.equipments.laundry.mil.events.StartWash;
 import etape2.equipments.laundry.mil.events.SwitchOffLaundry;
 import etape2.equipments.laundry.mil.events.SwitchOnLaundry;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.equipments.solar_panel.mil.DeterministicSunIntensityModel;
 import etape2.equipments.solar_panel.mil.SolarPanelSimulationConfigurationI;
 import etape2.equipments.solar_panel.mil.events.SunriseEvent;
@@ -722,6 +723,49 @@ public abstract class	LocalSimulationArchitectures
 				new EventSink(GeneratorPowerSILModel.URI,
 							  GeneratorRequiredPowerChanged.class)
 			});
+		// changes of the power levels signalled to the electric meter
+		connections.put(
+			new EventSource(CoffeeMachineElectricitySILModel.URI, PowerChanged.class),
+			new EventSink[] {
+				new EventSink(ElectricMeterElectricitySILModel.URI,
+							  PowerChanged.class)
+			});
+		connections.put(
+			new EventSource(FanElectricitySILModel.URI, PowerChanged.class),
+			new EventSink[] {
+				new EventSink(ElectricMeterElectricitySILModel.URI,
+							  PowerChanged.class)
+			});
+		connections.put(
+			new EventSource(LaundryElectricitySILModel.URI, PowerChanged.class),
+			new EventSink[] {
+				new EventSink(ElectricMeterElectricitySILModel.URI,
+							  PowerChanged.class)
+			});
+		connections.put(
+			new EventSource(KettleElectricitySILModel.URI, PowerChanged.class),
+			new EventSink[] {
+				new EventSink(ElectricMeterElectricitySILModel.URI,
+							  PowerChanged.class)
+			});
+		connections.put(
+			new EventSource(BatteriesPowerSILModel.URI, PowerChanged.class),
+			new EventSink[] {
+				new EventSink(ElectricMeterElectricitySILModel.URI,
+							  PowerChanged.class)
+			});
+		connections.put(
+			new EventSource(SolarPanelPowerSILModel.URI, PowerChanged.class),
+			new EventSink[] {
+				new EventSink(ElectricMeterElectricitySILModel.URI,
+							  PowerChanged.class)
+			});
+		connections.put(
+			new EventSource(GeneratorPowerSILModel.URI, PowerChanged.class),
+			new EventSink[] {
+				new EventSink(ElectricMeterElectricitySILModel.URI,
+							  PowerChanged.class)
+			});
 		
 				coupledModelDescriptors.put(
 				rootModelURI,
@@ -731,7 +775,7 @@ public abstract class	LocalSimulationArchitectures
 						submodels,
 						imported,
 						null,
-						null,
+						connections,
 						null,
 						null,
 						null,
@@ -0,0 +1,67 @@
+package etape4.coordination;
+
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+
+/**
+ * The component interface <code>ConsumptionNotificationCI</code> defines the
+ * push channel through which appliances inform the HEM of changes in their
+ * electric consumption.
+ *
+ * <p>
+ * Instead of having its consumption polled by the HEM control loop at every
+ * period, an appliance that requires this interface pushes the old and new
+ * consumption each time its mode or power level changes. The HEM then updates
+ * its {@code EnergyStateModel} incrementally, so the energy balance is up to
+ * date as soon as the change happens. The mode numbering belongs to the
+ * control adapter of the appliance, hence the HEM finds the mode from the
+ * pushed consumption in the mode table of the adapter, and queries it through
+ * its {@code AdjustableCI} port only when no single mode matches.
+ * </p>
+ *
+ * <p>
+ * This component interface is offered by the home energy manager and is meant
+ * to be required by appliances registered to it.
+ * </p>
+ *
+ * @author Jacques Malenfant, Sorbonne Universite
+ */
+public interface ConsumptionNotificationCI
+extends		OfferedCI,
+			RequiredCI
+{
+	/** URI of the inbound port through which the HEM receives the pushed
+	 *  consumption changes.												*/
+	public static final String	INBOUND_PORT_URI =
+								"HEM-CONSUMPTION-NOTIFICATION-INBOUND-PORT-URI";
+
+	/**
+	 * notify the HEM that the consumption of the equipment {@code uid} changed.
+	 *
+	 * <p>
+	 * The pushes are sent asynchronously, hence they may arrive out of order;
+	 * the HEM ignores a push whose sequence number is not greater than the one
+	 * of the last push it applied for the same equipment.
+	 * </p>
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code uid != null && !uid.isEmpty()}
+	 * pre	{@code oldConsumptionWatts >= 0.0 && newConsumptionWatts >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param uid					unique identifier used by the equipment to register.
+	 * @param sequence				number of the push, increasing with each push of the equipment.
+	 * @param oldConsumptionWatts	consumption before the change, in Watts.
+	 * @param newConsumptionWatts	consumption after the change, in Watts.
+	 * @throws Exception			<i>to do</i>.
+	 */
+	public void notifyConsumptionChange(
+		String uid,
+		long sequence,
+		double oldConsumptionWatts,
+		double newConsumptionWatts
+		) throws Exception;
+}
@@ -137,14 +137,17 @@ public interface EnergyCoordinator {
 	 *
 	 * <p>
 	 * When equipment changes mode or state, it notifies the coordinator
-	 * so that the energy state model can be updated.
+	 * so that the energy state model can be updated. Notifications older than
+	 * the last applied one of the same equipment are ignored.
 	 * </p>
 	 *
 	 * @param equipmentId equipment identifier
+	 * @param sequence number of the notification, increasing for each equipment
 	 * @param oldConsumptionWatts previous consumption in Watts
 	 * @param newConsumptionWatts new consumption in Watts
 	 */
-	void notifyConsumptionChange(String equipmentId, double oldConsumptionWatts, double newConsumptionWatts);
+	void notifyConsumptionChange(String equipmentId, long sequence, double oldConsumptionWatts,
+		double newConsumptionWatts);
 
 	/**
 	 * Notify coordinator that an energy source has changed production.
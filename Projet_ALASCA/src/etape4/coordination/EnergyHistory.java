@@ -0,0 +1,549 @@
+package etape4.coordination;
+
+import etape4.coordination.EnergyStateModel.EnergySnapshot;
+
+/**
+ * The class <code>EnergyHistory</code> records the successive energy
+ * snapshots in a fixed-capacity ring buffer and maintains rolling aggregates
+ * over the windows of {@link Window}.
+ *
+ * <p>
+ * Samples are stored as primitive columns (time, consumption, production,
+ * production not coming from the generator, battery level, generator flag)
+ * and recording allocates nothing. For each window, running sums give the
+ * mean, the energy integral and the least-squares trend in O(1), and a
+ * monotonic deque of indices gives the maximum in amortised O(1).
+ * </p>
+ *
+ * <p>
+ * Energy integrals hold the previous value until the next sample, as the
+ * cumulative counters of the control loop do. When more samples than the
+ * capacity fall in a window, the window only covers the last
+ * {@link #capacity()} samples.
+ * </p>
+ *
+ * <p>
+ * Thread-safety: one writer (the control loop) and any number of readers;
+ * all methods are synchronized, which is cheap as the writer records once
+ * per control period.
+ * </p>
+ *
+ * @author Jacques Malenfant, Sorbonne Universite
+ */
+public class EnergyHistory {
+
+	// -------------------------------------------------------------------------
+	// Windows
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Aggregation windows.
+	 */
+	public enum Window {
+		ONE_MINUTE(60_000L),
+		FIFTEEN_MINUTES(15 * 60_000L),
+		ONE_HOUR(60 * 60_000L);
+
+		/** Duration of the window in milliseconds */
+		public final long millis;
+
+		Window(long millis) {
+			this.millis = millis;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and Variables
+	// -------------------------------------------------------------------------
+
+	/** Default capacity, one hour of samples with a 10 s control period and margin */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	/** Aggregation windows, cached as {@code Window.values()} copies the array */
+	private static final Window[] WINDOW_VALUES = Window.values();
+
+	/** Number of aggregation windows */
+	private static final int WINDOWS = WINDOW_VALUES.length;
+
+	/** Capacity of the buffer */
+	private final int capacity;
+
+	// Sample columns
+
+	/** Sample times in milliseconds */
+	private final long[] time;
+	/** Consumption in Watts */
+	private final double[] consumption;
+	/** Production in Watts */
+	private final double[] production;
+	/** Production not coming from the generator (solar) in Watts */
+	private final double[] solar;
+	/** Battery charge level (0.0 to 1.0) */
+	private final double[] battery;
+	/** Generator running flag */
+	private final boolean[] generator;
+	/** Consumption energy since the previous sample in Watt-seconds */
+	private final double[] consumptionWs;
+	/** Production energy since the previous sample in Watt-seconds */
+	private final double[] productionWs;
+
+	/** Index of the next sample to be written */
+	private int head;
+	/** Number of samples in the buffer */
+	private int size;
+	/** Time origin of the trend abscissae in milliseconds */
+	private long origin;
+
+	// Per-window aggregates
+
+	/** Index of the oldest sample in each window */
+	private final int[] tail;
+	/** Number of samples in each window */
+	private final int[] count;
+	private final double[] sumConsumption;
+	private final double[] sumProduction;
+	private final double[] sumSolar;
+	private final double[] sumBattery;
+	private final double[] sumConsumptionWs;
+	private final double[] sumProductionWs;
+	private final int[] generatorOn;
+
+	/** Sums of x, x^2, x.consumption and x.solar, x in seconds since origin */
+	private final double[] sumX;
+	private final double[] sumXX;
+	private final double[] sumXConsumption;
+	private final double[] sumXSolar;
+
+	/** Monotonic deques of sample indices, decreasing values, per window */
+	private final Deque[] maxConsumption;
+	private final Deque[] maxProduction;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create a history with the default capacity.
+	 */
+	public EnergyHistory() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a history keeping at most {@code capacity} samples.
+	 *
+	 * @param capacity maximum number of samples, strictly positive
+	 */
+	public EnergyHistory(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+		}
+		this.capacity = capacity;
+		this.time = new long[capacity];
+		this.consumption = new double[capacity];
+		this.production = new double[capacity];
+		this.solar = new double[capacity];
+		this.battery = new double[capacity];
+		this.generator = new boolean[capacity];
+		this.consumptionWs = new double[capacity];
+		this.productionWs = new double[capacity];
+
+		this.tail = new int[WINDOWS];
+		this.count = new int[WINDOWS];
+		this.sumConsumption = new double[WINDOWS];
+		this.sumProduction = new double[WINDOWS];
+		this.sumSolar = new double[WINDOWS];
+		this.sumBattery = new double[WINDOWS];
+		this.sumConsumptionWs = new double[WINDOWS];
+		this.sumProductionWs = new double[WINDOWS];
+		this.generatorOn = new int[WINDOWS];
+		this.sumX = new double[WINDOWS];
+		this.sumXX = new double[WINDOWS];
+		this.sumXConsumption = new double[WINDOWS];
+		this.sumXSolar = new double[WINDOWS];
+		this.maxConsumption = new Deque[WINDOWS];
+		this.maxProduction = new Deque[WINDOWS];
+		for (int w = 0; w < WINDOWS; w++) {
+			this.maxConsumption[w] = new Deque(capacity);
+			this.maxProduction[w] = new Deque(capacity);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Recording
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Record a snapshot at the given time.
+	 *
+	 * @param timeMillis time of the sample, not before the previous one
+	 * @param snapshot   energy snapshot
+	 */
+	public void record(long timeMillis, EnergySnapshot snapshot) {
+		record(timeMillis,
+			snapshot.totalConsumptionWatts,
+			snapshot.totalProductionWatts,
+			snapshot.solarProductionWatts,
+			snapshot.batteryChargeLevel,
+			snapshot.generatorRunning);
+	}
+
+	/**
+	 * Record a sample at the given time.
+	 *
+	 * @param timeMillis       time of the sample, not before the previous one
+	 * @param consumptionWatts consumption in Watts
+	 * @param productionWatts  production in Watts
+	 * @param solarWatts       production not coming from the generator in Watts
+	 * @param batteryLevel     battery charge level (0.0 to 1.0)
+	 * @param generatorRunning whether the generator is running
+	 */
+	public synchronized void record(
+		long timeMillis,
+		double consumptionWatts,
+		double productionWatts,
+		double solarWatts,
+		double batteryLevel,
+		boolean generatorRunning
+	) {
+		int slot = head;
+
+		// Overwriting the oldest sample: remove it from the windows first
+		if (size == capacity) {
+			for (int w = 0; w < WINDOWS; w++) {
+				if (count[w] > 0 && tail[w] == slot) {
+					remove(w, slot);
+				}
+			}
+			size--;
+		}
+
+		double dt = 0.0;
+		int previous = -1;
+		if (size == 0) {
+			origin = timeMillis;
+		} else {
+			previous = (slot - 1 + capacity) % capacity;
+			dt = Math.max(0L, timeMillis - time[previous]) / 1000.0;
+		}
+
+		time[slot] = timeMillis;
+		consumption[slot] = consumptionWatts;
+		production[slot] = productionWatts;
+		solar[slot] = solarWatts;
+		battery[slot] = batteryLevel;
+		generator[slot] = generatorRunning;
+		consumptionWs[slot] = previous < 0 ? 0.0 : consumption[previous] * dt;
+		productionWs[slot] = previous < 0 ? 0.0 : production[previous] * dt;
+
+		head = (slot + 1) % capacity;
+		size++;
+
+		for (int w = 0; w < WINDOWS; w++) {
+			add(w, slot);
+			long oldest = timeMillis - WINDOW_VALUES[w].millis;
+			while (count[w] > 1 && time[tail[w]] <= oldest) {
+				remove(w, tail[w]);
+			}
+		}
+	}
+
+	/**
+	 * Forget all the samples.
+	 */
+	public synchronized void clear() {
+		head = 0;
+		size = 0;
+		for (int w = 0; w < WINDOWS; w++) {
+			resetWindow(w);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Queries
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return capacity of the buffer
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return number of samples in the buffer
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return number of samples in the window
+	 */
+	public synchronized int count(Window window) {
+		return count[window.ordinal()];
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return mean consumption in Watts over the window, 0 if empty
+	 */
+	public synchronized double meanConsumptionWatts(Window window) {
+		int w = window.ordinal();
+		return count[w] == 0 ? 0.0 : sumConsumption[w] / count[w];
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return mean production in Watts over the window, 0 if empty
+	 */
+	public synchronized double meanProductionWatts(Window window) {
+		int w = window.ordinal();
+		return count[w] == 0 ? 0.0 : sumProduction[w] / count[w];
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return mean balance (production - consumption) in Watts, 0 if empty
+	 */
+	public synchronized double meanBalanceWatts(Window window) {
+		int w = window.ordinal();
+		return count[w] == 0 ? 0.0 : (sumProduction[w] - sumConsumption[w]) / count[w];
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return mean production not coming from the generator in Watts, 0 if empty
+	 */
+	public synchronized double meanSolarWatts(Window window) {
+		int w = window.ordinal();
+		return count[w] == 0 ? 0.0 : sumSolar[w] / count[w];
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return least-squares slope of the consumption in Watts per second over
+	 *         the window, 0 if less than two samples
+	 */
+	public synchronized double consumptionTrendWattsPerSecond(Window window) {
+		int w = window.ordinal();
+		return slope(w, sumConsumption[w], sumXConsumption[w]);
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return least-squares slope of the production not coming from the
+	 *         generator in Watts per second over the window, 0 if less than
+	 *         two samples
+	 */
+	public synchronized double solarTrendWattsPerSecond(Window window) {
+		int w = window.ordinal();
+		return slope(w, sumSolar[w], sumXSolar[w]);
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return mean battery charge level over the window, 0 if empty
+	 */
+	public synchronized double meanBatteryLevel(Window window) {
+		int w = window.ordinal();
+		return count[w] == 0 ? 0.0 : sumBattery[w] / count[w];
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return fraction of the samples with the generator running, 0 if empty
+	 */
+	public synchronized double generatorDutyCycle(Window window) {
+		int w = window.ordinal();
+		return count[w] == 0 ? 0.0 : (double) generatorOn[w] / count[w];
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return peak consumption in Watts over the window, 0 if empty
+	 */
+	public synchronized double maxConsumptionWatts(Window window) {
+		Deque d = maxConsumption[window.ordinal()];
+		return d.size == 0 ? 0.0 : consumption[d.first()];
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return peak production in Watts over the window, 0 if empty
+	 */
+	public synchronized double maxProductionWatts(Window window) {
+		Deque d = maxProduction[window.ordinal()];
+		return d.size == 0 ? 0.0 : production[d.first()];
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return energy consumed over the window in Watt-hours
+	 */
+	public synchronized double consumptionEnergyWh(Window window) {
+		return sumConsumptionWs[window.ordinal()] / 3600.0;
+	}
+
+	/**
+	 * @param window aggregation window
+	 * @return energy produced over the window in Watt-hours
+	 */
+	public synchronized double productionEnergyWh(Window window) {
+		return sumProductionWs[window.ordinal()] / 3600.0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder sb = new StringBuilder("EnergyHistory[samples=").append(size).append("]");
+		for (Window window : WINDOW_VALUES) {
+			int w = window.ordinal();
+			sb.append(String.format(
+				" %s{n=%d, cons=%.0fW(max %.0fW, %.1fWh), prod=%.0fW(max %.0fW, %.1fWh)}",
+				window, count[w],
+				count[w] == 0 ? 0.0 : sumConsumption[w] / count[w],
+				maxConsumption[w].size == 0 ? 0.0 : consumption[maxConsumption[w].first()],
+				sumConsumptionWs[w] / 3600.0,
+				count[w] == 0 ? 0.0 : sumProduction[w] / count[w],
+				maxProduction[w].size == 0 ? 0.0 : production[maxProduction[w].first()],
+				sumProductionWs[w] / 3600.0));
+		}
+		return sb.toString();
+	}
+
+	// -------------------------------------------------------------------------
+	// Private Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Add the newest sample to a window.
+	 */
+	private void add(int w, int i) {
+		if (count[w] == 0) {
+			tail[w] = i;
+		}
+		count[w]++;
+		sumConsumption[w] += consumption[i];
+		sumProduction[w] += production[i];
+		sumSolar[w] += solar[i];
+		sumBattery[w] += battery[i];
+		sumConsumptionWs[w] += consumptionWs[i];
+		sumProductionWs[w] += productionWs[i];
+		if (generator[i]) {
+			generatorOn[w]++;
+		}
+		double x = x(i);
+		sumX[w] += x;
+		sumXX[w] += x * x;
+		sumXConsumption[w] += x * consumption[i];
+		sumXSolar[w] += x * solar[i];
+		maxConsumption[w].pushMax(i, consumption);
+		maxProduction[w].pushMax(i, production);
+	}
+
+	/**
+	 * Remove the oldest sample {@code i} from a window.
+	 */
+	private void remove(int w, int i) {
+		count[w]--;
+		if (count[w] == 0) {
+			// Reset to avoid accumulating rounding errors
+			resetWindow(w);
+			return;
+		}
+		tail[w] = (i + 1) % capacity;
+		sumConsumption[w] -= consumption[i];
+		sumProduction[w] -= production[i];
+		sumSolar[w] -= solar[i];
+		sumBattery[w] -= battery[i];
+		sumConsumptionWs[w] -= consumptionWs[i];
+		sumProductionWs[w] -= productionWs[i];
+		if (generator[i]) {
+			generatorOn[w]--;
+		}
+		double x = x(i);
+		sumX[w] -= x;
+		sumXX[w] -= x * x;
+		sumXConsumption[w] -= x * consumption[i];
+		sumXSolar[w] -= x * solar[i];
+		maxConsumption[w].popIfFirst(i);
+		maxProduction[w].popIfFirst(i);
+	}
+
+	private void resetWindow(int w) {
+		count[w] = 0;
+		sumConsumption[w] = 0.0;
+		sumProduction[w] = 0.0;
+		sumSolar[w] = 0.0;
+		sumBattery[w] = 0.0;
+		sumConsumptionWs[w] = 0.0;
+		sumProductionWs[w] = 0.0;
+		generatorOn[w] = 0;
+		sumX[w] = 0.0;
+		sumXX[w] = 0.0;
+		sumXConsumption[w] = 0.0;
+		sumXSolar[w] = 0.0;
+		maxConsumption[w].size = 0;
+		maxProduction[w].size = 0;
+	}
+
+	/**
+	 * Abscissa of sample {@code i} for the trends, in seconds since origin.
+	 */
+	private double x(int i) {
+		return (time[i] - origin) / 1000.0;
+	}
+
+	/**
+	 * Least-squares slope of a column over a window from its running sums.
+	 */
+	private double slope(int w, double sumY, double sumXY) {
+		int n = count[w];
+		if (n < 2) {
+			return 0.0;
+		}
+		double denominator = n * sumXX[w] - sumX[w] * sumX[w];
+		if (denominator <= 1e-9) {
+			return 0.0;
+		}
+		return (n * sumXY - sumX[w] * sumY) / denominator;
+	}
+
+	/**
+	 * Fixed-capacity deque of sample indices whose values are decreasing from
+	 * first to last, so that the first one is the maximum of the window.
+	 */
+	private static final class Deque {
+		private final int[] indices;
+		private int first;
+		private int size;
+
+		Deque(int capacity) {
+			this.indices = new int[capacity];
+		}
+
+		int first() {
+			return indices[first];
+		}
+
+		void pushMax(int i, double[] values) {
+			while (size > 0) {
+				int last = indices[(first + size - 1) % indices.length];
+				if (values[last] > values[i]) {
+					break;
+				}
+				size--;
+			}
+			indices[(first + size) % indices.length] = i;
+			size++;
+		}
+
+		void popIfFirst(int i) {
+			if (size > 0 && indices[first] == i) {
+				first = (first + 1) % indices.length;
+				size--;
+			}
+		}
+	}
+}
@@ -1,7 +1,9 @@
 package etape4.coordination;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
 
 
 /**
@@ -29,8 +31,10 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * </p>
  *
  * <p>
- * Thread-safety: All data is protected by read-write locks to support
- * concurrent access from multiple controllers.
+ * Thread-safety: all the state lives in one immutable {@link EnergySnapshot}
+ * published by compare-and-set. Readers never lock; writers batch their
+ * changes in an {@link Update} so that one control iteration publishes a
+ * single snapshot.
  * </p>
  *
  * @author Jacques Malenfant, Sorbonne Universite
@@ -92,6 +96,9 @@ public class EnergyStateModel {
 		/** Solar panel production in Watts */
 		public final double solarProductionWatts;
 
+		/** Part of the total consumption pushed by the equipment themselves, in Watts */
+		public final double pushedConsumptionWatts;
+
 		public EnergySnapshot(
 			double totalConsumptionWatts,
 			double totalProductionWatts,
@@ -99,6 +106,19 @@ public class EnergyStateModel {
 			double batteryChargeLevel,
 			boolean batteriesCharging,
 			double solarProductionWatts
+		) {
+			this(totalConsumptionWatts, totalProductionWatts, generatorRunning,
+				batteryChargeLevel, batteriesCharging, solarProductionWatts, 0.0);
+		}
+
+		public EnergySnapshot(
+			double totalConsumptionWatts,
+			double totalProductionWatts,
+			boolean generatorRunning,
+			double batteryChargeLevel,
+			boolean batteriesCharging,
+			double solarProductionWatts,
+			double pushedConsumptionWatts
 		) {
 			this.timestamp = System.currentTimeMillis();
 			this.totalConsumptionWatts = totalConsumptionWatts;
@@ -111,6 +131,7 @@ public class EnergyStateModel {
 			this.batteryChargeLevel = batteryChargeLevel;
 			this.batteriesCharging = batteriesCharging;
 			this.solarProductionWatts = solarProductionWatts;
+			this.pushedConsumptionWatts = pushedConsumptionWatts;
 		}
 
 		@Override
@@ -128,31 +149,172 @@ public class EnergyStateModel {
 		}
 	}
 
-	// -------------------------------------------------------------------------
-	// Fields
-	// -------------------------------------------------------------------------
+	/**
+	 * Batch of state changes published as one snapshot.
+	 *
+	 * <p>
+	 * Changes are recorded, then applied by {@link #commit()} to the latest
+	 * snapshot in a compare-and-set loop, so that a concurrent change (e.g. a
+	 * consumption pushed by an equipment) is never lost. Changes apply in the
+	 * order consumption, solar production, generator, batteries, as the
+	 * individual setters would if called in that order.
+	 * </p>
+	 */
+	public static final class Update {
+		private final EnergyStateModel model;
+
+		private boolean hasConsumption;
+		private boolean consumptionIncludesPushed;
+		private double consumptionWatts;
+
+		private boolean hasSolar;
+		private double solarWatts;
+
+		private boolean hasGenerator;
+		private boolean generatorRunning;
+		private double generatorWatts;
+
+		private boolean hasBattery;
+		private double batteryCharge;
+		private boolean batteriesCharging;
+
+		private Update(EnergyStateModel model) {
+			this.model = model;
+		}
+
+		/**
+		 * Set total consumption from equipment.
+		 *
+		 * @param watts power consumption in Watts
+		 * @return this update
+		 */
+		public Update consumption(double watts) {
+			this.hasConsumption = true;
+			this.consumptionIncludesPushed = true;
+			this.consumptionWatts = Math.max(0.0, watts);
+			return this;
+		}
+
+		/**
+		 * Set the consumption of the equipment that do not push theirs; the
+		 * total adds the consumption pushed by the others, as it is when the
+		 * update is committed.
+		 *
+		 * @param watts power consumption in Watts of the equipment not pushing
+		 * @return this update
+		 */
+		public Update unpushedConsumption(double watts) {
+			this.hasConsumption = true;
+			this.consumptionIncludesPushed = false;
+			this.consumptionWatts = Math.max(0.0, watts);
+			return this;
+		}
 
-	/** Lock for thread-safe access to state */
-	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+		/**
+		 * Set solar panel production, which becomes the total production.
+		 *
+		 * @param watts power production in Watts
+		 * @return this update
+		 */
+		public Update solarProduction(double watts) {
+			this.hasSolar = true;
+			this.solarWatts = Math.max(0.0, watts);
+			return this;
+		}
 
-	/** Latest energy snapshot */
-	private AtomicReference<EnergySnapshot> currentSnapshot;
+		/**
+		 * Set generator status.
+		 *
+		 * @param running true if generator is running
+		 * @param generatorProduction power production in Watts (if running)
+		 * @return this update
+		 */
+		public Update generator(boolean running, double generatorProduction) {
+			this.hasGenerator = true;
+			this.generatorRunning = running;
+			this.generatorWatts = Math.max(0.0, generatorProduction);
+			return this;
+		}
+
+		/**
+		 * Set battery state.
+		 *
+		 * @param batteryCharge current charge level (0.0 to 1.0)
+		 * @param charging true if currently charging
+		 * @return this update
+		 */
+		public Update battery(double batteryCharge, boolean charging) {
+			this.hasBattery = true;
+			this.batteryCharge = Math.max(0.0, Math.min(1.0, batteryCharge));
+			this.batteriesCharging = charging;
+			return this;
+		}
 
-	/** Total consumption in Watts */
-	private double totalConsumptionWatts;
+		/**
+		 * Publish all the recorded changes as a single snapshot.
+		 *
+		 * @return the published snapshot
+		 */
+		public EnergySnapshot commit() {
+			return model.publish(this::applyTo);
+		}
 
-	/** Total production in Watts */
-	private double totalProductionWatts;
+		private EnergySnapshot applyTo(EnergySnapshot s) {
+			double consumption = s.totalConsumptionWatts;
+			if (hasConsumption) {
+				consumption = consumptionIncludesPushed
+					? consumptionWatts : consumptionWatts + s.pushedConsumptionWatts;
+			}
+			double solar = s.solarProductionWatts;
+			double production = s.totalProductionWatts;
+			boolean running = s.generatorRunning;
+			if (hasSolar) {
+				solar = solarWatts;
+				production = solar; // Base production
+			}
+			if (hasGenerator) {
+				running = generatorRunning;
+				production = running ? solar + generatorWatts : solar;
+			}
+			return new EnergySnapshot(
+				consumption,
+				production,
+				running,
+				hasBattery ? batteryCharge : s.batteryChargeLevel,
+				hasBattery ? batteriesCharging : s.batteriesCharging,
+				solar,
+				s.pushedConsumptionWatts);
+		}
+	}
 
-	/** Solar panel production in Watts */
-	private double solarProductionWatts;
+	/**
+	 * Last consumption pushed by one equipment.
+	 */
+	private static final class PushedConsumption {
+		/** Sequence number of the push */
+		final long sequence;
 
-	/** Generator status */
-	private boolean generatorRunning;
+		/** Pushed consumption in Watts */
+		final double watts;
 
-	/** Battery state */
-	private double batteryChargeLevel; // 0.0 to 1.0
-	private boolean batteriesCharging;
+		PushedConsumption(long sequence, double watts) {
+			this.sequence = sequence;
+			this.watts = watts;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** Latest energy snapshot, holding all the state */
+	private final AtomicReference<EnergySnapshot> currentSnapshot;
+
+	/** Last consumption pushed by each equipment, indexed by UID; guarded by itself */
+	private final Map<String, PushedConsumption> pushedConsumptions = new HashMap<>();
+
+	/** Recorded snapshots and windowed aggregates */
+	private final EnergyHistory history;
 
 	/** Listeners for state changes */
 	private volatile EnergyStateListener listener;
@@ -165,33 +327,79 @@ public class EnergyStateModel {
 	 * Create a new EnergyStateModel.
 	 */
 	public EnergyStateModel() {
-		this.totalConsumptionWatts = 0.0;
-		this.totalProductionWatts = 0.0;
-		this.solarProductionWatts = 0.0;
-		this.generatorRunning = false;
-		this.batteryChargeLevel = 0.5; // Start at 50%
-		this.batteriesCharging = false;
 		this.currentSnapshot = new AtomicReference<>(
-			new EnergySnapshot(0.0, 0.0, false, 0.5, false, 0.0)
+			new EnergySnapshot(0.0, 0.0, false, 0.5, false, 0.0) // Battery at 50%
 		);
+		this.history = new EnergyHistory();
 	}
 
 	// -------------------------------------------------------------------------
 	// Data Update Methods
 	// -------------------------------------------------------------------------
 
+	/**
+	 * Start a batch of changes, published as one snapshot by
+	 * {@link Update#commit()}.
+	 *
+	 * @return a new empty update
+	 */
+	public Update update() {
+		return new Update(this);
+	}
+
 	/**
 	 * Update total consumption from equipment.
 	 *
 	 * @param watts power consumption in Watts
 	 */
 	public void setConsumption(double watts) {
-		lock.writeLock().lock();
-		try {
-			this.totalConsumptionWatts = Math.max(0.0, watts);
-			updateSnapshot();
-		} finally {
-			lock.writeLock().unlock();
+		update().consumption(watts).commit();
+	}
+
+	/**
+	 * Apply the consumption pushed by one equipment, without waiting for the
+	 * next control loop iteration to recompute the total.
+	 *
+	 * <p>
+	 * The pushed consumption is kept until the equipment pushes again or is
+	 * forgotten, and {@link Update#unpushedConsumption(double)} adds it to the
+	 * total computed by the control loop. Pushes may arrive out of order: one
+	 * whose sequence number is not greater than the last applied one of the
+	 * same equipment is ignored.
+	 * </p>
+	 *
+	 * @param uid      unique identifier of the equipment
+	 * @param sequence sequence number of the push, increasing for each equipment
+	 * @param watts    pushed consumption in Watts
+	 * @return true if the push was applied, false if it was out of date
+	 */
+	public boolean applyConsumptionPush(String uid, long sequence, double watts) {
+		double delta;
+		synchronized (pushedConsumptions) {
+			PushedConsumption last = pushedConsumptions.get(uid);
+			if (last != null && sequence <= last.sequence) {
+				return false;
+			}
+			pushedConsumptions.put(uid, new PushedConsumption(sequence, watts));
+			delta = last == null ? watts : watts - last.watts;
+		}
+		publishPushedDelta(delta);
+		return true;
+	}
+
+	/**
+	 * Forget the consumption pushed by one equipment, e.g. when it
+	 * unregisters.
+	 *
+	 * @param uid unique identifier of the equipment
+	 */
+	public void forgetPushedConsumption(String uid) {
+		PushedConsumption last;
+		synchronized (pushedConsumptions) {
+			last = pushedConsumptions.remove(uid);
+		}
+		if (last != null) {
+			publishPushedDelta(-last.watts);
 		}
 	}
 
@@ -201,14 +409,7 @@ public class EnergyStateModel {
 	 * @param watts power production in Watts
 	 */
 	public void setSolarProduction(double watts) {
-		lock.writeLock().lock();
-		try {
-			this.solarProductionWatts = Math.max(0.0, watts);
-			this.totalProductionWatts = this.solarProductionWatts; // Base production
-			updateSnapshot();
-		} finally {
-			lock.writeLock().unlock();
-		}
+		update().solarProduction(watts).commit();
 	}
 
 	/**
@@ -218,18 +419,7 @@ public class EnergyStateModel {
 	 * @param generatorProduction power production in Watts (if running)
 	 */
 	public void setGeneratorRunning(boolean running, double generatorProduction) {
-		lock.writeLock().lock();
-		try {
-			this.generatorRunning = running;
-			if (running) {
-				this.totalProductionWatts = this.solarProductionWatts + Math.max(0.0, generatorProduction);
-			} else {
-				this.totalProductionWatts = this.solarProductionWatts;
-			}
-			updateSnapshot();
-		} finally {
-			lock.writeLock().unlock();
-		}
+		update().generator(running, generatorProduction).commit();
 	}
 
 	/**
@@ -239,14 +429,19 @@ public class EnergyStateModel {
 	 * @param charging true if currently charging
 	 */
 	public void setBatteryState(double batteryCharge, boolean charging) {
-		lock.writeLock().lock();
-		try {
-			this.batteryChargeLevel = Math.max(0.0, Math.min(1.0, batteryCharge));
-			this.batteriesCharging = charging;
-			updateSnapshot();
-		} finally {
-			lock.writeLock().unlock();
-		}
+		update().battery(batteryCharge, charging).commit();
+	}
+
+	/**
+	 * Record the current snapshot in the history.
+	 *
+	 * @param timeMillis time of the sample, in the time base of the caller
+	 * @return the recorded snapshot
+	 */
+	public EnergySnapshot recordHistory(long timeMillis) {
+		EnergySnapshot snapshot = currentSnapshot.get();
+		history.record(timeMillis, snapshot);
+		return snapshot;
 	}
 
 	/**
@@ -268,12 +463,17 @@ public class EnergyStateModel {
 	 * @return snapshot of energy state
 	 */
 	public EnergySnapshot getSnapshot() {
-		lock.readLock().lock();
-		try {
-			return currentSnapshot.get();
-		} finally {
-			lock.readLock().unlock();
-		}
+		return currentSnapshot.get();
+	}
+
+	/**
+	 * Get the history of the recorded snapshots, giving smoothed trends over
+	 * 1 min, 15 min and 1 h windows.
+	 *
+	 * @return energy history
+	 */
+	public EnergyHistory getHistory() {
+		return history;
 	}
 
 	/**
@@ -282,12 +482,7 @@ public class EnergyStateModel {
 	 * @return consumption in Watts
 	 */
 	public double getConsumptionWatts() {
-		lock.readLock().lock();
-		try {
-			return totalConsumptionWatts;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return currentSnapshot.get().totalConsumptionWatts;
 	}
 
 	/**
@@ -296,12 +491,7 @@ public class EnergyStateModel {
 	 * @return consumption in Amperes
 	 */
 	public double getConsumptionAmperes() {
-		lock.readLock().lock();
-		try {
-			return totalConsumptionWatts / SYSTEM_VOLTAGE;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return currentSnapshot.get().consumptionAmperes;
 	}
 
 	/**
@@ -310,12 +500,7 @@ public class EnergyStateModel {
 	 * @return production in Watts
 	 */
 	public double getProductionWatts() {
-		lock.readLock().lock();
-		try {
-			return totalProductionWatts;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return currentSnapshot.get().totalProductionWatts;
 	}
 
 	/**
@@ -324,12 +509,7 @@ public class EnergyStateModel {
 	 * @return production in Amperes
 	 */
 	public double getProductionAmperes() {
-		lock.readLock().lock();
-		try {
-			return totalProductionWatts / SYSTEM_VOLTAGE;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return currentSnapshot.get().productionAmperes;
 	}
 
 	/**
@@ -338,12 +518,7 @@ public class EnergyStateModel {
 	 * @return balance in Amperes (positive = surplus, negative = deficit)
 	 */
 	public double getBalanceAmperes() {
-		lock.readLock().lock();
-		try {
-			return (totalProductionWatts - totalConsumptionWatts) / SYSTEM_VOLTAGE;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return currentSnapshot.get().balanceAmperes;
 	}
 
 	/**
@@ -352,12 +527,7 @@ public class EnergyStateModel {
 	 * @return true if generator is running
 	 */
 	public boolean isGeneratorRunning() {
-		lock.readLock().lock();
-		try {
-			return generatorRunning;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return currentSnapshot.get().generatorRunning;
 	}
 
 	/**
@@ -366,12 +536,7 @@ public class EnergyStateModel {
 	 * @return charge level (0.0 to 1.0)
 	 */
 	public double getBatteryChargeLevel() {
-		lock.readLock().lock();
-		try {
-			return batteryChargeLevel;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return currentSnapshot.get().batteryChargeLevel;
 	}
 
 	/**
@@ -380,12 +545,7 @@ public class EnergyStateModel {
 	 * @return true if charging
 	 */
 	public boolean areBatteriesCharging() {
-		lock.readLock().lock();
-		try {
-			return batteriesCharging;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return currentSnapshot.get().batteriesCharging;
 	}
 
 	/**
@@ -394,12 +554,7 @@ public class EnergyStateModel {
 	 * @return solar production in Watts
 	 */
 	public double getSolarProductionWatts() {
-		lock.readLock().lock();
-		try {
-			return solarProductionWatts;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return currentSnapshot.get().solarProductionWatts;
 	}
 
 	// -------------------------------------------------------------------------
@@ -407,42 +562,61 @@ public class EnergyStateModel {
 	// -------------------------------------------------------------------------
 
 	/**
-	 * Update the snapshot based on current state.
-	 * Must be called while holding the write lock.
+	 * Publish a change of the pushed consumption, which changes the total by
+	 * the same amount; deltas commute, so concurrent pushes need no ordering
+	 * here.
+	 *
+	 * @param deltaWatts change of the pushed consumption in Watts
 	 */
-	private void updateSnapshot() {
-		EnergySnapshot oldSnapshot = currentSnapshot.get();
-		EnergySnapshot newSnapshot = new EnergySnapshot(
-			totalConsumptionWatts,
-			totalProductionWatts,
-			generatorRunning,
-			batteryChargeLevel,
-			batteriesCharging,
-			solarProductionWatts
-		);
-		currentSnapshot.set(newSnapshot);
+	private void publishPushedDelta(double deltaWatts) {
+		publish(s -> new EnergySnapshot(
+			Math.max(0.0, s.totalConsumptionWatts + deltaWatts),
+			s.totalProductionWatts,
+			s.generatorRunning,
+			s.batteryChargeLevel,
+			s.batteriesCharging,
+			s.solarProductionWatts,
+			s.pushedConsumptionWatts + deltaWatts));
+	}
+
+	/**
+	 * Publish the snapshot computed from the latest one, retrying if another
+	 * thread published meanwhile, then notify the listener.
+	 *
+	 * @param change computes the new snapshot from the latest one
+	 * @return the published snapshot
+	 */
+	private EnergySnapshot publish(UnaryOperator<EnergySnapshot> change) {
+		EnergySnapshot oldSnapshot;
+		EnergySnapshot newSnapshot;
+		do {
+			oldSnapshot = currentSnapshot.get();
+			newSnapshot = change.apply(oldSnapshot);
+		} while (!currentSnapshot.compareAndSet(oldSnapshot, newSnapshot));
 
 		// Notify listener of significant changes
-		if (listener != null && oldSnapshot != null) {
+		EnergyStateListener l = listener;
+		if (l != null) {
 			double oldBalance = oldSnapshot.balanceWatts;
 			double newBalance = newSnapshot.balanceWatts;
 
 			// Notify on balance transitions (deficit/surplus/balanced)
 			if ((oldBalance < 0 && newBalance >= 0) ||
 				(oldBalance >= 0 && newBalance < 0)) {
-				listener.onBalanceChange(newSnapshot);
+				l.onBalanceChange(newSnapshot);
 			}
 
 			// Notify on generator state changes
 			if (oldSnapshot.generatorRunning != newSnapshot.generatorRunning) {
-				listener.onGeneratorStatusChange(newSnapshot);
+				l.onGeneratorStatusChange(newSnapshot);
 			}
 
 			// Notify on battery charging state changes
 			if (oldSnapshot.batteriesCharging != newSnapshot.batteriesCharging) {
-				listener.onBatteryChargingChange(newSnapshot);
+				l.onBatteryChargingChange(newSnapshot);
 			}
 		}
+		return newSnapshot;
 	}
 
 	// -------------------------------------------------------------------------
@@ -0,0 +1,172 @@
+package etape4.coordination;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import etape4.coordination.EnergyStateModel.EnergySnapshot;
+
+/**
+ * The class <code>RunEnergyStateModelBenchmark</code> measures the read
+ * throughput of the energy state model under contention: several reader
+ * threads evaluate coordination decisions (as {@code canTurnOn} and
+ * {@code isCriticalDeficit} do) while one writer publishes control loop
+ * iterations as fast as it can.
+ *
+ * <p>
+ * The lock-free snapshot model is compared to the former design, where every
+ * getter takes a read lock and each iteration takes the write lock once per
+ * setter. Run it with the maximum number of readers and the duration of each
+ * measurement in milliseconds, for instance:
+ * </p>
+ *
+ * <pre>
+ * java etape4.coordination.RunEnergyStateModelBenchmark 8 2000
+ * </pre>
+ *
+ * @author Jacques Malenfant, Sorbonne Universite
+ */
+public class RunEnergyStateModelBenchmark {
+
+	/** keeps the decisions alive so the JIT cannot drop the reads. */
+	protected static volatile int blackhole;
+
+	/** State model operations used by the benchmark. */
+	protected interface Model {
+		/** one control loop iteration. */
+		void iteration(double consumption, double production, double charge);
+		/** canTurnOn(1000W) followed by isCriticalDeficit(). */
+		boolean decide();
+	}
+
+	/** Lock-free model, one snapshot published per iteration. */
+	protected static class SnapshotModel implements Model {
+		private final EnergyStateModel model = new EnergyStateModel();
+
+		@Override
+		public void iteration(double consumption, double production, double charge) {
+			model.update()
+				.consumption(consumption)
+				.solarProduction(production)
+				.battery(charge, false)
+				.commit();
+		}
+
+		@Override
+		public boolean decide() {
+			EnergySnapshot s = model.getSnapshot();
+			return s.balanceWatts > 1100.0 || s.balanceAmperes < -2.0;
+		}
+	}
+
+	/** Former design: read-write lock, one write-locked rebuild per setter. */
+	protected static class LockedModel implements Model {
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+		private double consumption;
+		private double production;
+		private double charge;
+		private EnergySnapshot snapshot = new EnergySnapshot(0.0, 0.0, false, 0.5, false, 0.0);
+
+		private void set(Runnable r) {
+			lock.writeLock().lock();
+			try {
+				r.run();
+				snapshot = new EnergySnapshot(consumption, production, false, charge, false, production);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		@Override
+		public void iteration(double c, double p, double ch) {
+			set(() -> consumption = c);
+			set(() -> production = p);
+			set(() -> charge = ch);
+		}
+
+		@Override
+		public boolean decide() {
+			EnergySnapshot s;
+			lock.readLock().lock();
+			try {
+				s = snapshot;
+			} finally {
+				lock.readLock().unlock();
+			}
+			boolean canTurnOn = s.balanceWatts > 1100.0;
+			lock.readLock().lock();
+			try {
+				s = snapshot;
+			} finally {
+				lock.readLock().unlock();
+			}
+			return canTurnOn || s.balanceAmperes < -2.0;
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		int maxReaders = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+		long durationMs = args.length > 1 ? Long.parseLong(args[1]) : 2000L;
+
+		System.out.println(String.format("%-10s %8s %16s %16s", "model", "readers", "reads/s", "iterations/s"));
+		for (int readers = 1; readers <= maxReaders; readers *= 2) {
+			run("snapshot", new SnapshotModel(), readers, durationMs);
+			run("locked", new LockedModel(), readers, durationMs);
+		}
+	}
+
+	protected static void run(String name, Model model, int readers, long durationMs)
+	throws InterruptedException {
+		LongAdder reads = new LongAdder();
+		LongAdder iterations = new LongAdder();
+		CountDownLatch start = new CountDownLatch(1);
+		long[] deadline = new long[1];
+		Thread[] threads = new Thread[readers + 1];
+
+		for (int i = 0; i < readers; i++) {
+			threads[i] = new Thread(() -> {
+				await(start);
+				long n = 0;
+				int sink = 0;
+				while (System.nanoTime() < deadline[0]) {
+					for (int k = 0; k < 1000; k++) {
+						if (model.decide()) sink++;
+					}
+					n += 1000;
+				}
+				reads.add(n);
+				blackhole = sink;
+			});
+		}
+		threads[readers] = new Thread(() -> {
+			await(start);
+			long n = 0;
+			while (System.nanoTime() < deadline[0]) {
+				model.iteration(800.0 + (n & 1023), 1500.0, 0.5);
+				n++;
+			}
+			iterations.add(n);
+		});
+
+		for (Thread t : threads) {
+			t.start();
+		}
+		deadline[0] = System.nanoTime() + durationMs * 1_000_000L;
+		start.countDown();
+		for (Thread t : threads) {
+			t.join();
+		}
+
+		double seconds = durationMs / 1000.0;
+		System.out.println(String.format("%-10s %8d %16.0f %16.0f",
+			name, readers, reads.sum() / seconds, iterations.sum() / seconds));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
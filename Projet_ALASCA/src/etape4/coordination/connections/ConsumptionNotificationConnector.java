@@ -0,0 +1,21 @@
+package etape4.coordination.connections;
+
+import etape4.coordination.ConsumptionNotificationCI;
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+
+/**
+ * The class <code>ConsumptionNotificationConnector</code> implements the
+ * connector between an appliance and the HEM for consumption notifications.
+ *
+ * @author Jacques Malenfant, Sorbonne Universite
+ */
+public class ConsumptionNotificationConnector extends AbstractConnector implements ConsumptionNotificationCI {
+
+	@Override
+	public void notifyConsumptionChange(String uid, long sequence, double oldConsumptionWatts,
+			double newConsumptionWatts)
+			throws Exception {
+		((ConsumptionNotificationCI) this.offering)
+				.notifyConsumptionChange(uid, sequence, oldConsumptionWatts, newConsumptionWatts);
+	}
+}
@@ -0,0 +1,39 @@
+package etape4.coordination.connections;
+
+import etape4.coordination.ConsumptionNotificationCI;
+import etape4.coordination.EnergyCoordinator;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>ConsumptionNotificationInboundPort</code> implements the
+ * inbound port through which the HEM receives consumption changes pushed by
+ * the appliances.
+ *
+ * @author Jacques Malenfant, Sorbonne Universite
+ */
+public class ConsumptionNotificationInboundPort extends AbstractInboundPort implements ConsumptionNotificationCI {
+
+	private static final long serialVersionUID = 1L;
+
+	public ConsumptionNotificationInboundPort(ComponentI owner) throws Exception {
+		super(ConsumptionNotificationCI.class, owner);
+		assert owner instanceof EnergyCoordinator : new PreconditionException("owner instanceof EnergyCoordinator");
+	}
+
+	public ConsumptionNotificationInboundPort(String uri, ComponentI owner) throws Exception {
+		super(uri, ConsumptionNotificationCI.class, owner);
+		assert owner instanceof EnergyCoordinator : new PreconditionException("owner instanceof EnergyCoordinator");
+	}
+
+	@Override
+	public void notifyConsumptionChange(String uid, long sequence, double oldConsumptionWatts,
+			double newConsumptionWatts)
+			throws Exception {
+		this.getOwner().handleRequest(o -> {
+			((EnergyCoordinator) o).notifyConsumptionChange(uid, sequence, oldConsumptionWatts, newConsumptionWatts);
+			return null;
+		});
+	}
+}
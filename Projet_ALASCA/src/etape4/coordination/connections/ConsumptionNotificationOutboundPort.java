@@ -0,0 +1,103 @@
+package etape4.coordination.connections;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import etape4.coordination.ConsumptionNotificationCI;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+/**
+ * The class <code>ConsumptionNotificationOutboundPort</code> implements the
+ * outbound port through which an appliance pushes its consumption changes to
+ * the HEM.
+ *
+ * <p>
+ * Besides the port call, it gathers what every pushing appliance does with
+ * it: connecting to the HEM after registering, disconnecting before
+ * unregistering and pushing a change asynchronously, so that the push never
+ * blocks a request the HEM is itself making on the appliance.
+ * </p>
+ *
+ * @author Jacques Malenfant, Sorbonne Universite
+ */
+public class ConsumptionNotificationOutboundPort extends AbstractOutboundPort implements ConsumptionNotificationCI {
+
+	private static final long serialVersionUID = 1L;
+
+	/** sequence number of the last push, numbering the pushes in the order of
+	 *  the changes, as the asynchronous calls may arrive out of order.		*/
+	protected final AtomicLong lastSequence = new AtomicLong();
+
+	public ConsumptionNotificationOutboundPort(ComponentI owner) throws Exception {
+		super(ConsumptionNotificationCI.class, owner);
+	}
+
+	public ConsumptionNotificationOutboundPort(String uri, ComponentI owner) throws Exception {
+		super(uri, ConsumptionNotificationCI.class, owner);
+	}
+
+	@Override
+	public void notifyConsumptionChange(String uid, long sequence, double oldConsumptionWatts,
+			double newConsumptionWatts)
+			throws Exception {
+		((ConsumptionNotificationCI) this.getConnector())
+				.notifyConsumptionChange(uid, sequence, oldConsumptionWatts, newConsumptionWatts);
+	}
+
+	/**
+	 * connect this port to the consumption notification port of the HEM, when
+	 * it offers one; otherwise, the HEM keeps polling the owner.
+	 */
+	public void connectToHEM() {
+		try {
+			if (!this.connected()) {
+				this.getOwner().doPortConnection(this.getPortURI(),
+						ConsumptionNotificationCI.INBOUND_PORT_URI,
+						ConsumptionNotificationConnector.class.getCanonicalName());
+			}
+		} catch (Exception e) {
+			this.getOwner().traceMessage("HEM does not accept consumption notifications ("
+					+ e.getMessage() + ").\n");
+		}
+	}
+
+	/**
+	 * disconnect this port from the consumption notification port of the HEM.
+	 */
+	public void disconnectFromHEM() {
+		try {
+			if (this.connected()) {
+				this.getOwner().doPortDisconnection(this.getPortURI());
+			}
+		} catch (Exception e) {
+			this.getOwner().traceMessage("error disconnecting consumption notifications ("
+					+ e.getMessage() + ").\n");
+		}
+	}
+
+	/**
+	 * push a consumption change of the owner to the HEM, asynchronously so that
+	 * the call never blocks a request the HEM is itself making on the owner.
+	 *
+	 * @param uid		unique identifier used by the owner to register.
+	 * @param oldWatts	consumption before the change, in Watts.
+	 * @param newWatts	consumption after the change, in Watts.
+	 */
+	public void pushConsumptionChange(String uid, double oldWatts, double newWatts) {
+		if (oldWatts == newWatts) {
+			return;
+		}
+		// numbered in the caller, so in the order of the changes
+		long number = this.lastSequence.incrementAndGet();
+		this.getOwner().runTask(o -> {
+			try {
+				if (this.connected()) {
+					this.notifyConsumptionChange(uid, number, oldWatts, newWatts);
+				}
+			} catch (Exception e) {
+				o.traceMessage("consumption notification failed ("
+						+ e.getMessage() + ").\n");
+			}
+		});
+	}
+}
@@ -0,0 +1,105 @@
+package etape4.equipements.hem;
+
+import etape4.coordination.EnergyHistory;
+import etape4.coordination.EnergyHistory.Window;
+import etape4.coordination.EnergyStateModel;
+import etape4.coordination.EnergyStateModel.EnergySnapshot;
+
+/**
+ * The class <code>BalanceForecaster</code> predicts the energy balance a few
+ * control periods ahead from the recent history of the energy state model.
+ *
+ * <p>
+ * Consumption and production not coming from the generator (solar) are
+ * extrapolated linearly from the current snapshot, using their least-squares
+ * trends over the trend window of the {@link EnergyHistory}. The solar trend
+ * follows the daily sun intensity curve recorded by the history, and the
+ * consumption trend follows the programs currently running on the
+ * appliances. The generator is left out, so that the forecast tells what the
+ * generator or the batteries will have to cover.
+ * </p>
+ *
+ * @author Jacques Malenfant, Sorbonne Universite
+ */
+public class BalanceForecaster {
+
+	// -------------------------------------------------------------------------
+	// Constants and Variables
+	// -------------------------------------------------------------------------
+
+	/** Default window for the trends */
+	public static final Window DEFAULT_TREND_WINDOW = Window.FIFTEEN_MINUTES;
+
+	/** Energy state model providing the snapshot and its history */
+	private final EnergyStateModel energyStateModel;
+
+	/** Window for the trends */
+	private final Window trendWindow;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create a forecaster using the default trend window.
+	 *
+	 * @param energyStateModel energy state model
+	 */
+	public BalanceForecaster(EnergyStateModel energyStateModel) {
+		this(energyStateModel, DEFAULT_TREND_WINDOW);
+	}
+
+	/**
+	 * Create a forecaster.
+	 *
+	 * @param energyStateModel energy state model
+	 * @param trendWindow      window for the trends
+	 */
+	public BalanceForecaster(EnergyStateModel energyStateModel, Window trendWindow) {
+		this.energyStateModel = energyStateModel;
+		this.trendWindow = trendWindow;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Forecast the consumption in {@code horizonSeconds}.
+	 *
+	 * @param horizonSeconds forecast horizon in seconds
+	 * @return forecast consumption in Watts
+	 */
+	public double forecastConsumptionWatts(double horizonSeconds) {
+		EnergySnapshot s = energyStateModel.getSnapshot();
+		EnergyHistory h = energyStateModel.getHistory();
+		return Math.max(0.0,
+			s.totalConsumptionWatts + h.consumptionTrendWattsPerSecond(trendWindow) * horizonSeconds);
+	}
+
+	/**
+	 * Forecast the production not coming from the generator in
+	 * {@code horizonSeconds}.
+	 *
+	 * @param horizonSeconds forecast horizon in seconds
+	 * @return forecast production in Watts
+	 */
+	public double forecastSolarWatts(double horizonSeconds) {
+		EnergySnapshot s = energyStateModel.getSnapshot();
+		EnergyHistory h = energyStateModel.getHistory();
+		return Math.max(0.0,
+			s.solarProductionWatts + h.solarTrendWattsPerSecond(trendWindow) * horizonSeconds);
+	}
+
+	/**
+	 * Forecast the deficit left uncovered without the generator in
+	 * {@code horizonSeconds}.
+	 *
+	 * @param horizonSeconds forecast horizon in seconds
+	 * @return forecast consumption minus production without the generator in
+	 *         Watts (positive = deficit, negative = surplus)
+	 */
+	public double forecastUncoveredWatts(double horizonSeconds) {
+		return forecastConsumptionWatts(horizonSeconds) - forecastSolarWatts(horizonSeconds);
+	}
+}
@@ -1,5 +1,7 @@
 package etape4.equipements.hem;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,10 +10,14 @@ import etape1.equipments.batteries.connections.BatteriesOutboundPort;
 import etape1.equipments.generator.connections.GeneratorOutboundPort;
 import etape1.equipments.meter.connections.ElectricMeterOutboundPort;
 import etape1.equipments.solar_panel.connections.SolarPanelOutboundPort;
+import etape4.coordination.EnergyHistory;
 import etape4.coordination.EnergyStateModel;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.alasca.physical_data.SignalData;
+import etape4.equipements.hem.EquipmentPoller.EquipmentReading;
 import etape4.equipements.hem.EquipmentRegistry.EquipmentInfo;
+import etape4.equipements.hem.SheddingPlanner.Candidate;
+import etape4.equipements.hem.SheddingPlanner.Plan;
 
 /**
  * The class <code>EnergyControlLoopTask</code> implements the periodic energy
@@ -21,8 +27,12 @@ import etape4.equipements.hem.EquipmentRegistry.EquipmentInfo;
  * This task runs at fixed intervals to:
  * <ul>
  * <li>Read current production and consumption from ElectricMeter</li>
+ * <li>Poll concurrently the registered equipment that do not push their
+ * consumption changes (see {@link EquipmentPoller})</li>
  * <li>Calculate deficit or surplus</li>
- * <li>Suspend equipment when production < consumption</li>
+ * <li>Forecast the balance a few periods ahead (see {@link BalanceForecaster})
+ * to start the generator or charge batteries before a deficit occurs</li>
+ * <li>Suspend or downgrade equipment when production < consumption</li>
  * <li>Resume equipment when production > consumption</li>
  * <li>Start/stop generator when needed</li>
  * <li>Charge/discharge batteries</li>
@@ -43,12 +53,22 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 	/** Threshold for starting generator (Amperes) */
 	public static final double GENERATOR_START_THRESHOLD = 1.0;
 
+	/** Minimum remaining generator autonomy (hours) to pre-start it on a
+	 *  forecast deficit; below it, the fuel is kept for actual deficits */
+	public static final double MIN_PRESTART_AUTONOMY_HOURS = 0.5;
+
 	/** Battery charge level threshold to start charging */
 	public static final double BATTERY_CHARGE_THRESHOLD = 0.9;
 
 	/** Battery charge level threshold for discharging */
 	public static final double BATTERY_DISCHARGE_THRESHOLD = 0.5;
 
+	/** Whether to act on the forecast balance before a deficit occurs */
+	public static final boolean PREDICTIVE_CONTROL = true;
+
+	/** Forecast horizon in control periods (covers the generator startup latency) */
+	public static final int FORECAST_HORIZON_PERIODS = 3;
+
 	// -------------------------------------------------------------------------
 	// Variables
 	// -------------------------------------------------------------------------
@@ -71,6 +91,12 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 	/** Equipment registry */
 	private final EquipmentRegistry registry;
 
+	/** Concurrent polling stage for registered equipment */
+	private final EquipmentPoller poller;
+
+	/** Equipment readings of the current iteration, indexed by UID */
+	private Map<String, EquipmentReading> readings = new HashMap<>();
+
 	/** Shared energy state model (data-centered coordination) */
 	private final EnergyStateModel energyStateModel;
 
@@ -129,6 +155,18 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 	/** Control loop period in seconds (for energy integration) */
 	private double controlPeriodSeconds = 10.0;
 
+	/** Simulated time of the last history sample (ms), advanced by one period per iteration */
+	private long historyTimeMs = 0;
+
+	/** Generator contribution to the production of the current iteration (W) */
+	private double generatorWatts = 0.0;
+
+	/** Forecast of the balance a few periods ahead */
+	private final BalanceForecaster forecaster;
+
+	/** Planner choosing the suspensions and downgrades covering a deficit */
+	private final SheddingPlanner sheddingPlanner = new SheddingPlanner();
+
 	/** Earliest time (System.currentTimeMillis) when the task should start running */
 	private long readyTimeMs = 0;
 
@@ -162,7 +200,9 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 		this.batteriesop = batteriesop;
 		this.solarPanelop = solarPanelop;
 		this.registry = registry;
+		this.poller = new EquipmentPoller();
 		this.energyStateModel = energyStateModel;
+		this.forecaster = new BalanceForecaster(energyStateModel);
 		this.verbose = verbose;
 		this.generatorRunning = false;
 		this.batteriesCharging = false;
@@ -188,6 +228,16 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 		this.controlPeriodSeconds = seconds;
 	}
 
+	/**
+	 * Set the deadline of the equipment polling stage; equipment that did not
+	 * answer before it are marked as stale for the iteration.
+	 *
+	 * @param deadlineNanos deadline in nanoseconds (> 0)
+	 */
+	public void setPollingDeadlineNanos(long deadlineNanos) {
+		this.poller.setDeadlineNanos(deadlineNanos);
+	}
+
 	/**
 	 * Set the earliest time when this task should start running.
 	 * Iterations before this time are silently skipped.
@@ -205,6 +255,7 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 	 */
 	public void stop() {
 		this.stopped = true;
+		this.poller.shutdown();
 		printFinalReport();
 	}
 
@@ -246,6 +297,18 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 			totalProductionWh >= totalConsumptionWh ? "EXCEDENT" : "DEFICIT"));
 		sb.append("-----------------------------------------------------------------------\n");
 
+		// Windowed trends at the end of the run
+		EnergyHistory history = energyStateModel.getHistory();
+		sb.append("  TENDANCES (fin de controle)\n");
+		for (EnergyHistory.Window window : EnergyHistory.Window.values()) {
+			sb.append(String.format(
+				"    %-15s : conso %8.2f W (pic %8.2f W, %8.2f Wh), prod %8.2f W (%8.2f Wh)\n",
+				window, history.meanConsumptionWatts(window), history.maxConsumptionWatts(window),
+				history.consumptionEnergyWh(window), history.meanProductionWatts(window),
+				history.productionEnergyWh(window)));
+		}
+		sb.append("-----------------------------------------------------------------------\n");
+
 		// Per-equipment consumption
 		sb.append("  CONSOMMATION PAR EQUIPEMENT\n");
 		if (equipmentConsumptionWs.isEmpty()) {
@@ -295,6 +358,9 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 			lastRunTimeMs = now;
 			iterationCount++;
 
+			// 0. Poll all registered equipment once for this iteration
+			pollEquipment();
+
 			// 1. Read current state from meter
 			SignalData<Double> consumption = meterop.getCurrentConsumption();
 			SignalData<Double> production = meterop.getCurrentProduction();
@@ -304,15 +370,21 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 
 			// 2. Determine consumption:
 			//    - If meter provides non-zero consumption (SIL mode), use it
-			//    - Otherwise estimate from registered equipment states
+			//    - Otherwise estimate from registered equipment states, the
+			//      equipment pushing their consumption being accounted for by
+			//      the energy state model
+			boolean metered = meterConsumptionAmperes > 0.001;
+			double unpushedWatts = 0.0;
 			double consumptionWatts;
 			double consumptionAmperes;
-			if (meterConsumptionAmperes > 0.001) {
+			if (metered) {
 				consumptionWatts = meterConsumptionAmperes * 220.0;
 				consumptionAmperes = meterConsumptionAmperes;
 			} else {
-				consumptionAmperes = estimateConsumptionFromEquipment();
-				consumptionWatts = consumptionAmperes * 220.0;
+				unpushedWatts = estimateConsumptionFromEquipment() * 220.0;
+				consumptionWatts = unpushedWatts
+					+ energyStateModel.getSnapshot().pushedConsumptionWatts;
+				consumptionAmperes = consumptionWatts / 220.0;
 			}
 
 			// 3. Determine production:
@@ -321,9 +393,13 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 			//    Always estimate production from energy sources.
 			double productionWatts;
 			double productionAmperes;
+			generatorWatts = 0.0;
 			if (meterProductionAmperes > 0.001) {
 				productionWatts = meterProductionAmperes * 220.0;
 				productionAmperes = meterProductionAmperes;
+				if (generatorRunning) {
+					generatorWatts = Math.min(productionWatts, SIMULATED_GENERATOR_PRODUCTION_W);
+				}
 			} else {
 				productionAmperes = estimateProductionFromSources();
 				productionWatts = productionAmperes * 220.0;
@@ -337,21 +413,33 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 			cumulativeConsumptionWs += consumptionWatts * controlPeriodSeconds;
 			cumulativeProductionWs += productionWatts * controlPeriodSeconds;
 
-			// 6. Update shared energy state model (data-centered coordination)
-			energyStateModel.setConsumption(consumptionWatts);
-			energyStateModel.setSolarProduction(productionWatts);
+			// 6. Update shared energy state model (data-centered coordination),
+			//    publishing one snapshot for the whole iteration
+			//    (pushed consumption received meanwhile is added at commit time)
+			EnergyStateModel.Update stateUpdate = energyStateModel.update();
+			if (metered) {
+				stateUpdate.consumption(consumptionWatts);
+			} else {
+				stateUpdate.unpushedConsumption(unpushedWatts);
+			}
+			stateUpdate
+				.solarProduction(productionWatts - generatorWatts)
+				.generator(generatorRunning, generatorWatts);
 			if (batteriesAvailable) {
 				try {
 					if (batteriesop != null && batteriesop.connected()) {
 						SignalData<Double> batteryCharge = batteriesop.chargeLevel();
 						double chargeValue = batteryCharge.getMeasure().getData();
-						energyStateModel.setBatteryState(chargeValue, batteriesCharging);
+						stateUpdate.battery(chargeValue, batteriesCharging);
 					}
 				} catch (Exception e) {
 					batteriesAvailable = false;
 					log("[CONTROL LOOP] Batteries unavailable: " + e.getMessage());
 				}
 			}
+			stateUpdate.commit();
+			historyTimeMs += (long) (controlPeriodSeconds * 1000.0);
+			energyStateModel.recordHistory(historyTimeMs);
 
 			// 7. Calculate deficit/surplus (positive = deficit, negative = surplus)
 			double balance = consumptionAmperes - productionAmperes;
@@ -364,11 +452,40 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 					batteriesCharging ? "CHARGING" : "IDLE"));
 			}
 
-			// 8. Make decision based on balance
+			// 8. Forecast the deficit left uncovered without the generator
+			double forecastAmperes = 0.0;
+			if (PREDICTIVE_CONTROL) {
+				forecastAmperes = forecaster.forecastUncoveredWatts(
+					FORECAST_HORIZON_PERIODS * controlPeriodSeconds) / 220.0;
+				if (verbose) {
+					log(String.format(
+						"[CONTROL LOOP] Forecast in %d periods: %.2fA %s without generator",
+						FORECAST_HORIZON_PERIODS, Math.abs(forecastAmperes),
+						forecastAmperes > 0 ? "deficit" : "surplus"));
+				}
+			}
+			// The generator is kept running while the forecast deficit needs
+			// it, but what it already covers must not block resuming and
+			// restoring equipment, hence the deficit ahead is net of its output
+			double coveredAmperes = 0.0;
+			if (generatorRunning) {
+				coveredAmperes = (generatorWatts >= 1.0
+					? generatorWatts : SIMULATED_GENERATOR_PRODUCTION_W) / 220.0;
+			}
+			boolean deficitAhead = PREDICTIVE_CONTROL
+				&& forecastAmperes - coveredAmperes > ACTION_THRESHOLD;
+
+			// 9. Make decision based on balance and forecast
 			if (balance > ACTION_THRESHOLD) {
 				handleDeficit(balance, consumptionAmperes, productionAmperes);
+			} else if (deficitAhead && forecastAmperes > GENERATOR_START_THRESHOLD && !generatorRunning
+					&& generatorAutonomyHours() > MIN_PRESTART_AUTONOMY_HOURS) {
+				// Pre-start the generator so that it is up when the deficit hits
+				startGenerator(String.format(
+					"forecast deficit %.2fA in %d periods", forecastAmperes, FORECAST_HORIZON_PERIODS));
 			} else if (balance < -ACTION_THRESHOLD) {
-				handleSurplus(-balance, consumptionAmperes, productionAmperes);
+				handleSurplus(-balance, consumptionAmperes, productionAmperes,
+					deficitAhead, forecastAmperes > GENERATOR_START_THRESHOLD);
 			} else {
 				if (verbose) {
 					log("[CONTROL LOOP] System balanced, no action needed");
@@ -382,41 +499,95 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 	}
 
 	/**
-	 * Estimate total consumption by querying registered equipment.
+	 * Query the registered equipment concurrently and publish the readings of
+	 * this iteration. Equipment that did not answer in time keep their last
+	 * known reading, marked as stale; equipment pushing their consumption get
+	 * their reading from the last push.
 	 */
-	private double estimateConsumptionFromEquipment() {
-		double totalAmperes = 0.0;
-		List<EquipmentInfo> allEquipment = registry.getAllEquipment();
-
+	private void pollEquipment() {
+		EquipmentInfo[] allEquipment = registry.snapshot().all;
+
+		// Equipment pushing their consumption changes are not queried: their
+		// mode is the one of the pushed consumption in their cached mode
+		// table. Only those whose mode is not known this way are queried, and
+		// their consumption is still the last pushed one
+		List<EquipmentInfo> toPoll = new ArrayList<>(allEquipment.length);
 		for (EquipmentInfo eq : allEquipment) {
-			if (eq.suspended) continue;
-			try {
-				int mode = eq.port.currentMode();
-				eq.currentMode = mode;
-				double watts = eq.port.getModeConsumption(mode);
-				double amperes = watts / 220.0;
-				totalAmperes += amperes;
-
-				// Track per-equipment consumption (Watt-seconds)
-				equipmentConsumptionWs.merge(eq.uid, watts * controlPeriodSeconds, Double::sum);
-				equipmentPeakConsumptionW.merge(eq.uid, watts, Math::max);
-
-				if (verbose) {
-					log(String.format(
-						"[CONTROL LOOP]   Equipment %s: mode=%d, consumption=%.2fW (%.2fA)",
-						eq.uid, mode, watts, amperes));
+			if (!eq.pushesConsumption || eq.pushedMode == 0) {
+				toPoll.add(eq);
+			}
+		}
+		readings = poller.poll(toPoll);
+		for (EquipmentInfo eq : allEquipment) {
+			if (!eq.pushesConsumption) {
+				continue;
+			}
+			if (eq.pushedMode > 0) {
+				readings.put(eq.uid, new EquipmentReading(
+					eq.uid, eq.pushedMode, eq.pushedConsumptionWatts, false));
+				continue;
+			}
+			EquipmentReading polled = readings.get(eq.uid);
+			readings.put(eq.uid, polled == null
+				? new EquipmentReading(
+					eq.uid, eq.currentMode, eq.pushedConsumptionWatts, true)
+				: new EquipmentReading(
+					eq.uid, polled.mode, eq.pushedConsumptionWatts, polled.stale));
+			// the query has fetched the mode table, so the next pushes and
+			// iterations can do without querying
+			synchronized (eq) {
+				if (eq.pushedMode == 0) {
+					eq.pushedMode = eq.cachedModeOf(eq.pushedConsumptionWatts);
 				}
-			} catch (Exception e) {
+			}
+		}
+
+		for (EquipmentInfo eq : allEquipment) {
+			EquipmentReading reading = readings.get(eq.uid);
+			if (reading == null) {
 				if (verbose) {
 					log(String.format(
-						"[CONTROL LOOP]   Error reading %s: %s", eq.uid, e.getMessage()));
+						"[CONTROL LOOP]   No reading for %s (no answer yet)", eq.uid));
 				}
+				continue;
+			}
+			if (!reading.stale) {
+				eq.currentMode = reading.mode;
+			} else if (verbose) {
+				log(String.format(
+					"[CONTROL LOOP]   %s did not answer in time, using stale reading (mode=%d, %.2fW)",
+					eq.uid, reading.mode, reading.watts));
+			}
+		}
+	}
+
+	/**
+	 * Estimate the consumption of the equipment that do not push theirs from
+	 * the equipment readings of this iteration; the pushed consumption is kept
+	 * by the energy state model.
+	 */
+	private double estimateConsumptionFromEquipment() {
+		double totalAmperes = 0.0;
+
+		for (EquipmentInfo eq : registry.snapshot().all) {
+			if (eq.suspended || eq.pushesConsumption) continue;
+			EquipmentReading reading = readings.get(eq.uid);
+			if (reading == null) continue;
+
+			double amperes = reading.watts / 220.0;
+			totalAmperes += amperes;
+
+			if (verbose) {
+				log(String.format(
+					"[CONTROL LOOP]   Equipment %s: mode=%d, consumption=%.2fW (%.2fA)%s",
+					eq.uid, reading.mode, reading.watts, amperes,
+					reading.stale ? " [stale]" : ""));
 			}
 		}
 
 		if (verbose) {
 			log(String.format(
-				"[CONTROL LOOP]   Total estimated consumption: %.2fA", totalAmperes));
+				"[CONTROL LOOP]   Total estimated consumption of polled equipment: %.2fA", totalAmperes));
 		}
 
 		return totalAmperes;
@@ -484,6 +655,7 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 				genW = SIMULATED_GENERATOR_PRODUCTION_W;
 			}
 			totalWatts += genW;
+			generatorWatts = genW;
 			sourceProductionWs.merge("Generateur", genW * controlPeriodSeconds, Double::sum);
 		}
 
@@ -503,17 +675,9 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 	 * is used for the main consumption value.
 	 */
 	private void trackEquipmentConsumption() {
-		List<EquipmentInfo> allEquipment = registry.getAllEquipment();
-		for (EquipmentInfo eq : allEquipment) {
-			try {
-				int mode = eq.port.currentMode();
-				eq.currentMode = mode;
-				double watts = eq.port.getModeConsumption(mode);
-				equipmentConsumptionWs.merge(eq.uid, watts * controlPeriodSeconds, Double::sum);
-				equipmentPeakConsumptionW.merge(eq.uid, watts, Math::max);
-			} catch (Exception e) {
-				// Ignore errors during tracking
-			}
+		for (EquipmentReading reading : readings.values()) {
+			equipmentConsumptionWs.merge(reading.uid, reading.watts * controlPeriodSeconds, Double::sum);
+			equipmentPeakConsumptionW.merge(reading.uid, reading.watts, Math::max);
 		}
 	}
 
@@ -525,7 +689,8 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 	 * Handle deficit situation (consumption > production).
 	 *
 	 * Strategy:
-	 * 1. Suspend equipment by priority (low priority first)
+	 * 1. Suspend or downgrade the equipment chosen by the {@link SheddingPlanner}
+	 *    (least priority-weighted comfort loss)
 	 * 2. If still insufficient, start generator
 	 * 3. If batteries > 50%, discharge to help
 	 */
@@ -534,81 +699,96 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 			"[CONTROL LOOP] DEFICIT detected: %.2fA (consumption: %.2fA, production: %.2fA)",
 			deficit, consumptionAmperes, productionAmperes));
 
-		// Step 1: Suspend equipment by priority (low priority first)
-		List<EquipmentInfo> suspendable = registry.getSuspendableEquipment();
+		// Step 1: Shed load with the least comfort loss, choosing among the
+		//         suspensions and mode downgrades of all suspendable equipment
+		List<EquipmentInfo> eligible = new ArrayList<>();
+		List<Candidate> candidates = new ArrayList<>();
+		for (EquipmentInfo eq : registry.snapshot().suspensionCandidates) {
+			if (!eq.canSuspend()) continue;
+			try {
+				// Use this iteration's reading; query the port only when it is
+				// missing or stale (eq.currentMode may be uninitialized at 0)
+				EquipmentReading reading = readings.get(eq.uid);
+				int mode;
+				if (reading != null && !reading.stale) {
+					mode = reading.mode;
+				} else {
+					mode = eq.port.currentMode();
+					eq.currentMode = mode;
+				}
+				double[] modeWatts = eq.modeConsumptions();
+				if (mode < 1 || mode > modeWatts.length) continue;
+				candidates.add(new Candidate(eq.uid, eq.priority, mode, modeWatts, true));
+				eligible.add(eq);
+			} catch (Exception e) {
+				log(String.format(
+					"[CONTROL LOOP] Error querying modes of %s: %s", eq.uid, e.getMessage()));
+			}
+		}
+
 		double remaining = deficit;
 		int suspendedCount = 0;
+		int downgradedCount = 0;
 
-		if (!suspendable.isEmpty()) {
-			log(String.format("[CONTROL LOOP] Found %d suspendable equipment", suspendable.size()));
+		if (!candidates.isEmpty()) {
+			Plan plan = sheddingPlanner.plan(candidates, (deficit - ACTION_THRESHOLD) * 220.0);
+			log(String.format(
+				"[CONTROL LOOP] Shedding plan over %d candidates: %.2fA, comfort loss %.2f%s",
+				candidates.size(), plan.savedWatts / 220.0, plan.comfortLoss,
+				plan.covers ? "" : " (deficit not fully covered)"));
 
-			for (EquipmentInfo eq : suspendable) {
-				if (remaining <= ACTION_THRESHOLD) break;
+			for (int i = 0; i < candidates.size(); i++) {
+				Candidate c = candidates.get(i);
+				int target = plan.targetModes[i];
+				if (target == c.currentMode) continue;
+				EquipmentInfo eq = eligible.get(i);
+				double savedIntensity = SheddingPlanner.savedWatts(c, target) / 220.0;
 
 				try {
-					// Query current mode from port (eq.currentMode may be uninitialized at 0)
-					int mode = eq.port.currentMode();
-					eq.currentMode = mode;
-					double currentConsumption = eq.getModeConsumption(mode);
-					double currentIntensity = currentConsumption / 220.0;
-
-					log(String.format(
-						"[CONTROL LOOP] Attempting to suspend %s (priority=%d, mode=%d, consumption=%.2fA)",
-						eq.uid, eq.priority, mode, currentIntensity));
-
-					boolean success = eq.port.suspend();
+					boolean success;
+					if (target == SheddingPlanner.SUSPEND) {
+						log(String.format(
+							"[CONTROL LOOP] Attempting to suspend %s (priority=%d, mode=%d, consumption=%.2fA)",
+							eq.uid, eq.priority, c.currentMode, savedIntensity));
+						success = eq.port.suspend();
+						if (success) {
+							registry.markSuspended(eq, c.currentMode);
+							suspendedCount++;
+							equipmentSuspendCount.merge(eq.uid, 1, Integer::sum);
+						}
+					} else {
+						log(String.format(
+							"[CONTROL LOOP] Attempting to downgrade %s (priority=%d, mode %d -> %d, saving=%.2fA)",
+							eq.uid, eq.priority, c.currentMode, target, savedIntensity));
+						success = eq.port.setMode(target);
+						if (success) {
+							if (eq.priorDowngradeMode == 0) {
+								eq.priorDowngradeMode = c.currentMode;
+							}
+							eq.currentMode = target;
+							downgradedCount++;
+						}
+					}
 					if (success) {
-						eq.suspended = true;
-						eq.priorSuspendMode = mode;
-						remaining -= currentIntensity;
-						suspendedCount++;
-						equipmentSuspendCount.merge(eq.uid, 1, Integer::sum);
-
+						remaining -= savedIntensity;
 						log(String.format(
-							"[CONTROL LOOP] SUSPENDED %s, remaining deficit: %.2fA",
+							"[CONTROL LOOP] %s %s, remaining deficit: %.2fA",
+							target == SheddingPlanner.SUSPEND ? "SUSPENDED" : "DOWNGRADED",
 							eq.uid, remaining));
 					} else {
 						log(String.format(
-							"[CONTROL LOOP] Failed to suspend %s", eq.uid));
+							"[CONTROL LOOP] Failed to shed %s", eq.uid));
 					}
 				} catch (Exception e) {
 					log(String.format(
-						"[CONTROL LOOP] Error suspending %s: %s", eq.uid, e.getMessage()));
+						"[CONTROL LOOP] Error shedding %s: %s", eq.uid, e.getMessage()));
 				}
 			}
 		}
 
 		// Step 2: Start generator if deficit still large
 		if (remaining > GENERATOR_START_THRESHOLD && !generatorRunning) {
-			boolean started = false;
-			// Try to start the actual generator component
-			if (generatorAvailable) {
-				try {
-					if (generatorop != null && generatorop.connected()) {
-						generatorop.startGenerator();
-						started = true;
-						log("[CONTROL LOOP] GENERATOR STARTED (component) to cover deficit");
-					}
-				} catch (Exception e) {
-					generatorAvailable = false;
-					log(String.format(
-						"[CONTROL LOOP] Generator component unavailable (%s), using simulated mode",
-						e.getMessage()));
-					// Even if the component fails, we can still "start" the generator
-					// in simulated mode for the control loop's production estimation
-					started = true;
-				}
-			} else {
-				// Generator component unavailable but we can simulate it
-				started = true;
-			}
-			if (started) {
-				generatorRunning = true;
-				energyStateModel.setGeneratorRunning(true, SIMULATED_GENERATOR_PRODUCTION_W);
-				log(String.format(
-					"[CONTROL LOOP] GENERATOR RUNNING (production: %.0fW = %.2fA)",
-					SIMULATED_GENERATOR_PRODUCTION_W, SIMULATED_GENERATOR_PRODUCTION_W / 220.0));
-			}
+			startGenerator("to cover deficit");
 		}
 
 		// Step 3: Check batteries for discharge
@@ -628,19 +808,93 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 		}
 
 		log(String.format(
-			"[CONTROL LOOP] Deficit handling complete: suspended %d, remaining deficit: %.2fA, generator: %s",
-			suspendedCount, remaining, generatorRunning ? "ON" : "OFF"));
+			"[CONTROL LOOP] Deficit handling complete: suspended %d, downgraded %d, remaining deficit: %.2fA, generator: %s",
+			suspendedCount, downgradedCount, remaining, generatorRunning ? "ON" : "OFF"));
+	}
+
+	/**
+	 * Remaining autonomy of the generator, predicted by the component from its
+	 * tank level and fuel consumption.
+	 *
+	 * @return autonomy in hours, or infinity when the component is unavailable
+	 */
+	private double generatorAutonomyHours() {
+		if (generatorAvailable) {
+			try {
+				if (generatorop != null && generatorop.connected()) {
+					return generatorop.remainingAutonomy().getMeasure().getData();
+				}
+			} catch (Exception e) {
+				// Ignore query errors, the start will detect the unavailability
+			}
+		}
+		return Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Start the generator, or simulate it when the component is unavailable.
+	 *
+	 * @param reason reason for the start, for the logs
+	 */
+	private void startGenerator(String reason) {
+		boolean started = false;
+		// Try to start the actual generator component
+		if (generatorAvailable) {
+			try {
+				if (generatorop != null && generatorop.connected()) {
+					generatorop.startGenerator();
+					started = true;
+					log("[CONTROL LOOP] GENERATOR STARTED (component) " + reason);
+					if (verbose) {
+						log(String.format(
+							"[CONTROL LOOP] Generator autonomy: %.2fh", generatorAutonomyHours()));
+					}
+				}
+			} catch (Exception e) {
+				generatorAvailable = false;
+				log(String.format(
+					"[CONTROL LOOP] Generator component unavailable (%s), using simulated mode",
+					e.getMessage()));
+				// Even if the component fails, we can still "start" the generator
+				// in simulated mode for the control loop's production estimation
+				started = true;
+			}
+		} else {
+			// Generator component unavailable but we can simulate it
+			started = true;
+		}
+		if (started) {
+			generatorRunning = true;
+			energyStateModel.setGeneratorRunning(true, SIMULATED_GENERATOR_PRODUCTION_W);
+			log(String.format(
+				"[CONTROL LOOP] GENERATOR RUNNING (production: %.0fW = %.2fA)",
+				SIMULATED_GENERATOR_PRODUCTION_W, SIMULATED_GENERATOR_PRODUCTION_W / 220.0));
+		}
 	}
 
 	/**
 	 * Handle surplus situation (production > consumption).
 	 *
 	 * Strategy:
-	 * 1. Stop generator if running
-	 * 2. Resume suspended equipment by urgency (high emergency first)
-	 * 3. Charge batteries with remaining surplus
+	 * 1. Stop generator if running, unless a large deficit is forecast
+	 * 2. Resume suspended equipment by urgency (high emergency first), unless
+	 *    a deficit is forecast
+	 * 3. Restore downgraded equipment to their former mode, unless a deficit
+	 *    is forecast
+	 * 4. Charge batteries with remaining surplus (pre-charge before a
+	 *    forecast deficit)
+	 *
+	 * @param deficitAhead   whether a deficit is forecast beyond what the
+	 *                       running generator produces
+	 * @param keepGenerator  whether the forecast deficit needs the generator
 	 */
-	private void handleSurplus(double surplus, double consumptionAmperes, double productionAmperes) throws Exception {
+	private void handleSurplus(
+		double surplus,
+		double consumptionAmperes,
+		double productionAmperes,
+		boolean deficitAhead,
+		boolean keepGenerator
+	) throws Exception {
 		log(String.format(
 			"[CONTROL LOOP] SURPLUS detected: %.2fA (consumption: %.2fA, production: %.2fA)",
 			surplus, consumptionAmperes, productionAmperes));
@@ -650,7 +904,9 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 		// Step 1: Stop generator if running
 		// When stopping the generator, the surplus shrinks by the generator's
 		// production output. Adjust 'remaining' accordingly.
-		if (generatorRunning) {
+		if (generatorRunning && keepGenerator) {
+			log("[CONTROL LOOP] Keeping generator running, deficit forecast");
+		} else if (generatorRunning) {
 			double generatorProductionA = SIMULATED_GENERATOR_PRODUCTION_W / 220.0;
 			if (generatorAvailable) {
 				try {
@@ -672,10 +928,17 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 		}
 
 		// Step 2: Resume suspended equipment by urgency
-		List<EquipmentInfo> suspended = registry.getSuspendedEquipment();
+		EquipmentInfo[] suspendedNow = registry.snapshot().suspended;
 
-		if (!suspended.isEmpty()) {
-			log(String.format("[CONTROL LOOP] Found %d suspended equipment", suspended.size()));
+		if (suspendedNow.length > 0 && deficitAhead) {
+			log(String.format(
+				"[CONTROL LOOP] Deficit forecast, keeping %d equipment suspended and surplus for batteries",
+				suspendedNow.length));
+		} else if (suspendedNow.length > 0) {
+			log(String.format("[CONTROL LOOP] Found %d suspended equipment", suspendedNow.length));
+
+			// Snapshot arrays are shared, sort a copy
+			List<EquipmentInfo> suspended = new ArrayList<>(Arrays.asList(suspendedNow));
 
 			// Sort by emergency (highest urgency first)
 			suspended.sort((e1, e2) -> {
@@ -711,8 +974,7 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 
 					boolean success = eq.port.resume();
 					if (success) {
-						eq.suspended = false;
-						eq.currentMode = eq.priorSuspendMode;
+						registry.markResumed(eq);
 						remaining -= resumeIntensity;
 						resumedCount++;
 
@@ -732,6 +994,33 @@ public class EnergyControlLoopTask extends AbstractComponent.AbstractTask {
 			log(String.format("[CONTROL LOOP] Resumed %d equipment", resumedCount));
 		}
 
+		// Step 2b: Restore downgraded equipment, most important first
+		if (!deficitAhead) {
+			EquipmentInfo[] running = registry.snapshot().suspensionCandidates;
+			for (int i = running.length - 1; i >= 0; i--) {
+				EquipmentInfo eq = running[i];
+				if (remaining <= ACTION_THRESHOLD) break;
+				if (eq.suspended || eq.priorDowngradeMode == 0) continue;
+				try {
+					int mode = eq.port.currentMode();
+					double extraIntensity =
+						(eq.getModeConsumption(eq.priorDowngradeMode) - eq.getModeConsumption(mode)) / 220.0;
+					if (extraIntensity > remaining) continue;
+					if (eq.port.setMode(eq.priorDowngradeMode)) {
+						eq.currentMode = eq.priorDowngradeMode;
+						eq.priorDowngradeMode = 0;
+						remaining -= extraIntensity;
+						log(String.format(
+							"[CONTROL LOOP] RESTORED %s to mode %d, remaining surplus: %.2fA",
+							eq.uid, eq.currentMode, remaining));
+					}
+				} catch (Exception e) {
+					log(String.format(
+						"[CONTROL LOOP] Error restoring %s: %s", eq.uid, e.getMessage()));
+				}
+			}
+		}
+
 		// Step 3: Charge batteries with remaining surplus
 		if (remaining > ACTION_THRESHOLD && batteriesAvailable) {
 			try {
@@ -0,0 +1,239 @@
+package etape4.equipements.hem;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import etape4.equipements.hem.EquipmentRegistry.EquipmentInfo;
+
+/**
+ * The class <code>EquipmentPoller</code> implements the concurrent polling
+ * stage of the energy management control loop.
+ *
+ * <p>
+ * At each control iteration, all registered equipment are queried at the same
+ * time for their current mode and the consumption of that mode. The results
+ * are gathered into one reading table that is shared by every part of the
+ * iteration that needs equipment consumption, so each appliance is queried at
+ * most once per iteration.
+ * </p>
+ *
+ * <p>
+ * Each iteration has a deadline. Equipment that did not answer before the
+ * deadline are not waited for: their reading is marked as stale and carries
+ * the last known values, if any. An equipment whose previous query is still
+ * in flight is not queried again until that query completes, so a slow
+ * appliance never accumulates pending calls.
+ * </p>
+ *
+ * <p>
+ * This class is meant to be used by the control loop thread only; the polling
+ * threads only execute the port calls.
+ * </p>
+ *
+ * @author Jacques Malenfant, Sorbonne Universite
+ */
+public class EquipmentPoller {
+
+	// -------------------------------------------------------------------------
+	// Inner Classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Reading of one equipment for one control iteration.
+	 */
+	public static class EquipmentReading {
+		/** Unique identifier of the equipment */
+		public final String uid;
+
+		/** Operating mode index */
+		public final int mode;
+
+		/** Power consumption of the mode in Watts */
+		public final double watts;
+
+		/** Whether the equipment did not answer in time (values are the last known ones) */
+		public final boolean stale;
+
+		public EquipmentReading(String uid, int mode, double watts, boolean stale) {
+			this.uid = uid;
+			this.mode = mode;
+			this.watts = watts;
+			this.stale = stale;
+		}
+
+		/**
+		 * Return a stale copy of this reading.
+		 *
+		 * @return the same values, marked as stale
+		 */
+		public EquipmentReading asStale() {
+			return stale ? this : new EquipmentReading(uid, mode, watts, true);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("EquipmentReading[uid=%s, mode=%d, watts=%.2f, stale=%s]",
+				uid, mode, watts, stale);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants
+	// -------------------------------------------------------------------------
+
+	/** Default number of polling threads */
+	public static final int DEFAULT_POLLING_THREADS = 8;
+
+	/** Default deadline for one polling round in nanoseconds */
+	public static final long DEFAULT_DEADLINE_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+	// -------------------------------------------------------------------------
+	// Variables
+	// -------------------------------------------------------------------------
+
+	/** Threads executing the port calls */
+	private final ExecutorService executor;
+
+	/** Deadline for one polling round in nanoseconds */
+	private long deadlineNanos;
+
+	/** Queries still running, indexed by equipment UID */
+	private final Map<String, Future<EquipmentReading>> inFlight = new HashMap<>();
+
+	/** Last fresh reading of each equipment, indexed by UID */
+	private final Map<String, EquipmentReading> lastKnown = new HashMap<>();
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create a poller with the default number of threads and deadline.
+	 */
+	public EquipmentPoller() {
+		this(DEFAULT_POLLING_THREADS, DEFAULT_DEADLINE_NANOS);
+	}
+
+	/**
+	 * Create a poller.
+	 *
+	 * @param nbThreads     number of polling threads (> 0)
+	 * @param deadlineNanos deadline for one polling round in nanoseconds (> 0)
+	 */
+	public EquipmentPoller(int nbThreads, long deadlineNanos) {
+		assert nbThreads > 0 : "nbThreads must be > 0";
+		assert deadlineNanos > 0 : "deadlineNanos must be > 0";
+
+		AtomicInteger count = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(nbThreads, r -> {
+			Thread t = new Thread(r, "hem-equipment-poller-" + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Set the deadline for one polling round.
+	 *
+	 * @param deadlineNanos deadline in nanoseconds (> 0)
+	 */
+	public void setDeadlineNanos(long deadlineNanos) {
+		assert deadlineNanos > 0 : "deadlineNanos must be > 0";
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	/**
+	 * Query all the given equipment concurrently and gather their readings.
+	 *
+	 * <p>
+	 * Equipment that answered before the deadline get a fresh reading.
+	 * Equipment that did not answer in time, or whose query failed, get a stale
+	 * reading with their last known values, or no reading at all if they never
+	 * answered.
+	 * </p>
+	 *
+	 * @param equipment equipment to be queried
+	 * @return readings indexed by equipment UID
+	 */
+	public Map<String, EquipmentReading> poll(List<EquipmentInfo> equipment) {
+		// Launch one query per equipment, unless a previous one is still running
+		for (EquipmentInfo eq : equipment) {
+			Future<EquipmentReading> pending = inFlight.get(eq.uid);
+			if (pending == null || pending.isDone()) {
+				inFlight.put(eq.uid, executor.submit(() -> {
+					int mode = eq.port.currentMode();
+					double watts = eq.getModeConsumption(mode);
+					return new EquipmentReading(eq.uid, mode, watts, false);
+				}));
+			}
+		}
+
+		// Gather the results until the deadline
+		Map<String, EquipmentReading> readings = new HashMap<>();
+		long deadline = System.nanoTime() + deadlineNanos;
+		for (EquipmentInfo eq : equipment) {
+			Future<EquipmentReading> f = inFlight.get(eq.uid);
+			EquipmentReading reading = null;
+			try {
+				long remaining = deadline - System.nanoTime();
+				reading = f.isDone() || remaining > 0
+					? f.get(Math.max(0L, remaining), TimeUnit.NANOSECONDS)
+					: null;
+			} catch (TimeoutException | ExecutionException e) {
+				reading = null;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				reading = null;
+			}
+
+			if (reading != null) {
+				inFlight.remove(eq.uid);
+				lastKnown.put(eq.uid, reading);
+				readings.put(eq.uid, reading);
+			} else {
+				if (f.isDone()) {
+					// failed query: allow a new attempt at the next round
+					inFlight.remove(eq.uid);
+				}
+				EquipmentReading previous = lastKnown.get(eq.uid);
+				if (previous != null) {
+					readings.put(eq.uid, previous.asStale());
+				}
+			}
+		}
+
+		// Forget equipment that are no longer registered
+		if (lastKnown.size() > equipment.size() || inFlight.size() > equipment.size()) {
+			Set<String> uids = new HashSet<>();
+			for (EquipmentInfo eq : equipment) {
+				uids.add(eq.uid);
+			}
+			lastKnown.keySet().retainAll(uids);
+			inFlight.keySet().retainAll(uids);
+		}
+
+		return readings;
+	}
+
+	/**
+	 * Stop the polling threads; pending queries are abandoned.
+	 */
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
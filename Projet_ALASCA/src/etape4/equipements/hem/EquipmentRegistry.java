@@ -1,13 +1,15 @@
 package etape4.equipements.hem;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
+import etape1.bases.ModeConsumptionTable;
 import etape1.equipements.hem.ports.AdjustableOutboundPort;
 import etape4.control.EquipmentConstraint;
 
@@ -21,7 +23,11 @@ import etape4.control.EquipmentConstraint;
  * </p>
  *
  * <p>
- * Thread-safe via ReentrantLock for collection operations.
+ * Lock-free copy-on-write: readers get the current immutable
+ * {@link Snapshot}, with its priority-ordered arrays precomputed, without
+ * locking nor allocating. Registration, unregistration and changes of the
+ * suspension state build a new snapshot and publish it atomically, so they
+ * never stall the control loop.
  * </p>
  *
  * @author Jacques Malenfant, Sorbonne Universite
@@ -48,15 +54,33 @@ public class EquipmentRegistry {
 		/** Current operating mode index */
 		public int currentMode;
 
-		/** Whether this equipment is currently suspended */
-		public boolean suspended;
+		/** Whether this equipment is currently suspended; change it through
+		 *  {@link EquipmentRegistry#markSuspended} and
+		 *  {@link EquipmentRegistry#markResumed} to keep snapshots up to date */
+		public volatile boolean suspended;
 
 		/** Mode before suspension (for restoration) */
 		public int priorSuspendMode;
 
+		/** Mode before a downgrade by the HEM (for restoration), 0 if not downgraded */
+		public int priorDowngradeMode;
+
 		/** Constraint checker for this equipment */
 		public final EquipmentConstraint constraint;
 
+		/** Whether this equipment pushes its consumption changes to the HEM */
+		public volatile boolean pushesConsumption;
+
+		/** Last consumption pushed by this equipment in Watts */
+		public volatile double pushedConsumptionWatts;
+
+		/** Mode having the last pushed consumption in the cached mode table,
+		 *  0 when it is not known and the equipment must be queried */
+		public volatile int pushedMode;
+
+		/** Cached mode consumption table, null until fetched or after invalidation */
+		private volatile ModeConsumptionTable modeTable;
+
 		/**
 		 * Constructor for EquipmentInfo.
 		 *
@@ -89,6 +113,56 @@ public class EquipmentRegistry {
 			return !suspended && constraint.allowsSuspension();
 		}
 
+		/**
+		 * Get the mode consumption table, fetching it in one call on first use
+		 * and caching it until {@link #invalidateModeTable()}.
+		 *
+		 * @return mode consumption table
+		 * @throws Exception if port call fails
+		 */
+		public ModeConsumptionTable modeTable() throws Exception {
+			ModeConsumptionTable table = modeTable;
+			if (table == null) {
+				table = port.modeConsumptions();
+				modeTable = table;
+			}
+			return table;
+		}
+
+		/**
+		 * Forget the cached mode consumption table, so that it is fetched again
+		 * on next use.
+		 */
+		public void invalidateModeTable() {
+			modeTable = null;
+		}
+
+		/**
+		 * Check a consumption reported by the equipment against the cached
+		 * table, invalidating the table if no mode has this consumption.
+		 *
+		 * @param watts reported consumption in Watts (0 when suspended)
+		 */
+		public void checkReportedConsumption(double watts) {
+			ModeConsumptionTable table = modeTable;
+			if (table != null && watts > 0.0 && !table.hasConsumption(watts, 1.0)) {
+				modeTable = null;
+			}
+		}
+
+		/**
+		 * Get the mode having a consumption in the cached table, without
+		 * calling the equipment.
+		 *
+		 * @param watts consumption in Watts
+		 * @return the mode, or 0 if the table is not cached or no single mode
+		 *         has this consumption
+		 */
+		public int cachedModeOf(double watts) {
+			ModeConsumptionTable table = modeTable;
+			return table == null ? 0 : table.modeOf(watts, 1.0);
+		}
+
 		/**
 		 * Get power consumption for a specific mode.
 		 *
@@ -97,7 +171,21 @@ public class EquipmentRegistry {
 		 * @throws Exception if port call fails
 		 */
 		public double getModeConsumption(int mode) throws Exception {
-			return port.getModeConsumption(mode);
+			ModeConsumptionTable table = modeTable();
+			if (mode < 1 || mode > table.maxMode()) {
+				return port.getModeConsumption(mode);
+			}
+			return table.consumption(mode);
+		}
+
+		/**
+		 * Get power consumption of every mode.
+		 *
+		 * @return consumption in Watts of each mode, index m - 1 for mode m
+		 * @throws Exception if port call fails
+		 */
+		public double[] modeConsumptions() throws Exception {
+			return modeTable().consumptions();
 		}
 
 		/**
@@ -117,18 +205,116 @@ public class EquipmentRegistry {
 		}
 	}
 
+	/**
+	 * Immutable view of the registry published atomically on each change.
+	 *
+	 * <p>
+	 * Arrays are shared by all readers and must not be modified. Suspension
+	 * candidates are the equipment not currently suspended, ordered by
+	 * priority (higher priority values, i.e. lower importance, first);
+	 * suspended equipment are ordered the other way round.
+	 * </p>
+	 */
+	public static final class Snapshot {
+		/** Empty snapshot of a new registry */
+		static final Snapshot EMPTY = new Snapshot(new EquipmentInfo[0]);
+
+		/** Equipment indexed by UID */
+		public final Map<String, EquipmentInfo> byId;
+
+		/** Equipment grouped by type (e.g., "CoffeeMachine" -> instances) */
+		public final Map<String, List<EquipmentInfo>> byType;
+
+		/** All equipment in priority order (lower importance first) */
+		public final EquipmentInfo[] all;
+
+		/** Equipment not suspended, in priority order (lower importance first) */
+		public final EquipmentInfo[] suspensionCandidates;
+
+		/** Suspended equipment, in priority order (higher importance first) */
+		public final EquipmentInfo[] suspended;
+
+		/** Read-only list views of the arrays above */
+		final List<EquipmentInfo> allList;
+		final List<EquipmentInfo> suspendedList;
+		final List<String> uids;
+
+		/**
+		 * Build a snapshot and its precomputed views from the given equipment.
+		 *
+		 * @param equipment registered equipment, in any order
+		 */
+		Snapshot(EquipmentInfo[] equipment) {
+			EquipmentInfo[] sorted = equipment.clone();
+			Arrays.sort(sorted, LOWER_IMPORTANCE_FIRST);
+
+			Map<String, EquipmentInfo> ids = new HashMap<>();
+			Map<String, List<EquipmentInfo>> types = new HashMap<>();
+			List<EquipmentInfo> candidates = new ArrayList<>(sorted.length);
+			List<EquipmentInfo> susp = new ArrayList<>();
+			for (EquipmentInfo info : sorted) {
+				ids.put(info.uid, info);
+				types.computeIfAbsent(extractType(info.uid), k -> new ArrayList<>()).add(info);
+				if (info.suspended) {
+					susp.add(0, info);
+				} else {
+					candidates.add(info);
+				}
+			}
+			for (Map.Entry<String, List<EquipmentInfo>> e : types.entrySet()) {
+				e.setValue(Collections.unmodifiableList(e.getValue()));
+			}
+
+			this.byId = Collections.unmodifiableMap(ids);
+			this.byType = Collections.unmodifiableMap(types);
+			this.all = sorted;
+			this.suspensionCandidates = candidates.toArray(new EquipmentInfo[0]);
+			this.suspended = susp.toArray(new EquipmentInfo[0]);
+			this.allList = Collections.unmodifiableList(Arrays.asList(this.all));
+			this.suspendedList = Collections.unmodifiableList(Arrays.asList(this.suspended));
+			this.uids = Collections.unmodifiableList(new ArrayList<>(ids.keySet()));
+		}
+
+		/**
+		 * Return a snapshot where {@code info} replaces the equipment with the
+		 * same UID, or is added if there is none.
+		 */
+		Snapshot with(EquipmentInfo info) {
+			List<EquipmentInfo> l = new ArrayList<>(all.length + 1);
+			for (EquipmentInfo e : all) {
+				if (!e.uid.equals(info.uid)) {
+					l.add(e);
+				}
+			}
+			l.add(info);
+			return new Snapshot(l.toArray(new EquipmentInfo[0]));
+		}
+
+		/**
+		 * Return a snapshot without the equipment with the given UID.
+		 */
+		Snapshot without(String uid) {
+			List<EquipmentInfo> l = new ArrayList<>(all.length);
+			for (EquipmentInfo e : all) {
+				if (!e.uid.equals(uid)) {
+					l.add(e);
+				}
+			}
+			return new Snapshot(l.toArray(new EquipmentInfo[0]));
+		}
+	}
+
 	// -------------------------------------------------------------------------
 	// Constants and Variables
 	// -------------------------------------------------------------------------
 
-	/** Equipment indexed by UID */
-	private final Map<String, EquipmentInfo> equipmentById;
-
-	/** Equipment grouped by type (e.g., "CoffeeMachine" -> list of instances) */
-	private final Map<String, List<EquipmentInfo>> equipmentByType;
+	/** Priority order: higher priority values (lower importance) first, then UID */
+	private static final Comparator<EquipmentInfo> LOWER_IMPORTANCE_FIRST =
+		Comparator.comparingInt((EquipmentInfo e) -> e.priority).reversed()
+			.thenComparing(e -> e.uid);
 
-	/** Lock for thread-safe collection access */
-	private final ReentrantLock lock;
+	/** Current snapshot, replaced as a whole on each change */
+	private final AtomicReference<Snapshot> current;
 
 	// -------------------------------------------------------------------------
 	// Constructor
@@ -138,9 +324,7 @@ public class EquipmentRegistry {
 	 * Create a new EquipmentRegistry.
 	 */
 	public EquipmentRegistry() {
-		this.equipmentById = new HashMap<>();
-		this.equipmentByType = new HashMap<>();
-		this.lock = new ReentrantLock();
+		this.current = new AtomicReference<>(Snapshot.EMPTY);
 	}
 
 	// -------------------------------------------------------------------------
@@ -148,21 +332,27 @@ public class EquipmentRegistry {
 	// -------------------------------------------------------------------------
 
 	/**
-	 * Register a new equipment in the registry.
+	 * Get the current snapshot of the registry.
+	 *
+	 * <p>
+	 * Neither locks nor allocates; the snapshot stays consistent even if
+	 * equipment are registered or unregistered meanwhile.
+	 * </p>
+	 *
+	 * @return current snapshot
+	 */
+	public Snapshot snapshot() {
+		return current.get();
+	}
+
+	/**
+	 * Register a new equipment in the registry, replacing any equipment
+	 * registered with the same UID.
 	 *
 	 * @param info equipment information
 	 */
 	public void register(EquipmentInfo info) {
-		lock.lock();
-		try {
-			equipmentById.put(info.uid, info);
-
-			// Extract type from UID (e.g., "CoffeeMachine-1" -> "CoffeeMachine")
-			String type = extractType(info.uid);
-			equipmentByType.computeIfAbsent(type, k -> new ArrayList<>()).add(info);
-		} finally {
-			lock.unlock();
-		}
+		current.updateAndGet(s -> s.with(info));
 	}
 
 	/**
@@ -171,22 +361,38 @@ public class EquipmentRegistry {
 	 * @param uid unique identifier
 	 */
 	public void unregister(String uid) {
-		lock.lock();
-		try {
-			EquipmentInfo info = equipmentById.remove(uid);
-			if (info != null) {
-				String type = extractType(uid);
-				List<EquipmentInfo> typeList = equipmentByType.get(type);
-				if (typeList != null) {
-					typeList.remove(info);
-					if (typeList.isEmpty()) {
-						equipmentByType.remove(type);
-					}
-				}
-			}
-		} finally {
-			lock.unlock();
-		}
+		current.updateAndGet(s -> s.byId.containsKey(uid) ? s.without(uid) : s);
+	}
+
+	/**
+	 * Record that an equipment has been suspended and publish a new snapshot.
+	 *
+	 * @param info        registered equipment
+	 * @param priorMode   mode before suspension (for restoration)
+	 */
+	public void markSuspended(EquipmentInfo info, int priorMode) {
+		info.priorSuspendMode = priorMode;
+		info.suspended = true;
+		republish();
+	}
+
+	/**
+	 * Record that an equipment has been resumed and publish a new snapshot.
+	 *
+	 * @param info registered equipment
+	 */
+	public void markResumed(EquipmentInfo info) {
+		info.suspended = false;
+		info.currentMode = info.priorSuspendMode;
+		republish();
+	}
+
+	/**
+	 * Rebuild the snapshot so that its precomputed views reflect the current
+	 * suspension state of the equipment.
+	 */
+	private void republish() {
+		current.updateAndGet(s -> new Snapshot(s.all));
 	}
 
 	/**
@@ -196,12 +402,7 @@ public class EquipmentRegistry {
 	 * @return equipment info or null if not found
 	 */
 	public EquipmentInfo get(String uid) {
-		lock.lock();
-		try {
-			return equipmentById.get(uid);
-		} finally {
-			lock.unlock();
-		}
+		return current.get().byId.get(uid);
 	}
 
 	/**
@@ -214,51 +415,39 @@ public class EquipmentRegistry {
 	 * <li>Passes constraint check (allowsSuspension())</li>
 	 * </ul>
 	 * Sorted by priority: higher priority values (lower importance) first.
+	 * The control loop should rather iterate over
+	 * {@link Snapshot#suspensionCandidates}, which does not allocate.
 	 * </p>
 	 *
 	 * @return list of suspendable equipment
 	 */
 	public List<EquipmentInfo> getSuspendableEquipment() {
-		lock.lock();
-		try {
-			return equipmentById.values().stream()
-				.filter(EquipmentInfo::canSuspend)
-				.sorted(Comparator.comparingInt((EquipmentInfo e) -> e.priority).reversed())
-				.collect(Collectors.toList());
-		} finally {
-			lock.unlock();
+		List<EquipmentInfo> ret = new ArrayList<>();
+		for (EquipmentInfo e : current.get().suspensionCandidates) {
+			if (e.canSuspend()) {
+				ret.add(e);
+			}
 		}
+		return ret;
 	}
 
 	/**
-	 * Get all currently suspended equipment.
+	 * Get all currently suspended equipment (higher importance first).
 	 *
-	 * @return list of suspended equipment
+	 * @return read-only list of suspended equipment
 	 */
 	public List<EquipmentInfo> getSuspendedEquipment() {
-		lock.lock();
-		try {
-			return equipmentById.values().stream()
-				.filter(e -> e.suspended)
-				.collect(Collectors.toList());
-		} finally {
-			lock.unlock();
-		}
+		return current.get().suspendedList;
 	}
 
 	/**
 	 * Get all equipment of a specific type.
 	 *
 	 * @param type equipment type (e.g., "CoffeeMachine")
-	 * @return list of equipment of this type
+	 * @return read-only list of equipment of this type
 	 */
 	public List<EquipmentInfo> getByType(String type) {
-		lock.lock();
-		try {
-			return new ArrayList<>(equipmentByType.getOrDefault(type, new ArrayList<>()));
-		} finally {
-			lock.unlock();
-		}
+		return current.get().byType.getOrDefault(type, Collections.emptyList());
 	}
 
 	/**
@@ -267,40 +456,25 @@ public class EquipmentRegistry {
 	 * @return number of registered equipment
 	 */
 	public int size() {
-		lock.lock();
-		try {
-			return equipmentById.size();
-		} finally {
-			lock.unlock();
-		}
+		return current.get().all.length;
 	}
 
 	/**
 	 * Get all registered equipment.
 	 *
-	 * @return list of all equipment info
+	 * @return read-only list of all equipment info, in priority order
 	 */
 	public List<EquipmentInfo> getAllEquipment() {
-		lock.lock();
-		try {
-			return new ArrayList<>(equipmentById.values());
-		} finally {
-			lock.unlock();
-		}
+		return current.get().allList;
 	}
 
 	/**
 	 * Get all equipment UIDs.
 	 *
-	 * @return list of all UIDs
+	 * @return read-only list of all UIDs
 	 */
 	public List<String> getAllUIDs() {
-		lock.lock();
-		try {
-			return new ArrayList<>(equipmentById.keySet());
-		} finally {
-			lock.unlock();
-		}
+		return current.get().uids;
 	}
 
 	/**
@@ -317,7 +491,7 @@ public class EquipmentRegistry {
 	 * @param uid unique identifier
 	 * @return equipment type
 	 */
-	private String extractType(String uid) {
+	private static String extractType(String uid) {
 		// Handle "XxxGeneratedConnector" format from XML adapter registration
 		if (uid.endsWith("GeneratedConnector")) {
 			return uid.substring(0, uid.length() - "GeneratedConnector".length());
@@ -354,16 +528,12 @@ public class EquipmentRegistry {
 
 	@Override
 	public String toString() {
-		lock.lock();
-		try {
-			StringBuilder sb = new StringBuilder();
-			sb.append("EquipmentRegistry[total=").append(equipmentById.size()).append("]:\n");
-			for (String type : equipmentByType.keySet()) {
-				sb.append("  ").append(type).append(": ").append(equipmentByType.get(type).size()).append("\n");
-			}
-			return sb.toString();
-		} finally {
-			lock.unlock();
+		Snapshot s = current.get();
+		StringBuilder sb = new StringBuilder();
+		sb.append("EquipmentRegistry[total=").append(s.all.length).append("]:\n");
+		for (Map.Entry<String, List<EquipmentInfo>> e : s.byType.entrySet()) {
+			sb.append("  ").append(e.getKey()).append(": ").append(e.getValue().size()).append("\n");
 		}
+		return sb.toString();
 	}
 }
@@ -12,9 +12,11 @@ import etape1.equipments.solar_panel.SolarPanelCI;
 import etape3.equipements.hem.HEMCyPhy;
 import etape4.control.EquipmentConstraint;
 import etape4.control.PriorityConfig;
+import etape4.coordination.ConsumptionNotificationCI;
 import etape4.coordination.EnergyCoordinator;
 import etape4.coordination.EnergyStateModel;
 import etape4.coordination.EnergyStateModel.EnergySnapshot;
+import etape4.coordination.connections.ConsumptionNotificationInboundPort;
 import etape4.equipements.hem.EquipmentRegistry.EquipmentInfo;
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
 import fr.sorbonne_u.components.annotations.RequiredInterfaces;
@@ -45,11 +47,20 @@ import fr.sorbonne_u.exceptions.InvariantException;
  * BCM4Java's scheduled task mechanism.
  * </p>
  *
+ * <p>
+ * Appliances may also push their consumption changes through the
+ * {@code ConsumptionNotificationCI} inbound port. The energy state model is
+ * then updated as soon as the change happens. The control loop does not query
+ * these appliances, taking their mode from the pushed consumption in their
+ * cached mode table; it queries one again only when the pushed consumption
+ * matches no single mode of that table.
+ * </p>
+ *
  * @author Jacques Malenfant, Sorbonne Universite
  */
 @RequiredInterfaces(required = { AdjustableCI.class, ElectricMeterCI.class, BatteriesCI.class,
 		SolarPanelCI.class, GeneratorCI.class })
-@OfferedInterfaces(offered = { RegistrationCI.class })
+@OfferedInterfaces(offered = { RegistrationCI.class, ConsumptionNotificationCI.class })
 public class HEMEnergyManager extends HEMCyPhy implements EnergyCoordinator {
 
 	// -------------------------------------------------------------------------
@@ -62,6 +73,9 @@ public class HEMEnergyManager extends HEMCyPhy implements EnergyCoordinator {
 	/** Enable verbose control loop logging */
 	public static boolean CONTROL_LOOP_VERBOSE = true;
 
+	/** When true, consumption changes pushed by appliances replace their consumption polling */
+	public static boolean PUSH_CONSUMPTION_UPDATES = true;
+
 	// -------------------------------------------------------------------------
 	// Variables
 	// -------------------------------------------------------------------------
@@ -81,6 +95,9 @@ public class HEMEnergyManager extends HEMCyPhy implements EnergyCoordinator {
 	/** Whether control loop is currently running */
 	protected boolean controlLoopActive;
 
+	/** Inbound port receiving consumption changes pushed by appliances */
+	protected ConsumptionNotificationInboundPort cnip;
+
 	// -------------------------------------------------------------------------
 	// Constructors
 	// -------------------------------------------------------------------------
@@ -96,6 +113,8 @@ public class HEMEnergyManager extends HEMCyPhy implements EnergyCoordinator {
 		this.equipmentRegistry = new EquipmentRegistry();
 		this.energyStateModel = new EnergyStateModel();
 		this.controlLoopActive = false;
+		this.cnip = new ConsumptionNotificationInboundPort(ConsumptionNotificationCI.INBOUND_PORT_URI, this);
+		this.cnip.publishPort();
 
 		assert HEMEnergyManager.implementationInvariants(this)
 				: new ImplementationInvariantException("HEMEnergyManager.implementationInvariants(this)");
@@ -115,6 +134,8 @@ public class HEMEnergyManager extends HEMCyPhy implements EnergyCoordinator {
 		this.equipmentRegistry = new EquipmentRegistry();
 		this.energyStateModel = new EnergyStateModel();
 		this.controlLoopActive = false;
+		this.cnip = new ConsumptionNotificationInboundPort(ConsumptionNotificationCI.INBOUND_PORT_URI, this);
+		this.cnip.publishPort();
 
 		assert HEMEnergyManager.implementationInvariants(this)
 				: new ImplementationInvariantException("HEMEnergyManager.implementationInvariants(this)");
@@ -149,6 +170,11 @@ public class HEMEnergyManager extends HEMCyPhy implements EnergyCoordinator {
 	public synchronized void shutdown() throws ComponentShutdownException {
 		log("HEM Energy Manager shutting down");
 		this.stopControlLoop();
+		try {
+			this.cnip.unpublishPort();
+		} catch (Exception e) {
+			throw new ComponentShutdownException(e);
+		}
 		super.shutdown();
 	}
 
@@ -213,6 +239,8 @@ public class HEMEnergyManager extends HEMCyPhy implements EnergyCoordinator {
 			CONTROL_LOOP_VERBOSE
 		);
 		this.controlTask.setControlPeriodSeconds(CONTROL_PERIOD_SECONDS);
+		// Equipment answering later than half a period are marked as stale
+		this.controlTask.setPollingDeadlineNanos(this.controlPeriodNanos / 2);
 
 		// Delay the first effective run until the simulation clock has started.
 		// DELAY_TO_START is typically 8000ms; add 2s margin for initialization.
@@ -296,6 +324,7 @@ public class HEMEnergyManager extends HEMCyPhy implements EnergyCoordinator {
 	public void unregister(String uid) throws Exception {
 		// Unregister from our registry
 		this.equipmentRegistry.unregister(uid);
+		this.energyStateModel.forgetPushedConsumption(uid);
 
 		// Call parent unregistration
 		super.unregister(uid);
@@ -421,9 +450,31 @@ public class HEMEnergyManager extends HEMCyPhy implements EnergyCoordinator {
 	}
 
 	@Override
-	public void notifyConsumptionChange(String equipmentId, double oldConsumptionWatts, double newConsumptionWatts) {
+	public void notifyConsumptionChange(String equipmentId, long sequence, double oldConsumptionWatts,
+		double newConsumptionWatts) {
 		// Equipment notifies coordinator of consumption changes
 		// This allows real-time updates to the energy state
+		EquipmentInfo info = this.equipmentRegistry.get(equipmentId);
+		if (PUSH_CONSUMPTION_UPDATES && info != null) {
+			// the energy state model keeps the pushed consumption, the control
+			// loop adding it to the consumption of the equipment it polls; the
+			// push and the equipment information are updated together so that
+			// two pushes handled concurrently cannot interleave
+			synchronized (info) {
+				if (!this.energyStateModel.applyConsumptionPush(
+						equipmentId, sequence, newConsumptionWatts)) {
+					if (VERBOSE) {
+						log(String.format("[COORDINATOR] Equipment %s: out of date push #%d ignored",
+							equipmentId, sequence));
+					}
+					return;
+				}
+				info.pushedConsumptionWatts = newConsumptionWatts;
+				info.pushesConsumption = true;
+				info.checkReportedConsumption(newConsumptionWatts);
+				info.pushedMode = info.cachedModeOf(newConsumptionWatts);
+			}
+		}
 		if (VERBOSE) {
 			log(String.format("[COORDINATOR] Equipment %s consumption: %.0fW -> %.0fW",
 				equipmentId, oldConsumptionWatts, newConsumptionWatts));
@@ -483,6 +534,7 @@ public class HEMEnergyManager extends HEMCyPhy implements EnergyCoordinator {
 		ret &= HEMCyPhy.implementationInvariants(hem);
 		ret &= hem.equipmentRegistry != null;
 		ret &= hem.energyStateModel != null;
+		ret &= hem.cnip != null;
 		return ret;
 	}
 
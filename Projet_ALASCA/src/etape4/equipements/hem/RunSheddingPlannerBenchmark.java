@@ -0,0 +1,136 @@
+package etape4.equipements.hem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import etape4.equipements.hem.SheddingPlanner.Candidate;
+import etape4.equipements.hem.SheddingPlanner.Plan;
+
+/**
+ * The class <code>RunSheddingPlannerBenchmark</code> compares the optimal
+ * shedding planner with the former greedy strategy, which suspends
+ * appliances by priority order until the remaining deficit is below
+ * {@link EnergyControlLoopTask#ACTION_THRESHOLD}.
+ *
+ * <p>
+ * For random fleets of appliances and random deficits, it prints the mean
+ * power shed beyond the deficit (over-shedding), the mean comfort loss, the
+ * share of covered deficits and the mean solve time of the planner. Run it
+ * with the number of trials, for instance:
+ * </p>
+ *
+ * <pre>
+ * java etape4.equipements.hem.RunSheddingPlannerBenchmark 2000
+ * </pre>
+ *
+ * @author Jacques Malenfant, Sorbonne Universite
+ */
+public class RunSheddingPlannerBenchmark {
+
+	/** Mode consumptions in Watts of the appliance models of the fleet */
+	protected static final double[][] MODELS = {
+		{ 20.0, 40.0, 60.0 },			// fan
+		{ 1000.0, 2000.0 },				// kettle
+		{ 200.0, 800.0, 1500.0 },		// coffee machine
+		{ 500.0, 1000.0, 2200.0 },		// laundry
+		{ 100.0, 300.0 },				// lamp group
+	};
+
+	public static void main(String[] args) throws Exception {
+		int trials = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		Random random = new Random(42L);
+		SheddingPlanner planner = new SheddingPlanner();
+		double thresholdWatts = EnergyControlLoopTask.ACTION_THRESHOLD * 220.0;
+
+		// Warm up the JIT before timing the planner
+		for (int t = 0; t < trials; t++) {
+			planner.plan(fleet(random, 100), 5000.0);
+		}
+
+		System.out.println(String.format("%6s %-8s %14s %14s %10s %14s",
+			"fleet", "strategy", "over-shed W", "comfort loss", "covered", "solve us"));
+		for (int n : new int[] { 10, 100, 1000 }) {
+			double[] overShed = new double[2];
+			double[] comfort = new double[2];
+			int[] covered = new int[2];
+			long solveNanos = 0L;
+
+			for (int t = 0; t < trials; t++) {
+				List<Candidate> fleet = fleet(random, n);
+				double total = 0.0;
+				for (Candidate c : fleet) {
+					total += c.currentWatts();
+				}
+				double deficit = random.nextDouble() * 0.5 * total;
+				double required = Math.max(0.0, deficit - thresholdWatts);
+
+				long start = System.nanoTime();
+				Plan optimal = planner.plan(fleet, required);
+				solveNanos += System.nanoTime() - start;
+				Plan greedy = greedy(fleet, required);
+
+				Plan[] plans = { greedy, optimal };
+				for (int s = 0; s < 2; s++) {
+					overShed[s] += Math.max(0.0, plans[s].savedWatts - required);
+					comfort[s] += plans[s].comfortLoss;
+					if (plans[s].savedWatts >= required) {
+						covered[s]++;
+					}
+				}
+			}
+			String[] names = { "greedy", "optimal" };
+			for (int s = 0; s < 2; s++) {
+				System.out.println(String.format("%6d %-8s %14.1f %14.2f %9.1f%% %14s",
+					n, names[s], overShed[s] / trials, comfort[s] / trials,
+					100.0 * covered[s] / trials,
+					s == 1 ? String.format("%.1f", solveNanos / 1000.0 / trials) : "-"));
+			}
+		}
+	}
+
+	/**
+	 * Random fleet of {@code n} appliances, each running in a random mode.
+	 */
+	protected static List<Candidate> fleet(Random random, int n) {
+		List<Candidate> fleet = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			double[] modes = MODELS[random.nextInt(MODELS.length)];
+			fleet.add(new Candidate(
+				"Appliance-" + i,
+				1 + random.nextInt(10),
+				1 + random.nextInt(modes.length),
+				modes,
+				true));
+		}
+		return fleet;
+	}
+
+	/**
+	 * Former strategy: suspend by priority (lower importance first) until the
+	 * required power is shed.
+	 */
+	protected static Plan greedy(List<Candidate> candidates, double requiredWatts) {
+		int[] targets = new int[candidates.size()];
+		Integer[] order = new Integer[candidates.size()];
+		for (int i = 0; i < targets.length; i++) {
+			targets[i] = candidates.get(i).currentMode;
+			order[i] = i;
+		}
+		Arrays.sort(order,
+			Comparator.comparingInt((Integer i) -> candidates.get(i).priority).reversed());
+
+		double saved = 0.0;
+		double comfort = 0.0;
+		for (int i : order) {
+			if (saved >= requiredWatts) break;
+			Candidate c = candidates.get(i);
+			targets[i] = SheddingPlanner.SUSPEND;
+			saved += SheddingPlanner.savedWatts(c, SheddingPlanner.SUSPEND);
+			comfort += SheddingPlanner.comfortLoss(c, SheddingPlanner.SUSPEND);
+		}
+		return new Plan(targets, saved, comfort, saved >= requiredWatts);
+	}
+}
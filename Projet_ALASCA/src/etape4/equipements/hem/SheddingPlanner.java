@@ -0,0 +1,302 @@
+package etape4.equipements.hem;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The class <code>SheddingPlanner</code> chooses the suspensions and mode
+ * downgrades that cover a power deficit with the least comfort loss.
+ *
+ * <p>
+ * Each candidate appliance can be kept in its current mode, downgraded to
+ * any less consuming mode or suspended. The comfort loss of an option is the
+ * importance of the appliance (11 - priority) times the fraction of its
+ * power removed, plus a penalty for suspensions. Choosing one option per
+ * appliance so that the savings cover the deficit with the least total loss
+ * is a multiple-choice knapsack, solved by dynamic programming over savings
+ * rounded down to buckets of at least {@link #MIN_RESOLUTION_WATTS}.
+ * </p>
+ *
+ * <p>
+ * The number of buckets is bounded by {@link #MAX_BUCKETS}, coarsening the
+ * resolution for large deficits, so the solve time is O(n.m.B) for n
+ * candidates with m modes whatever the deficit. Savings being rounded down,
+ * the planned savings are a lower bound of the real ones; actions made
+ * unnecessary by the real savings are then cancelled. When the deficit
+ * cannot be covered, the plan sheds as much as possible.
+ * </p>
+ *
+ * <p>
+ * Not thread-safe: buffers are reused between calls, use one planner per
+ * control loop.
+ * </p>
+ *
+ * @author Jacques Malenfant, Sorbonne Universite
+ */
+public class SheddingPlanner {
+
+	// -------------------------------------------------------------------------
+	// Inner Classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Appliance that may be downgraded or suspended.
+	 */
+	public static class Candidate {
+		/** Unique identifier of the appliance */
+		public final String uid;
+		/** Priority level: 1 (highest) to 10 (lowest) */
+		public final int priority;
+		/** Current mode, from 1 to modeWatts.length */
+		public final int currentMode;
+		/** Consumption in Watts of each mode, modeWatts[m - 1] for mode m */
+		public final double[] modeWatts;
+		/** Whether the appliance may change mode (false: suspension only) */
+		public final boolean canDowngrade;
+
+		/**
+		 * @param uid          unique identifier
+		 * @param priority     priority level (1-10)
+		 * @param currentMode  current mode (1 to modeWatts.length)
+		 * @param modeWatts    consumption of each mode in Watts
+		 * @param canDowngrade whether the mode may be lowered
+		 */
+		public Candidate(String uid, int priority, int currentMode, double[] modeWatts, boolean canDowngrade) {
+			this.uid = uid;
+			this.priority = priority;
+			this.currentMode = currentMode;
+			this.modeWatts = modeWatts;
+			this.canDowngrade = canDowngrade;
+		}
+
+		/**
+		 * @return current consumption in Watts
+		 */
+		public double currentWatts() {
+			return modeWatts[currentMode - 1];
+		}
+
+		/**
+		 * @return importance of the appliance, from 1 (lowest) to 10 (highest)
+		 */
+		public int importance() {
+			return Math.max(1, 11 - priority);
+		}
+	}
+
+	/**
+	 * Result of the planning.
+	 */
+	public static class Plan {
+		/** Target mode of each candidate: {@link #SUSPEND}, its current mode or a lower one */
+		public final int[] targetModes;
+		/** Power saved by the plan in Watts */
+		public final double savedWatts;
+		/** Total comfort loss of the plan */
+		public final double comfortLoss;
+		/** Whether the plan covers the requested power */
+		public final boolean covers;
+
+		Plan(int[] targetModes, double savedWatts, double comfortLoss, boolean covers) {
+			this.targetModes = targetModes;
+			this.savedWatts = savedWatts;
+			this.comfortLoss = comfortLoss;
+			this.covers = covers;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and Variables
+	// -------------------------------------------------------------------------
+
+	/** Target mode meaning the appliance is suspended */
+	public static final int SUSPEND = 0;
+
+	/** Extra comfort loss of a suspension, relative to the importance */
+	public static final double SUSPENSION_PENALTY = 0.5;
+
+	/** Finest resolution of the savings in Watts */
+	public static final double MIN_RESOLUTION_WATTS = 5.0;
+
+	/** Maximum number of savings buckets */
+	public static final int MAX_BUCKETS = 512;
+
+	/** Minimum loss per bucket of savings, reused between calls */
+	private double[] loss = new double[0];
+	private double[] next = new double[0];
+
+	/** Choices per candidate and bucket: (previous bucket << 8) | target mode */
+	private int[][] choices = new int[0][];
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Comfort loss of moving a candidate to a target mode.
+	 *
+	 * @param c          candidate
+	 * @param targetMode {@link #SUSPEND} or a mode
+	 * @return comfort loss (0 when keeping the current mode)
+	 */
+	public static double comfortLoss(Candidate c, int targetMode) {
+		if (targetMode == c.currentMode) {
+			return 0.0;
+		}
+		if (targetMode == SUSPEND) {
+			return c.importance() * (1.0 + SUSPENSION_PENALTY);
+		}
+		double current = c.currentWatts();
+		if (current <= 0.0) {
+			return 0.0;
+		}
+		return c.importance() * (current - c.modeWatts[targetMode - 1]) / current;
+	}
+
+	/**
+	 * Power saved by moving a candidate to a target mode.
+	 *
+	 * @param c          candidate
+	 * @param targetMode {@link #SUSPEND} or a mode
+	 * @return saved power in Watts
+	 */
+	public static double savedWatts(Candidate c, int targetMode) {
+		if (targetMode == SUSPEND) {
+			return c.currentWatts();
+		}
+		return c.currentWatts() - c.modeWatts[targetMode - 1];
+	}
+
+	/**
+	 * Plan the shedding of at least {@code requiredWatts}.
+	 *
+	 * @param candidates    appliances that may be downgraded or suspended
+	 * @param requiredWatts power to shed in Watts
+	 * @return the plan, with one target mode per candidate
+	 */
+	public Plan plan(List<Candidate> candidates, double requiredWatts) {
+		int n = candidates.size();
+		int[] targets = new int[n];
+		for (int i = 0; i < n; i++) {
+			targets[i] = candidates.get(i).currentMode;
+		}
+		if (requiredWatts <= 0.0 || n == 0) {
+			return new Plan(targets, 0.0, 0.0, requiredWatts <= 0.0);
+		}
+
+		double resolution = Math.max(MIN_RESOLUTION_WATTS, requiredWatts / MAX_BUCKETS);
+		int buckets = (int) Math.ceil(requiredWatts / resolution);
+		ensureCapacity(n, buckets + 1);
+
+		Arrays.fill(loss, 0, buckets + 1, Double.POSITIVE_INFINITY);
+		loss[0] = 0.0;
+
+		for (int i = 0; i < n; i++) {
+			Candidate c = candidates.get(i);
+			int[] choice = choices[i];
+
+			// Option "keep the current mode"
+			System.arraycopy(loss, 0, next, 0, buckets + 1);
+			for (int b = 0; b <= buckets; b++) {
+				choice[b] = (b << 8) | c.currentMode;
+			}
+
+			// Options "downgrade" (any less consuming mode) and "suspend"
+			if (c.canDowngrade) {
+				for (int target = 1; target <= c.modeWatts.length; target++) {
+					if (target != c.currentMode) {
+						considerOption(c, target, resolution, buckets, choice);
+					}
+				}
+			}
+			considerOption(c, SUSPEND, resolution, buckets, choice);
+
+			double[] tmp = loss;
+			loss = next;
+			next = tmp;
+		}
+
+		// Best covering plan, or the largest partial one when none covers
+		int best = buckets;
+		while (best > 0 && loss[best] == Double.POSITIVE_INFINITY) {
+			best--;
+		}
+
+		double saved = 0.0;
+		int b = best;
+		for (int i = n - 1; i >= 0; i--) {
+			int entry = choices[i][b];
+			targets[i] = entry & 0xFF;
+			saved += savedWatts(candidates.get(i), targets[i]);
+			b = entry >>> 8;
+		}
+
+		// Rounding savings down may shed more than needed: cancel the actions
+		// that are not needed with the real savings, costliest first
+		boolean trimmed = true;
+		while (trimmed && saved > requiredWatts) {
+			trimmed = false;
+			int worst = -1;
+			double worstLoss = 0.0;
+			for (int i = 0; i < n; i++) {
+				Candidate c = candidates.get(i);
+				if (targets[i] != c.currentMode
+					&& saved - savedWatts(c, targets[i]) >= requiredWatts
+					&& comfortLoss(c, targets[i]) > worstLoss) {
+					worst = i;
+					worstLoss = comfortLoss(c, targets[i]);
+				}
+			}
+			if (worst >= 0) {
+				saved -= savedWatts(candidates.get(worst), targets[worst]);
+				targets[worst] = candidates.get(worst).currentMode;
+				trimmed = true;
+			}
+		}
+
+		double comfort = 0.0;
+		for (int i = 0; i < n; i++) {
+			comfort += comfortLoss(candidates.get(i), targets[i]);
+		}
+		return new Plan(targets, saved, comfort, best == buckets);
+	}
+
+	/**
+	 * Relax the buckets with the option of moving {@code c} to {@code target}.
+	 */
+	private void considerOption(Candidate c, int target, double resolution, int buckets, int[] choice) {
+		double saving = savedWatts(c, target);
+		int step = (int) (saving / resolution);
+		if (step <= 0) {
+			return;
+		}
+		double optionLoss = comfortLoss(c, target);
+		for (int b = 0; b <= buckets; b++) {
+			double l = loss[b];
+			if (l == Double.POSITIVE_INFINITY) {
+				continue;
+			}
+			int nb = Math.min(buckets, b + step);
+			double candidateLoss = l + optionLoss;
+			if (candidateLoss < next[nb]) {
+				next[nb] = candidateLoss;
+				choice[nb] = (b << 8) | target;
+			}
+		}
+	}
+
+	/**
+	 * Grow the reusable buffers if needed.
+	 */
+	private void ensureCapacity(int n, int size) {
+		if (loss.length < size) {
+			loss = new double[size];
+			next = new double[size];
+		}
+		if (choices.length < n || (choices.length > 0 && choices[0].length < size)) {
+			int rows = Math.max(n, choices.length);
+			int columns = Math.max(size, choices.length > 0 ? choices[0].length : 0);
+			choices = new int[rows][columns];
+		}
+	}
+}
@@ -39,6 +39,7 @@ import etape1.equipments.batteries.Batteries.State;
 import etape2.equipments.batteries.mil.BatteriesSimulationConfiguration;
 import etape2.equipments.batteries.mil.events.BatteriesAvailable;
 import etape2.equipments.batteries.mil.events.BatteriesEmpty;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape4.equipments.batteries.sil.events.SIL_BatteriesRequiredPowerChanged;
 import etape4.equipments.batteries.sil.events.CurrentBatteriesLevel;
 import etape4.equipments.batteries.sil.events.CurrentBatteriesLevel.StateAndLevelValue;
@@ -105,6 +106,19 @@ import java.util.Set;
  * used to plan the next internal transition.
  * </p>
  * <p>
+ * The derivative of the charge level being constant between two transitions,
+ * the level is an exact linear function of time between them. Hence, when
+ * {@code EVENT_HORIZON_STEPPING} is true, the next internal transition is not
+ * planned after a fixed quantum but at the next level that matters: the limit
+ * towards which the level goes or, if sooner, the level at which the
+ * {@code BatteriesStateSILModel} must be notified again, that is when it has
+ * changed by {@code LEVEL_CHANGE_NOTIFICATION_DELTA} of the capacity since
+ * the last notification (or by the standard quantum when this delta is 0, in
+ * which case every transition is notified). The component therefore observes
+ * the level with the same granularity, while increasing the notification
+ * delta directly reduces the number of internal transitions.
+ * </p>
+ * <p>
  * This model also exhibit another important feature: it has external events
  * which occurrence can happen before the next internal transition is reached.
  * When this happens, the current charge level must be updated but not of the
@@ -183,7 +197,8 @@ import java.util.Set;
  * <li>Exported events:
  *   {@code BatteriesEmpty},
  *   {@code BatteriesAvailable},
- *   {@code CurrentBatteriesLevel}</li>
+ *   {@code CurrentBatteriesLevel},
+ *   {@code PowerChanged}</li>
  * <li>Imported variables:
  *   name = {@code batteriesRequiredPower}, type = {@code Double}</li>
  * <li>Exported variables:
@@ -216,7 +231,7 @@ import java.util.Set;
 	imported = {SIL_StartCharging.class, SIL_StopCharging.class,
 				SIL_BatteriesRequiredPowerChanged.class},
 	exported = {BatteriesEmpty.class, BatteriesAvailable.class,
-				CurrentBatteriesLevel.class})
+				CurrentBatteriesLevel.class, PowerChanged.class})
 @ModelExportedVariables(
 	{@ModelExportedVariable(name = "batteriesInputPower", type = Double.class),
 	 @ModelExportedVariable(name = "batteriesOutputPower", type = Double.class)}
@@ -256,6 +271,10 @@ implements	BatteriesStateI
 	public static boolean			VERBOSE = true;
 	/** when true, leaves a debugging trace of the execution of the model.	*/
 	public static boolean			DEBUG = false;
+	/** when true, the next internal transition is planned when the level
+	 *  reaches its next limit or must next be notified, otherwise when it
+	 *  has changed by the standard level quantum.							*/
+	public static boolean			EVENT_HORIZON_STEPPING = true;
 	/** when comparing floating point values, use this tolerance to get
 	 *  the result of the comparison.										*/
 	protected static final double	TOLERANCE  = 1.0e-08;
@@ -299,6 +318,9 @@ implements	BatteriesStateI
 	protected State					currentState;
 	/** the event to be emitted at the next output or null if none.			*/
 	protected Set<EventToBeEmittedNext>	toBeEmitted;
+	/** when true, the change of the input or output power must be
+	 *  signalled to the electric meter at the next output.				*/
+	protected boolean				powerChangeToBeSignalled;
 
 	/** percentage of change in the batteries level that will trigger
 	 *  sending a {@code CurrentBatteriesLevel} event to the
@@ -561,6 +583,7 @@ implements	BatteriesStateI
 	{
 		this.currentState = State.IDLE;
 		this.toBeEmitted = null;
+		this.powerChangeToBeSignalled = false;
 		this.lastEmittedBatteriesLevel = 0.0;
 		this.currentLevelQuantum = this.standardLevelQuantum;
 
@@ -757,6 +780,10 @@ implements	BatteriesStateI
 			// immediate internal event that will emit an external event to
 			// notify the users
 			ret = Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.powerChangeToBeSignalled) {
+			// the change of the power levels is signalled to the electric
+			// meter at the time it occurs
+			ret = Duration.zero(this.getSimulatedTimeUnit());
 		} else if (!this.currentState.equals(State.IDLE)) {
 			// when charging or producing the time to the next internal event
 			// is the time required for the batteries level to change of the
@@ -792,21 +819,31 @@ implements	BatteriesStateI
 	@Override
 	public ArrayList<EventI>	output()
 	{
-		if (this.toBeEmitted != null) {
+		if (this.toBeEmitted != null || this.powerChangeToBeSignalled) {
 			ArrayList<EventI> ret = new ArrayList<EventI>();
-			if (toBeEmitted.contains(EventToBeEmittedNext.BATTERIES_EMPTY)) {
-				ret.add(new BatteriesEmpty(this.getTimeOfNextEvent()));
-			}
-			if (toBeEmitted.contains(EventToBeEmittedNext.BATTERIES_AVAILABLE)) {
-				ret.add(new BatteriesAvailable(this.getTimeOfNextEvent()));
+			if (this.toBeEmitted != null) {
+				if (toBeEmitted.contains(
+								EventToBeEmittedNext.BATTERIES_EMPTY)) {
+					ret.add(new BatteriesEmpty(this.getTimeOfNextEvent()));
+				}
+				if (toBeEmitted.contains(
+								EventToBeEmittedNext.BATTERIES_AVAILABLE)) {
+					ret.add(new BatteriesAvailable(this.getTimeOfNextEvent()));
+				}
+				if (toBeEmitted.contains(EventToBeEmittedNext.CURRENT_LEVEL)) {
+					ret.add(new CurrentBatteriesLevel(
+							this.getTimeOfNextEvent(),
+							new StateAndLevelValue(
+									this.currentState,
+									this.currentLevel.getValue()/
+															this.maxCapacity)));
+					this.lastEmittedBatteriesLevel =
+												this.currentLevel.getValue();
+				}
 			}
-			if (toBeEmitted.contains(EventToBeEmittedNext.CURRENT_LEVEL)) {
-				ret.add(new CurrentBatteriesLevel(
-						this.getTimeOfNextEvent(),
-						new StateAndLevelValue(
-								this.currentState,
-								this.currentLevel.getValue()/this.maxCapacity)));
-				this.lastEmittedBatteriesLevel = this.currentLevel.getValue();
+			if (this.powerChangeToBeSignalled) {
+				// the flag is reset by the following internal transition
+				ret.add(new PowerChanged(this.getTimeOfNextEvent()));
 			}
 			
 			// tracing
@@ -852,6 +889,29 @@ implements	BatteriesStateI
 		}
 	}
 
+	/**
+	 * return the change of level in {@code MeasurementUnit.WATT_HOURS}
+	 * after which the {@code BatteriesStateSILModel} must be notified again
+	 * under the event horizon stepping.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return > 0.0}
+	 * </pre>
+	 *
+	 * @return	the change of level after which the state model is notified.
+	 */
+	protected double	notificationStep()
+	{
+		if (LEVEL_CHANGE_NOTIFICATION_DELTA > 0.0) {
+			return LEVEL_CHANGE_NOTIFICATION_DELTA * this.maxCapacity;
+		} else {
+			return this.standardLevelQuantum;
+		}
+	}
+
 	/**
 	 * compute a new state when a transition occurs, internal or external after
 	 * having executed the effect of the external event.
@@ -883,6 +943,9 @@ implements	BatteriesStateI
 		assert	toBeEmitted == null :
 				new NeoSim4JavaException("toBeEmitted == null");
 
+		double oldInputPower = this.batteriesInputPower.getValue();
+		double oldOutputPower = this.batteriesOutputPower.getValue();
+
 		// First, update the current level of the batteries using the level
 		// quantum chosen at the preceding evaluation, and also possibly the
 		// state, when an internal event TANK_EMPTY occurs. Next, update the
@@ -953,25 +1016,53 @@ implements	BatteriesStateI
 				throw new NeoSim4JavaException("unknown batteries state!");
 			}
 
-			if (Math.abs(newLevel - oldLevel)/this.maxCapacity >=
-											LEVEL_CHANGE_NOTIFICATION_DELTA) {
+			// notify the level when it has changed enough since the last
+			// notification or when it has just reached a limit
+			boolean notifyLevel;
+			if (EVENT_HORIZON_STEPPING) {
+				notifyLevel =
+					LEVEL_CHANGE_NOTIFICATION_DELTA <= 0.0
+					|| Math.abs(newLevel - this.lastEmittedBatteriesLevel) >=
+										this.notificationStep() - TOLERANCE
+					|| (Math.abs(newLevel - oldLevel) > TOLERANCE
+						&& (newLevel < TOLERANCE ||
+							this.maxCapacity - newLevel < TOLERANCE));
+			} else {
+				notifyLevel =
+					Math.abs(newLevel - oldLevel)/this.maxCapacity >=
+											LEVEL_CHANGE_NOTIFICATION_DELTA;
+			}
+			if (notifyLevel) {
 				if (this.toBeEmitted == null) {
 					this.toBeEmitted = new HashSet<>();
 				}
 				this.toBeEmitted.add(EventToBeEmittedNext.CURRENT_LEVEL);
 			}
+			// level known by the state model after the next output
+			double notifiedLevel =
+					notifyLevel ? newLevel : this.lastEmittedBatteriesLevel;
 
 			// update the current level quantum for the next transition
 			switch (this.currentState) {
 			case CHARGING:
-				if (newLevel + this.standardLevelQuantum <= this.maxCapacity) {
+				if (EVENT_HORIZON_STEPPING) {
+					this.currentLevelQuantum =
+						Math.min(this.maxCapacity,
+								 notifiedLevel + this.notificationStep())
+																- newLevel;
+				} else if (newLevel + this.standardLevelQuantum <=
+															this.maxCapacity) {
 					this.currentLevelQuantum = this.standardLevelQuantum;
 				} else {
 					this.currentLevelQuantum = this.maxCapacity - newLevel;
 				}
 				break;
 			case PRODUCING:
-				if (newLevel >= this.standardLevelQuantum) {
+				if (EVENT_HORIZON_STEPPING) {
+					this.currentLevelQuantum =
+						Math.max(0.0, notifiedLevel - this.notificationStep())
+																- newLevel;
+				} else if (newLevel >= this.standardLevelQuantum) {
 					this.currentLevelQuantum = -this.standardLevelQuantum;
 				} else {
 					this.currentLevelQuantum = -newLevel;
@@ -1022,6 +1113,13 @@ implements	BatteriesStateI
 			throw new NeoSim4JavaException("unknown batteries state!");
 		}
 
+		if (PowerChanged.isSignificant(oldInputPower,
+									   this.batteriesInputPower.getValue())
+			|| PowerChanged.isSignificant(oldOutputPower,
+									   this.batteriesOutputPower.getValue())) {
+			this.powerChangeToBeSignalled = true;
+		}
+
 		// update the last derivative with the one at the current time
 		this.lastDerivative.setNewValue(
 				this.computeCurrentCapacityDerivative(), 
@@ -1055,9 +1153,10 @@ implements	BatteriesStateI
 		// of zero hence the state has not changed since the last internal
 		// transition so do not compute a next state
 		Set<EventToBeEmittedNext> emitted = null;
-		if (this.toBeEmitted != null) {
+		if (this.toBeEmitted != null || this.powerChangeToBeSignalled) {
 			emitted = this.toBeEmitted;
 			this.toBeEmitted = null;
+			this.powerChangeToBeSignalled = false;
 		} else {
 			this.computeNextState();
 		}
@@ -1,5 +1,6 @@
 package etape4.equipments.generator;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
@@ -1111,18 +1112,16 @@ implements	GeneratorImplementationI
 								GeneratorSimulationConfiguration.INITIAL_TANK_LEVEL,
 								GeneratorImplementationI.CAPACITY_UNIT));
 			} else {
-				TimedPhysicalMeasure tpm =
-					(TimedPhysicalMeasure) this.asp.getModelStateValue(
-								GeneratorStateSILModel.URI,
-								GeneratorStateSILModel.FUEL_LEVEL_VALUE_NAME);
+				// the fuel model notifies the level only at its transitions,
+				// so it is extrapolated to the current instant
+				Instant now = this.getClock4Simulation().currentInstant();
 				ret = new SignalData<Double>(
 						this.getClock4Simulation(),
 						new TimedMeasure<Double>(
-								tpm.getValue(),
+								this.extrapolatedTankLevel(now),
 								GeneratorImplementationI.CAPACITY_UNIT,
 								this.getClock4Simulation(),
-								this.getClock4Simulation().
-									instantOfSimulatedTime(tpm.getTimestamp())));
+								now));
 			}
 		} else if (this.getExecutionMode().isTestWithoutSimulation()) {
 			ret = new SignalData<Double>(
@@ -1359,6 +1358,119 @@ implements	GeneratorImplementationI
 		return ret;
 	}
 
+	/**
+	 * @see etape1.equipments.generator.GeneratorImplementationI#remainingAutonomy()
+	 */
+	@Override
+	public SignalData<Double>	remainingAutonomy() throws Exception
+	{
+		// when the generator is not running, the autonomy is the one it would
+		// have once started, consuming at least its minimal fuel consumption
+		double minConsumption = this.minFuelConsumption.getData();
+		SignalData<Double> ret;
+		if (this.getExecutionMode().isSILTest()) {
+			if (this.asp == null) {
+				 // the simulator does not run yet, use the initial value
+				 // for the tank level.
+				ret = new SignalData<Double>(
+						this.getClock4Simulation(),
+						new Measure<Double>(
+								GeneratorSimulationConfiguration.
+											INITIAL_TANK_LEVEL/minConsumption,
+								GeneratorImplementationI.AUTONOMY_UNIT));
+			} else {
+				// the fuel level is linear between the transitions of the
+				// fuel model, so the autonomy is computed in closed form
+				Instant now = this.getClock4Simulation().currentInstant();
+				TimedPhysicalMeasure consumption =
+					(TimedPhysicalMeasure) this.asp.getModelStateValue(
+							GeneratorStateSILModel.URI,
+							GeneratorStateSILModel.FUEL_CONSUMPTION_VALUE_NAME);
+				ret = new SignalData<Double>(
+						this.getClock4Simulation(),
+						new TimedMeasure<Double>(
+								this.extrapolatedTankLevel(now)/
+									Math.max(consumption.getValue(),
+											 minConsumption),
+								GeneratorImplementationI.AUTONOMY_UNIT,
+								this.getClock4Simulation(),
+								now));
+			}
+		} else if (this.getExecutionMode().isTestWithoutSimulation()) {
+			ret = new SignalData<Double>(
+						this.getClock(),
+						new TimedMeasure<Double>(
+								GeneratorSimulationConfiguration.
+											INITIAL_TANK_LEVEL/minConsumption,
+								GeneratorImplementationI.AUTONOMY_UNIT,
+								this.getClock()));
+		} else {
+			// temporary implementation, would need physical sensors
+			ret = new SignalData<Double>(
+						new Measure<Double>(
+								GeneratorSimulationConfiguration.
+											INITIAL_TANK_LEVEL/minConsumption,
+								GeneratorImplementationI.AUTONOMY_UNIT));
+		}
+
+		if (VERBOSE) {
+			this.logMessage("Generator returns its remaining autonomy: "
+							+ ret);
+		}
+
+		// Postconditions checking
+		assert	ret != null && ret.getMeasure().getMeasurementUnit().
+													equals(AUTONOMY_UNIT) :
+				new PostconditionException(
+						"return != null && return.getMeasure()."
+						+ "getMeasurementUnit().equals(AUTONOMY_UNIT)");
+		assert	ret.getMeasure().getData() >= 0.0 :
+				new PostconditionException(
+						"return.getMeasure().getData() >= 0.0");
+
+		return ret;
+	}
+
+	/**
+	 * return the tank level at {@code now} in the generator capacity unit,
+	 * extrapolated from the last fuel level and fuel consumption notified by
+	 * the SIL simulation. The fuel model transmits both, timestamped at the
+	 * same time, whenever the consumption changes, so the consumption is
+	 * constant since the level timestamp and the extrapolation does not
+	 * depend on the notification deltas.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code getExecutionMode().isSILTest() && asp != null}
+	 * pre	{@code now != null}
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @param now			instant at which the tank level is computed.
+	 * @return				the tank level at {@code now}.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected double	extrapolatedTankLevel(Instant now) throws Exception
+	{
+		TimedPhysicalMeasure level =
+			(TimedPhysicalMeasure) this.asp.getModelStateValue(
+								GeneratorStateSILModel.URI,
+								GeneratorStateSILModel.FUEL_LEVEL_VALUE_NAME);
+		TimedPhysicalMeasure consumption =
+			(TimedPhysicalMeasure) this.asp.getModelStateValue(
+							GeneratorStateSILModel.URI,
+							GeneratorStateSILModel.FUEL_CONSUMPTION_VALUE_NAME);
+		Instant levelInstant =
+				this.getClock4Simulation().
+								instantOfSimulatedTime(level.getTimestamp());
+		double elapsedHours =
+				Math.max(java.time.Duration.between(levelInstant, now).
+													toNanos()/3.6e12, 0.0);
+		return Math.max(
+				level.getValue() - consumption.getValue() * elapsedHours, 0.0);
+	}
+
 	/**
 	 * @see etape1.equipments.generator.GeneratorImplementationI#startGenerator()
 	 */
@@ -75,6 +75,19 @@ import java.util.Map;
  *
  * <p><strong>Description</strong></p>
  * 
+ * <p>
+ * The fuel level derivative only depends upon the state of the generator and
+ * its output power, which both change only on external events. Between two
+ * transitions, the level is therefore an exact linear function of time and
+ * the time at which the tank becomes empty can be computed in closed form.
+ * When {@code EVENT_HORIZON_STEPPING} is true, the next internal transition
+ * is planned directly at that time instead of after every level quantum; an
+ * external event occurring before simply updates the level for the elapsed
+ * time. The level quantum run parameter is only used when
+ * {@code EVENT_HORIZON_STEPPING} is false. The predicted time to tank empty
+ * is given by {@code timeToTankEmpty}.
+ * </p>
+ * 
  * <ul>
  * <li>Imported events:
  *   {@code Start},
@@ -95,7 +108,7 @@ import java.util.Map;
  * invariant	{@code !currentLevel.isInitialised() || (currentLevel.getValue() >= 0.0 && currentLevel.getValue() < maxCapacity)}
  * invariant	{@code !lastDerivative.isInitialised() || (lastDerivative.getValue() <= 0.0)}
  * invariant	{@code standardLevelQuantum > 0.0}
- * invariant	{@code Math.abs(currentLevelQuantum) >= 0.0 && Math.abs(currentLevelQuantum <= standardLevelQuantum)}
+ * invariant	{@code EVENT_HORIZON_STEPPING || Math.abs(currentLevelQuantum) <= standardLevelQuantum}
  * </pre>
  * 
  * <p><strong>Invariants</strong></p>
@@ -148,6 +161,10 @@ implements	GeneratorStateManagementI
 	public static boolean		VERBOSE = true;
 	/** when true, leaves a debugging trace of the execution of the model.	*/
 	public static boolean		DEBUG = false;
+	/** when true, the next internal transition is planned when the tank
+	 *  becomes empty, otherwise when the level has dropped by the standard
+	 *  level quantum.														*/
+	public static boolean		EVENT_HORIZON_STEPPING = true;
 	/** when comparing floating point values, use this tolerance to get
 	 *  the result of the comparison.										*/
 	protected static final double	TOLERANCE  = 1.0e-08;
@@ -304,11 +321,11 @@ implements	GeneratorStateManagementI
 				GeneratorFuelSILModel.class, instance,
 				"standardLevelQuantum > 0.0");
 		ret &= AssertionChecking.checkImplementationInvariant(
-				Math.abs(instance.currentLevelQuantum) >= 0.0 &&
+				EVENT_HORIZON_STEPPING ||
 						Math.abs(instance.currentLevelQuantum) <=
 												instance.standardLevelQuantum,
 				GeneratorFuelSILModel.class, instance,
-				"currentLevelQuantum >= 0.0 && currentLevelQuantum <= "
+				"EVENT_HORIZON_STEPPING || Math.abs(currentLevelQuantum) <= "
 				+ "standardLevelQuantum");
 		return ret;
 	}
@@ -634,7 +651,7 @@ implements	GeneratorStateManagementI
 			newValue = this.maxCapacity;
 		}
 		this.currentLevel.setNewValue(newValue, t);
-		this.notifyFuelLevel();
+		this.notifyFuelLevel(false);
 		this.currentLevel.setNewValue(newValue, currentStateTime);
 		if (this.currentState.equals(State.TANK_EMPTY)) {
 			this.currentState = State.OFF;
@@ -653,10 +670,11 @@ implements	GeneratorStateManagementI
 	 * post	{@code true}	// no postcondition.
 	 * </pre>
 	 * 
+	 * @param always	if true, transmit the level whatever its change.
 	 */
-	protected void			notifyFuelLevel()
+	protected void			notifyFuelLevel(boolean always)
 	{
-		if (this.lastTransmittedFuelLevel == null ||
+		if (always || this.lastTransmittedFuelLevel == null ||
 				Math.abs(this.currentLevel.getValue() -
 							this.lastTransmittedFuelLevel.getValue())
 								>= FUEL_LEVEL_CHANGE_NOTIFICATION_DELTA) {
@@ -677,11 +695,12 @@ implements	GeneratorStateManagementI
 	 * post	{@code true}	// no postcondition.
 	 * </pre>
 	 *
+	 * @param always	if true, transmit the consumption whatever its change.
 	 */
-	protected void			notifyFuelConsumption()
+	protected void			notifyFuelConsumption(boolean always)
 	{
 		double consumption = -this.lastDerivative.getValue();
-		if (this.lastTransmittedFuelConsumption == null ||
+		if (always || this.lastTransmittedFuelConsumption == null ||
 				Math.abs(consumption -
 							this.lastTransmittedFuelConsumption.getValue())
 								>= FUEL_CONSUMPTION_CHANGE_NOTIFICATION_DELTA) {
@@ -853,6 +872,38 @@ implements	GeneratorStateManagementI
 		}
 	}
 
+	/**
+	 * return the duration after which the tank will be empty if the fuel
+	 * keeps being consumed at its current rate, computed in closed form from
+	 * the level and the derivative at the last transition.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code t != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param t	time at which the duration to tank empty is evaluated, not before the last transition.
+	 * @return	the duration to tank empty at {@code t} or {@code Duration.INFINITY} if no fuel is consumed.
+	 */
+	public Duration		timeToTankEmpty(Time t)
+	{
+		assert	t != null : new NeoSim4JavaException("t != null");
+
+		double derivative = this.lastDerivative.getValue();
+		if (derivative > -TOLERANCE) {
+			return Duration.INFINITY;
+		}
+		double level =
+			this.currentLevel.getValue() +
+				derivative *
+					t.subtract(this.getCurrentStateTime()).
+													getSimulatedDuration();
+		return new Duration(Math.max(level, 0.0)/(-derivative),
+							this.getSimulatedTimeUnit());
+	}
+
 	/**
 	 * compute a new state when a transition occurs, internal or external after
 	 * having executed the effect of the external event.
@@ -949,14 +1000,15 @@ implements	GeneratorStateManagementI
 			switch (this.currentState) {
 			case PRODUCING:
 			case IDLE:
-				if (newLevel >= this.standardLevelQuantum) {
+				if (!EVENT_HORIZON_STEPPING &&
+									newLevel >= this.standardLevelQuantum) {
 					// newLevel is high enough to drop by the standard quantum
 					// during the next step
 					this.currentLevelQuantum = -this.standardLevelQuantum;
 				} else {
-					// otherwise, the tank will become empty during the next
-					// step, hence choose the current level as the temporary
-					// quantum for the next step
+					// otherwise, the next step goes straight to the time at
+					// which the tank becomes empty, hence choose the current
+					// level as the quantum for the next step
 					this.currentLevelQuantum = -newLevel;
 				}
 				break;
@@ -1022,9 +1074,13 @@ implements	GeneratorStateManagementI
 				this.toBeTransmittedFuelConsumption = null;
 			}
 		} else {
+			double oldDerivative = this.lastDerivative.getValue();
 			this.computeNextState();
-			this.notifyFuelLevel();
-			this.notifyFuelConsumption();
+			// when the consumption changes, e.g. as the tank gets empty, the
+			// level must be transmitted with it to keep them consistent
+			boolean changed = this.lastDerivative.getValue() != oldDerivative;
+			this.notifyFuelLevel(changed);
+			this.notifyFuelConsumption(changed);
 		}
 
 		// tracing
@@ -1089,6 +1145,12 @@ implements	GeneratorStateManagementI
 
 		// complete the update of the state of the model
 		this.computeNextState();
+		// with the steps planned up to the tank empty time, no internal
+		// transition may follow before long, so the level and consumption
+		// are always transmitted, timestamped now, for the generator to
+		// extrapolate the level from the new consumption
+		this.notifyFuelLevel(true);
+		this.notifyFuelConsumption(true);
 
 		// tracing
 		if (DEBUG) {
@@ -1105,7 +1167,9 @@ implements	GeneratorStateManagementI
 					+ this.getCurrentStateTime()
 					+ " on event " + e
 					+ ": currentState = " + this.currentState
-					+ ", currentLevel = " + this.currentLevel);
+					+ ", currentLevel = " + this.currentLevel
+					+ ", tank empty in "
+					+ this.timeToTankEmpty(this.getCurrentStateTime()));
 		}
 	}
 
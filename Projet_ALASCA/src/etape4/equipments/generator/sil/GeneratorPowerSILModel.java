@@ -47,6 +47,7 @@ import etape2.equipments.generator.mil.events.Start;
 import etape2.equipments.generator.mil.events.Stop;
 import etape2.equipments.generator.mil.events.TankEmpty;
 import etape2.equipments.generator.mil.events.TankNoLongerEmpty;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape4.equipments.generator.sil.events.CurrentPowerProduction;
 import etape4.equipments.generator.sil.events.TimedPhysicalMeasure;
 import fr.sorbonne_u.devs_simulation.exceptions.MissingRunParameterException;
@@ -135,7 +136,9 @@ import java.util.Map;
  * required power is voluntary, the generator model assumes that it will receive
  * an external event at the time of the required power change notifying it of
  * the shared continuous state change that just occurred, hence triggering an
- * immediate update of the output power.
+ * immediate update of the output power. Symmetrically, each change of the
+ * output power is signalled to the electric meter by a {@code PowerChanged}
+ * event.
  * </p>
  * <p>
  * Note that the implementation of this model is made a bit more complicated by
@@ -173,7 +176,7 @@ import java.util.Map;
 	imported = {Start.class, Stop.class, GeneratorRequiredPowerChanged.class,
 				TankEmpty.class, TankNoLongerEmpty.class},
 	exported = {GeneratorRequiredPowerChanged.class,
-				CurrentPowerProduction.class})
+				CurrentPowerProduction.class, PowerChanged.class})
 @ModelExportedVariable(name = "generatorOutputPower", type = Double.class)
 @ModelImportedVariable(name = "generatorRequiredPower", type = Double.class)
 //-----------------------------------------------------------------------------
@@ -212,6 +215,9 @@ implements	TankLevelManagementI,
 	/** when true, the model must emit an event of type
 	 *  {@code SharedContinuousStateChange}.								*/
 	protected boolean			signalSharedContinuousStateChange;
+	/** when true, the model must emit an event of type
+	 *  {@code PowerChanged} towards the electric meter.					*/
+	protected boolean			powerChangeToBeSignalled;
 
 	/** current power required by the electric circuit from the generator
 	 *  in {@code MeasurementUnit.AMPERES}; it is set by the electric
@@ -476,6 +482,7 @@ implements	TankLevelManagementI,
 	{
 		this.currentState = State.OFF;
 		this.signalSharedContinuousStateChange = false;
+		this.powerChangeToBeSignalled = false;
 
 		this.lastTransmittedPowerProduction = null;
 		this.toBeTransmittedPowerProduction = null;
@@ -652,6 +659,7 @@ implements	TankLevelManagementI,
 	{
 		Duration ret = null;
 		if (this.signalSharedContinuousStateChange ||
+								this.powerChangeToBeSignalled ||
 								this.toBeTransmittedPowerProduction != null) {
 			ret = Duration.zero(this.getSimulatedTimeUnit());
 		} else {
@@ -677,6 +685,9 @@ implements	TankLevelManagementI,
 		if (this.signalSharedContinuousStateChange) {
 			ret.add(new GeneratorRequiredPowerChanged(this.getTimeOfNextEvent()));
 		}
+		if (this.powerChangeToBeSignalled) {
+			ret.add(new PowerChanged(this.getTimeOfNextEvent()));
+		}
 		if (this.toBeTransmittedPowerProduction != null) {
 			ret.add(new CurrentPowerProduction(
 										this.getCurrentStateTime(),
@@ -718,6 +729,8 @@ implements	TankLevelManagementI,
 					+ ", generatorRequiredPower = " + this.generatorRequiredPower);
 		}
 
+		double oldOutputPower = this.generatorOutputPower.getValue();
+
 		// update the power levels, in and out
 		switch (this.currentState) {
 		case PRODUCING:
@@ -765,8 +778,11 @@ implements	TankLevelManagementI,
 			this.generatorOutputPower.setNewValue(0.0,
 												  this.getCurrentStateTime());
 		}
+		if (PowerChanged.isSignificant(oldOutputPower,
+									   this.generatorOutputPower.getValue())) {
+			this.powerChangeToBeSignalled = true;
+		}
 
-		
 		// Invariant checking
 		assert	GeneratorPowerSILModel.implementationInvariants(this) :
 				new NeoSim4JavaException(
@@ -797,12 +813,16 @@ implements	TankLevelManagementI,
 		super.userDefinedInternalTransition(elapsedTime);
 
 		if (this.signalSharedContinuousStateChange ||
+								this.powerChangeToBeSignalled ||
 								this.toBeTransmittedPowerProduction != null) {
 			// this internal transition is just to emit external events, no
 			// need to update the state
 			if (this.signalSharedContinuousStateChange) {
 				this.signalSharedContinuousStateChange = false;
 			}
+			if (this.powerChangeToBeSignalled) {
+				this.powerChangeToBeSignalled = false;
+			}
 			if (this.toBeTransmittedPowerProduction != null) {
 				this.lastTransmittedPowerProduction =
 										this.toBeTransmittedPowerProduction;
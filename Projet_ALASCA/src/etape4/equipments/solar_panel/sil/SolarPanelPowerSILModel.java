@@ -38,6 +38,7 @@ import org.shredzone.commons.suncalc.SunTimes;
 import fr.sorbonne_u.components.cyphy.plugins.devs.AtomicSimulatorPlugin;
 import etape1.equipments.meter.ElectricMeter;
 import etape1.equipments.meter.ElectricMeterImplementationI;
+import etape2.equipments.meter.mil.events.PowerChanged;
 import etape2.equipments.solar_panel.mil.SunState;
 import etape2.equipments.solar_panel.mil.SunStateManagementI;
 import etape2.equipments.solar_panel.mil.events.SolarPanelEventI;
@@ -79,12 +80,13 @@ import java.util.Map;
  * This simulation model computes the production power of the solar panel as
  * the maximum power of the solar panel times an imported performance
  * coefficient in [0, 1]. The model exports the production power towards the
- * electric meter model.
+ * electric meter model and signals each of its changes to the electric meter
+ * with a {@code PowerChanged} event.
  * </p>
  * 
  * <ul>
  * <li>Imported events: {@code SunriseEvent}, {@code SunsetEvent}</li>
- * <li>Exported events: {@code PowerProductionLevel}</li>
+ * <li>Exported events: {@code PowerProductionLevel}, {@code PowerChanged}</li>
  * <li>Imported variables:
  *   name = {@code sunIntensityCoef}, type = {@code Double}</li>
  * <li>Exported variables:
@@ -109,7 +111,8 @@ import java.util.Map;
  */
 // -----------------------------------------------------------------------------
 @ModelExternalEvents(imported = {SunriseEvent.class, SunsetEvent.class},
-					 exported = {PowerProductionLevel.class})
+					 exported = {PowerProductionLevel.class,
+								 PowerChanged.class})
 @ModelImportedVariable(name = "sunIntensityCoef", type = Double.class)
 @ModelExportedVariable(name = "solarPanelOutputPower", type = Double.class)
 // -----------------------------------------------------------------------------
@@ -163,6 +166,9 @@ implements	SunStateManagementI
 
 	/** current state, day or night.										*/
 	protected SunState		currentState;
+	/** when true, the change of the output power must be signalled to the
+	 *  electric meter at the next output.									*/
+	protected boolean		powerChangeToBeSignalled;
 
 	/** the intensity coefficient computed by {@code SunIntensityModel}.	*/
 	@ImportedVariable(type = Double.class)
@@ -317,6 +323,7 @@ implements	SunStateManagementI
 
 		this.lastTransmittedPowerLevel = null;
 		this.toBeTransmittedPowerLevel = null;
+		this.powerChangeToBeSignalled = false;
 
 		ZonedDateTime current =
 				ZonedDateTime.ofInstant(this.startInstant, this.zoneId);
@@ -459,6 +466,10 @@ implements	SunStateManagementI
 	 */
 	protected void			notifyPowerProductionLevel(double production)
 	{
+		if (PowerChanged.isSignificant(this.solarPanelOutputPower.getValue(),
+									   production)) {
+			this.powerChangeToBeSignalled = true;
+		}
 		double toBeTransmitted = production;
 		if (this.lastTransmittedPowerLevel == null ||
 				Math.abs(production -
@@ -479,7 +490,8 @@ implements	SunStateManagementI
 			this.logMessage("timeAdvance " + this.currentState);
 		}
 
-		if (this.toBeTransmittedPowerLevel != null) {
+		if (this.toBeTransmittedPowerLevel != null ||
+											this.powerChangeToBeSignalled) {
 			return Duration.zero(this.getSimulatedTimeUnit());
 		} else if (this.currentState == null ||
 									SunState.NIGHT.equals(this.currentState)) {
@@ -496,10 +508,17 @@ implements	SunStateManagementI
 	@Override
 	public ArrayList<EventI>	output()
 	{
-		if (this.toBeTransmittedPowerLevel != null) {
+		if (this.toBeTransmittedPowerLevel != null ||
+											this.powerChangeToBeSignalled) {
 			ArrayList<EventI> ret = new ArrayList<>();
-			ret.add(new PowerProductionLevel(this.getTimeOfNextEvent(),
-											 this.toBeTransmittedPowerLevel));
+			if (this.toBeTransmittedPowerLevel != null) {
+				ret.add(new PowerProductionLevel(
+											this.getTimeOfNextEvent(),
+											this.toBeTransmittedPowerLevel));
+			}
+			if (this.powerChangeToBeSignalled) {
+				ret.add(new PowerChanged(this.getTimeOfNextEvent()));
+			}
 			return ret;
 		} else {
 			return super.output();
@@ -514,20 +533,26 @@ implements	SunStateManagementI
 	{
 		super.userDefinedInternalTransition(elapsedTime);
 
-		if (this.toBeTransmittedPowerLevel != null) {
-			// this internal transition is just to send the event to the state
-			// model, hence no update of the power production
-			this.lastTransmittedPowerLevel = this.toBeTransmittedPowerLevel;
-			this.toBeTransmittedPowerLevel = null;
+		if (this.toBeTransmittedPowerLevel != null ||
+											this.powerChangeToBeSignalled) {
+			// this internal transition is just to send the events to the state
+			// model and the electric meter, hence no update of the power
+			// production
+			if (this.toBeTransmittedPowerLevel != null) {
+				this.lastTransmittedPowerLevel =
+											this.toBeTransmittedPowerLevel;
+				this.toBeTransmittedPowerLevel = null;
+			}
+			this.powerChangeToBeSignalled = false;
 		} else {
 			// this internal transition is a computation step, hence update the
 			// power production
 			double coef =
 				this.sunIntensityCoef.evaluateAt(this.getCurrentStateTime());
 			double production = this.powerProduction(coef);
+			this.notifyPowerProductionLevel(production);
 			this.solarPanelOutputPower.setNewValue(production,
 												   this.getCurrentStateTime());
-			this.notifyPowerProductionLevel(production);
 		}
 
 		if (DEBUG) {
@@ -565,9 +590,9 @@ implements	SunStateManagementI
 		double coef =
 				this.sunIntensityCoef.evaluateAt(this.getCurrentStateTime());
 		double production = this.powerProduction(coef);
+		this.notifyPowerProductionLevel(production);
 		this.solarPanelOutputPower.setNewValue(production,
 											   this.getCurrentStateTime());
-		this.notifyPowerProductionLevel(production);
 
 		if (DEBUG) {
 			this.logMessage("userDefinedInternalTransition output power = "
@@ -33,6 +33,7 @@ package physical_data;
 // The fact that you are presently reading this means that you have had
 // knowledge of the CeCILL-C license and that you accept its terms.
 
+import java.io.ObjectStreamException;
 import java.time.Instant;
 import fr.sorbonne_u.utils.aclocks.AcceleratedClock;
 import fr.sorbonne_u.exceptions.PreconditionException;
@@ -273,5 +274,28 @@ extends		TimedEntity
 	 * @param sb	a buffer to put the information in.
 	 */
 	public abstract void	toStringBuffer(StringBuffer sb);
+
+	// -------------------------------------------------------------------------
+	// Serialisation
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the object to be serialised in place of this signal data, its
+	 * compact serial form when {@code SignalDataCodec.COMPACT} is true.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the object to be serialised in place of this signal data.
+	 * @throws ObjectStreamException	<i>to do</i>.
+	 */
+	protected Object	writeReplace() throws ObjectStreamException
+	{
+		return SignalDataCodec.replacement(this);
+	}
 }
 // -----------------------------------------------------------------------------
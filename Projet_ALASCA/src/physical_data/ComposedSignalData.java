@@ -36,8 +36,6 @@ package physical_data;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import fr.sorbonne_u.utils.aclocks.AcceleratedClock;
@@ -53,6 +51,15 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  *
  * <p><strong>Description</strong></p>
  * 
+ * <p>
+ * As signal data are immutable, the earliest and latest time stamps and the
+ * time references found in a composed signal data and recursively are
+ * summarised once at creation, from the summaries of its elements. Hence,
+ * {@code coherentTimestampers}, {@code timeCoherence} and {@code freshness}
+ * take a constant time whatever the depth of the tree and do not allocate,
+ * but for the returned durations.
+ * </p>
+ * 
  * <p><strong>Implementation Invariants</strong></p>
  * 
  * <pre>
@@ -85,6 +92,20 @@ extends		AbstractSignalData
 											TimeUnit.MILLISECONDS.toNanos(10);
 	/** array of single or composed signal data.							*/
 	protected final AbstractSignalData[]	data;
+	/** earliest time stamp in this composed signal data and recursively.	*/
+	protected Instant						earliestTimestamp;
+	/** latest time stamp in this composed signal data and recursively.	*/
+	protected Instant						latestTimestamp;
+	/** smallest start time in Unix Epoch nanoseconds of the accelerated
+	 *  clocks used as time references, {@code Long.MAX_VALUE} if none.	*/
+	protected long							minReferenceEpochNanos;
+	/** largest start time in Unix Epoch nanoseconds of the accelerated
+	 *  clocks used as time references, {@code Long.MIN_VALUE} if none.	*/
+	protected long							maxReferenceEpochNanos;
+	/** true if some hardware clock is used as time reference.			*/
+	protected boolean						usesHardwareTimeReference;
+	/** duration between the earliest and the latest time stamps.			*/
+	protected Duration						timeSpan;
 
 	// -------------------------------------------------------------------------
 	// Invariants
@@ -176,6 +197,7 @@ extends		AbstractSignalData
 						+ "Stream.of(data).allMatch(sd -> sd != null)");
 
 		this.data = data;
+		this.summariseTiming();
 
 		// Invariant checking
 		assert	ComposedSignalData.implementationInvariants(this) :
@@ -217,6 +239,7 @@ extends		AbstractSignalData
 						+ "Stream.of(data).allMatch(sd -> sd != null)");
 
 		this.data = data;
+		this.summariseTiming();
 
 		// Invariant checking
 		assert	ComposedSignalData.implementationInvariants(this) :
@@ -261,6 +284,7 @@ extends		AbstractSignalData
 						+ "Stream.of(data).allMatch(sd -> sd != null)");
 
 		this.data = data;
+		this.summariseTiming();
 
 		// Invariant checking
 		assert	ComposedSignalData.implementationInvariants(this) :
@@ -302,6 +326,7 @@ extends		AbstractSignalData
 						+ "Stream.of(data).allMatch(sd -> sd != null)");
 
 		this.data = data;
+		this.summariseTiming();
 
 		// Invariant checking
 		assert	ComposedSignalData.implementationInvariants(this) :
@@ -345,6 +370,7 @@ extends		AbstractSignalData
 						+ "Stream.of(data).allMatch(sd -> sd != null)");
 
 		this.data = data;
+		this.summariseTiming();
 
 		// Invariant checking
 		assert	ComposedSignalData.implementationInvariants(this) :
@@ -460,6 +486,90 @@ extends		AbstractSignalData
 		super.contentAsString(sb);
 	}
 
+	/**
+	 * compute the summary of the time stamps and time references of this
+	 * composed signal data from the ones of its elements.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code data != null}
+	 * post	{@code earliestTimestamp() != null && latestTimestamp() != null}
+	 * </pre>
+	 *
+	 */
+	private void		summariseTiming()
+	{
+		Instant earliest = super.earliestTimestamp();
+		Instant latest = super.latestTimestamp();
+		long minReference = super.minReferenceEpochNanos();
+		long maxReference = super.maxReferenceEpochNanos();
+		boolean hardware = super.usesHardwareTimeReference();
+		for (int i = 0 ; i < this.data.length ; i++) {
+			AbstractSignalData sd = this.data[i];
+			if (sd.earliestTimestamp().isBefore(earliest)) {
+				earliest = sd.earliestTimestamp();
+			}
+			if (sd.latestTimestamp().isAfter(latest)) {
+				latest = sd.latestTimestamp();
+			}
+			minReference = Math.min(minReference, sd.minReferenceEpochNanos());
+			maxReference = Math.max(maxReference, sd.maxReferenceEpochNanos());
+			hardware |= sd.usesHardwareTimeReference();
+		}
+		this.earliestTimestamp = earliest;
+		this.latestTimestamp = latest;
+		this.minReferenceEpochNanos = minReference;
+		this.maxReferenceEpochNanos = maxReference;
+		this.usesHardwareTimeReference = hardware;
+		this.timeSpan = Duration.between(earliest, latest);
+	}
+
+	/**
+	 * @see physical_data.TimedEntity#earliestTimestamp()
+	 */
+	@Override
+	protected Instant	earliestTimestamp()
+	{
+		return this.earliestTimestamp;
+	}
+
+	/**
+	 * @see physical_data.TimedEntity#latestTimestamp()
+	 */
+	@Override
+	protected Instant	latestTimestamp()
+	{
+		return this.latestTimestamp;
+	}
+
+	/**
+	 * @see physical_data.TimedEntity#minReferenceEpochNanos()
+	 */
+	@Override
+	protected long		minReferenceEpochNanos()
+	{
+		return this.minReferenceEpochNanos;
+	}
+
+	/**
+	 * @see physical_data.TimedEntity#maxReferenceEpochNanos()
+	 */
+	@Override
+	protected long		maxReferenceEpochNanos()
+	{
+		return this.maxReferenceEpochNanos;
+	}
+
+	/**
+	 * @see physical_data.TimedEntity#usesHardwareTimeReference()
+	 */
+	@Override
+	protected boolean	usesHardwareTimeReference()
+	{
+		return this.usesHardwareTimeReference;
+	}
+
 	/**
 	 * return true if the observed deviation among time references is under the
 	 * threshold {@code DEVIATION_TOLERANCE_AMONG_TIME_REFERENCES}, false
@@ -503,9 +613,20 @@ extends		AbstractSignalData
 	 */
 	protected long		timestampersCoherence()
 	{
-		SortedSet<Long> s = new TreeSet<>();
-		this.collectReferenceEpochTimesInNanos(s);
-		return s.last() - s.first();
+		boolean clocks =
+				this.minReferenceEpochNanos <= this.maxReferenceEpochNanos;
+		if (!this.usesHardwareTimeReference) {
+			return this.maxReferenceEpochNanos - this.minReferenceEpochNanos;
+		} else if (!clocks) {
+			// hardware clocks only, assumed synchronised
+			return 0L;
+		} else {
+			// mixing hardware and accelerated clocks, compared as done by
+			// collectReferenceEpochTimesInNanos
+			long now = System.nanoTime();
+			return Math.max(this.maxReferenceEpochNanos, now)
+									- Math.min(this.minReferenceEpochNanos, now);
+		}
 	}
 
 	/**
@@ -521,12 +642,10 @@ extends		AbstractSignalData
 	throws	IncoherentTimestampersException
 	{
 		if (!this.coherentTimestampers()) {
-			new IncoherentTimestampersException();
+			throw new IncoherentTimestampersException();
 		}
 
-		SortedSet<Instant> s = new TreeSet<>();
-		this.collectTimestamps(s);
-		return Duration.between(s.first(), current);
+		return Duration.between(this.earliestTimestamp, current);
 	}
 
 	/**
@@ -542,12 +661,10 @@ extends		AbstractSignalData
 	throws	IncoherentTimestampersException
 	{
 		if (!this.coherentTimestampers()) {
-			new IncoherentTimestampersException();
+			throw new IncoherentTimestampersException();
 		}
 
-		SortedSet<Instant> s = new TreeSet<>();
-		this.collectTimestamps(s);
-		return Duration.between(s.first(), s.last());
+		return this.timeSpan;
 	}
 
 	/**
@@ -33,6 +33,7 @@ package physical_data;
 // The fact that you are presently reading this means that you have had
 // knowledge of the CeCILL-C license and that you accept its terms.
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import fr.sorbonne_u.exceptions.ImplementationInvariantException;
 import fr.sorbonne_u.exceptions.AssertionChecking;
@@ -259,5 +260,28 @@ implements	MeasureI<T>
 		sb.append(local);
 		return local.toString();
 	}
+
+	// -------------------------------------------------------------------------
+	// Serialisation
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the object to be serialised in place of this measure, its
+	 * compact serial form when {@code SignalDataCodec.COMPACT} is true.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the object to be serialised in place of this measure.
+	 * @throws ObjectStreamException	<i>to do</i>.
+	 */
+	protected Object	writeReplace() throws ObjectStreamException
+	{
+		return SignalDataCodec.replacement(this);
+	}
 }
 // -----------------------------------------------------------------------------
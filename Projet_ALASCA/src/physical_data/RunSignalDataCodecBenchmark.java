@@ -0,0 +1,162 @@
+package physical_data;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// real time distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunSignalDataCodecBenchmark</code> compares the standard
+ * Java serialisation of signal data with the compact format of
+ * {@code SignalDataCodec}, in payload size and in serialisation followed by
+ * deserialisation throughput.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Two payloads are measured: a single {@code SignalData<Double>}, like the
+ * readings of the electric meter, and a nested {@code ComposedSignalData}
+ * combining the state, mode, temperature and water level of a coffee
+ * machine. Each object is written to a fresh object stream, as done for each
+ * remote call. As the format is fixed when {@code SignalDataCodec} is loaded,
+ * each run measures one format; run it with the duration of each measurement
+ * in milliseconds, once with each value of the system property
+ * {@code SignalDataCodec.COMPACT_PROPERTY}, for instance:
+ * </p>
+ * 
+ * <pre>
+ * java physical_data.RunSignalDataCodecBenchmark 2000
+ * java -Dphysical_data.SignalDataCodec.compact=false physical_data.RunSignalDataCodecBenchmark 2000
+ * </pre>
+ * 
+ * <p>Created on : 2025-12-03</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			RunSignalDataCodecBenchmark
+{
+	/** keeps the decoded objects alive so the JIT cannot drop them.		*/
+	protected static volatile Object	blackhole;
+
+	public static void	main(String[] args) throws Exception
+	{
+		long durationMs = args.length > 0 ? Long.parseLong(args[0]) : 2000L;
+
+		Instant t = Instant.ofEpochMilli(System.currentTimeMillis());
+		AbstractSignalData single =
+			new SignalData<Double>(
+					new Measure<Double>(4.2, MeasurementUnit.AMPERES), t);
+		AbstractSignalData composed =
+			new ComposedSignalData(
+				new AbstractSignalData[] {
+					new ComposedSignalData(
+						new AbstractSignalData[] {
+							new SignalData<String>(
+									new Measure<String>("ON"), t),
+							new SignalData<String>(
+									new Measure<String>("NORMAL"), t)
+						}, t),
+					new SignalData<Double>(
+							new Measure<Double>(87.5, MeasurementUnit.CELSIUS),
+							t.plusMillis(3)),
+					new SignalData<Double>(
+							new Measure<Double>(0.75, MeasurementUnit.LITERS),
+							t.plusMillis(5))
+				}, t.plusMillis(5));
+
+		System.out.println(String.format("%-10s %-9s %8s %14s",
+										 "payload", "format", "bytes",
+										 "round trips/s"));
+		run("single", single, durationMs);
+		run("composed", composed, durationMs);
+	}
+
+	protected static void	run(
+		String name,
+		AbstractSignalData sd,
+		long durationMs
+		) throws Exception
+	{
+		byte[] bytes = serialise(sd);
+		Object decoded = deserialise(bytes);
+		if (!decoded.toString().equals(sd.toString())) {
+			throw new IllegalStateException(
+					"round trip changed " + sd + " into " + decoded);
+		}
+		// warm up, then measure
+		roundTrips(sd, durationMs / 4);
+		long n = roundTrips(sd, durationMs);
+		System.out.println(String.format("%-10s %-9s %8d %14.0f",
+							name,
+							SignalDataCodec.COMPACT ? "compact" : "standard",
+							bytes.length, n * 1000.0 / durationMs));
+	}
+
+	protected static long	roundTrips(AbstractSignalData sd, long durationMs)
+	throws Exception
+	{
+		long deadline = System.nanoTime() + durationMs * 1_000_000L;
+		long n = 0;
+		while (System.nanoTime() < deadline) {
+			for (int i = 0 ; i < 100 ; i++) {
+				blackhole = deserialise(serialise(sd));
+			}
+			n += 100;
+		}
+		return n;
+	}
+
+	protected static byte[]	serialise(Object o) throws IOException
+	{
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(512);
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(o);
+		oos.close();
+		return bos.toByteArray();
+	}
+
+	protected static Object	deserialise(byte[] bytes)
+	throws IOException, ClassNotFoundException
+	{
+		ObjectInputStream ois =
+				new ObjectInputStream(new ByteArrayInputStream(bytes));
+		return ois.readObject();
+	}
+}
+// -----------------------------------------------------------------------------
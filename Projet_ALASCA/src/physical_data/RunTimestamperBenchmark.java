@@ -0,0 +1,122 @@
+package physical_data;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// real time distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.time.Instant;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunTimestamperBenchmark</code> measures the cost of creating
+ * hardware time stamped signal data, with the local host resolved for every
+ * object as before and with the cached standard time stamper.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The former {@code TimedEntity(Instant)} resolved the local host once, and
+ * twice more when assertions were enabled to check its postcondition; the
+ * "resolving" measurement reproduces these calls. The difference is the
+ * largest on hosts which name is not in {@code /etc/hosts}, where each
+ * resolution may go to the network. Run it with the number of objects per
+ * measurement, for instance:
+ * </p>
+ * 
+ * <pre>
+ * java -ea physical_data.RunTimestamperBenchmark 200000
+ * </pre>
+ * 
+ * <p>Created on : 2025-12-02</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public class			RunTimestamperBenchmark
+{
+	/** keeps the created objects alive so the JIT cannot drop them.		*/
+	protected static volatile Object	blackhole;
+
+	public static void	main(String[] args)
+	{
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		boolean assertions = false;
+		assert	assertions = true;
+		int resolutions = assertions ? 3 : 1;
+
+		System.out.println("local host: " + TimestamperRegistry.localHost()
+						   + ", assertions " + (assertions ? "on" : "off"));
+		// warm up both paths before measuring
+		for (int i = 0; i < 3; i++) {
+			resolving(n / 10, resolutions);
+			cached(n / 10);
+		}
+
+		long t0 = System.nanoTime();
+		resolving(n, resolutions);
+		long t1 = System.nanoTime();
+		cached(n);
+		long t2 = System.nanoTime();
+
+		System.out.println(String.format("%-10s %12s", "path", "ns/object"));
+		System.out.println(String.format("%-10s %12.1f", "resolving",
+										 (t1 - t0) / (double) n));
+		System.out.println(String.format("%-10s %12.1f", "cached",
+										 (t2 - t1) / (double) n));
+	}
+
+	/** create {@code n} signal data resolving the local host each time.	*/
+	protected static void	resolving(int n, int resolutions)
+	{
+		for (int i = 0; i < n; i++) {
+			String timestamper = null;
+			for (int r = 0; r < resolutions; r++) {
+				timestamper = TimestamperRegistry.resolveLocalHost();
+			}
+			blackhole = new SignalData<Double>(
+							new Measure<Double>((double) i,
+												MeasurementUnit.WATTS),
+							Instant.ofEpochMilli(System.currentTimeMillis()),
+							timestamper);
+		}
+	}
+
+	/** create {@code n} signal data with the standard time stamper.		*/
+	protected static void	cached(int n)
+	{
+		for (int i = 0; i < n; i++) {
+			blackhole = new SignalData<Double>(
+							new Measure<Double>((double) i,
+												MeasurementUnit.WATTS));
+		}
+	}
+}
+// -----------------------------------------------------------------------------
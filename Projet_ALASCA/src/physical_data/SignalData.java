@@ -210,11 +210,52 @@ implements	Serializable
 				new InvariantException("SensorData.invariants(this)");
 	}
 
+	/**
+	 * create a sensor data from a measure, a given {@code Instant} as time
+	 * stamp and a given time stamper identity.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code measure != null}
+	 * pre	{@code timestamp != null}
+	 * pre	{@code timestamper != null && !timestamper.isEmpty()}
+	 * post	{@code getTimestamp().equals(timestamp)}
+	 * post	{@code getTimestamper().equals(timestamper)}
+	 * post	{@code getMeasure().equals(measure)}
+	 * </pre>
+	 *
+	 * @param measure		the measured data.
+	 * @param timestamp		the instant at which the sensor data is created.
+	 * @param timestamper	identity of the time stamper.
+	 */
+	public				SignalData(
+		Measure<T> measure,
+		Instant timestamp,
+		String timestamper
+		)
+	{
+		super(timestamp, timestamper);
+
+		assert	measure != null : new PreconditionException("measure != null");
+
+		this.measure = measure;
+
+		assert	getMeasure().equals(measure) :
+				new PostconditionException("getMeasure().equals(measure)");
+
+		assert	implementationInvariants(this) :
+				new ImplementationInvariantException(
+						"SensorData.implementationInvariants(this)");
+		assert	invariants(this) :
+				new InvariantException("SensorData.invariants(this)");
+	}
+
 	/**
 	 * create a sensor data from a compound measure.
-	 * 
+	 *
 	 * <p><strong>Contract</strong></p>
-	 * 
+	 *
 	 * <pre>
 	 * pre	{@code ac != null}
 	 * pre	{@code measure != null}
@@ -0,0 +1,538 @@
+package physical_data;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// real time distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import fr.sorbonne_u.exceptions.PreconditionException;
+import fr.sorbonne_u.utils.aclocks.AcceleratedClock;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>SignalDataCodec</code> implements the compact binary wire
+ * format of measures and signal data.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Default Java serialisation writes, for every signal data, the class
+ * descriptors of the whole hierarchy, the time stamp as an {@code Instant},
+ * the time stamper as a {@code String} and the accelerated clock, and nests
+ * one such record per element of a composed signal data. When
+ * {@code COMPACT} is true, {@code Measure}, {@code SignalData} and
+ * {@code ComposedSignalData} are replaced at serialisation time by a
+ * {@code SerialForm} encoding them as follows:
+ * </p>
+ * <ul>
+ * <li>a signal data tree is flattened in prefix order, each node starting
+ *   with a tag byte giving its kind and, for composed ones, followed by the
+ *   number of elements;</li>
+ * <li>time stamps are numbers of nanoseconds since the Unix Epoch written as
+ *   zigzag variable length integers, the first one absolute and the others
+ *   relative to the previous node;</li>
+ * <li>time stampers and accelerated clocks are dictionary coded: their first
+ *   occurrence is written in full and the following ones as an index;</li>
+ * <li>measurement units are written as their ordinal and measured data of
+ *   the common types ({@code Double}, {@code Boolean}, {@code Integer},
+ *   {@code Long}, {@code String}) as primitives, other data with standard
+ *   serialisation.</li>
+ * </ul>
+ * <p>
+ * Instances of subclasses of {@code SignalData} or {@code ComposedSignalData}
+ * keep the standard serialisation, so that their type is preserved.
+ * </p>
+ * <p>
+ * The format applies only to the classes of this package. The component
+ * interfaces of the project exchange the classes of
+ * {@code fr.sorbonne_u.alasca.physical_data}, which are serialised by the
+ * library and are not affected: the codec has no effect on the messages of
+ * the project until the library is updated with this package.
+ * </p>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2025-12-03</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public final class		SignalDataCodec
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** name of the system property which, when set to false, makes the
+	 *  measures and signal data keep the standard serialisation.		*/
+	public static final String	COMPACT_PROPERTY =
+										"physical_data.SignalDataCodec.compact";
+	/** when true, measures and signal data use the compact wire format;
+	 *  read once from {@code COMPACT_PROPERTY}, true by default, as all
+	 *  the parties of a distributed execution must use the same format.	*/
+	public static final boolean	COMPACT =
+			Boolean.parseBoolean(System.getProperty(COMPACT_PROPERTY, "true"));
+
+	/** tag of a bare measure.												*/
+	protected static final int	MEASURE = 0;
+	/** tag of a single signal data.										*/
+	protected static final int	SINGLE = 1;
+	/** tag of a composed signal data.										*/
+	protected static final int	COMPOSED = 2;
+	/** tag of an element using standard serialisation.					*/
+	protected static final int	OBJECT = 3;
+	/** flag added to the tag of timed nodes using an accelerated clock.	*/
+	protected static final int	CLOCKED = 0x10;
+
+	/** type of measured data written with standard serialisation.		*/
+	protected static final int	DATA_OBJECT = 0;
+	/** type of measured data {@code Double}.								*/
+	protected static final int	DATA_DOUBLE = 1;
+	/** type of measured data {@code Boolean}.							*/
+	protected static final int	DATA_BOOLEAN = 2;
+	/** type of measured data {@code Integer}.							*/
+	protected static final int	DATA_INTEGER = 3;
+	/** type of measured data {@code Long}.								*/
+	protected static final int	DATA_LONG = 4;
+	/** type of measured data {@code String}.								*/
+	protected static final int	DATA_STRING = 5;
+
+	/** measurement units indexed by ordinal.								*/
+	protected static final MeasurementUnit[]	UNITS = MeasurementUnit.values();
+
+	// -------------------------------------------------------------------------
+	// Inner classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>SerialForm</code> is the object written in place of a
+	 * measure or a signal data in the compact wire format.
+	 *
+	 * <p>Created on : 2025-12-03</p>
+	 * 
+	 * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+	 */
+	public static class	SerialForm
+	implements	Externalizable
+	{
+		private static final long	serialVersionUID = 1L;
+		/** the measure or signal data written or read.					*/
+		protected Object			value;
+
+		/** constructor used by the deserialisation.						*/
+		public			SerialForm()
+		{
+		}
+
+		/**
+		 * create the serial form of a measure or a signal data.
+		 *
+		 * @param value	the measure or signal data to be serialised.
+		 */
+		public			SerialForm(Object value)
+		{
+			this.value = value;
+		}
+
+		@Override
+		public void		writeExternal(ObjectOutput out) throws IOException
+		{
+			new Encoder(out).writeRoot(this.value);
+		}
+
+		@Override
+		public void		readExternal(ObjectInput in)
+		throws IOException, ClassNotFoundException
+		{
+			this.value = new Decoder(in).readRoot();
+		}
+
+		/**
+		 * return the decoded measure or signal data in place of the serial
+		 * form.
+		 *
+		 * @return	the decoded measure or signal data.
+		 */
+		protected Object	readResolve() throws ObjectStreamException
+		{
+			return this.value;
+		}
+	}
+
+	/**
+	 * The class <code>Encoder</code> writes one tree in the compact format,
+	 * with its dictionaries.
+	 */
+	protected static class	Encoder
+	{
+		protected final ObjectOutput					out;
+		protected final Map<String,Integer>				timestampers =
+															new HashMap<>();
+		protected final Map<AcceleratedClock,Integer>	clocks =
+													new IdentityHashMap<>();
+		protected long									previousNanos = 0L;
+
+		protected		Encoder(ObjectOutput out)
+		{
+			this.out = out;
+		}
+
+		protected void	writeRoot(Object value) throws IOException
+		{
+			if (value instanceof Measure) {
+				this.out.writeByte(MEASURE);
+				this.writeMeasure((Measure<?>) value);
+			} else {
+				this.writeSignal((AbstractSignalData) value);
+			}
+		}
+
+		protected void	writeSignal(AbstractSignalData sd) throws IOException
+		{
+			Class<?> c = sd.getClass();
+			if (c != SignalData.class && c != ComposedSignalData.class) {
+				this.out.writeByte(OBJECT);
+				this.out.writeObject(sd);
+				return;
+			}
+			boolean composed = c == ComposedSignalData.class;
+			int tag = composed ? COMPOSED : SINGLE;
+			this.out.writeByte(sd.ac != null ? tag | CLOCKED : tag);
+			this.writeTiming(sd);
+			if (composed) {
+				ComposedSignalData csd = (ComposedSignalData) sd;
+				writeVarLong(this.out, csd.size());
+				for (int i = 0 ; i < csd.size() ; i++) {
+					this.writeSignal(csd.get(i));
+				}
+			} else {
+				this.writeMeasure(((SignalData<?>) sd).getMeasure());
+			}
+		}
+
+		protected void	writeTiming(TimedEntity te) throws IOException
+		{
+			long nanos = epochNanos(te.getTimestamp());
+			writeVarLong(this.out, zigzag(nanos - this.previousNanos));
+			this.previousNanos = nanos;
+			if (te.ac != null) {
+				Integer index = this.clocks.get(te.ac);
+				if (index == null) {
+					writeVarLong(this.out, this.clocks.size());
+					this.clocks.put(te.ac, this.clocks.size());
+					this.out.writeObject(te.ac);
+				} else {
+					writeVarLong(this.out, index);
+				}
+			} else {
+				String timestamper = te.getTimestamper();
+				Integer index = this.timestampers.get(timestamper);
+				if (index == null) {
+					writeVarLong(this.out, this.timestampers.size());
+					this.timestampers.put(timestamper, this.timestampers.size());
+					this.out.writeUTF(timestamper);
+				} else {
+					writeVarLong(this.out, index);
+				}
+			}
+		}
+
+		protected void	writeMeasure(Measure<?> m) throws IOException
+		{
+			this.out.writeByte(m.getMeasurementUnit().ordinal());
+			Object data = m.getData();
+			if (data instanceof Double) {
+				this.out.writeByte(DATA_DOUBLE);
+				this.out.writeDouble((Double) data);
+			} else if (data instanceof Boolean) {
+				this.out.writeByte(DATA_BOOLEAN);
+				this.out.writeBoolean((Boolean) data);
+			} else if (data instanceof Integer) {
+				this.out.writeByte(DATA_INTEGER);
+				writeVarLong(this.out, zigzag((Integer) data));
+			} else if (data instanceof Long) {
+				this.out.writeByte(DATA_LONG);
+				writeVarLong(this.out, zigzag((Long) data));
+			} else if (data instanceof String) {
+				this.out.writeByte(DATA_STRING);
+				this.out.writeUTF((String) data);
+			} else {
+				this.out.writeByte(DATA_OBJECT);
+				this.out.writeObject(data);
+			}
+		}
+	}
+
+	/**
+	 * The class <code>Decoder</code> reads one tree in the compact format,
+	 * with its dictionaries.
+	 */
+	protected static class	Decoder
+	{
+		protected final ObjectInput					in;
+		protected final List<String>				timestampers =
+															new ArrayList<>();
+		protected final List<AcceleratedClock>		clocks = new ArrayList<>();
+		protected long								previousNanos = 0L;
+
+		protected		Decoder(ObjectInput in)
+		{
+			this.in = in;
+		}
+
+		protected Object	readRoot()
+		throws IOException, ClassNotFoundException
+		{
+			int tag = this.in.readUnsignedByte();
+			if (tag == MEASURE) {
+				return this.readMeasure();
+			} else {
+				return this.readSignal(tag);
+			}
+		}
+
+		protected AbstractSignalData	readSignal(int tag)
+		throws IOException, ClassNotFoundException
+		{
+			if (tag == OBJECT) {
+				return (AbstractSignalData) this.in.readObject();
+			}
+			boolean clocked = (tag & CLOCKED) != 0;
+			Instant timestamp = instantOfEpochNanos(
+					this.previousNanos += unzigzag(readVarLong(this.in)));
+			AcceleratedClock ac = null;
+			String timestamper = null;
+			int index = (int) readVarLong(this.in);
+			if (clocked) {
+				if (index == this.clocks.size()) {
+					this.clocks.add((AcceleratedClock) this.in.readObject());
+				}
+				ac = this.clocks.get(index);
+			} else {
+				if (index == this.timestampers.size()) {
+					this.timestampers.add(this.in.readUTF());
+				}
+				timestamper = this.timestampers.get(index);
+			}
+
+			switch (tag & ~CLOCKED) {
+			case SINGLE:
+				Measure<?> m = this.readMeasure();
+				return clocked ?
+							new SignalData<>(ac, m, timestamp)
+						:	new SignalData<>(m, timestamp, timestamper);
+			case COMPOSED:
+				AbstractSignalData[] data =
+						new AbstractSignalData[(int) readVarLong(this.in)];
+				for (int i = 0 ; i < data.length ; i++) {
+					data[i] = this.readSignal(this.in.readUnsignedByte());
+				}
+				return clocked ?
+							new ComposedSignalData(data, ac, timestamp)
+						:	new ComposedSignalData(data, timestamp, timestamper);
+			default:
+				throw new InvalidObjectException("unknown signal data tag " + tag);
+			}
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		protected Measure<?>	readMeasure()
+		throws IOException, ClassNotFoundException
+		{
+			MeasurementUnit unit = UNITS[this.in.readUnsignedByte()];
+			int type = this.in.readUnsignedByte();
+			switch (type) {
+			case DATA_DOUBLE:
+				return new Measure<Double>(this.in.readDouble(), unit);
+			case DATA_BOOLEAN:
+				return new Measure<Boolean>(this.in.readBoolean(), unit);
+			case DATA_INTEGER:
+				return new Measure<Integer>(
+								(int) unzigzag(readVarLong(this.in)), unit);
+			case DATA_LONG:
+				return new Measure<Long>(unzigzag(readVarLong(this.in)), unit);
+			case DATA_STRING:
+				return new Measure<String>(this.in.readUTF(), unit);
+			case DATA_OBJECT:
+				return new Measure((Serializable) this.in.readObject(), unit);
+			default:
+				throw new InvalidObjectException("unknown measure data type " + type);
+			}
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	private				SignalDataCodec()
+	{
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the object to be serialised in place of {@code value}: its
+	 * compact serial form if {@code COMPACT} is true and its class uses the
+	 * compact format, {@code value} itself otherwise.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code value != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param value	a measure or a signal data.
+	 * @return		the object to be serialised in place of {@code value}.
+	 */
+	public static Object	replacement(Object value)
+	{
+		assert	value != null : new PreconditionException("value != null");
+
+		Class<?> c = value.getClass();
+		if (COMPACT && (c == Measure.class || c == SignalData.class
+											|| c == ComposedSignalData.class)) {
+			return new SerialForm(value);
+		} else {
+			return value;
+		}
+	}
+
+	/**
+	 * write {@code v} as a variable length integer, 7 bits per byte with the
+	 * high bit set on all bytes but the last.
+	 *
+	 * @param out	output to write to.
+	 * @param v		value to be written, seen as unsigned.
+	 * @throws IOException	<i>to do</i>.
+	 */
+	public static void	writeVarLong(DataOutput out, long v) throws IOException
+	{
+		while ((v & ~0x7FL) != 0L) {
+			out.writeByte((int) ((v & 0x7F) | 0x80));
+			v >>>= 7;
+		}
+		out.writeByte((int) v);
+	}
+
+	/**
+	 * read a variable length integer written by {@code writeVarLong}.
+	 *
+	 * @param in	input to read from.
+	 * @return		the value read.
+	 * @throws IOException	<i>to do</i>.
+	 */
+	public static long	readVarLong(DataInput in) throws IOException
+	{
+		long ret = 0L;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			ret |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return ret;
+	}
+
+	/** @return {@code v} mapped so that small absolute values are small.	*/
+	public static long	zigzag(long v)
+	{
+		return (v << 1) ^ (v >> 63);
+	}
+
+	/** @return the inverse of {@code zigzag}.								*/
+	public static long	unzigzag(long v)
+	{
+		return (v >>> 1) ^ -(v & 1L);
+	}
+
+	/**
+	 * return the number of nanoseconds since the Unix Epoch of {@code i}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code i != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param i	an instant.
+	 * @return	the number of nanoseconds since the Unix Epoch of {@code i}.
+	 */
+	public static long	epochNanos(Instant i)
+	{
+		assert	i != null : new PreconditionException("i != null");
+
+		return TimeUnit.SECONDS.toNanos(i.getEpochSecond()) + i.getNano();
+	}
+
+	/**
+	 * return the instant {@code nanos} nanoseconds after the Unix Epoch.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code epochNanos(return) == nanos}
+	 * </pre>
+	 *
+	 * @param nanos	number of nanoseconds since the Unix Epoch.
+	 * @return		the corresponding instant.
+	 */
+	public static Instant	instantOfEpochNanos(long nanos)
+	{
+		return Instant.ofEpochSecond(0L, nanos);
+	}
+}
+// -----------------------------------------------------------------------------
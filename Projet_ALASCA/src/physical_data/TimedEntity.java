@@ -33,6 +33,9 @@ package physical_data;
 // The fact that you are presently reading this means that you have had
 // knowledge of the CeCILL-C license and that you accept its terms.
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.time.Instant;
 import java.util.Set;
 import java.time.Duration;
@@ -41,7 +44,6 @@ import fr.sorbonne_u.exceptions.InvariantException;
 import fr.sorbonne_u.exceptions.PostconditionException;
 import fr.sorbonne_u.exceptions.PreconditionException;
 import fr.sorbonne_u.utils.aclocks.AcceleratedClock;
-import java.net.UnknownHostException;
 
 // -----------------------------------------------------------------------------
 /**
@@ -60,6 +62,14 @@ import java.net.UnknownHostException;
  * is indeed fragile as IP addresses can be local and also dynamically
  * attributed to hosts.
  * </p>
+ * <p>
+ * Time stampers are kept as handles interned by {@code TimestamperRegistry},
+ * shared by all of the timed entities with the same time stamper. The IP
+ * address of the current host is resolved once by the registry, so creating
+ * a timed entity never blocks on name resolution. This applies to the
+ * timed entities of this package only, not to those of the library used by
+ * the project.
+ * </p>
  * 
  * <p><strong>Implementation Invariants</strong></p>
  * 
@@ -89,9 +99,10 @@ implements	TimingI
 	private static final long 			serialVersionUID = 1L;
 	/** time stamp as a Java {@code Instant} object.						*/
 	protected final Instant				timestamp;
-	/** identity of the time stamper, a host IP address or the URI of the
-	 *  accelerated clock if one is used.									*/
-	protected final String				timestamper;
+	/** handle in {@code TimestamperRegistry} of the identity of the time
+	 *  stamper, a host IP address or the URI of the accelerated clock if
+	 *  one is used.														*/
+	protected transient int				timestamperHandle;
 	/** accelerated clock giving the time reference, if any.				*/
 	protected final AcceleratedClock	ac;
 
@@ -181,9 +192,10 @@ implements	TimingI
 		Instant timestamp
 		)
 	{
-		this(timestamp, getStandardTimestamper());
+		this(timestamp, TimestamperRegistry.localHostHandle());
 
-		assert	getTimestamper().equals(getStandardTimestamper()) :
+		assert	getTimestamperHandle() ==
+								TimestamperRegistry.localHostHandle() :
 				new PostconditionException(
 						"getTimeReference().equals(getStandardTimestamper())");
 	}
@@ -208,23 +220,47 @@ implements	TimingI
 		Instant timestamp,
 		String timestamper
 		)
+	{
+		this(timestamp, TimestamperRegistry.intern(timestamper));
+
+		assert	getTimestamper().equals(timestamper) :
+				new PreconditionException("getTimestamper().equals(timestamper)");
+	}
+
+	/**
+	 * create a timed entity with the given time stamp, time stamper handle
+	 * and the current host hardware clock giving the time reference.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code timestamp != null}
+	 * pre	{@code timestamperHandle >= 0}
+	 * post	{@code getTimestamp().equals(timestamp)}
+	 * post	{@code getTimestamperHandle() == timestamperHandle}
+	 * </pre>
+	 *
+	 * @param timestamp			time stamp as a Java {@code Instant} object.
+	 * @param timestamperHandle	handle of the time stamper in {@code TimestamperRegistry}.
+	 */
+	protected			TimedEntity(
+		Instant timestamp,
+		int timestamperHandle
+		)
 	{
 		super();
 
 		assert	timestamp != null :
 				new PreconditionException("timestamp != null");
-		assert	timestamper != null && !timestamper.isEmpty() :
-				new PreconditionException(
-						"timestamper != null && !timestamper.isEmpty()");
+		assert	timestamperHandle >= 0 :
+				new PreconditionException("timestamperHandle >= 0");
 
 		this.timestamp = timestamp;
-		this.timestamper = timestamper;
+		this.timestamperHandle = timestamperHandle;
 		this.ac = null;
 
 		assert	getTimestamp().equals(timestamp) :
 				new PostconditionException("getTimestamp().equals(timestamp)");
-		assert	getTimestamper().equals(timestamper) :
-				new PreconditionException("getTimestamper().equals(timestamper)");
 
 		assert	TimedEntity.implementationInvariants(this) :
 				new ImplementationInvariantException(
@@ -282,7 +318,7 @@ implements	TimingI
 
 		this.ac = ac;
 		this.timestamp = timestamp;
-		this.timestamper = ac.getClockURI();
+		this.timestamperHandle = TimestamperRegistry.intern(ac.getClockURI());
 
 		assert	getTimestamp().equals(timestamp) :
 				new PostconditionException("getTimestamp().equals(timestamp)");
@@ -317,11 +353,7 @@ implements	TimingI
 	 */
 	protected static String	getStandardTimestamper()
 	{
-		try {
-			return java.net.Inet4Address.getLocalHost().getHostAddress();
-		} catch (UnknownHostException e) {
-			return UNKNOWN_TIMESTAMPER;
-		}
+		return TimestamperRegistry.localHost();
 	}
 
 	// -------------------------------------------------------------------------
@@ -411,7 +443,24 @@ implements	TimingI
 	@Override
 	public String		getTimestamper()
 	{
-		return this.timestamper;
+		return TimestamperRegistry.name(this.timestamperHandle);
+	}
+
+	/**
+	 * return the handle of the time stamper in {@code TimestamperRegistry}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code TimestamperRegistry.name(return).equals(getTimestamper())}
+	 * </pre>
+	 *
+	 * @return	the handle of the time stamper.
+	 */
+	public int			getTimestamperHandle()
+	{
+		return this.timestamperHandle;
 	}
 
 	/**
@@ -476,6 +525,98 @@ implements	TimingI
 		return Duration.ZERO;
 	}
 
+	/**
+	 * return the earliest time stamp in this timed entity, its own time
+	 * stamp for single timed entities.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the earliest time stamp in this timed entity.
+	 */
+	protected Instant	earliestTimestamp()
+	{
+		return this.timestamp;
+	}
+
+	/**
+	 * return the latest time stamp in this timed entity, its own time stamp
+	 * for single timed entities.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the latest time stamp in this timed entity.
+	 */
+	protected Instant	latestTimestamp()
+	{
+		return this.timestamp;
+	}
+
+	/**
+	 * return the smallest start time in Unix Epoch nanoseconds of the
+	 * accelerated clocks used as time references in this timed entity, or
+	 * {@code Long.MAX_VALUE} if none is used.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the smallest start time of the accelerated clocks used as time references.
+	 */
+	protected long		minReferenceEpochNanos()
+	{
+		return this.ac == null ? Long.MAX_VALUE : this.ac.getStartEpochNanos();
+	}
+
+	/**
+	 * return the largest start time in Unix Epoch nanoseconds of the
+	 * accelerated clocks used as time references in this timed entity, or
+	 * {@code Long.MIN_VALUE} if none is used.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the largest start time of the accelerated clocks used as time references.
+	 */
+	protected long		maxReferenceEpochNanos()
+	{
+		return this.ac == null ? Long.MIN_VALUE : this.ac.getStartEpochNanos();
+	}
+
+	/**
+	 * return true if a hardware clock is used as time reference in this timed
+	 * entity.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	true if a hardware clock is used as time reference in this timed entity.
+	 */
+	protected boolean	usesHardwareTimeReference()
+	{
+		return this.ac == null;
+	}
+
 	/**
 	 * collect the time stamps of this timed entity.
 	 * 
@@ -545,5 +686,22 @@ implements	TimingI
 			s.add(this.ac.getStartEpochNanos());
 		}
 	}
+
+	// -------------------------------------------------------------------------
+	// Serialisation
+	// -------------------------------------------------------------------------
+
+	private void		writeObject(ObjectOutputStream out) throws IOException
+	{
+		out.defaultWriteObject();
+		out.writeUTF(this.getTimestamper());
+	}
+
+	private void		readObject(ObjectInputStream in)
+	throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		this.timestamperHandle = TimestamperRegistry.intern(in.readUTF());
+	}
 }
 // -----------------------------------------------------------------------------
@@ -0,0 +1,260 @@
+package physical_data;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a
+// basic component programming model to program with components
+// real time distributed applications in the Java programming language.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.net.Inet4Address;
+import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentHashMap;
+import fr.sorbonne_u.exceptions.PostconditionException;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>TimestamperRegistry</code> interns the identities of time
+ * stampers as compact integer handles.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Timed entities, which are created in large numbers, do not carry their
+ * time stamper as a {@code String} but as a handle returned by
+ * {@code intern}; all of the signals time stamped by the same host or the
+ * same accelerated clock share the same handle, and the identity is only
+ * materialised when {@code name} is called. Handles are valid in the current
+ * JVM only, hence signals crossing JVM boundaries must transmit the identity
+ * and intern it again on reception.
+ * </p>
+ * <p>
+ * The registry also holds the standard time stamper, the IP address of the
+ * current host. Resolving it may block on the name service, so it is done
+ * once when the class is initialised and then only when {@code
+ * refreshLocalHost} is called, for instance after a change of network
+ * configuration.
+ * </p>
+ * <p>
+ * The registry is used only by the timed entities of this package. The
+ * project creates the timed entities of
+ * {@code fr.sorbonne_u.alasca.physical_data}, which still resolve the host
+ * address each time; they will benefit from the registry only once the
+ * library is updated with this package.
+ * </p>
+ * 
+ * <p><strong>Invariants</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code name(intern(t)).equals(t)}
+ * </pre>
+ * 
+ * <p>Created on : 2025-12-02</p>
+ * 
+ * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ */
+public final class		TimestamperRegistry
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** handles of the interned time stampers.								*/
+	private static final ConcurrentHashMap<String,Integer>	HANDLES =
+													new ConcurrentHashMap<>();
+	/** identities of the interned time stampers, indexed by handle.		*/
+	private static volatile String[]	names = new String[16];
+	/** number of interned time stampers.									*/
+	private static int					count = 0;
+	/** handle of the standard time stamper, the current host.			*/
+	private static volatile int			localHostHandle =
+												intern(resolveLocalHost());
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	private				TimestamperRegistry()
+	{
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the handle of {@code timestamper}, interning it if it is not
+	 * already known.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code timestamper != null && !timestamper.isEmpty()}
+	 * post	{@code name(return).equals(timestamper)}
+	 * </pre>
+	 *
+	 * @param timestamper	identity of a time stamper.
+	 * @return				the handle of the time stamper.
+	 */
+	public static int	intern(String timestamper)
+	{
+		assert	timestamper != null && !timestamper.isEmpty() :
+				new PreconditionException(
+						"timestamper != null && !timestamper.isEmpty()");
+
+		Integer handle = HANDLES.get(timestamper);
+		if (handle == null) {
+			synchronized (HANDLES) {
+				handle = HANDLES.get(timestamper);
+				if (handle == null) {
+					String[] current = names;
+					if (count == current.length) {
+						String[] grown = new String[2 * current.length];
+						System.arraycopy(current, 0, grown, 0, count);
+						current = grown;
+					}
+					current[count] = timestamper;
+					names = current;
+					handle = count++;
+					HANDLES.put(timestamper, handle);
+				}
+			}
+		}
+
+		assert	name(handle).equals(timestamper) :
+				new PostconditionException("name(return).equals(timestamper)");
+
+		return handle;
+	}
+
+	/**
+	 * return the identity of the time stamper with handle {@code handle}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code handle >= 0}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param handle	handle returned by {@code intern}.
+	 * @return			the identity of the time stamper.
+	 */
+	public static String	name(int handle)
+	{
+		assert	handle >= 0 : new PreconditionException("handle >= 0");
+
+		String ret = names[handle];
+
+		assert	ret != null : new PostconditionException("return != null");
+
+		return ret;
+	}
+
+	/**
+	 * return the handle of the standard time stamper, the IP address of the
+	 * current host as resolved at the last refresh.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code name(return).equals(localHost())}
+	 * </pre>
+	 *
+	 * @return	the handle of the standard time stamper.
+	 */
+	public static int	localHostHandle()
+	{
+		return localHostHandle;
+	}
+
+	/**
+	 * return the identity of the standard time stamper, the IP address of the
+	 * current host as resolved at the last refresh.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null && !return.isEmpty()}
+	 * </pre>
+	 *
+	 * @return	the identity of the standard time stamper.
+	 */
+	public static String	localHost()
+	{
+		return name(localHostHandle);
+	}
+
+	/**
+	 * resolve again the IP address of the current host and make it the
+	 * standard time stamper; timed entities already created keep their time
+	 * stamper.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return == localHostHandle()}
+	 * </pre>
+	 *
+	 * @return	the handle of the new standard time stamper.
+	 */
+	public static int	refreshLocalHost()
+	{
+		int handle = intern(resolveLocalHost());
+		localHostHandle = handle;
+		return handle;
+	}
+
+	/**
+	 * resolve the IP address of the current host, a call that may block on
+	 * the name service.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null && !return.isEmpty()}
+	 * </pre>
+	 *
+	 * @return	the IP address of the current host or {@code TimingI.UNKNOWN_TIMESTAMPER} if it cannot be resolved.
+	 */
+	public static String	resolveLocalHost()
+	{
+		try {
+			return Inet4Address.getLocalHost().getHostAddress();
+		} catch (UnknownHostException e) {
+			return TimingI.UNKNOWN_TIMESTAMPER;
+		}
+	}
+}
+// -----------------------------------------------------------------------------